@@ -0,0 +1,149 @@
+package io.github.json031.JavaBean;
+
+import io.github.json031.stats.QuantileSketch;
+
+/**
+ * Open-model (constant arrival rate) load test result.
+ */
+public class ArrivalRateResult {
+    /**
+     * target arrival rate (requests per second).
+     */
+    public final double targetRate;
+    /**
+     * rate at which requests were actually dispatched (requests per second).
+     */
+    public final double dispatchRate;
+    /**
+     * completed requests per second over the whole run including drain.
+     */
+    public final double achievedRate;
+    /**
+     * requests scheduled by the arrival plan.
+     */
+    public final long scheduled;
+    /**
+     * requests that completed.
+     */
+    public final long completed;
+    public final long success;
+    public final long failed;
+    /**
+     * max delay of the dispatcher behind an intended start time, in milliseconds.
+     */
+    public final double maxDispatchLagMillis;
+    /**
+     * latency measured from the intended start time (coordinated omission corrected).
+     */
+    public final LatencySummary latency;
+    /**
+     * latency measured from the actual start time (service time only).
+     */
+    public final LatencySummary serviceTime;
+    /**
+     * slowest requests and sampled failures with full detail.
+     */
+    public final Exemplars exemplars;
+    /**
+     * per-phase (DNS, connect, TLS, TTFB, transfer) histograms, null when not recorded.
+     */
+    public final TimingBreakdown timings;
+    /**
+     * raw latencies (from the intended start time) in nanoseconds, null when recorded into a sketch.
+     */
+    public final long[] latencySamples;
+    /**
+     * mergeable latency sketch (from the intended start time), null when raw samples were kept.
+     */
+    public final QuantileSketch latencySketch;
+
+    public ArrivalRateResult(double targetRate,
+                             double dispatchRate,
+                             double achievedRate,
+                             long scheduled,
+                             long completed,
+                             long success,
+                             long failed,
+                             double maxDispatchLagMillis,
+                             LatencySummary latency,
+                             LatencySummary serviceTime) {
+        this(targetRate, dispatchRate, achievedRate, scheduled, completed, success, failed,
+                maxDispatchLagMillis, latency, serviceTime, Exemplars.empty());
+    }
+
+    public ArrivalRateResult(double targetRate,
+                             double dispatchRate,
+                             double achievedRate,
+                             long scheduled,
+                             long completed,
+                             long success,
+                             long failed,
+                             double maxDispatchLagMillis,
+                             LatencySummary latency,
+                             LatencySummary serviceTime,
+                             Exemplars exemplars) {
+        this(targetRate, dispatchRate, achievedRate, scheduled, completed, success, failed,
+                maxDispatchLagMillis, latency, serviceTime, exemplars, null);
+    }
+
+    public ArrivalRateResult(double targetRate,
+                             double dispatchRate,
+                             double achievedRate,
+                             long scheduled,
+                             long completed,
+                             long success,
+                             long failed,
+                             double maxDispatchLagMillis,
+                             LatencySummary latency,
+                             LatencySummary serviceTime,
+                             Exemplars exemplars,
+                             TimingBreakdown timings) {
+        this(targetRate, dispatchRate, achievedRate, scheduled, completed, success, failed,
+                maxDispatchLagMillis, latency, serviceTime, exemplars, timings, null, null);
+    }
+
+    public ArrivalRateResult(double targetRate,
+                             double dispatchRate,
+                             double achievedRate,
+                             long scheduled,
+                             long completed,
+                             long success,
+                             long failed,
+                             double maxDispatchLagMillis,
+                             LatencySummary latency,
+                             LatencySummary serviceTime,
+                             Exemplars exemplars,
+                             TimingBreakdown timings,
+                             long[] latencySamples,
+                             QuantileSketch latencySketch) {
+        this.targetRate = targetRate;
+        this.dispatchRate = dispatchRate;
+        this.achievedRate = achievedRate;
+        this.scheduled = scheduled;
+        this.completed = completed;
+        this.success = success;
+        this.failed = failed;
+        this.maxDispatchLagMillis = maxDispatchLagMillis;
+        this.latency = latency;
+        this.serviceTime = serviceTime;
+        this.exemplars = exemplars;
+        this.timings = timings;
+        this.latencySamples = latencySamples;
+        this.latencySketch = latencySketch;
+    }
+
+    @Override
+    public String toString() {
+        return "=== Arrival Rate Result ===\n" +
+                "Target Rate:    " + String.format("%.2f req/s", this.targetRate) + "\n" +
+                "Dispatch Rate:  " + String.format("%.2f req/s", this.dispatchRate) + "\n" +
+                "Achieved Rate:  " + String.format("%.2f req/s", this.achievedRate) + "\n" +
+                "Scheduled:      " + this.scheduled + "\n" +
+                "Completed:      " + this.completed + "\n" +
+                "Successful:     " + this.success + "\n" +
+                "Failed:         " + this.failed + "\n" +
+                "Max Dispatch Lag (ms): " + String.format("%.3f", this.maxDispatchLagMillis) + "\n" +
+                "Latency:        " + this.latency + "\n" +
+                "Service Time:   " + this.serviceTime;
+    }
+}
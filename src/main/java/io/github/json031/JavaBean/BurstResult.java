@@ -0,0 +1,70 @@
+package io.github.json031.JavaBean;
+
+/**
+ * Synchronized burst-start test result: every worker waits on a start barrier and fires at once.
+ */
+public class BurstResult {
+    /**
+     * workers (and requests) of the burst.
+     */
+    public final int threadCount;
+    public final int success;
+    public final int failed;
+    /**
+     * highest number of requests in flight at the same time, as seen by the load generator.
+     */
+    public final int peakInFlight;
+    /**
+     * time between the first and the last worker sending its request after the barrier opened.
+     */
+    public final double startSpreadMillis;
+    /**
+     * latency distribution of the burst requests.
+     */
+    public final LatencySummary latency;
+    /**
+     * slowest and failed requests of the burst.
+     */
+    public final Exemplars exemplars;
+
+    public BurstResult(int threadCount,
+                       int success,
+                       int failed,
+                       int peakInFlight,
+                       double startSpreadMillis,
+                       LatencySummary latency,
+                       Exemplars exemplars) {
+        this.threadCount = threadCount;
+        this.success = success;
+        this.failed = failed;
+        this.peakInFlight = peakInFlight;
+        this.startSpreadMillis = startSpreadMillis;
+        this.latency = latency;
+        this.exemplars = exemplars;
+    }
+
+    /**
+     * 实际达到的并发度（峰值在途请求数 / 线程数，1 表示全部请求同时在途）
+     */
+    public double achievedConcurrency() {
+        return threadCount > 0 ? (double) peakInFlight / threadCount : 0;
+    }
+
+    /**
+     * 转换为普通并发测试结果
+     */
+    public HighConcurrencyResult toHighConcurrencyResult() {
+        return new HighConcurrencyResult(threadCount, success, failed, (long) latency.meanMillis, exemplars);
+    }
+
+    @Override
+    public String toString() {
+        return "=== Burst Test Result ===\n" +
+                "Total Requests: " + this.threadCount + "\n" +
+                "Successful:     " + this.success + "\n" +
+                "Failed:         " + this.failed + "\n" +
+                "Peak In-Flight: " + this.peakInFlight + String.format(" (%.1f%%)", achievedConcurrency() * 100) + "\n" +
+                "Start Spread:   " + String.format("%.3f ms", this.startSpreadMillis) + "\n" +
+                "Latency:        " + this.latency;
+    }
+}
@@ -0,0 +1,33 @@
+package io.github.json031.JavaBean;
+
+/**
+ * One measurement taken by the adaptive capacity search.
+ */
+public class CapacityProbe {
+    /**
+     * probed concurrency.
+     */
+    public final int concurrency;
+    /**
+     * statistics measured at this concurrency.
+     */
+    public final PhaseStats stats;
+    /**
+     * whether latency and failure rate met the SLO.
+     */
+    public final boolean withinSlo;
+
+    public CapacityProbe(int concurrency, PhaseStats stats, boolean withinSlo) {
+        this.concurrency = concurrency;
+        this.stats = stats;
+        this.withinSlo = withinSlo;
+    }
+
+    @Override
+    public String toString() {
+        return String.format(
+                "CapacityProbe{concurrency=%d, throughput=%.2f req/s, p99=%.3fms, successRate=%.2f%%, withinSlo=%s}",
+                concurrency, stats.throughput, stats.latency.p99Millis, stats.successRate() * 100, withinSlo
+        );
+    }
+}
@@ -0,0 +1,56 @@
+package io.github.json031.JavaBean;
+
+import java.util.Arrays;
+
+/**
+ * Closed-model (virtual user) load test result.
+ */
+public class ClosedModelResult {
+    /**
+     * virtual user count.
+     */
+    public final int users;
+    /**
+     * statistics of requests started during ramp-up.
+     */
+    public final PhaseStats rampUp;
+    /**
+     * statistics of requests started after ramp-up.
+     */
+    public final PhaseStats steadyState;
+
+    public ClosedModelResult(int users, PhaseStats rampUp, PhaseStats steadyState) {
+        this.users = users;
+        this.rampUp = rampUp;
+        this.steadyState = steadyState;
+    }
+
+    /**
+     * 请求总数（含爬坡阶段）
+     */
+    public long totalRequests() {
+        return rampUp.requests + steadyState.requests;
+    }
+
+    /**
+     * 爬坡与稳态阶段合并后的最慢请求与失败样本
+     */
+    public Exemplars exemplars() {
+        return Exemplars.merge(Arrays.asList(rampUp.exemplars, steadyState.exemplars));
+    }
+
+    /**
+     * 爬坡与稳态阶段合并后的分阶段耗时直方图
+     */
+    public TimingBreakdown timings() {
+        return TimingBreakdown.merge(Arrays.asList(rampUp.timings, steadyState.timings));
+    }
+
+    @Override
+    public String toString() {
+        return "=== Closed Model Result ===\n" +
+                "Virtual Users:  " + this.users + "\n" +
+                "Ramp-up:        " + this.rampUp + "\n" +
+                "Steady State:   " + this.steadyState;
+    }
+}
@@ -0,0 +1,71 @@
+package io.github.json031.JavaBean;
+
+/**
+ * Connection Pool Stats.
+ */
+public class ConnectionPoolStats {
+    /**
+     * connections newly opened by the pool.
+     */
+    public final long newConnections;
+    /**
+     * requests served on an already opened keep-alive connection.
+     */
+    public final long reusedConnections;
+    /**
+     * requests re-sent because their reused keep-alive connection had been closed by the server.
+     */
+    public final long staleConnectionRetries;
+    /**
+     * connections currently leased by requests.
+     */
+    public final int leased;
+    /**
+     * idle connections kept alive in the pool.
+     */
+    public final int available;
+    /**
+     * requests waiting for a connection.
+     */
+    public final int pending;
+    /**
+     * max total connections of the pool.
+     */
+    public final int maxTotal;
+
+    public ConnectionPoolStats(long newConnections,
+                               long reusedConnections,
+                               long staleConnectionRetries,
+                               int leased,
+                               int available,
+                               int pending,
+                               int maxTotal) {
+        this.newConnections = newConnections;
+        this.reusedConnections = reusedConnections;
+        this.staleConnectionRetries = staleConnectionRetries;
+        this.leased = leased;
+        this.available = available;
+        this.pending = pending;
+        this.maxTotal = maxTotal;
+    }
+
+    /**
+     * 连接复用率（复用次数 / 请求总数）
+     */
+    public double reuseRate() {
+        long total = newConnections + reusedConnections;
+        return total > 0 ? (double) reusedConnections / total : 0;
+    }
+
+    @Override
+    public String toString() {
+        return "=== Connection Pool Stats ===\n" +
+                "New Connections:    " + this.newConnections + "\n" +
+                "Reused Connections: " + this.reusedConnections + "\n" +
+                "Reuse Rate:         " + String.format("%.2f%%", reuseRate() * 100) + "\n" +
+                "Stale Retries:      " + this.staleConnectionRetries + "\n" +
+                "Leased/Available:   " + this.leased + "/" + this.available + "\n" +
+                "Pending:            " + this.pending + "\n" +
+                "Max Total:          " + this.maxTotal;
+    }
+}
@@ -0,0 +1,83 @@
+package io.github.json031.JavaBean;
+
+/**
+ * Streaming file download result.
+ */
+public class DownloadResult {
+    /**
+     * request result, the response body is a short description instead of the file content.
+     */
+    public final RequestUnitTestsResult result;
+    /**
+     * path the file was written to.
+     */
+    public final String savePath;
+    /**
+     * bytes written to the file.
+     */
+    public final long bytes;
+    /**
+     * from the start of the request to the response headers, in nanoseconds (includes DNS and connect).
+     */
+    public final long ttfbNanos;
+    /**
+     * whole download including writing the file, in nanoseconds.
+     */
+    public final long durationNanos;
+    /**
+     * checksum algorithm, null when no checksum was computed.
+     */
+    public final String checksumAlgorithm;
+    /**
+     * hex checksum of the downloaded bytes, null when not computed.
+     */
+    public final String checksum;
+
+    public DownloadResult(RequestUnitTestsResult result,
+                          String savePath,
+                          long bytes,
+                          long ttfbNanos,
+                          long durationNanos,
+                          String checksumAlgorithm,
+                          String checksum) {
+        this.result = result;
+        this.savePath = savePath;
+        this.bytes = bytes;
+        this.ttfbNanos = ttfbNanos;
+        this.durationNanos = durationNanos;
+        this.checksumAlgorithm = checksumAlgorithm;
+        this.checksum = checksum;
+    }
+
+    /**
+     * 是否下载成功
+     */
+    public boolean isSuccess() {
+        return result != null && result.isSuccess;
+    }
+
+    /**
+     * 整体吞吐量（MB/s，1 MB = 10^6 字节）
+     */
+    public double throughputMBps() {
+        return durationNanos > 0 ? bytes / 1_000_000.0 / (durationNanos / 1_000_000_000.0) : 0;
+    }
+
+    /**
+     * 首字节之后的传输吞吐量（MB/s），不含建连与服务端等待时间
+     */
+    public double transferThroughputMBps() {
+        long transferNanos = durationNanos - ttfbNanos;
+        return transferNanos > 0 ? bytes / 1_000_000.0 / (transferNanos / 1_000_000_000.0) : 0;
+    }
+
+    @Override
+    public String toString() {
+        return String.format(
+                "DownloadResult{success=%s, bytes=%d, ttfb=%.3fms, duration=%.3fms, throughput=%.2fMB/s, " +
+                        "transferThroughput=%.2fMB/s, checksum=%s}",
+                isSuccess(), bytes, ttfbNanos / 1_000_000.0, durationNanos / 1_000_000.0, throughputMBps(),
+                transferThroughputMBps(), checksum == null ? "-" : checksumAlgorithm + ":" + checksum
+        );
+    }
+}
@@ -0,0 +1,71 @@
+package io.github.json031.JavaBean;
+
+/**
+ * One HTTP Range segment of a segmented download.
+ */
+public class DownloadSegment {
+    /**
+     * segment index, in file order.
+     */
+    public final int index;
+    /**
+     * first byte offset of the segment in the file.
+     */
+    public final long offset;
+    /**
+     * requested segment length in bytes.
+     */
+    public final long length;
+    /**
+     * bytes actually written.
+     */
+    public final long bytes;
+    public final int statusCode;
+    public final boolean isSuccess;
+    public final String errorMessage;
+    /**
+     * from the start of the range request to the response headers, in nanoseconds.
+     */
+    public final long ttfbNanos;
+    /**
+     * whole range request including writing the segment, in nanoseconds.
+     */
+    public final long durationNanos;
+
+    public DownloadSegment(int index,
+                           long offset,
+                           long length,
+                           long bytes,
+                           int statusCode,
+                           boolean isSuccess,
+                           String errorMessage,
+                           long ttfbNanos,
+                           long durationNanos) {
+        this.index = index;
+        this.offset = offset;
+        this.length = length;
+        this.bytes = bytes;
+        this.statusCode = statusCode;
+        this.isSuccess = isSuccess;
+        this.errorMessage = errorMessage;
+        this.ttfbNanos = ttfbNanos;
+        this.durationNanos = durationNanos;
+    }
+
+    /**
+     * 分段吞吐量（MB/s，1 MB = 10^6 字节）
+     */
+    public double throughputMBps() {
+        return durationNanos > 0 ? bytes / 1_000_000.0 / (durationNanos / 1_000_000_000.0) : 0;
+    }
+
+    @Override
+    public String toString() {
+        return String.format(
+                "DownloadSegment{index=%d, range=%d-%d, bytes=%d, status=%d, success=%s, ttfb=%.3fms, " +
+                        "duration=%.3fms, throughput=%.2fMB/s%s}",
+                index, offset, offset + length - 1, bytes, statusCode, isSuccess, ttfbNanos / 1_000_000.0,
+                durationNanos / 1_000_000.0, throughputMBps(), errorMessage == null ? "" : ", error=" + errorMessage
+        );
+    }
+}
@@ -0,0 +1,45 @@
+package io.github.json031.JavaBean;
+
+/**
+ * Comparison of platform-thread and virtual-thread execution modes.
+ */
+public class ExecutionModeComparison {
+    /**
+     * footprint of platform-thread mode.
+     */
+    public final GeneratorFootprint platformThreads;
+    /**
+     * footprint of virtual-thread mode (falls back to platform threads before Java 21).
+     */
+    public final GeneratorFootprint virtualThreads;
+
+    public ExecutionModeComparison(GeneratorFootprint platformThreads, GeneratorFootprint virtualThreads) {
+        this.platformThreads = platformThreads;
+        this.virtualThreads = virtualThreads;
+    }
+
+    /**
+     * 虚拟线程模式堆内存增长 / 平台线程模式堆内存增长
+     */
+    public double heapGrowthRatio() {
+        return platformThreads.peakHeapGrowthBytes > 0
+                ? (double) virtualThreads.peakHeapGrowthBytes / platformThreads.peakHeapGrowthBytes : 0;
+    }
+
+    /**
+     * 虚拟线程模式平均调度延迟 / 平台线程模式平均调度延迟
+     */
+    public double schedulingLagRatio() {
+        return platformThreads.avgSchedulingLagMicros > 0
+                ? (double) virtualThreads.avgSchedulingLagMicros / platformThreads.avgSchedulingLagMicros : 0;
+    }
+
+    @Override
+    public String toString() {
+        return "=== Execution Mode Comparison ===\n" +
+                "Platform: " + platformThreads + "\n" +
+                "Virtual:  " + virtualThreads + "\n" +
+                "Heap Growth Ratio (virtual/platform):     " + String.format("%.2f", heapGrowthRatio()) + "\n" +
+                "Scheduling Lag Ratio (virtual/platform):  " + String.format("%.2f", schedulingLagRatio());
+    }
+}
@@ -0,0 +1,105 @@
+package io.github.json031.JavaBean;
+
+import org.springframework.http.HttpHeaders;
+
+import java.time.Instant;
+
+/**
+ * Full detail of one request kept as an exemplar of tail latency or failure.
+ */
+public class Exemplar {
+    public final String requestUrl;
+    public final String method;
+    public final int statusCode;
+    public final boolean isSuccess;
+    public final String errorMessage;
+    /**
+     * latency as measured by the load engine (from the intended start time in open models).
+     */
+    public final long latencyNanos;
+    /**
+     * time spent in the request itself, -1 when unknown.
+     */
+    public final long serviceTimeNanos;
+    public final Instant startTime;
+    public final long threadId;
+    /**
+     * virtual user id, 0 when the engine has no users.
+     */
+    public final int userId;
+    /**
+     * response headers, null when no response was received.
+     */
+    public final HttpHeaders responseHeaders;
+    /**
+     * leading characters of the response body, null when no body was received.
+     */
+    public final String bodyExcerpt;
+    public final int responseSizeBytes;
+
+    public Exemplar(String requestUrl,
+                    String method,
+                    int statusCode,
+                    boolean isSuccess,
+                    String errorMessage,
+                    long latencyNanos,
+                    long serviceTimeNanos,
+                    Instant startTime,
+                    long threadId,
+                    int userId,
+                    HttpHeaders responseHeaders,
+                    String bodyExcerpt,
+                    int responseSizeBytes) {
+        this.requestUrl = requestUrl;
+        this.method = method;
+        this.statusCode = statusCode;
+        this.isSuccess = isSuccess;
+        this.errorMessage = errorMessage;
+        this.latencyNanos = latencyNanos;
+        this.serviceTimeNanos = serviceTimeNanos;
+        this.startTime = startTime;
+        this.threadId = threadId;
+        this.userId = userId;
+        this.responseHeaders = responseHeaders;
+        this.bodyExcerpt = bodyExcerpt;
+        this.responseSizeBytes = responseSizeBytes;
+    }
+
+    /**
+     * 由请求结果构建
+     * @param userId           虚拟用户编号
+     * @param latencyNanos     负载引擎测得的延迟（纳秒）
+     * @param isSuccess        按成功判定条件得到的结果
+     * @param result           请求结果，可能为 null
+     * @param bodyExcerptChars 保留的响应体字符数
+     */
+    public static Exemplar of(int userId, long latencyNanos, boolean isSuccess,
+                              RequestUnitTestsResult result, int bodyExcerptChars) {
+        if (result == null) {
+            return new Exemplar(null, null, 0, isSuccess, "No result", latencyNanos, -1,
+                    null, Thread.currentThread().getId(), userId, null, null, 0);
+        }
+        HttpHeaders headers = null;
+        String excerpt = null;
+        if (result.response != null) {
+            headers = result.response.getHeaders();
+            String body = result.response.getBody();
+            if (body != null) {
+                excerpt = body.length() > bodyExcerptChars ? body.substring(0, bodyExcerptChars) : body;
+            }
+        }
+        return new Exemplar(result.requestUrl, result.method, result.statusCode, isSuccess, result.errorMessage,
+                latencyNanos, result.durationNanos, result.startTime, result.threadId, userId,
+                headers, excerpt, result.responseSizeBytes);
+    }
+
+    @Override
+    public String toString() {
+        return String.format(
+                "Exemplar{latency=%.3fms, service=%.3fms, %s %s, status=%d, success=%s, thread=%d, user=%d, " +
+                        "size=%d, error=%s, body=%s}",
+                latencyNanos / 1_000_000.0, serviceTimeNanos / 1_000_000.0, method, requestUrl, statusCode,
+                isSuccess, threadId, userId, responseSizeBytes, errorMessage, bodyExcerpt
+        );
+    }
+}
@@ -0,0 +1,108 @@
+package io.github.json031.JavaBean;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Exemplars captured during a load test: the slowest requests and a sample of failures.
+ */
+public class Exemplars {
+
+    private static final Exemplars EMPTY = new Exemplars(Collections.emptyList(), Collections.emptyList(), 0);
+
+    /**
+     * slowest requests, slowest first.
+     */
+    public final List<Exemplar> slowest;
+    /**
+     * uniform sample of failed requests.
+     */
+    public final List<Exemplar> failures;
+    /**
+     * failed requests seen in total, the sample may be smaller.
+     */
+    public final long failuresSeen;
+
+    public Exemplars(List<Exemplar> slowest, List<Exemplar> failures, long failuresSeen) {
+        this.slowest = Collections.unmodifiableList(slowest);
+        this.failures = Collections.unmodifiableList(failures);
+        this.failuresSeen = failuresSeen;
+    }
+
+    /**
+     * 没有样本
+     */
+    public static Exemplars empty() {
+        return EMPTY;
+    }
+
+    /**
+     * 合并多个阶段的样本：保留整体最慢的请求；失败样本按加权蓄水池抽样，
+     * 每个样本的权重为其所在阶段的失败数 / 样本数，合并后每个失败请求被保留的概率大致相同
+     * @param parts 各阶段样本
+     */
+    public static Exemplars merge(List<Exemplars> parts) {
+        int slowestLimit = 0;
+        int failureLimit = 0;
+        long failuresSeen = 0;
+        List<Exemplar> slowest = new ArrayList<>();
+        // 按 u^(1/w) 取最大的 failureLimit 个（Efraimidis-Spirakis 加权抽样）
+        List<Exemplar> failures = new ArrayList<>();
+        List<Double> keys = new ArrayList<>();
+        for (Exemplars part : parts) {
+            if (part == null) {
+                continue;
+            }
+            slowestLimit = Math.max(slowestLimit, part.slowest.size());
+            failureLimit = Math.max(failureLimit, part.failures.size());
+            failuresSeen += part.failuresSeen;
+            slowest.addAll(part.slowest);
+            if (part.failures.isEmpty()) {
+                continue;
+            }
+            double weight = (double) Math.max(part.failuresSeen, part.failures.size()) / part.failures.size();
+            for (Exemplar failure : part.failures) {
+                failures.add(failure);
+                keys.add(Math.pow(ThreadLocalRandom.current().nextDouble(), 1.0 / weight));
+            }
+        }
+        slowest.sort((a, b) -> Long.compare(b.latencyNanos, a.latencyNanos));
+        Integer[] order = new Integer[failures.size()];
+        for (int i = 0; i < order.length; i++) {
+            order[i] = i;
+        }
+        Arrays.sort(order, (a, b) -> Double.compare(keys.get(b), keys.get(a)));
+        List<Exemplar> sampled = new ArrayList<>();
+        for (int i = 0; i < Math.min(failureLimit, order.length); i++) {
+            sampled.add(failures.get(order[i]));
+        }
+        return new Exemplars(
+                new ArrayList<>(slowest.subList(0, Math.min(slowestLimit, slowest.size()))),
+                sampled,
+                failuresSeen
+        );
+    }
+
+    /**
+     * 最慢的一个请求，没有样本时返回 null
+     */
+    public Exemplar slowestRequest() {
+        return slowest.isEmpty() ? null : slowest.get(0);
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder("Exemplars{slowest=").append(slowest.size())
+                .append(", failures=").append(failures.size()).append("/").append(failuresSeen).append("}");
+        for (Exemplar exemplar : slowest) {
+            sb.append("\n  slow: ").append(exemplar);
+        }
+        for (Exemplar exemplar : failures) {
+            sb.append("\n  fail: ").append(exemplar);
+        }
+        return sb.toString();
+    }
+}
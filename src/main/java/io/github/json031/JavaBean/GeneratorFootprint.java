@@ -0,0 +1,54 @@
+package io.github.json031.JavaBean;
+
+/**
+ * Load generator footprint of one execution mode.
+ */
+public class GeneratorFootprint {
+    /**
+     * execution mode actually used.
+     */
+    public final String executionMode;
+    /**
+     * load test result.
+     */
+    public final HighConcurrencyResult result;
+    /**
+     * peak live platform thread count of the generator JVM.
+     */
+    public final int peakPlatformThreads;
+    /**
+     * peak heap growth over the baseline, in bytes.
+     */
+    public final long peakHeapGrowthBytes;
+    /**
+     * average delay between task submission and task start, in microseconds.
+     */
+    public final long avgSchedulingLagMicros;
+    /**
+     * max delay between task submission and task start, in microseconds.
+     */
+    public final long maxSchedulingLagMicros;
+
+    public GeneratorFootprint(String executionMode,
+                              HighConcurrencyResult result,
+                              int peakPlatformThreads,
+                              long peakHeapGrowthBytes,
+                              long avgSchedulingLagMicros,
+                              long maxSchedulingLagMicros) {
+        this.executionMode = executionMode;
+        this.result = result;
+        this.peakPlatformThreads = peakPlatformThreads;
+        this.peakHeapGrowthBytes = peakHeapGrowthBytes;
+        this.avgSchedulingLagMicros = avgSchedulingLagMicros;
+        this.maxSchedulingLagMicros = maxSchedulingLagMicros;
+    }
+
+    @Override
+    public String toString() {
+        return String.format(
+                "GeneratorFootprint{mode=%s, peakThreads=%d, heapGrowth=%.2fMB, avgLag=%dus, maxLag=%dus, avgTime=%dms}",
+                executionMode, peakPlatformThreads, peakHeapGrowthBytes / 1024.0 / 1024.0,
+                avgSchedulingLagMicros, maxSchedulingLagMicros, result.avgResponseTimeMillis
+        );
+    }
+}
@@ -20,12 +20,21 @@ public class HighConcurrencyResult {
      * request average cost timeMillis.
      */
     public final long avgResponseTimeMillis;
+    /**
+     * slowest requests and sampled failures with full detail.
+     */
+    public final Exemplars exemplars;
 
     public HighConcurrencyResult(int total, int success, int failed, long avgResponseTimeMillis) {
+        this(total, success, failed, avgResponseTimeMillis, Exemplars.empty());
+    }
+
+    public HighConcurrencyResult(int total, int success, int failed, long avgResponseTimeMillis, Exemplars exemplars) {
         this.total = total;
         this.success = success;
         this.failed = failed;
         this.avgResponseTimeMillis = avgResponseTimeMillis;
+        this.exemplars = exemplars;
     }
 
     @Override
@@ -0,0 +1,88 @@
+package io.github.json031.JavaBean;
+
+import io.github.json031.stats.SampleStatistics;
+
+/**
+ * Latency Summary, all values in milliseconds with sub-millisecond precision.
+ */
+public class LatencySummary {
+    /**
+     * sample count.
+     */
+    public final long count;
+    public final double minMillis;
+    public final double maxMillis;
+    public final double meanMillis;
+    public final double p50Millis;
+    public final double p90Millis;
+    public final double p95Millis;
+    public final double p99Millis;
+    public final double p999Millis;
+
+    public LatencySummary(long count,
+                          double minMillis,
+                          double maxMillis,
+                          double meanMillis,
+                          double p50Millis,
+                          double p90Millis,
+                          double p95Millis,
+                          double p99Millis,
+                          double p999Millis) {
+        this.count = count;
+        this.minMillis = minMillis;
+        this.maxMillis = maxMillis;
+        this.meanMillis = meanMillis;
+        this.p50Millis = p50Millis;
+        this.p90Millis = p90Millis;
+        this.p95Millis = p95Millis;
+        this.p99Millis = p99Millis;
+        this.p999Millis = p999Millis;
+    }
+
+    /**
+     * 由纳秒样本计算统计（仅排序一次）
+     * @param samplesNanos 纳秒样本，会被原地排序
+     * @param count        有效样本数
+     */
+    public static LatencySummary fromNanos(long[] samplesNanos, int count) {
+        if (count <= 0) {
+            return new LatencySummary(0, 0, 0, 0, 0, 0, 0, 0, 0);
+        }
+        return fromStatistics(SampleStatistics.ofInPlace(samplesNanos, count));
+    }
+
+    /**
+     * 由纳秒样本统计转换为毫秒延迟统计
+     * @param statistics 纳秒样本统计
+     */
+    public static LatencySummary fromStatistics(SampleStatistics statistics) {
+        if (statistics.count == 0) {
+            return new LatencySummary(0, 0, 0, 0, 0, 0, 0, 0, 0);
+        }
+        long[] percentiles = statistics.percentiles(50, 90, 95, 99, 99.9);
+        return new LatencySummary(
+                statistics.count,
+                toMillis(statistics.min),
+                toMillis(statistics.max),
+                statistics.mean / 1_000_000.0,
+                toMillis(percentiles[0]),
+                toMillis(percentiles[1]),
+                toMillis(percentiles[2]),
+                toMillis(percentiles[3]),
+                toMillis(percentiles[4])
+        );
+    }
+
+    private static double toMillis(long nanos) {
+        return nanos / 1_000_000.0;
+    }
+
+    @Override
+    public String toString() {
+        return String.format(
+                "LatencySummary{count=%d, min=%.3fms, max=%.3fms, mean=%.3fms, p50=%.3fms, p90=%.3fms, " +
+                        "p95=%.3fms, p99=%.3fms, p999=%.3fms}",
+                count, minMillis, maxMillis, meanMillis, p50Millis, p90Millis, p95Millis, p99Millis, p999Millis
+        );
+    }
+}
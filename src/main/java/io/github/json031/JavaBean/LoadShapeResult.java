@@ -0,0 +1,108 @@
+package io.github.json031.JavaBean;
+
+import io.github.json031.stats.QuantileSketch;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Staged load-shape test result, one PhaseStats per executed stage.
+ */
+public class LoadShapeResult {
+    /**
+     * CONCURRENCY or ARRIVAL_RATE.
+     */
+    public final String target;
+    /**
+     * statistics of each executed stage, in order.
+     */
+    public final List<PhaseStats> stages;
+    /**
+     * whether the run was stopped before the last stage finished.
+     */
+    public final boolean stoppedEarly;
+
+    public LoadShapeResult(String target, List<PhaseStats> stages, boolean stoppedEarly) {
+        this.target = target;
+        this.stages = stages;
+        this.stoppedEarly = stoppedEarly;
+    }
+
+    /**
+     * 按名称查找阶段统计
+     * @param name 阶段名称
+     * @return 阶段统计，不存在时返回 null
+     */
+    public PhaseStats stage(String name) {
+        for (PhaseStats stage : stages) {
+            if (stage.name.equals(name)) {
+                return stage;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * 所有阶段的请求总数
+     */
+    public long totalRequests() {
+        long total = 0;
+        for (PhaseStats stage : stages) {
+            total += stage.requests;
+        }
+        return total;
+    }
+
+    /**
+     * 所有阶段合并后的最慢请求与失败样本
+     */
+    public Exemplars exemplars() {
+        List<Exemplars> parts = new ArrayList<>(stages.size());
+        for (PhaseStats stage : stages) {
+            parts.add(stage.exemplars);
+        }
+        return Exemplars.merge(parts);
+    }
+
+    /**
+     * 所有阶段合并后的分阶段耗时直方图
+     * @return 合并结果，阶段未记录分阶段耗时时返回 null
+     */
+    public TimingBreakdown timings() {
+        List<TimingBreakdown> parts = new ArrayList<>(stages.size());
+        for (PhaseStats stage : stages) {
+            parts.add(stage.timings);
+        }
+        return TimingBreakdown.merge(parts);
+    }
+
+    /**
+     * 合并所有阶段的延迟草图，得到整个运行的延迟分布
+     * @return 合并后的草图，阶段未使用草图统计时返回 null
+     */
+    public QuantileSketch mergedSketch() {
+        QuantileSketch merged = null;
+        for (PhaseStats stage : stages) {
+            if (stage.sketch == null) {
+                return null;
+            }
+            if (merged == null) {
+                merged = stage.sketch.copy();
+            } else {
+                merged.merge(stage.sketch);
+            }
+        }
+        return merged;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder("=== Load Shape Result ===\n");
+        sb.append("Target:         ").append(this.target).append("\n");
+        sb.append("Stopped Early:  ").append(this.stoppedEarly);
+        for (PhaseStats stage : stages) {
+            sb.append("\n  ").append(stage);
+        }
+        return sb.toString();
+    }
+}
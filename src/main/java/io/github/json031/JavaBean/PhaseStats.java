@@ -0,0 +1,116 @@
+package io.github.json031.JavaBean;
+
+import io.github.json031.stats.QuantileSketch;
+
+/**
+ * Statistics of one phase (ramp-up, steady state, stage, endpoint...) of a load test.
+ */
+public class PhaseStats {
+    /**
+     * phase name.
+     */
+    public final String name;
+    /**
+     * completed requests.
+     */
+    public final long requests;
+    public final long success;
+    public final long failed;
+    /**
+     * measured wall time of the phase, in seconds.
+     */
+    public final double durationSeconds;
+    /**
+     * completed requests per second.
+     */
+    public final double throughput;
+    /**
+     * latency distribution.
+     */
+    public final LatencySummary latency;
+    /**
+     * mergeable latency sketch, null unless the phase was recorded with the sketch backend.
+     */
+    public final QuantileSketch sketch;
+    /**
+     * slowest requests and sampled failures with full detail.
+     */
+    public final Exemplars exemplars;
+    /**
+     * per-phase (DNS, connect, TLS, TTFB, transfer) histograms, null when the phase was recorded without them.
+     */
+    public final TimingBreakdown timings;
+
+    public PhaseStats(String name,
+                      long requests,
+                      long success,
+                      long failed,
+                      double durationSeconds,
+                      LatencySummary latency) {
+        this(name, requests, success, failed, durationSeconds, latency, null);
+    }
+
+    public PhaseStats(String name,
+                      long requests,
+                      long success,
+                      long failed,
+                      double durationSeconds,
+                      LatencySummary latency,
+                      QuantileSketch sketch) {
+        this(name, requests, success, failed, durationSeconds, latency, sketch, Exemplars.empty());
+    }
+
+    public PhaseStats(String name,
+                      long requests,
+                      long success,
+                      long failed,
+                      double durationSeconds,
+                      LatencySummary latency,
+                      QuantileSketch sketch,
+                      Exemplars exemplars) {
+        this(name, requests, success, failed, durationSeconds, latency, sketch, exemplars, null);
+    }
+
+    public PhaseStats(String name,
+                      long requests,
+                      long success,
+                      long failed,
+                      double durationSeconds,
+                      LatencySummary latency,
+                      QuantileSketch sketch,
+                      Exemplars exemplars,
+                      TimingBreakdown timings) {
+        this.name = name;
+        this.requests = requests;
+        this.success = success;
+        this.failed = failed;
+        this.durationSeconds = durationSeconds;
+        this.throughput = durationSeconds > 0 ? requests / durationSeconds : 0;
+        this.latency = latency;
+        this.sketch = sketch;
+        this.exemplars = exemplars;
+        this.timings = timings;
+    }
+
+    /**
+     * 成功率
+     */
+    public double successRate() {
+        return requests > 0 ? (double) success / requests : 0;
+    }
+
+    /**
+     * 转换为 HighConcurrencyResult
+     */
+    public HighConcurrencyResult toHighConcurrencyResult() {
+        return new HighConcurrencyResult((int) requests, (int) success, (int) failed, (long) latency.meanMillis, exemplars);
+    }
+
+    @Override
+    public String toString() {
+        return String.format(
+                "PhaseStats{name=%s, requests=%d, success=%d, fail=%d, duration=%.2fs, throughput=%.2f req/s, latency=%s}",
+                name, requests, success, failed, durationSeconds, throughput, latency
+        );
+    }
+}
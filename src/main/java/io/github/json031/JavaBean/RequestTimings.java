@@ -0,0 +1,97 @@
+package io.github.json031.JavaBean;
+
+/**
+ * Per-phase timings of one HTTP request, in nanoseconds.
+ * A phase that did not happen (e.g. DNS and connect on a reused connection) or was not measured is -1.
+ */
+public class RequestTimings {
+
+    /**
+     * 阶段未发生或未测量
+     */
+    public static final long NOT_MEASURED = -1;
+
+    private static final RequestTimings UNKNOWN = new RequestTimings(
+            NOT_MEASURED, NOT_MEASURED, NOT_MEASURED, NOT_MEASURED, NOT_MEASURED, NOT_MEASURED, false);
+
+    /**
+     * waiting for a connection lease from the pool (including the stale check of an idle connection).
+     */
+    public final long leaseNanos;
+    /**
+     * host name resolution.
+     */
+    public final long dnsNanos;
+    /**
+     * TCP connect.
+     */
+    public final long connectNanos;
+    /**
+     * TLS handshake.
+     */
+    public final long tlsNanos;
+    /**
+     * time to first byte: from writing the request to receiving the response headers.
+     */
+    public final long ttfbNanos;
+    /**
+     * from the response headers to the last byte of the body.
+     */
+    public final long transferNanos;
+    /**
+     * whether the request was sent on an already opened keep-alive connection.
+     */
+    public final boolean connectionReused;
+
+    public RequestTimings(long dnsNanos,
+                          long connectNanos,
+                          long tlsNanos,
+                          long ttfbNanos,
+                          long transferNanos,
+                          boolean connectionReused) {
+        this(NOT_MEASURED, dnsNanos, connectNanos, tlsNanos, ttfbNanos, transferNanos, connectionReused);
+    }
+
+    public RequestTimings(long leaseNanos,
+                          long dnsNanos,
+                          long connectNanos,
+                          long tlsNanos,
+                          long ttfbNanos,
+                          long transferNanos,
+                          boolean connectionReused) {
+        this.leaseNanos = leaseNanos;
+        this.dnsNanos = dnsNanos;
+        this.connectNanos = connectNanos;
+        this.tlsNanos = tlsNanos;
+        this.ttfbNanos = ttfbNanos;
+        this.transferNanos = transferNanos;
+        this.connectionReused = connectionReused;
+    }
+
+    /**
+     * 传输层未提供分阶段耗时（非连接池 RestTemplate、模拟结果等）
+     */
+    public static RequestTimings unknown() {
+        return UNKNOWN;
+    }
+
+    /**
+     * 是否测量到了分阶段耗时
+     */
+    public boolean isMeasured() {
+        return ttfbNanos != NOT_MEASURED;
+    }
+
+    @Override
+    public String toString() {
+        return String.format(
+                "RequestTimings{lease=%s, dns=%s, connect=%s, tls=%s, ttfb=%s, transfer=%s, reused=%s}",
+                format(leaseNanos), format(dnsNanos), format(connectNanos), format(tlsNanos), format(ttfbNanos),
+                format(transferNanos), connectionReused
+        );
+    }
+
+    private static String format(long nanos) {
+        return nanos == NOT_MEASURED ? "-" : String.format("%.3fms", nanos / 1_000_000.0);
+    }
+}
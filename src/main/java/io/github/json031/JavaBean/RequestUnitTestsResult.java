@@ -30,10 +30,16 @@ public class RequestUnitTestsResult {
 
     // 毫秒级耗时
     public final long durationMillis;
+    // 纳秒级耗时（亚毫秒请求不会被截断为 0）
+    public final long durationNanos;
     // api请求响应结果
     public final ResponseEntity<String> response;
     // 响应大小（字节）
     public final int responseSizeBytes;
+    // 分阶段耗时（DNS、连接、TLS、首字节、传输）与连接是否复用
+    public final RequestTimings timings;
+    // 响应体校验和（十六进制），未计算时为 null
+    public final String responseChecksum;
 
     public RequestUnitTestsResult(
             long durationMillis,
@@ -47,8 +53,66 @@ public class RequestUnitTestsResult {
             Instant startTime,
             Instant endTime,
             long threadId
+    ) {
+        this(durationMillis, response, statusCode, isSuccess, errorMessage, requestUrl, method,
+                responseSizeBytes, startTime, endTime, threadId, durationMillis * 1_000_000);
+    }
+
+    public RequestUnitTestsResult(
+            long durationMillis,
+            ResponseEntity<String> response,
+            int statusCode,
+            boolean isSuccess,
+            String errorMessage,
+            String requestUrl,
+            String method,
+            int responseSizeBytes,
+            Instant startTime,
+            Instant endTime,
+            long threadId,
+            long durationNanos
+    ) {
+        this(durationMillis, response, statusCode, isSuccess, errorMessage, requestUrl, method,
+                responseSizeBytes, startTime, endTime, threadId, durationNanos, RequestTimings.unknown());
+    }
+
+    public RequestUnitTestsResult(
+            long durationMillis,
+            ResponseEntity<String> response,
+            int statusCode,
+            boolean isSuccess,
+            String errorMessage,
+            String requestUrl,
+            String method,
+            int responseSizeBytes,
+            Instant startTime,
+            Instant endTime,
+            long threadId,
+            long durationNanos,
+            RequestTimings timings
+    ) {
+        this(durationMillis, response, statusCode, isSuccess, errorMessage, requestUrl, method,
+                responseSizeBytes, startTime, endTime, threadId, durationNanos, timings, null);
+    }
+
+    public RequestUnitTestsResult(
+            long durationMillis,
+            ResponseEntity<String> response,
+            int statusCode,
+            boolean isSuccess,
+            String errorMessage,
+            String requestUrl,
+            String method,
+            int responseSizeBytes,
+            Instant startTime,
+            Instant endTime,
+            long threadId,
+            long durationNanos,
+            RequestTimings timings,
+            String responseChecksum
     ) {
         this.durationMillis = durationMillis;
+        this.durationNanos = durationNanos;
         this.response = response;
         this.statusCode = statusCode;
         this.isSuccess = isSuccess;
@@ -59,6 +123,8 @@ public class RequestUnitTestsResult {
         this.endTime = endTime;
         this.responseSizeBytes = responseSizeBytes;
         this.threadId = threadId;
+        this.timings = timings != null ? timings : RequestTimings.unknown();
+        this.responseChecksum = responseChecksum;
     }
 
 
@@ -0,0 +1,79 @@
+package io.github.json031.JavaBean;
+
+/**
+ * Universal Scalability Law fit: X(N) = λN / (1 + σ(N - 1) + κN(N - 1)).
+ */
+public class ScalabilityFit {
+    /**
+     * σ, contention (serialization) coefficient.
+     */
+    public final double sigma;
+    /**
+     * κ, coherency (crosstalk) coefficient.
+     */
+    public final double kappa;
+    /**
+     * λ, throughput of a single user without contention, in requests per second.
+     */
+    public final double lambda;
+    /**
+     * coefficient of determination of the fit on throughput.
+     */
+    public final double rSquared;
+    /**
+     * concurrency where the modeled throughput peaks, infinite when κ is 0.
+     */
+    public final double peakConcurrency;
+    /**
+     * modeled throughput at peakConcurrency (or the asymptote λ/σ when κ is 0).
+     */
+    public final double peakThroughput;
+    /**
+     * number of data points used by the fit.
+     */
+    public final int points;
+
+    public ScalabilityFit(double sigma,
+                          double kappa,
+                          double lambda,
+                          double rSquared,
+                          double peakConcurrency,
+                          double peakThroughput,
+                          int points) {
+        this.sigma = sigma;
+        this.kappa = kappa;
+        this.lambda = lambda;
+        this.rSquared = rSquared;
+        this.peakConcurrency = peakConcurrency;
+        this.peakThroughput = peakThroughput;
+        this.points = points;
+    }
+
+    /**
+     * 预测指定并发数下的吞吐量
+     * @param concurrency 并发数
+     * @return 预测吞吐量（请求/秒）
+     */
+    public double predictThroughput(double concurrency) {
+        return lambda * concurrency / (1 + sigma * (concurrency - 1) + kappa * concurrency * (concurrency - 1));
+    }
+
+    /**
+     * 吞吐量峰值对应的整数并发数
+     */
+    public int optimalConcurrency() {
+        if (Double.isInfinite(peakConcurrency)) {
+            return Integer.MAX_VALUE;
+        }
+        int floor = Math.max(1, (int) Math.floor(peakConcurrency));
+        return predictThroughput(floor + 1) > predictThroughput(floor) ? floor + 1 : floor;
+    }
+
+    @Override
+    public String toString() {
+        return String.format(
+                "ScalabilityFit{sigma=%.6f, kappa=%.6f, lambda=%.3f req/s, R2=%.4f, peakConcurrency=%.1f, peakThroughput=%.2f req/s, points=%d}",
+                sigma, kappa, lambda, rSquared, peakConcurrency, peakThroughput, points
+        );
+    }
+}
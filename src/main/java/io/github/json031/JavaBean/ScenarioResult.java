@@ -0,0 +1,67 @@
+package io.github.json031.JavaBean;
+
+import java.util.List;
+
+/**
+ * Multi-step scenario load test result, end-to-end transaction statistics plus one PhaseStats per step.
+ */
+public class ScenarioResult {
+    /**
+     * scenario name.
+     */
+    public final String name;
+    /**
+     * end-to-end transaction statistics (first step start to last step end, think time excluded).
+     */
+    public final ClosedModelResult transactions;
+    /**
+     * statistics of each step over the whole run, in scenario order.
+     */
+    public final List<PhaseStats> steps;
+
+    public ScenarioResult(String name, ClosedModelResult transactions, List<PhaseStats> steps) {
+        this.name = name;
+        this.transactions = transactions;
+        this.steps = steps;
+    }
+
+    /**
+     * 按名称查找步骤统计
+     * @param name 步骤名称
+     * @return 步骤统计，不存在时返回 null
+     */
+    public PhaseStats step(String name) {
+        for (PhaseStats step : steps) {
+            if (step.name.equals(name)) {
+                return step;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * 事务总数（含爬坡阶段）
+     */
+    public long totalTransactions() {
+        return transactions.totalRequests();
+    }
+
+    /**
+     * 失败的事务数（含爬坡阶段）
+     */
+    public long failedTransactions() {
+        return transactions.rampUp.failed + transactions.steadyState.failed;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder("=== Scenario Result: ").append(name).append(" ===\n");
+        sb.append("Transactions: ").append(totalTransactions())
+                .append(" (failed ").append(failedTransactions()).append(")");
+        for (PhaseStats step : steps) {
+            sb.append("\n  ").append(step);
+        }
+        sb.append("\n").append(transactions);
+        return sb.toString();
+    }
+}
@@ -0,0 +1,150 @@
+package io.github.json031.JavaBean;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Segmented (parallel HTTP Range) download result.
+ */
+public class SegmentedDownloadResult {
+    public final String url;
+    /**
+     * path the file was written to.
+     */
+    public final String savePath;
+    /**
+     * file size announced by the server, -1 when unknown.
+     */
+    public final long contentLength;
+    /**
+     * whether the server accepted range requests; otherwise the file was downloaded as a single stream.
+     */
+    public final boolean rangeSupported;
+    /**
+     * segments in file order.
+     */
+    public final List<DownloadSegment> segments;
+    /**
+     * wall time from the size probe to the last written segment, in nanoseconds.
+     */
+    public final long durationNanos;
+    /**
+     * checksum algorithm, null when no checksum was computed.
+     */
+    public final String checksumAlgorithm;
+    /**
+     * hex checksum of the assembled file, null when not computed or the download failed.
+     */
+    public final String checksum;
+    /**
+     * failure of the download as a whole (interruption, file error), null when none; segments then only
+     * hold the range requests that completed.
+     */
+    public final String errorMessage;
+
+    public SegmentedDownloadResult(String url,
+                                   String savePath,
+                                   long contentLength,
+                                   boolean rangeSupported,
+                                   List<DownloadSegment> segments,
+                                   long durationNanos,
+                                   String checksumAlgorithm,
+                                   String checksum) {
+        this(url, savePath, contentLength, rangeSupported, segments, durationNanos, checksumAlgorithm, checksum, null);
+    }
+
+    public SegmentedDownloadResult(String url,
+                                   String savePath,
+                                   long contentLength,
+                                   boolean rangeSupported,
+                                   List<DownloadSegment> segments,
+                                   long durationNanos,
+                                   String checksumAlgorithm,
+                                   String checksum,
+                                   String errorMessage) {
+        this.url = url;
+        this.savePath = savePath;
+        this.contentLength = contentLength;
+        this.rangeSupported = rangeSupported;
+        this.segments = Collections.unmodifiableList(segments);
+        this.durationNanos = durationNanos;
+        this.checksumAlgorithm = checksumAlgorithm;
+        this.checksum = checksum;
+        this.errorMessage = errorMessage;
+    }
+
+    /**
+     * 没有整体错误、所有分段成功且字节数与文件大小一致
+     */
+    public boolean isSuccess() {
+        if (errorMessage != null || segments.isEmpty()) {
+            return false;
+        }
+        for (DownloadSegment segment : segments) {
+            if (!segment.isSuccess) {
+                return false;
+            }
+        }
+        return contentLength < 0 || totalBytes() == contentLength;
+    }
+
+    /**
+     * 所有分段写入的字节数
+     */
+    public long totalBytes() {
+        long total = 0;
+        for (DownloadSegment segment : segments) {
+            total += segment.bytes;
+        }
+        return total;
+    }
+
+    /**
+     * 整体吞吐量（MB/s，按墙钟时间计算）
+     */
+    public double aggregateThroughputMBps() {
+        return durationNanos > 0 ? totalBytes() / 1_000_000.0 / (durationNanos / 1_000_000_000.0) : 0;
+    }
+
+    /**
+     * 最慢分段的吞吐量（MB/s）
+     */
+    public double minSegmentThroughputMBps() {
+        double min = Double.MAX_VALUE;
+        for (DownloadSegment segment : segments) {
+            min = Math.min(min, segment.throughputMBps());
+        }
+        return segments.isEmpty() ? 0 : min;
+    }
+
+    /**
+     * 最快分段的吞吐量（MB/s）
+     */
+    public double maxSegmentThroughputMBps() {
+        double max = 0;
+        for (DownloadSegment segment : segments) {
+            max = Math.max(max, segment.throughputMBps());
+        }
+        return max;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder("=== Segmented Download Result ===\n");
+        sb.append("URL:            ").append(this.url).append("\n");
+        sb.append("Success:        ").append(isSuccess()).append("\n");
+        if (errorMessage != null) {
+            sb.append("Error:          ").append(errorMessage).append("\n");
+        }
+        sb.append("Range Support:  ").append(this.rangeSupported).append("\n");
+        sb.append("Bytes:          ").append(totalBytes()).append("/").append(this.contentLength).append("\n");
+        sb.append("Duration (ms):  ").append(String.format("%.3f", durationNanos / 1_000_000.0)).append("\n");
+        sb.append("Throughput:     ").append(String.format("%.2f MB/s (segments %.2f - %.2f MB/s)",
+                aggregateThroughputMBps(), minSegmentThroughputMBps(), maxSegmentThroughputMBps())).append("\n");
+        sb.append("Checksum:       ").append(checksum == null ? "-" : checksumAlgorithm + ":" + checksum);
+        for (DownloadSegment segment : segments) {
+            sb.append("\n  ").append(segment);
+        }
+        return sb.toString();
+    }
+}
@@ -0,0 +1,108 @@
+package io.github.json031.JavaBean;
+
+import io.github.json031.stats.LatencyHistogram;
+
+import java.util.List;
+
+/**
+ * Per-phase latency histograms of a load test (pool lease, DNS, connect, TLS, time to first byte, transfer).
+ * DNS, connect and TLS only count requests that opened a new connection.
+ */
+public class TimingBreakdown {
+    /**
+     * waiting for a connection from the pool; grows when the pool is smaller than the concurrency.
+     */
+    public final LatencyHistogram lease;
+    public final LatencyHistogram dns;
+    public final LatencyHistogram connect;
+    public final LatencyHistogram tls;
+    public final LatencyHistogram ttfb;
+    public final LatencyHistogram transfer;
+    /**
+     * measured requests that opened a new connection.
+     */
+    public final long newConnections;
+    /**
+     * measured requests sent on a reused keep-alive connection.
+     */
+    public final long reusedConnections;
+
+    public TimingBreakdown(LatencyHistogram lease,
+                           LatencyHistogram dns,
+                           LatencyHistogram connect,
+                           LatencyHistogram tls,
+                           LatencyHistogram ttfb,
+                           LatencyHistogram transfer,
+                           long newConnections,
+                           long reusedConnections) {
+        this.lease = lease;
+        this.dns = dns;
+        this.connect = connect;
+        this.tls = tls;
+        this.ttfb = ttfb;
+        this.transfer = transfer;
+        this.newConnections = newConnections;
+        this.reusedConnections = reusedConnections;
+    }
+
+    /**
+     * 合并多个阶段的分阶段耗时
+     * @param parts 各阶段的分阶段耗时，null 会被忽略
+     * @return 合并结果，没有任何数据时返回 null
+     */
+    public static TimingBreakdown merge(List<TimingBreakdown> parts) {
+        TimingBreakdown merged = null;
+        long newConnections = 0;
+        long reusedConnections = 0;
+        for (TimingBreakdown part : parts) {
+            if (part == null) {
+                continue;
+            }
+            if (merged == null) {
+                merged = new TimingBreakdown(part.lease.copy(), part.dns.copy(), part.connect.copy(),
+                        part.tls.copy(), part.ttfb.copy(), part.transfer.copy(), 0, 0);
+            } else {
+                merged.lease.add(part.lease);
+                merged.dns.add(part.dns);
+                merged.connect.add(part.connect);
+                merged.tls.add(part.tls);
+                merged.ttfb.add(part.ttfb);
+                merged.transfer.add(part.transfer);
+            }
+            newConnections += part.newConnections;
+            reusedConnections += part.reusedConnections;
+        }
+        if (merged == null) {
+            return null;
+        }
+        return new TimingBreakdown(merged.lease, merged.dns, merged.connect, merged.tls, merged.ttfb, merged.transfer,
+                newConnections, reusedConnections);
+    }
+
+    /**
+     * 测量到分阶段耗时的请求数
+     */
+    public long measuredRequests() {
+        return newConnections + reusedConnections;
+    }
+
+    /**
+     * 连接复用率
+     */
+    public double connectionReuseRate() {
+        long total = measuredRequests();
+        return total > 0 ? (double) reusedConnections / total : 0;
+    }
+
+    @Override
+    public String toString() {
+        return "TimingBreakdown{requests=" + measuredRequests() +
+                ", reuseRate=" + String.format("%.2f%%", connectionReuseRate() * 100) +
+                "\n  lease:    " + lease.toSummary() +
+                "\n  dns:      " + dns.toSummary() +
+                "\n  connect:  " + connect.toSummary() +
+                "\n  tls:      " + tls.toSummary() +
+                "\n  ttfb:     " + ttfb.toSummary() +
+                "\n  transfer: " + transfer.toSummary() + "}";
+    }
+}
@@ -0,0 +1,62 @@
+package io.github.json031.JavaBean;
+
+/**
+ * Concurrent upload load test result.
+ */
+public class UploadLoadResult {
+    /**
+     * concurrent uploaders.
+     */
+    public final int concurrency;
+    /**
+     * size of the uploaded file in bytes.
+     */
+    public final long fileBytes;
+    /**
+     * whether the uploads used chunked transfer encoding.
+     */
+    public final boolean chunked;
+    /**
+     * request count, success rate, duration and per-upload latency percentiles.
+     */
+    public final PhaseStats stats;
+
+    public UploadLoadResult(int concurrency, long fileBytes, boolean chunked, PhaseStats stats) {
+        this.concurrency = concurrency;
+        this.fileBytes = fileBytes;
+        this.chunked = chunked;
+        this.stats = stats;
+    }
+
+    /**
+     * 成功上传的字节数
+     */
+    public long uploadedBytes() {
+        return stats.success * fileBytes;
+    }
+
+    /**
+     * 整体上传吞吐量（MB/s，1 MB = 10^6 字节）
+     */
+    public double throughputMBps() {
+        return stats.durationSeconds > 0 ? uploadedBytes() / 1_000_000.0 / stats.durationSeconds : 0;
+    }
+
+    /**
+     * 单次上传延迟分布
+     */
+    public LatencySummary latency() {
+        return stats.latency;
+    }
+
+    @Override
+    public String toString() {
+        return "=== Upload Load Result ===\n" +
+                "Concurrency:    " + this.concurrency + "\n" +
+                "File Bytes:     " + this.fileBytes + "\n" +
+                "Chunked:        " + this.chunked + "\n" +
+                "Uploads:        " + this.stats.requests + " (success " + this.stats.success + ", fail " + this.stats.failed + ")\n" +
+                "Throughput:     " + String.format("%.2f MB/s, %.2f uploads/s", throughputMBps(), stats.throughput) + "\n" +
+                "Latency:        " + this.stats.latency;
+    }
+}
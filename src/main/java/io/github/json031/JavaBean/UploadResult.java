@@ -0,0 +1,70 @@
+package io.github.json031.JavaBean;
+
+/**
+ * Streaming file upload result.
+ */
+public class UploadResult {
+    /**
+     * request result.
+     */
+    public final RequestUnitTestsResult result;
+    /**
+     * body bytes written to the connection.
+     */
+    public final long bytes;
+    /**
+     * whether the body was sent with chunked transfer encoding instead of a Content-Length.
+     */
+    public final boolean chunked;
+    /**
+     * from the start of the request until the last body byte was written, in nanoseconds.
+     */
+    public final long bodySentNanos;
+    /**
+     * whole upload including the server response, in nanoseconds.
+     */
+    public final long durationNanos;
+
+    public UploadResult(RequestUnitTestsResult result,
+                        long bytes,
+                        boolean chunked,
+                        long bodySentNanos,
+                        long durationNanos) {
+        this.result = result;
+        this.bytes = bytes;
+        this.chunked = chunked;
+        this.bodySentNanos = bodySentNanos;
+        this.durationNanos = durationNanos;
+    }
+
+    /**
+     * 是否上传成功
+     */
+    public boolean isSuccess() {
+        return result != null && result.isSuccess;
+    }
+
+    /**
+     * 上传吞吐量（MB/s，1 MB = 10^6 字节），按整个请求耗时计算
+     */
+    public double throughputMBps() {
+        return durationNanos > 0 ? bytes / 1_000_000.0 / (durationNanos / 1_000_000_000.0) : 0;
+    }
+
+    /**
+     * 请求体写完后等待服务端响应的时间（纳秒）
+     */
+    public long responseWaitNanos() {
+        return bodySentNanos > 0 ? durationNanos - bodySentNanos : 0;
+    }
+
+    @Override
+    public String toString() {
+        return String.format(
+                "UploadResult{success=%s, status=%d, bytes=%d, chunked=%s, bodySent=%.3fms, duration=%.3fms, " +
+                        "throughput=%.2fMB/s}",
+                isSuccess(), result != null ? result.statusCode : 0, bytes, chunked, bodySentNanos / 1_000_000.0,
+                durationNanos / 1_000_000.0, throughputMBps()
+        );
+    }
+}
@@ -0,0 +1,68 @@
+package io.github.json031.JavaBean;
+
+import java.util.List;
+
+/**
+ * Weighted multi-endpoint load test result, aggregate stages plus one PhaseStats per endpoint.
+ */
+public class WorkloadMixResult {
+    /**
+     * aggregate statistics of all endpoints, per load stage.
+     */
+    public final LoadShapeResult aggregate;
+    /**
+     * statistics of each endpoint over the whole run, in mix order.
+     */
+    public final List<PhaseStats> endpoints;
+
+    public WorkloadMixResult(LoadShapeResult aggregate, List<PhaseStats> endpoints) {
+        this.aggregate = aggregate;
+        this.endpoints = endpoints;
+    }
+
+    /**
+     * 按名称查找接口统计
+     * @param name 接口名称
+     * @return 接口统计，不存在时返回 null
+     */
+    public PhaseStats endpoint(String name) {
+        for (PhaseStats endpoint : endpoints) {
+            if (endpoint.name.equals(name)) {
+                return endpoint;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * 接口在实际流量中的占比（0-1）
+     * @param name 接口名称
+     */
+    public double actualShare(String name) {
+        PhaseStats endpoint = endpoint(name);
+        long total = totalRequests();
+        return endpoint != null && total > 0 ? (double) endpoint.requests / total : 0;
+    }
+
+    /**
+     * 所有接口的请求总数
+     */
+    public long totalRequests() {
+        long total = 0;
+        for (PhaseStats endpoint : endpoints) {
+            total += endpoint.requests;
+        }
+        return total;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder("=== Workload Mix Result ===\n");
+        sb.append("Total Requests: ").append(totalRequests());
+        for (PhaseStats endpoint : endpoints) {
+            sb.append("\n  ").append(String.format("%5.1f%% ", actualShare(endpoint.name) * 100)).append(endpoint);
+        }
+        sb.append("\n").append(aggregate);
+        return sb.toString();
+    }
+}
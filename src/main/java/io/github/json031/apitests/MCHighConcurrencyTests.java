@@ -1,17 +1,65 @@
 package io.github.json031.apitests;
 
+import io.github.json031.JavaBean.ArrivalRateResult;
+import io.github.json031.JavaBean.BurstResult;
+import io.github.json031.JavaBean.CapacityProbe;
+import io.github.json031.JavaBean.ClosedModelResult;
+import io.github.json031.JavaBean.ExecutionModeComparison;
+import io.github.json031.JavaBean.Exemplars;
+import io.github.json031.JavaBean.GeneratorFootprint;
 import io.github.json031.JavaBean.HighConcurrencyResult;
+import io.github.json031.JavaBean.LatencySummary;
+import io.github.json031.JavaBean.LoadShapeResult;
+import io.github.json031.JavaBean.PhaseStats;
 import io.github.json031.JavaBean.RequestUnitTestsResult;
+import io.github.json031.JavaBean.ScalabilityFit;
+import io.github.json031.JavaBean.ScenarioResult;
+import io.github.json031.JavaBean.TimingBreakdown;
+import io.github.json031.JavaBean.UploadLoadResult;
+import io.github.json031.JavaBean.UploadResult;
+import io.github.json031.JavaBean.WorkloadMixResult;
+import io.github.json031.load.ArrivalRateEngine;
+import io.github.json031.load.CapacitySearch;
+import io.github.json031.load.ClosedModelEngine;
+import io.github.json031.load.ExecutionMode;
+import io.github.json031.load.GeneratorFootprintProbe;
+import io.github.json031.load.LoadExecutors;
+import io.github.json031.load.LoadGeneratorRuntime;
+import io.github.json031.load.LoadShapeScheduler;
+import io.github.json031.load.LoadStage;
+import io.github.json031.load.LoadTarget;
+import io.github.json031.load.RequestTask;
+import io.github.json031.load.Scenario;
+import io.github.json031.load.ThinkTime;
+import io.github.json031.load.VirtualThreads;
+import io.github.json031.load.WorkerGroup;
+import io.github.json031.load.WorkloadMix;
+import io.github.json031.stats.BodySamplingPolicy;
+import io.github.json031.stats.ColumnarResultStore;
+import io.github.json031.stats.EndpointStatsRecorder;
+import io.github.json031.stats.ExemplarReservoir;
+import io.github.json031.stats.LatencyHistogram;
+import io.github.json031.stats.LatencyRecorder;
+import io.github.json031.stats.LatencyStatistics;
+import io.github.json031.stats.PhaseTimingRecorder;
+import io.github.json031.stats.QuantileSketch;
+import io.github.json031.stats.StatisticsBackend;
+import io.github.json031.stats.UniversalScalabilityLaw;
+import io.github.json031.transport.PreparedRequest;
+import io.github.json031.transport.ResponseBodyMode;
+import io.github.json031.unittests.DataUnitTests;
 import io.github.json031.unittests.RequestUnitTests;
 import org.springframework.http.HttpMethod;
 
+import java.io.File;
 import java.time.Duration;
 import java.time.Instant;
 import java.util.*;
 import java.util.concurrent.*;
 import java.util.concurrent.atomic.AtomicInteger;
-import java.util.concurrent.atomic.AtomicLong;
-import java.util.stream.Collectors;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.function.Predicate;
 
 /**
  * This class is used for unit testing api High Concurrency.
@@ -20,6 +68,32 @@ public class MCHighConcurrencyTests {
 
     public MCApiTests mcApiTests = new MCApiTests();
 
+    /**
+     * 模拟用户的执行模式（平台线程 / 虚拟线程）
+     */
+    public ExecutionMode executionMode = ExecutionMode.PLATFORM_THREADS;
+
+    /**
+     * 负载测试的响应体处理模式，大响应体时使用 DISCARD / CHECKSUM 避免解码与分配
+     */
+    public ResponseBodyMode responseBodyMode = ResponseBodyMode.BUFFER;
+
+    /**
+     * 共享的负载生成运行时（工作线程在多次测试之间复用），为空时每次测试使用独立线程池；
+     * 设置后执行模式以运行时为准，运行时由调用方负责关闭
+     */
+    public LoadGeneratorRuntime runtime;
+
+    /**
+     * 压力测试每一级的默认持续时间（秒）
+     */
+    public static final int DEFAULT_STRESS_STEP_SECONDS = 5;
+
+    /**
+     * 详细并发测试默认保留响应体的请求数（失败请求始终保留）
+     */
+    public static final int DEFAULT_RETAINED_BODIES = 100;
+
     /**
      * 运行并发测试
      * @param url        请求地址
@@ -59,52 +133,282 @@ public class MCHighConcurrencyTests {
                                                                       Map<String, String> headers,
                                                                       long timeoutMillis,
                                                                       boolean verbose) {
-        //create an executor to manager api request thread
-        ExecutorService executor = Executors.newFixedThreadPool(threadCount);
-        //the api request thread results
-        List<Future<Long>> futures = new ArrayList<>();
-        //thread safe for logging success count
-        AtomicInteger successCount = new AtomicInteger();
-        //thread safe for logging fail count
-        AtomicInteger failCount = new AtomicInteger();
+        return runConcurrencyTest(this.runtime, this.executionMode, url, threadCount, method, params, headers, timeoutMillis, verbose, null);
+    }
+
+    /**
+     * 同步突发测试 - 所有工作线程先在启动屏障处就绪，再同时发出请求，得到真正同时到达的并发，
+     * 用于测试服务端的锁竞争与连接池竞争；结果包含实际达到的峰值在途请求数
+     *
+     * @param url           请求地址
+     * @param threadCount   并发线程数
+     * @param method        请求方式（GET / POST）
+     * @param params        请求参数（POST body 或 GET 查询参数）
+     * @param headers       请求头（可选）
+     * @param timeoutMillis 最大允许超时时间（毫秒）
+     * @param verbose       是否打印结果
+     * @return 突发测试结果
+     */
+    public BurstResult burstConcurrencyTest(String url,
+                                            int threadCount,
+                                            HttpMethod method,
+                                            Map<String, Object> params,
+                                            Map<String, String> headers,
+                                            long timeoutMillis,
+                                            boolean verbose) {
+        return burstConcurrencyTest(PreparedRequest.of(url, method, params, headers), threadCount, timeoutMillis, verbose);
+    }
 
+    /**
+     * 同步突发测试 - 所有工作线程先在启动屏障处就绪，再同时发出请求；
+     * 超过连接池每路由上限的请求会在客户端等待连接，峰值在途请求数按负载生成端统计
+     *
+     * @param request       预编译请求（可绑定变量来源）
+     * @param threadCount   并发线程数
+     * @param timeoutMillis 最大允许超时时间（毫秒）
+     * @param verbose       是否打印结果
+     * @return 突发测试结果
+     */
+    public BurstResult burstConcurrencyTest(PreparedRequest request,
+                                            int threadCount,
+                                            long timeoutMillis,
+                                            boolean verbose) {
+        RequestTask task = requestTask(request, false);
+        Predicate<RequestUnitTestsResult> successCriteria = withinTimeout(timeoutMillis);
+        LatencyStatistics latencies = StatisticsBackend.SAMPLES.newStatistics();
+        ExemplarReservoir exemplars = new ExemplarReservoir();
+        CountDownLatch ready = new CountDownLatch(threadCount);
+        CountDownLatch startGate = new CountDownLatch(1);
+        AtomicInteger inFlight = new AtomicInteger();
+        AtomicInteger peakInFlight = new AtomicInteger();
+        LongAccumulator firstStart = new LongAccumulator(Math::min, Long.MAX_VALUE);
+        LongAccumulator lastStart = new LongAccumulator(Math::max, Long.MIN_VALUE);
+
+        WorkerGroup workers = LoadExecutors.newWorkerGroup(this.runtime, this.executionMode, threadCount);
         for (int i = 0; i < threadCount; i++) {
-            futures.add(executor.submit(() -> {
+            int userId = i;
+            workers.execute(() -> {
+                ready.countDown();
+                try {
+                    startGate.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
                 long start = System.nanoTime();
+                firstStart.accumulate(start);
+                lastStart.accumulate(start);
+                peakInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+                RequestUnitTestsResult result = null;
                 try {
-                    boolean withinTimeoutMillis = this.mcApiTests.assertApiRespondsWithinTimeoutMillis(url, method, params, headers, timeoutMillis, verbose); // 执行请求
-                    if (!withinTimeoutMillis) {
-                        failCount.incrementAndGet();
-                    } else {
-                        successCount.incrementAndGet();
-                    }
-                } catch (Exception e) {
-                    failCount.incrementAndGet();
+                    result = task.execute(userId, 0);
+                } catch (Exception ignore) {
+                } finally {
+                    inFlight.decrementAndGet();
                 }
-                return (System.nanoTime() - start) / 1_000_000;
-            }));
+                long latencyNanos = System.nanoTime() - start;
+                boolean success = successCriteria.test(result);
+                latencies.record(latencyNanos, success);
+                exemplars.offer(userId, latencyNanos, success, result);
+            });
         }
 
-        executor.shutdown();
-        long totalTime = 0;
-        int completed = 0;
+        // 全部工作线程就绪后打开屏障，所有请求同时发出
         try {
-            executor.awaitTermination(60, TimeUnit.SECONDS);
-            for (Future<Long> future : futures) {
-                long time = future.get();
-                totalTime += time;
-                completed++;
+            if (!ready.await(60, TimeUnit.SECONDS) && verbose) {
+                System.out.println("Only " + (threadCount - ready.getCount()) + " of " + threadCount
+                        + " workers were ready, starting the burst anyway.");
             }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        startGate.countDown();
+        workers.drain(60, TimeUnit.SECONDS);
+
+        double startSpreadMillis = latencies.count() > 0 ? (lastStart.get() - firstStart.get()) / 1_000_000.0 : 0;
+        BurstResult result = new BurstResult(threadCount, (int) latencies.successCount(), threadCount - (int) latencies.successCount(),
+                peakInFlight.get(), startSpreadMillis, latencies.summary(), exemplars.snapshot());
+        if (verbose) {
+            System.out.println(result);
+        }
+        return result;
+    }
 
-        } catch (Exception ignore) {
+    /**
+     * 分别以平台线程与虚拟线程模式运行相同的并发测试，对比负载生成端的内存与调度延迟
+     *
+     * @param url        请求地址
+     * @param threadCount 并发用户数
+     * @param method        请求方式（GET / POST）
+     * @param params        请求参数（POST body 或 GET 查询参数）
+     * @param headers       请求头（可选）
+     * @param timeoutMillis 最大允许超时时间（毫秒）
+     * @param verbose       是否打印响应
+     * @return 两种执行模式的对比结果
+     */
+    public ExecutionModeComparison compareExecutionModes(String url,
+                                                         int threadCount,
+                                                         HttpMethod method,
+                                                         Map<String, Object> params,
+                                                         Map<String, String> headers,
+                                                         long timeoutMillis,
+                                                         boolean verbose) {
+        GeneratorFootprint platform = measureFootprint(ExecutionMode.PLATFORM_THREADS,
+                url, threadCount, method, params, headers, timeoutMillis, verbose);
+        GeneratorFootprint virtual = measureFootprint(ExecutionMode.VIRTUAL_THREADS,
+                url, threadCount, method, params, headers, timeoutMillis, verbose);
+        if (verbose && !VirtualThreads.isSupported()) {
+            System.out.println("Virtual threads require Java 21+, fell back to platform threads.");
+        }
+        return new ExecutionModeComparison(platform, virtual);
+    }
+
+    private GeneratorFootprint measureFootprint(ExecutionMode mode,
+                                                String url,
+                                                int threadCount,
+                                                HttpMethod method,
+                                                Map<String, Object> params,
+                                                Map<String, String> headers,
+                                                long timeoutMillis,
+                                                boolean verbose) {
+        GeneratorFootprintProbe probe = new GeneratorFootprintProbe();
+        probe.start();
+        HighConcurrencyResult result = runConcurrencyTest(null, mode, url, threadCount, method, params, headers, timeoutMillis, verbose, probe);
+        return probe.stop(LoadExecutors.resolve(mode), result);
+    }
+
+    /**
+     * 并发测试核心实现，runtime 不为空时复用其中的工作线程，probe 不为空时记录调度延迟
+     */
+    private HighConcurrencyResult runConcurrencyTest(LoadGeneratorRuntime runtime,
+                                                     ExecutionMode mode,
+                                                     String url,
+                                                     int threadCount,
+                                                     HttpMethod method,
+                                                     Map<String, Object> params,
+                                                     Map<String, String> headers,
+                                                     long timeoutMillis,
+                                                     boolean verbose,
+                                                     GeneratorFootprintProbe probe) {
+        //create (or reuse) the workers of api request threads
+        WorkerGroup executor = LoadExecutors.newWorkerGroup(runtime, mode, threadCount);
+        //thread safe, allocation free recorder for latency and success / fail count
+        LatencyRecorder recorder = new LatencyRecorder();
+        ExemplarReservoir exemplars = new ExemplarReservoir();
+
+        for (int i = 0; i < threadCount; i++) {
+            long submitNano = System.nanoTime();
+            executor.execute(() -> {
+                long start = System.nanoTime();
+                if (probe != null) {
+                    probe.recordSchedulingLag(start - submitNano);
+                }
+                boolean withinTimeoutMillis;
+                try {
+                    withinTimeoutMillis = this.mcApiTests.assertApiRespondsWithinTimeoutMillis(url, method, params, headers, timeoutMillis, verbose); // 执行请求
+                } catch (Exception e) {
+                    withinTimeoutMillis = false;
+                }
+                long latencyNanos = System.nanoTime() - start;
+                recorder.record(latencyNanos, withinTimeoutMillis);
+                if (exemplars.wouldRetain(latencyNanos, withinTimeoutMillis)) {
+                    // 断言接口只返回是否成功，样本只记录请求与耗时信息
+                    Instant end = Instant.now();
+                    exemplars.offer(0, latencyNanos, withinTimeoutMillis, new RequestUnitTestsResult(
+                            latencyNanos / 1_000_000, null, 0, withinTimeoutMillis,
+                            withinTimeoutMillis ? null : "Failed or exceeded " + timeoutMillis + "ms",
+                            url, method.name(), 0, end.minusNanos(latencyNanos), end,
+                            Thread.currentThread().getId(), latencyNanos));
+                }
+            });
         }
 
-        long avg = completed > 0 ? totalTime / completed : 0;
-        return new HighConcurrencyResult(threadCount, successCount.get(), failCount.get(), avg);
+        executor.drain(60, TimeUnit.SECONDS);
+
+        long avg = (long) (recorder.meanNanos() / 1_000_000);
+        return new HighConcurrencyResult(threadCount, (int) recorder.successCount(), (int) recorder.failCount(), avg,
+                exemplars.snapshot());
     }
 
     /**
-     * 运行详细的并发测试，返回每个请求的详细信息
+     * 运行非阻塞异步并发测试 - 少量 selector 线程即可保持大量在途请求，不受 CPU 核数限制
+     *
+     * @param url           请求地址
+     * @param totalRequests 请求总数
+     * @param maxInFlight   最大在途请求数
+     * @param method        请求方式（GET / POST）
+     * @param params        请求参数（POST body 或 GET 查询参数）
+     * @param headers       请求头（可选）
+     * @param timeoutMillis 最大允许超时时间（毫秒）
+     * @param verbose       是否打印响应
+     * @return 统计结果
+     */
+    public HighConcurrencyResult asyncConcurrencyTest(String url,
+                                                      int totalRequests,
+                                                      int maxInFlight,
+                                                      HttpMethod method,
+                                                      Map<String, Object> params,
+                                                      Map<String, String> headers,
+                                                      long timeoutMillis,
+                                                      boolean verbose) {
+        return asyncConcurrencyTest(PreparedRequest.of(url, method, params, headers),
+                totalRequests, maxInFlight, timeoutMillis, verbose);
+    }
+
+    /**
+     * 运行非阻塞异步并发测试 - 少量 selector 线程即可保持大量在途请求，不受 CPU 核数限制
+     *
+     * @param request       预编译请求（可绑定变量来源）
+     * @param totalRequests 请求总数
+     * @param maxInFlight   最大在途请求数
+     * @param timeoutMillis 最大允许超时时间（毫秒）
+     * @param verbose       是否打印响应
+     * @return 统计结果
+     */
+    public HighConcurrencyResult asyncConcurrencyTest(PreparedRequest request,
+                                                      int totalRequests,
+                                                      int maxInFlight,
+                                                      long timeoutMillis,
+                                                      boolean verbose) {
+        Semaphore inFlightPermits = new Semaphore(maxInFlight);
+        LatencyRecorder recorder = new LatencyRecorder();
+        ExemplarReservoir exemplars = new ExemplarReservoir();
+        CountDownLatch done = new CountDownLatch(totalRequests);
+
+        for (int i = 0; i < totalRequests; i++) {
+            try {
+                inFlightPermits.acquire();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+            long submitNanos = System.nanoTime();
+            RequestUnitTests.requestAsync(request, 0, i, verbose).whenComplete((result, error) -> {
+                inFlightPermits.release();
+                boolean success = result != null && result.isSuccess && DataUnitTests.withinTimeOut(result, timeoutMillis);
+                // 异常完成时没有请求耗时，按提交到完成的时间记录
+                long latencyNanos = result != null ? result.durationNanos : System.nanoTime() - submitNanos;
+                recorder.record(latencyNanos, success);
+                exemplars.offer(0, latencyNanos, success, result);
+                done.countDown();
+            });
+        }
+
+        try {
+            done.await(120, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+
+        // 等待超时仍未完成（或未能提交）的请求计为失败
+        int success = (int) recorder.successCount();
+        int failed = totalRequests - success;
+        long avg = (long) (recorder.meanNanos() / 1_000_000);
+        return new HighConcurrencyResult(totalRequests, success, failed, avg, exemplars.snapshot());
+    }
+
+    /**
+     * 运行详细的并发测试，返回每个请求的详细信息（保留失败请求与前 100 个请求的响应体）
      *
      * @param url        请求地址
      * @param threadCount 并发线程数
@@ -120,37 +424,76 @@ public class MCHighConcurrencyTests {
                                                              Map<String, Object> params,
                                                              Map<String, String> headers,
                                                              boolean verbose) {
-        ExecutorService executor = Executors.newFixedThreadPool(threadCount);
-        List<Future<RequestUnitTestsResult>> futures = new ArrayList<>();
-        Instant testStartTime = Instant.now();
+        return detailedConcurrencyTest(url, threadCount,
+                BodySamplingPolicy.failures().or(BodySamplingPolicy.firstN(DEFAULT_RETAINED_BODIES)),
+                method, params, headers, verbose);
+    }
 
-        for (int i = 0; i < threadCount; i++) {
-            futures.add(executor.submit(() ->
-                    RequestUnitTests.requestWitRestTemplate(url, method, params, headers, verbose)
-            ));
-        }
+    /**
+     * 运行详细的并发测试，结果按列存储，响应体按保留策略采样
+     *
+     * @param url            请求地址
+     * @param threadCount    并发线程数
+     * @param samplingPolicy 响应体保留策略
+     * @param method         请求方式（GET / POST）
+     * @param params         请求参数（POST body 或 GET 查询参数）
+     * @param headers        请求头（可选）
+     * @param verbose        是否打印响应
+     * @return 详细的并发测试结果
+     */
+    public DetailedConcurrencyResult detailedConcurrencyTest(String url,
+                                                             int threadCount,
+                                                             BodySamplingPolicy samplingPolicy,
+                                                             HttpMethod method,
+                                                             Map<String, Object> params,
+                                                             Map<String, String> headers,
+                                                             boolean verbose) {
+        return detailedConcurrencyTest(PreparedRequest.of(url, method, params, headers),
+                threadCount, samplingPolicy, verbose);
+    }
 
-        executor.shutdown();
-        List<RequestUnitTestsResult> results = new ArrayList<>();
+    /**
+     * 运行详细的并发测试，结果按列存储，响应体按保留策略采样
+     *
+     * @param request        预编译请求（可绑定变量来源）
+     * @param threadCount    并发线程数
+     * @param samplingPolicy 响应体保留策略
+     * @param verbose        是否打印响应
+     * @return 详细的并发测试结果
+     */
+    public DetailedConcurrencyResult detailedConcurrencyTest(PreparedRequest request,
+                                                             int threadCount,
+                                                             BodySamplingPolicy samplingPolicy,
+                                                             boolean verbose) {
+        WorkerGroup executor = LoadExecutors.newWorkerGroup(this.runtime, this.executionMode, threadCount);
+        Instant testStartTime = Instant.now();
+        ColumnarResultStore store = new ColumnarResultStore(testStartTime, samplingPolicy, threadCount);
+        ExemplarReservoir exemplars = new ExemplarReservoir();
+        PhaseTimingRecorder timings = new PhaseTimingRecorder();
 
-        try {
-            executor.awaitTermination(120, TimeUnit.SECONDS);
-            for (Future<RequestUnitTestsResult> future : futures) {
+        for (int i = 0; i < threadCount; i++) {
+            int userId = i;
+            executor.execute(() -> {
                 try {
-                    RequestUnitTestsResult result = future.get();
+                    RequestUnitTestsResult result = RequestUnitTests.execute(
+                            request, userId, 0, verbose, this.responseBodyMode);
                     if (result != null) {
-                        results.add(result);
+                        // 按完成顺序写入列存储，完整结果对象随即可被回收
+                        store.add(result);
+                        exemplars.offer(userId, result.durationNanos, result.isSuccess, result);
+                        timings.record(result.timings);
                     }
                 } catch (Exception e) {
                     // 记录异常但继续处理其他结果
                 }
-            }
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
+            });
         }
 
+        executor.drain(120, TimeUnit.SECONDS);
+
         Instant testEndTime = Instant.now();
-        return new DetailedConcurrencyResult(results, testStartTime, testEndTime, threadCount);
+        return new DetailedConcurrencyResult(store, testStartTime, testEndTime, threadCount,
+                exemplars.snapshot(), timings.snapshot());
     }
 
     /**
@@ -177,38 +520,83 @@ public class MCHighConcurrencyTests {
                                                   double acceptableFailRate,
                                                   long timeoutMillis,
                                                   boolean verbose) {
-        List<HighConcurrencyResult> results = new ArrayList<>();
-
-        for (int threadCount = startThreads; threadCount <= maxThreads; threadCount += stepSize) {
-            if (verbose) {
-                System.out.println("Testing with " + threadCount + " concurrent threads...");
-            }
-
-            HighConcurrencyResult result = highConcurrencyTestWithTimeoutMillis(
-                    url, threadCount, method, params, headers, timeoutMillis, false
-            );
-            results.add(result);
+        return stressTest(url, startThreads, maxThreads, stepSize, DEFAULT_STRESS_STEP_SECONDS,
+                method, params, headers, acceptableFailRate, timeoutMillis, verbose);
+    }
 
-            // 如果失败率超过阈值，提前终止测试
-            double failRate = (double) result.failed / result.total;
-            if (failRate > acceptableFailRate) {
-                if (verbose) {
-                    System.out.println("Fail rate " + String.format("%.2f%%", failRate * 100) +
-                            " exceeds acceptable rate " + String.format("%.2f%%", acceptableFailRate * 100));
-                }
-                break;
-            }
+    /**
+     * 压力测试 - 并发数逐级增加，每一级持续施加负载指定时间
+     *
+     * @param url              请求地址
+     * @param startThreads     起始线程数
+     * @param maxThreads       最大线程数
+     * @param stepSize         每次增加的线程数
+     * @param stepSeconds      每一级持续时间（秒）
+     * @param method           请求方式
+     * @param params           请求参数
+     * @param headers          请求头
+     * @param acceptableFailRate 可接受的失败率（0.0-1.0）
+     * @param verbose          是否打印响应
+     * @return 压力测试结果列表（每一级一个结果）
+     */
+    public List<HighConcurrencyResult> stressTest(String url,
+                                                  int startThreads,
+                                                  int maxThreads,
+                                                  int stepSize,
+                                                  int stepSeconds,
+                                                  HttpMethod method,
+                                                  Map<String, Object> params,
+                                                  Map<String, String> headers,
+                                                  double acceptableFailRate,
+                                                  long timeoutMillis,
+                                                  boolean verbose) {
+        return stressTest(PreparedRequest.of(url, method, params, headers),
+                startThreads, maxThreads, stepSize, stepSeconds, acceptableFailRate, timeoutMillis, verbose);
+    }
 
-            // 短暂休息，避免连续压力
-            try {
-                Thread.sleep(1000);
-            } catch (InterruptedException e) {
-                Thread.currentThread().interrupt();
-                break;
-            }
+    /**
+     * 压力测试 - 并发数逐级增加，每一级持续施加负载指定时间
+     *
+     * @param request          预编译请求（可绑定变量来源）
+     * @param startThreads     起始线程数
+     * @param maxThreads       最大线程数
+     * @param stepSize         每次增加的线程数
+     * @param stepSeconds      每一级持续时间（秒）
+     * @param acceptableFailRate 可接受的失败率（0.0-1.0）
+     * @param verbose          是否打印响应
+     * @return 压力测试结果列表（每一级一个结果）
+     */
+    public List<HighConcurrencyResult> stressTest(PreparedRequest request,
+                                                  int startThreads,
+                                                  int maxThreads,
+                                                  int stepSize,
+                                                  int stepSeconds,
+                                                  double acceptableFailRate,
+                                                  long timeoutMillis,
+                                                  boolean verbose) {
+        List<LoadStage> stages = new ArrayList<>();
+        for (int threadCount = startThreads; threadCount <= maxThreads; threadCount += stepSize) {
+            stages.add(LoadStage.hold("threads-" + threadCount, threadCount, Math.max(1, stepSeconds), TimeUnit.SECONDS));
         }
 
-        return results;
+        LoadShapeResult shape = new LoadShapeScheduler(stages, LoadTarget.CONCURRENCY)
+                .executionMode(this.executionMode)
+                .runtime(this.runtime)
+                .successCriteria(withinTimeout(timeoutMillis))
+                .stopWhen(stage -> {
+                    // 如果失败率超过阈值，提前终止测试
+                    double failRate = stage.requests > 0 ? (double) stage.failed / stage.requests : 0;
+                    if (failRate > acceptableFailRate && verbose) {
+                        System.out.println("Fail rate " + String.format("%.2f%%", failRate * 100) +
+                                " exceeds acceptable rate " + String.format("%.2f%%", acceptableFailRate * 100));
+                    }
+                    return failRate > acceptableFailRate;
+                })
+                .run(requestTask(request, false));
+        if (verbose) {
+            System.out.println(shape);
+        }
+        return toHighConcurrencyResults(shape);
     }
 
     /**
@@ -230,67 +618,602 @@ public class MCHighConcurrencyTests {
                                                  Map<String, Object> params,
                                                  Map<String, String> headers,
                                                  boolean verbose) {
-        ScheduledExecutorService scheduler = Executors.newScheduledThreadPool(requestsPerSecond);
-        AtomicInteger successCount = new AtomicInteger(0);
-        AtomicInteger failCount = new AtomicInteger(0);
-        AtomicLong totalResponseTime = new AtomicLong(0);
-        List<Long> responseTimes = new CopyOnWriteArrayList<>();
+        return sustainedLoadTest(url, durationSeconds, requestsPerSecond, StatisticsBackend.SAMPLES,
+                method, params, headers, verbose);
+    }
 
+    /**
+     * 持续负载测试 - 在指定时间内持续发送请求，可选择延迟统计方式
+     *
+     * @param url               请求地址
+     * @param durationSeconds   测试持续时间（秒）
+     * @param requestsPerSecond 每秒请求数（QPS）
+     * @param backend           延迟统计方式，SKETCH 不保留原始样本（responseTimes 为空），适合长时间运行
+     * @param method            请求方式
+     * @param params            请求参数
+     * @param headers           请求头
+     * @param verbose           是否打印响应
+     * @return 持续负载测试结果
+     */
+    public SustainedLoadResult sustainedLoadTest(String url,
+                                                 int durationSeconds,
+                                                 int requestsPerSecond,
+                                                 StatisticsBackend backend,
+                                                 HttpMethod method,
+                                                 Map<String, Object> params,
+                                                 Map<String, String> headers,
+                                                 boolean verbose) {
+        return sustainedLoadTest(PreparedRequest.of(url, method, params, headers),
+                durationSeconds, requestsPerSecond, backend, verbose);
+    }
+
+    /**
+     * 持续负载测试 - 在指定时间内持续发送请求，可选择延迟统计方式；
+     * 最大并发数等于每秒请求数，按利特尔法则可覆盖 1 秒以内的响应时间
+     *
+     * @param request           预编译请求（可绑定变量来源）
+     * @param durationSeconds   测试持续时间（秒）
+     * @param requestsPerSecond 每秒请求数（QPS）
+     * @param backend           延迟统计方式，SKETCH 不保留原始样本（responseTimes 为空），适合长时间运行
+     * @param verbose           是否打印响应
+     * @return 持续负载测试结果
+     */
+    public SustainedLoadResult sustainedLoadTest(PreparedRequest request,
+                                                 int durationSeconds,
+                                                 int requestsPerSecond,
+                                                 StatisticsBackend backend,
+                                                 boolean verbose) {
+        return sustainedLoadTest(request, durationSeconds, requestsPerSecond, Math.max(1, requestsPerSecond),
+                backend, verbose);
+    }
+
+    /**
+     * 持续负载测试 - 在指定时间内持续发送请求，可选择延迟统计方式与最大并发数
+     *
+     * @param request           预编译请求（可绑定变量来源）
+     * @param durationSeconds   测试持续时间（秒）
+     * @param requestsPerSecond 每秒请求数（QPS）
+     * @param maxConcurrency    最大在途请求数，应不小于 QPS × 预期响应时间（秒），否则请求排队、延迟包含排队时间
+     * @param backend           延迟统计方式，SKETCH 不保留原始样本（responseTimes 为空），适合长时间运行
+     * @param verbose           是否打印响应
+     * @return 持续负载测试结果
+     */
+    public SustainedLoadResult sustainedLoadTest(PreparedRequest request,
+                                                 int durationSeconds,
+                                                 int requestsPerSecond,
+                                                 int maxConcurrency,
+                                                 StatisticsBackend backend,
+                                                 boolean verbose) {
         Instant startTime = Instant.now();
-        long intervalMillis = 1000 / requestsPerSecond;
 
-        // 调度任务
-        ScheduledFuture<?> task = scheduler.scheduleAtFixedRate(() -> {
-            long reqStart = System.currentTimeMillis();
-            try {
-                RequestUnitTestsResult result = RequestUnitTests.requestWitRestTemplate(
-                        url, method, params, headers, false
-                );
-
-                long responseTime = System.currentTimeMillis() - reqStart;
-                responseTimes.add(responseTime);
-                totalResponseTime.addAndGet(responseTime);
-
-                if (result != null && result.isSuccess) {
-                    successCount.incrementAndGet();
-                } else {
-                    failCount.incrementAndGet();
-                }
-            } catch (Exception e) {
-                failCount.incrementAndGet();
-            }
-        }, 0, intervalMillis, TimeUnit.MILLISECONDS);
+        // 开放模型：按计划到达时间发送请求，延迟从计划开始时间算起
+        ArrivalRateResult arrivals = new ArrivalRateEngine(requestsPerSecond, TimeUnit.SECONDS.toNanos(durationSeconds),
+                maxConcurrency, this.executionMode)
+                .runtime(this.runtime)
+                .statisticsBackend(backend)
+                .run(requestTask(request, false));
+
+        Instant endTime = Instant.now();
+
+        // 读取时才转换为毫秒，草图统计不保留原始样本
+        List<Long> responseTimes = new ArrayList<>();
+        if (arrivals.latencySamples != null) {
+            responseTimes = new ArrayList<>(arrivals.latencySamples.length);
+            for (long latency : arrivals.latencySamples) {
+                responseTimes.add(latency / 1_000_000);
+            }
+        }
+        SustainedLoadResult result = new SustainedLoadResult(
+                (int) arrivals.success,
+                (int) arrivals.failed,
+                responseTimes,
+                startTime,
+                endTime,
+                requestsPerSecond,
+                arrivals.latency,
+                arrivals.latencySketch,
+                arrivals.exemplars
+        );
+        if (verbose) {
+            System.out.println(result);
+        }
+        return result;
+    }
+
+    /**
+     * 恒定到达率测试（开放模型）- 按纳秒精度的计划时间发送请求，不因响应变慢而降低发送速率，
+     * 延迟从计划开始时间算起以修正协调遗漏（coordinated omission）
+     *
+     * @param url               请求地址
+     * @param requestsPerSecond 目标到达率（请求/秒），支持小数
+     * @param durationSeconds   测试持续时间（秒）
+     * @param maxConcurrency    最大并发执行数
+     * @param method            请求方式
+     * @param params            请求参数
+     * @param headers           请求头
+     * @param verbose           是否打印响应
+     * @return 开放模型测试结果（目标速率与实际速率）
+     */
+    public ArrivalRateResult constantArrivalRateTest(String url,
+                                                     double requestsPerSecond,
+                                                     int durationSeconds,
+                                                     int maxConcurrency,
+                                                     HttpMethod method,
+                                                     Map<String, Object> params,
+                                                     Map<String, String> headers,
+                                                     boolean verbose) {
+        return constantArrivalRateTest(PreparedRequest.of(url, method, params, headers),
+                requestsPerSecond, durationSeconds, maxConcurrency, verbose);
+    }
+
+    /**
+     * 恒定到达率测试（开放模型）- 按纳秒精度的计划时间发送请求，不因响应变慢而降低发送速率，
+     * 延迟从计划开始时间算起以修正协调遗漏（coordinated omission）
+     *
+     * @param request           预编译请求（可绑定变量来源）
+     * @param requestsPerSecond 目标到达率（请求/秒），支持小数
+     * @param durationSeconds   测试持续时间（秒）
+     * @param maxConcurrency    最大并发执行数
+     * @param verbose           是否打印响应
+     * @return 开放模型测试结果（目标速率与实际速率）
+     */
+    public ArrivalRateResult constantArrivalRateTest(PreparedRequest request,
+                                                     double requestsPerSecond,
+                                                     int durationSeconds,
+                                                     int maxConcurrency,
+                                                     boolean verbose) {
+        ArrivalRateResult result = new ArrivalRateEngine(requestsPerSecond, TimeUnit.SECONDS.toNanos(durationSeconds),
+                maxConcurrency, this.executionMode)
+                .runtime(this.runtime)
+                .run(requestTask(request, false));
+        if (verbose) {
+            System.out.println(result);
+        }
+        return result;
+    }
+
+    /**
+     * 闭环模型测试 - 固定数量的虚拟用户循环请求，每次请求后等待思考时间，按持续时间结束
+     *
+     * @param url             请求地址
+     * @param users           虚拟用户数
+     * @param rampUpSeconds   爬坡时间（秒），用户在该时间内均匀启动
+     * @param durationSeconds 爬坡结束后的稳态持续时间（秒）
+     * @param thinkTime       思考时间分布
+     * @param method          请求方式
+     * @param params          请求参数
+     * @param headers         请求头
+     * @param verbose         是否打印响应
+     * @return 爬坡阶段与稳态阶段分别统计的结果
+     */
+    public ClosedModelResult closedModelTest(String url,
+                                             int users,
+                                             int rampUpSeconds,
+                                             int durationSeconds,
+                                             ThinkTime thinkTime,
+                                             HttpMethod method,
+                                             Map<String, Object> params,
+                                             Map<String, String> headers,
+                                             boolean verbose) {
+        return closedModelTest(PreparedRequest.of(url, method, params, headers),
+                users, rampUpSeconds, durationSeconds, thinkTime, verbose);
+    }
+
+    /**
+     * 闭环模型测试 - 固定数量的虚拟用户循环请求，每次请求后等待思考时间，按持续时间结束
+     *
+     * @param request         预编译请求（可绑定变量来源）
+     * @param users           虚拟用户数
+     * @param rampUpSeconds   爬坡时间（秒），用户在该时间内均匀启动
+     * @param durationSeconds 爬坡结束后的稳态持续时间（秒）
+     * @param thinkTime       思考时间分布
+     * @param verbose         是否打印响应
+     * @return 爬坡阶段与稳态阶段分别统计的结果
+     */
+    public ClosedModelResult closedModelTest(PreparedRequest request,
+                                             int users,
+                                             int rampUpSeconds,
+                                             int durationSeconds,
+                                             ThinkTime thinkTime,
+                                             boolean verbose) {
+        return closedModelTest(request, users, rampUpSeconds, durationSeconds, thinkTime,
+                StatisticsBackend.SAMPLES, verbose);
+    }
+
+    /**
+     * 闭环模型测试 - 固定数量的虚拟用户循环请求，按持续时间结束，可选择延迟统计方式
+     *
+     * @param request         预编译请求（可绑定变量来源）
+     * @param users           虚拟用户数
+     * @param rampUpSeconds   爬坡时间（秒），用户在该时间内均匀启动
+     * @param durationSeconds 爬坡结束后的稳态持续时间（秒）
+     * @param thinkTime       思考时间分布
+     * @param backend         延迟统计方式，长时间运行时使用 SKETCH 保持内存固定
+     * @param verbose         是否打印响应
+     * @return 爬坡阶段与稳态阶段分别统计的结果
+     */
+    public ClosedModelResult closedModelTest(PreparedRequest request,
+                                             int users,
+                                             int rampUpSeconds,
+                                             int durationSeconds,
+                                             ThinkTime thinkTime,
+                                             StatisticsBackend backend,
+                                             boolean verbose) {
+        ClosedModelResult result = new ClosedModelEngine(users)
+                .rampUp(rampUpSeconds, TimeUnit.SECONDS)
+                .duration(durationSeconds, TimeUnit.SECONDS)
+                .thinkTime(thinkTime)
+                .executionMode(this.executionMode)
+                .runtime(this.runtime)
+                .statisticsBackend(backend)
+                .run(requestTask(request, false));
+        if (verbose) {
+            System.out.println(result);
+        }
+        return result;
+    }
+
+    /**
+     * 闭环模型测试 - 固定数量的虚拟用户循环请求，每个用户完成指定次数后结束
+     *
+     * @param url               请求地址
+     * @param users             虚拟用户数
+     * @param iterationsPerUser 每个用户的请求次数
+     * @param rampUpSeconds     爬坡时间（秒）
+     * @param thinkTime         思考时间分布
+     * @param method            请求方式
+     * @param params            请求参数
+     * @param headers           请求头
+     * @param verbose           是否打印响应
+     * @return 爬坡阶段与稳态阶段分别统计的结果
+     */
+    public ClosedModelResult closedModelIterationsTest(String url,
+                                                       int users,
+                                                       long iterationsPerUser,
+                                                       int rampUpSeconds,
+                                                       ThinkTime thinkTime,
+                                                       HttpMethod method,
+                                                       Map<String, Object> params,
+                                                       Map<String, String> headers,
+                                                       boolean verbose) {
+        return closedModelIterationsTest(PreparedRequest.of(url, method, params, headers),
+                users, iterationsPerUser, rampUpSeconds, thinkTime, verbose);
+    }
+
+    /**
+     * 闭环模型测试 - 固定数量的虚拟用户循环请求，每个用户完成指定次数后结束
+     *
+     * @param request           预编译请求（可绑定变量来源）
+     * @param users             虚拟用户数
+     * @param iterationsPerUser 每个用户的请求次数
+     * @param rampUpSeconds     爬坡时间（秒）
+     * @param thinkTime         思考时间分布
+     * @param verbose           是否打印响应
+     * @return 爬坡阶段与稳态阶段分别统计的结果
+     */
+    public ClosedModelResult closedModelIterationsTest(PreparedRequest request,
+                                                       int users,
+                                                       long iterationsPerUser,
+                                                       int rampUpSeconds,
+                                                       ThinkTime thinkTime,
+                                                       boolean verbose) {
+        ClosedModelResult result = new ClosedModelEngine(users)
+                .rampUp(rampUpSeconds, TimeUnit.SECONDS)
+                .iterations(iterationsPerUser)
+                .thinkTime(thinkTime)
+                .executionMode(this.executionMode)
+                .runtime(this.runtime)
+                .run(requestTask(request, false));
+        if (verbose) {
+            System.out.println(result);
+        }
+        return result;
+    }
+
+    /**
+     * 并发上传测试 - 多个用户同时流式上传同一文件，统计上传吞吐量（MB/s）与单次上传延迟分布
+     *
+     * @param url            请求地址
+     * @param file           上传的文件
+     * @param concurrency    并发上传数
+     * @param uploadsPerUser 每个用户的上传次数
+     * @param method         请求方式（POST / PUT）
+     * @param headers        请求头
+     * @param chunked        是否使用分块传输编码
+     * @param verbose        是否打印结果
+     * @return 上传负载测试结果
+     */
+    public UploadLoadResult concurrentUploadTest(String url,
+                                                 File file,
+                                                 int concurrency,
+                                                 long uploadsPerUser,
+                                                 HttpMethod method,
+                                                 Map<String, String> headers,
+                                                 boolean chunked,
+                                                 boolean verbose) {
+        ClosedModelResult result = new ClosedModelEngine(concurrency)
+                .iterations(uploadsPerUser)
+                .executionMode(this.executionMode)
+                .runtime(this.runtime)
+                .run((userId, iteration) -> {
+                    UploadResult upload = RequestUnitTests.uploadFileStreaming(url, file, method, headers, chunked,
+                            RequestUnitTests.DEFAULT_UPLOAD_BUFFER_SIZE, false, this.responseBodyMode);
+                    return upload != null ? upload.result : null;
+                });
+        UploadLoadResult uploadResult = new UploadLoadResult(concurrency, file.length(), chunked, result.steadyState);
+        if (verbose) {
+            System.out.println(uploadResult);
+        }
+        return uploadResult;
+    }
+
+    /**
+     * 负载曲线测试 - 按阶段（爬坡、保持、突刺、回落）持续施加负载，每个阶段单独统计
+     *
+     * @param url            请求地址
+     * @param stages         负载阶段
+     * @param target         阶段目标值的含义：并发数或到达率
+     * @param maxConcurrency 到达率模式下的最大并发执行数，0 表示取最大目标速率
+     * @param method         请求方式
+     * @param params         请求参数
+     * @param headers        请求头
+     * @param verbose        是否打印响应
+     * @return 每个阶段的统计结果
+     */
+    public LoadShapeResult loadShapeTest(String url,
+                                         List<LoadStage> stages,
+                                         LoadTarget target,
+                                         int maxConcurrency,
+                                         HttpMethod method,
+                                         Map<String, Object> params,
+                                         Map<String, String> headers,
+                                         boolean verbose) {
+        return loadShapeTest(PreparedRequest.of(url, method, params, headers), stages, target, maxConcurrency, verbose);
+    }
+
+    /**
+     * 负载曲线测试 - 按阶段（爬坡、保持、突刺、回落）持续施加负载，每个阶段单独统计
+     *
+     * @param request        预编译请求（可绑定变量来源）
+     * @param stages         负载阶段
+     * @param target         阶段目标值的含义：并发数或到达率
+     * @param maxConcurrency 到达率模式下的最大并发执行数，0 表示取最大目标速率
+     * @param verbose        是否打印响应
+     * @return 每个阶段的统计结果
+     */
+    public LoadShapeResult loadShapeTest(PreparedRequest request,
+                                         List<LoadStage> stages,
+                                         LoadTarget target,
+                                         int maxConcurrency,
+                                         boolean verbose) {
+        LoadShapeResult result = new LoadShapeScheduler(stages, target)
+                .maxConcurrency(maxConcurrency)
+                .executionMode(this.executionMode)
+                .runtime(this.runtime)
+                .run(requestTask(request, false));
+        if (verbose) {
+            System.out.println(result);
+        }
+        return result;
+    }
+
+    /**
+     * 多接口加权负载测试 - 每次请求按权重选取接口（别名法，与接口数量无关），按阶段持续施加负载，
+     * 同时统计整体与每个接口的延迟和错误
+     *
+     * @param mix            加权接口组合
+     * @param stages         负载阶段
+     * @param target         阶段目标值的含义：并发数或到达率
+     * @param maxConcurrency 到达率模式下的最大并发执行数，0 表示取最大目标速率
+     * @param timeoutMillis  超时时间（毫秒），超时的请求计为失败
+     * @param verbose        是否打印结果
+     * @return 整体（每个阶段）与每个接口的统计结果
+     */
+    public WorkloadMixResult workloadMixTest(WorkloadMix mix,
+                                             List<LoadStage> stages,
+                                             LoadTarget target,
+                                             int maxConcurrency,
+                                             long timeoutMillis,
+                                             boolean verbose) {
+        List<String> names = new ArrayList<>(mix.size());
+        RequestTask[] tasks = new RequestTask[mix.size()];
+        for (int i = 0; i < mix.size(); i++) {
+            names.add(mix.endpoint(i).name);
+            tasks[i] = requestTask(mix.endpoint(i).request, false);
+        }
+        EndpointStatsRecorder endpoints = new EndpointStatsRecorder(names, StatisticsBackend.SAMPLES);
+        Predicate<RequestUnitTestsResult> successCriteria = withinTimeout(timeoutMillis);
+
+        // 选中的接口随结果一起返回，完成回调无需依赖执行线程
+        LoadShapeResult aggregate = new LoadShapeScheduler(stages, target)
+                .maxConcurrency(maxConcurrency)
+                .executionMode(this.executionMode)
+                .runtime(this.runtime)
+                .successCriteria(successCriteria)
+                .onCompletion((userId, latencyNanos, result) -> endpoints.record(
+                        ((EndpointResult) result).endpoint, userId, latencyNanos, successCriteria.test(result), result))
+                .run((userId, iteration) -> {
+                    int endpoint = mix.pick();
+                    try {
+                        return EndpointResult.of(endpoint, tasks[endpoint].execute(userId, iteration));
+                    } catch (RuntimeException e) {
+                        return new EndpointResult(endpoint, e.toString());
+                    }
+                });
+
+        double durationSeconds = 0;
+        for (PhaseStats stage : aggregate.stages) {
+            durationSeconds += stage.durationSeconds;
+        }
+        WorkloadMixResult result = new WorkloadMixResult(aggregate, endpoints.snapshot(durationSeconds));
+        if (verbose) {
+            System.out.println(result);
+        }
+        return result;
+    }
+
+    /**
+     * 多步骤场景测试 - 每个虚拟用户循环执行场景（例如登录、浏览、下单、退出），后续步骤使用前面步骤响应中
+     * 提取的值，按持续时间结束；同时统计每个步骤与端到端事务的延迟（草图统计，内存不随运行时间增长）
+     *
+     * @param scenario        场景定义
+     * @param users           虚拟用户数
+     * @param rampUpSeconds   爬坡时间（秒），用户在该时间内均匀启动
+     * @param durationSeconds 爬坡结束后的稳态持续时间（秒）
+     * @param thinkTime       两次事务之间的思考时间分布
+     * @param verbose         是否打印结果
+     * @return 事务与每个步骤的统计结果
+     */
+    public ScenarioResult scenarioTest(Scenario scenario,
+                                       int users,
+                                       int rampUpSeconds,
+                                       int durationSeconds,
+                                       ThinkTime thinkTime,
+                                       boolean verbose) {
+        return scenarioTest(scenario, users, rampUpSeconds, durationSeconds, thinkTime,
+                StatisticsBackend.SKETCH, verbose);
+    }
+
+    /**
+     * 多步骤场景测试 - 按持续时间结束，可选择延迟统计方式
+     *
+     * @param scenario        场景定义
+     * @param users           虚拟用户数
+     * @param rampUpSeconds   爬坡时间（秒），用户在该时间内均匀启动
+     * @param durationSeconds 爬坡结束后的稳态持续时间（秒）
+     * @param thinkTime       两次事务之间的思考时间分布
+     * @param backend         事务与步骤延迟的统计方式
+     * @param verbose         是否打印结果
+     * @return 事务与每个步骤的统计结果
+     */
+    public ScenarioResult scenarioTest(Scenario scenario,
+                                       int users,
+                                       int rampUpSeconds,
+                                       int durationSeconds,
+                                       ThinkTime thinkTime,
+                                       StatisticsBackend backend,
+                                       boolean verbose) {
+        return runScenario(scenario, new ClosedModelEngine(users)
+                .rampUp(rampUpSeconds, TimeUnit.SECONDS)
+                .duration(durationSeconds, TimeUnit.SECONDS)
+                .thinkTime(thinkTime), backend, verbose);
+    }
+
+    /**
+     * 多步骤场景测试 - 每个虚拟用户执行指定次数的场景后结束
+     *
+     * @param scenario          场景定义
+     * @param users             虚拟用户数
+     * @param iterationsPerUser 每个用户的事务次数
+     * @param rampUpSeconds     爬坡时间（秒）
+     * @param thinkTime         两次事务之间的思考时间分布
+     * @param verbose           是否打印结果
+     * @return 事务与每个步骤的统计结果
+     */
+    public ScenarioResult scenarioIterationsTest(Scenario scenario,
+                                                 int users,
+                                                 long iterationsPerUser,
+                                                 int rampUpSeconds,
+                                                 ThinkTime thinkTime,
+                                                 boolean verbose) {
+        return runScenario(scenario, new ClosedModelEngine(users)
+                .rampUp(rampUpSeconds, TimeUnit.SECONDS)
+                .iterations(iterationsPerUser)
+                .thinkTime(thinkTime), StatisticsBackend.SAMPLES, verbose);
+    }
 
-        // 等待测试完成
-        try {
-            Thread.sleep(durationSeconds * 1000L);
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
+    private ScenarioResult runScenario(Scenario scenario,
+                                       ClosedModelEngine engine,
+                                       StatisticsBackend backend,
+                                       boolean verbose) {
+        EndpointStatsRecorder steps = new EndpointStatsRecorder(scenario.stepNames(), backend);
+        long start = System.nanoTime();
+        ClosedModelResult transactions = engine
+                .executionMode(this.executionMode)
+                .runtime(this.runtime)
+                .statisticsBackend(backend)
+                .run((userId, iteration) -> runTransaction(scenario, steps, userId, iteration));
+        double durationSeconds = (System.nanoTime() - start) / 1_000_000_000.0;
+
+        ScenarioResult result = new ScenarioResult(scenario.name, transactions, steps.snapshot(durationSeconds));
+        if (verbose) {
+            System.out.println(result);
         }
+        return result;
+    }
 
-        task.cancel(false);
-        scheduler.shutdown();
+    /**
+     * 执行一次场景事务：依次执行每个步骤，提取的值写入本次事务的变量，任一步骤失败或提取不到值时结束事务
+     * @return 端到端事务结果，耗时为第一个步骤开始到最后一个步骤结束
+     */
+    private RequestUnitTestsResult runTransaction(Scenario scenario, EndpointStatsRecorder steps, int userId, long iteration) {
+        Map<String, String> variables = new HashMap<>(scenario.variables.variables(userId, iteration));
+        variables.put(PreparedRequest.USER_ID, String.valueOf(userId));
+        variables.put(PreparedRequest.ITERATION, String.valueOf(iteration));
 
-        try {
-            scheduler.awaitTermination(10, TimeUnit.SECONDS);
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
+        Instant startTime = Instant.now();
+        long startNanos = System.nanoTime();
+        boolean success = true;
+        String errorMessage = null;
+        int statusCode = 0;
+        long bytes = 0;
+        for (int i = 0; i < scenario.steps.size() && success; i++) {
+            Scenario.Step step = scenario.steps.get(i);
+            // 需要提取值的步骤必须读取完整响应体
+            ResponseBodyMode bodyMode = step.hasExtractions() ? ResponseBodyMode.BUFFER : this.responseBodyMode;
+            RequestUnitTestsResult result = RequestUnitTests.execute(step.request, variables, false, bodyMode);
+            success = result != null && result.isSuccess;
+            if (result != null) {
+                statusCode = result.statusCode;
+                bytes += result.responseSizeBytes;
+                errorMessage = result.errorMessage;
+            }
+            if (success && step.hasExtractions()) {
+                errorMessage = extract(step, result, variables);
+                success = errorMessage == null;
+            }
+            if (!success && errorMessage == null) {
+                errorMessage = "Step " + step.name + " failed";
+            }
+            steps.record(i, userId, result != null ? result.durationNanos : 0, success, result);
         }
+        long durationNanos = System.nanoTime() - startNanos;
+        return new RequestUnitTestsResult(durationNanos / 1_000_000, null, statusCode, success, errorMessage,
+                scenario.name, "SCENARIO", (int) Math.min(bytes, Integer.MAX_VALUE), startTime, Instant.now(),
+                Thread.currentThread().getId(), durationNanos);
+    }
 
-        Instant endTime = Instant.now();
-
-        return new SustainedLoadResult(
-                successCount.get(),
-                failCount.get(),
-                responseTimes,
-                startTime,
-                endTime,
-                requestsPerSecond
-        );
+    /**
+     * 从步骤响应中提取变量，响应体只解析一次
+     * @return 提取失败时的错误信息，全部提取成功时返回 null
+     */
+    private static String extract(Scenario.Step step, RequestUnitTestsResult result, Map<String, String> variables) {
+        if (result.response == null) {
+            return "Step " + step.name + " has no response to extract from";
+        }
+        Map<String, String> values = DataUnitTests.extractJsonFieldValues(result.response, step.jsonExtractions);
+        for (Map.Entry<String, String> header : step.headerExtractions.entrySet()) {
+            String value = result.response.getHeaders().getFirst(header.getValue());
+            if (value != null) {
+                values.put(header.getKey(), value);
+            }
+        }
+        for (String variable : step.jsonExtractions.keySet()) {
+            if (!values.containsKey(variable)) {
+                return "Step " + step.name + " could not extract " + variable + " from " + step.jsonExtractions.get(variable);
+            }
+        }
+        for (String variable : step.headerExtractions.keySet()) {
+            if (!values.containsKey(variable)) {
+                return "Step " + step.name + " could not extract " + variable + " from header " + step.headerExtractions.get(variable);
+            }
+        }
+        variables.putAll(values);
+        return null;
     }
 
     /**
-     * 峰值测试 - 模拟流量突然激增的场景
+     * 峰值测试 - 模拟流量突然激增的场景，正常、峰值、恢复三个阶段持续施加负载
      *
      * @param url              请求地址
      * @param normalThreads    正常负载的线程数
@@ -313,46 +1236,49 @@ public class MCHighConcurrencyTests {
                                        Map<String, String> headers,
                                        long timeoutMillis,
                                        boolean verbose) {
-        if (verbose) {
-            System.out.println("Starting normal load phase with " + normalThreads + " threads for " + normalDuration + "s...");
-        }
-
-        // 正常负载阶段
-        HighConcurrencyResult normalResult = highConcurrencyTestWithTimeoutMillis(
-                url, normalThreads, method, params, headers, timeoutMillis, false
-        );
-
-        try {
-            Thread.sleep(normalDuration * 1000L);
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
-        }
-
-        if (verbose) {
-            System.out.println("Starting peak load phase with " + peakThreads + " threads for " + peakDuration + "s...");
-        }
+        return peakLoadTest(PreparedRequest.of(url, method, params, headers),
+                normalThreads, peakThreads, normalDuration, peakDuration, timeoutMillis, verbose);
+    }
 
-        // 峰值负载阶段
-        HighConcurrencyResult peakResult = highConcurrencyTestWithTimeoutMillis(
-                url, peakThreads, method, params, headers, timeoutMillis, false
+    /**
+     * 峰值测试 - 模拟流量突然激增的场景，正常、峰值、恢复三个阶段持续施加负载
+     *
+     * @param request          预编译请求（可绑定变量来源）
+     * @param normalThreads    正常负载的线程数
+     * @param peakThreads      峰值负载的线程数
+     * @param normalDuration   正常负载持续时间（秒）
+     * @param peakDuration     峰值负载持续时间（秒）
+     * @param verbose          是否打印响应
+     * @return 峰值测试结果
+     */
+    public PeakLoadResult peakLoadTest(PreparedRequest request,
+                                       int normalThreads,
+                                       int peakThreads,
+                                       int normalDuration,
+                                       int peakDuration,
+                                       long timeoutMillis,
+                                       boolean verbose) {
+        // 正常负载 -> 峰值负载 -> 恢复正常负载，各阶段之间不间断地持续施加负载
+        List<LoadStage> stages = Arrays.asList(
+                LoadStage.hold("normal", normalThreads, Math.max(1, normalDuration), TimeUnit.SECONDS),
+                LoadStage.spike("peak", peakThreads, Math.max(1, peakDuration), TimeUnit.SECONDS),
+                LoadStage.stepDown("recovery", normalThreads, Math.max(1, normalDuration), TimeUnit.SECONDS)
         );
-
-        try {
-            Thread.sleep(peakDuration * 1000L);
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
-        }
-
+        LoadShapeResult shape = new LoadShapeScheduler(stages, LoadTarget.CONCURRENCY)
+                .executionMode(this.executionMode)
+                .runtime(this.runtime)
+                .successCriteria(withinTimeout(timeoutMillis))
+                .run(requestTask(request, false));
         if (verbose) {
-            System.out.println("Returning to normal load phase...");
+            System.out.println(shape);
         }
 
-        // 恢复正常负载
-        HighConcurrencyResult recoveryResult = highConcurrencyTestWithTimeoutMillis(
-                url, normalThreads, method, params, headers, timeoutMillis, false
+        return new PeakLoadResult(
+                shape.stage("normal").toHighConcurrencyResult(),
+                shape.stage("peak").toHighConcurrencyResult(),
+                shape.stage("recovery").toHighConcurrencyResult(),
+                shape.stages
         );
-
-        return new PeakLoadResult(normalResult, peakResult, recoveryResult);
     }
 
     /**
@@ -360,13 +1286,13 @@ public class MCHighConcurrencyTests {
      *
      * @param url              请求地址
      * @param threadCount      并发线程数
-     * @param iterations       迭代次数
-     * @param intervalSeconds  每次迭代间隔（秒）
+     * @param iterations       统计窗口数
+     * @param intervalSeconds  每个统计窗口的时长（秒）
      * @param method           请求方式
      * @param params           请求参数
      * @param headers          请求头
      * @param verbose          是否打印响应
-     * @return 稳定性测试结果列表
+     * @return 稳定性测试结果列表（每个窗口一个结果）
      */
     public List<HighConcurrencyResult> stabilityTest(String url,
                                                      int threadCount,
@@ -377,29 +1303,95 @@ public class MCHighConcurrencyTests {
                                                      Map<String, String> headers,
                                                      long timeoutMillis,
                                                      boolean verbose) {
-        List<HighConcurrencyResult> results = new ArrayList<>();
+        return stabilityTest(PreparedRequest.of(url, method, params, headers),
+                threadCount, iterations, intervalSeconds, timeoutMillis, verbose);
+    }
 
-        for (int i = 0; i < iterations; i++) {
-            if (verbose) {
-                System.out.println("Stability test iteration " + (i + 1) + "/" + iterations);
-            }
+    /**
+     * 稳定性测试 - 长时间运行，检测内存泄漏或性能退化
+     *
+     * @param request          预编译请求（可绑定变量来源）
+     * @param threadCount      并发线程数
+     * @param iterations       统计窗口数
+     * @param intervalSeconds  每个统计窗口的时长（秒）
+     * @param verbose          是否打印响应
+     * @return 稳定性测试结果列表（每个窗口一个结果）
+     */
+    public List<HighConcurrencyResult> stabilityTest(PreparedRequest request,
+                                                     int threadCount,
+                                                     int iterations,
+                                                     int intervalSeconds,
+                                                     long timeoutMillis,
+                                                     boolean verbose) {
+        return toHighConcurrencyResults(soakTest(request, threadCount, iterations, intervalSeconds,
+                StatisticsBackend.SKETCH, timeoutMillis, verbose));
+    }
 
-            HighConcurrencyResult result = highConcurrencyTestWithTimeoutMillis(
-                    url, threadCount, method, params, headers, timeoutMillis, false
-            );
-            results.add(result);
+    /**
+     * 浸泡测试 - 长时间持续施加负载，每个时间窗口单独统计；使用草图统计时内存不随运行时长增长，
+     * 各窗口的草图可通过 {@link LoadShapeResult#mergedSketch()} 合并为整个运行的延迟分布
+     *
+     * @param url              请求地址
+     * @param threadCount      并发线程数
+     * @param windows          统计窗口数
+     * @param windowSeconds    每个统计窗口的时长（秒）
+     * @param backend          延迟统计方式
+     * @param method           请求方式
+     * @param params           请求参数
+     * @param headers          请求头
+     * @param timeoutMillis    超时时间（毫秒），超时的请求计为失败
+     * @param verbose          是否打印响应
+     * @return 每个窗口的统计结果
+     */
+    public LoadShapeResult soakTest(String url,
+                                    int threadCount,
+                                    int windows,
+                                    int windowSeconds,
+                                    StatisticsBackend backend,
+                                    HttpMethod method,
+                                    Map<String, Object> params,
+                                    Map<String, String> headers,
+                                    long timeoutMillis,
+                                    boolean verbose) {
+        return soakTest(PreparedRequest.of(url, method, params, headers),
+                threadCount, windows, windowSeconds, backend, timeoutMillis, verbose);
+    }
 
-            if (i < iterations - 1) {
-                try {
-                    Thread.sleep(intervalSeconds * 1000L);
-                } catch (InterruptedException e) {
-                    Thread.currentThread().interrupt();
-                    break;
-                }
-            }
+    /**
+     * 浸泡测试 - 长时间持续施加负载，每个时间窗口单独统计；使用草图统计时内存不随运行时长增长，
+     * 各窗口的草图可通过 {@link LoadShapeResult#mergedSketch()} 合并为整个运行的延迟分布
+     *
+     * @param request          预编译请求（可绑定变量来源）
+     * @param threadCount      并发线程数
+     * @param windows          统计窗口数
+     * @param windowSeconds    每个统计窗口的时长（秒）
+     * @param backend          延迟统计方式
+     * @param timeoutMillis    超时时间（毫秒），超时的请求计为失败
+     * @param verbose          是否打印响应
+     * @return 每个窗口的统计结果
+     */
+    public LoadShapeResult soakTest(PreparedRequest request,
+                                    int threadCount,
+                                    int windows,
+                                    int windowSeconds,
+                                    StatisticsBackend backend,
+                                    long timeoutMillis,
+                                    boolean verbose) {
+        // 持续施加负载，每个时间窗口单独统计，便于观察性能随时间的退化
+        List<LoadStage> stages = new ArrayList<>();
+        for (int i = 0; i < windows; i++) {
+            stages.add(LoadStage.hold("window-" + (i + 1), threadCount, Math.max(1, windowSeconds), TimeUnit.SECONDS));
         }
-
-        return results;
+        LoadShapeResult shape = new LoadShapeScheduler(stages, LoadTarget.CONCURRENCY)
+                .executionMode(this.executionMode)
+                .runtime(this.runtime)
+                .statisticsBackend(backend)
+                .successCriteria(withinTimeout(timeoutMillis))
+                .run(requestTask(request, false));
+        if (verbose) {
+            System.out.println(shape);
+        }
+        return shape;
     }
 
     /**
@@ -426,6 +1418,59 @@ public class MCHighConcurrencyTests {
                                            double throughputThreshold,
                                            long timeoutMillis,
                                            boolean verbose) {
+        return capacityTest(url, initialThreads, maxThreads, increment, method, params, headers,
+                throughputThreshold, timeoutMillis, 0, verbose);
+    }
+
+    /**
+     * 容量测试 - 找到系统的最大吞吐量，每一级之间可暂停一段时间让被测系统恢复
+     *
+     * @param url              请求地址
+     * @param initialThreads   初始线程数
+     * @param maxThreads       最大线程数
+     * @param increment        每次增加的线程数
+     * @param method           请求方式
+     * @param params           请求参数
+     * @param headers          请求头
+     * @param throughputThreshold 吞吐量阈值（请求/秒），低于此值认为系统过载
+     * @param timeoutMillis    超时时间（毫秒）
+     * @param pauseMillis      相邻两级之间的暂停时间（毫秒），0 表示不暂停
+     * @param verbose          是否打印响应
+     * @return 容量测试结果
+     */
+    public CapacityTestResult capacityTest(String url,
+                                           int initialThreads,
+                                           int maxThreads,
+                                           int increment,
+                                           HttpMethod method,
+                                           Map<String, Object> params,
+                                           Map<String, String> headers,
+                                           double throughputThreshold,
+                                           long timeoutMillis,
+                                           long pauseMillis,
+                                           boolean verbose) {
+        if (this.runtime != null) {
+            return capacityTest(this.runtime, url, initialThreads, maxThreads, increment,
+                    method, params, headers, throughputThreshold, timeoutMillis, pauseMillis, verbose);
+        }
+        try (LoadGeneratorRuntime runtime = new LoadGeneratorRuntime(this.executionMode)) {
+            return capacityTest(runtime, url, initialThreads, maxThreads, increment,
+                    method, params, headers, throughputThreshold, timeoutMillis, pauseMillis, verbose);
+        }
+    }
+
+    private CapacityTestResult capacityTest(LoadGeneratorRuntime runtime,
+                                            String url,
+                                            int initialThreads,
+                                            int maxThreads,
+                                            int increment,
+                                            HttpMethod method,
+                                            Map<String, Object> params,
+                                            Map<String, String> headers,
+                                            double throughputThreshold,
+                                            long timeoutMillis,
+                                            long pauseMillis,
+                                            boolean verbose) {
         List<CapacityDataPoint> dataPoints = new ArrayList<>();
         int optimalThreadCount = initialThreads;
         double maxThroughput = 0;
@@ -435,9 +1480,11 @@ public class MCHighConcurrencyTests {
                 System.out.println("Capacity test with " + threads + " threads...");
             }
 
+            // 每一级复用同一组工作线程，线程在计时开始前启动
+            runtime.prestart(threads);
             Instant start = Instant.now();
-            HighConcurrencyResult result = highConcurrencyTestWithTimeoutMillis(
-                    url, threads, method, params, headers, timeoutMillis, false
+            HighConcurrencyResult result = runConcurrencyTest(runtime, runtime.executionMode(),
+                    url, threads, method, params, headers, timeoutMillis, false, null
             );
             Instant end = Instant.now();
 
@@ -449,7 +1496,8 @@ public class MCHighConcurrencyTests {
                     result.success,
                     result.failed,
                     result.avgResponseTimeMillis,
-                    throughput
+                    throughput,
+                    result.exemplars
             );
             dataPoints.add(dataPoint);
 
@@ -466,17 +1514,123 @@ public class MCHighConcurrencyTests {
                 break;
             }
 
-            try {
-                Thread.sleep(2000);
-            } catch (InterruptedException e) {
-                Thread.currentThread().interrupt();
-                break;
+            if (pauseMillis > 0) {
+                try {
+                    Thread.sleep(pauseMillis);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    break;
+                }
             }
         }
 
         return new CapacityTestResult(dataPoints, optimalThreadCount, maxThroughput);
     }
 
+    /**
+     * 自适应容量测试 - 指数探测加二分查找，用较少的探测次数找到满足延迟 SLO 时吞吐量最高的并发数
+     *
+     * @param url           请求地址
+     * @param minThreads    起始并发数
+     * @param maxThreads    最大并发数
+     * @param probeMillis   每次探测持续施加负载的时间（毫秒）
+     * @param sloP99Millis  p99 延迟上限（毫秒）
+     * @param method        请求方式
+     * @param params        请求参数
+     * @param headers       请求头
+     * @param timeoutMillis 单个请求的超时时间（毫秒），超时计为失败
+     * @param verbose       是否打印响应
+     * @return 容量测试结果，数据点按探测顺序排列
+     */
+    public CapacityTestResult adaptiveCapacityTest(String url,
+                                                   int minThreads,
+                                                   int maxThreads,
+                                                   long probeMillis,
+                                                   double sloP99Millis,
+                                                   HttpMethod method,
+                                                   Map<String, Object> params,
+                                                   Map<String, String> headers,
+                                                   long timeoutMillis,
+                                                   boolean verbose) {
+        return adaptiveCapacityTest(PreparedRequest.of(url, method, params, headers),
+                minThreads, maxThreads, probeMillis, sloP99Millis, timeoutMillis, verbose);
+    }
+
+    /**
+     * 自适应容量测试 - 指数探测加二分查找，用较少的探测次数找到满足延迟 SLO 时吞吐量最高的并发数
+     *
+     * @param request       预编译请求（可绑定变量来源）
+     * @param minThreads    起始并发数
+     * @param maxThreads    最大并发数
+     * @param probeMillis   每次探测持续施加负载的时间（毫秒）
+     * @param sloP99Millis  p99 延迟上限（毫秒）
+     * @param timeoutMillis 单个请求的超时时间（毫秒），超时计为失败
+     * @param verbose       是否打印响应
+     * @return 容量测试结果，数据点按探测顺序排列
+     */
+    public CapacityTestResult adaptiveCapacityTest(PreparedRequest request,
+                                                   int minThreads,
+                                                   int maxThreads,
+                                                   long probeMillis,
+                                                   double sloP99Millis,
+                                                   long timeoutMillis,
+                                                   boolean verbose) {
+        if (this.runtime != null) {
+            return adaptiveCapacityTest(this.runtime, request, minThreads, maxThreads, probeMillis, sloP99Millis,
+                    timeoutMillis, verbose);
+        }
+        // 所有探测复用同一组工作线程
+        try (LoadGeneratorRuntime runtime = new LoadGeneratorRuntime(this.executionMode)) {
+            return adaptiveCapacityTest(runtime, request, minThreads, maxThreads, probeMillis, sloP99Millis,
+                    timeoutMillis, verbose);
+        }
+    }
+
+    private CapacityTestResult adaptiveCapacityTest(LoadGeneratorRuntime runtime,
+                                                    PreparedRequest request,
+                                                    int minThreads,
+                                                    int maxThreads,
+                                                    long probeMillis,
+                                                    double sloP99Millis,
+                                                    long timeoutMillis,
+                                                    boolean verbose) {
+        RequestTask task = requestTask(request, false);
+        // 预热：建立连接并完成类加载，避免第一次探测被冷启动拖慢
+        task.execute(0, -1);
+        CapacitySearch search = new CapacitySearch(minThreads, maxThreads).sloP99Millis(sloP99Millis);
+        List<CapacityProbe> probes = search.search(threads -> {
+                    LoadShapeResult shape = new LoadShapeScheduler(
+                            Collections.singletonList(LoadStage.hold("threads-" + threads, threads, probeMillis, TimeUnit.MILLISECONDS)),
+                            LoadTarget.CONCURRENCY)
+                            .runtime(runtime)
+                            .successCriteria(withinTimeout(timeoutMillis))
+                            .run(task);
+                    PhaseStats stats = shape.stages.get(0);
+                    if (verbose) {
+                        System.out.println("Capacity probe with " + threads + " threads: " + stats);
+                    }
+                    return stats;
+                });
+
+        List<CapacityDataPoint> dataPoints = new ArrayList<>();
+        for (CapacityProbe probe : probes) {
+            dataPoints.add(new CapacityDataPoint(
+                    probe.concurrency,
+                    (int) probe.stats.success,
+                    (int) probe.stats.failed,
+                    (long) probe.stats.latency.meanMillis,
+                    probe.stats.throughput,
+                    probe.stats.exemplars
+            ));
+        }
+        CapacityProbe optimal = search.optimal(probes);
+        return new CapacityTestResult(
+                dataPoints,
+                optimal != null ? optimal.concurrency : minThreads,
+                CapacitySearch.maxThroughput(probes)
+        );
+    }
+
     /**
      * 并发安全性测试 - 验证并发访问下的数据一致性
      *
@@ -498,42 +1652,99 @@ public class MCHighConcurrencyTests {
                                          Map<String, String> headers,
                                          ConsistencyChecker consistencyChecker,
                                          boolean verbose) {
-        ExecutorService executor = Executors.newFixedThreadPool(threadCount);
-        List<Future<List<String>>> futures = new ArrayList<>();
+        WorkerGroup executor = LoadExecutors.newWorkerGroup(this.runtime, this.executionMode, threadCount);
+        // 每个工作线程只写自己的列表，drain 返回后按线程顺序拼接
+        List<List<String>> responsesByWorker = new ArrayList<>(threadCount);
+        AtomicReference<Exception> failure = new AtomicReference<>();
 
         for (int i = 0; i < threadCount; i++) {
-            futures.add(executor.submit(() -> {
-                List<String> responses = new ArrayList<>();
-                for (int j = 0; j < iterations; j++) {
-                    RequestUnitTestsResult result = RequestUnitTests.requestWitRestTemplate(
-                            url, method, params, headers, false
-                    );
-                    if (result != null && result.response != null && result.response.getBody() != null) {
-                        responses.add(result.response.getBody());
+            List<String> responses = new ArrayList<>();
+            responsesByWorker.add(responses);
+            executor.execute(() -> {
+                try {
+                    for (int j = 0; j < iterations; j++) {
+                        RequestUnitTestsResult result = RequestUnitTests.requestWitRestTemplate(
+                                url, method, params, headers, false
+                        );
+                        if (result != null && result.response != null && result.response.getBody() != null) {
+                            responses.add(result.response.getBody());
+                        }
                     }
+                } catch (Exception e) {
+                    failure.compareAndSet(null, e);
                 }
-                return responses;
-            }));
+            });
         }
 
-        executor.shutdown();
-        List<String> allResponses = new ArrayList<>();
-
-        try {
-            executor.awaitTermination(120, TimeUnit.SECONDS);
-            for (Future<List<String>> future : futures) {
-                allResponses.addAll(future.get());
+        if (!executor.drain(120, TimeUnit.SECONDS)) {
+            if (verbose) {
+                System.out.println("Error during concurrency safety test: timed out");
             }
-        } catch (Exception e) {
+            return false;
+        }
+        if (failure.get() != null) {
             if (verbose) {
-                System.out.println("Error during concurrency safety test: " + e.getMessage());
+                System.out.println("Error during concurrency safety test: " + failure.get().getMessage());
             }
             return false;
         }
 
+        List<String> allResponses = new ArrayList<>();
+        for (List<String> responses : responsesByWorker) {
+            allResponses.addAll(responses);
+        }
         return consistencyChecker.check(allResponses);
     }
 
+    /**
+     * 构造单次请求任务，请求在测试开始前只编译一次
+     */
+    private RequestTask requestTask(PreparedRequest request, boolean verbose) {
+        ResponseBodyMode bodyMode = this.responseBodyMode;
+        return (userId, iteration) -> RequestUnitTests.execute(request, userId, iteration, verbose, bodyMode);
+    }
+
+    /**
+     * 请求成功且在超时时间内返回才视为成功
+     */
+    private static Predicate<RequestUnitTestsResult> withinTimeout(long timeoutMillis) {
+        return result -> result != null && result.isSuccess && DataUnitTests.withinTimeOut(result, timeoutMillis);
+    }
+
+    private static List<HighConcurrencyResult> toHighConcurrencyResults(LoadShapeResult shape) {
+        List<HighConcurrencyResult> results = new ArrayList<>();
+        for (PhaseStats stage : shape.stages) {
+            results.add(stage.toHighConcurrencyResult());
+        }
+        return results;
+    }
+
+    /**
+     * 附带所选接口下标的请求结果，完成回调据此把延迟记到对应接口上
+     */
+    private static final class EndpointResult extends RequestUnitTestsResult {
+        final int endpoint;
+
+        EndpointResult(int endpoint, RequestUnitTestsResult source) {
+            super(source.durationMillis, source.response, source.statusCode, source.isSuccess, source.errorMessage,
+                    source.requestUrl, source.method, source.responseSizeBytes, source.startTime, source.endTime,
+                    source.threadId, source.durationNanos, source.timings, source.responseChecksum);
+            this.endpoint = endpoint;
+        }
+
+        /**
+         * 未得到结果（URL 非法或请求抛出异常）时记为失败
+         */
+        EndpointResult(int endpoint, String errorMessage) {
+            super(0, null, 0, false, errorMessage, null, null, 0, null, null, Thread.currentThread().getId(), 0);
+            this.endpoint = endpoint;
+        }
+
+        static EndpointResult of(int endpoint, RequestUnitTestsResult source) {
+            return source != null ? new EndpointResult(endpoint, source) : new EndpointResult(endpoint, "Invalid URL");
+        }
+    }
+
     /**
      * 一致性检查器接口
      */
@@ -546,7 +1757,14 @@ public class MCHighConcurrencyTests {
      * 详细并发测试结果
      */
     public static class DetailedConcurrencyResult {
+        /**
+         * 按列存储结果的列表视图，元素在访问时按需还原
+         */
         public final List<RequestUnitTestsResult> results;
+        /**
+         * 按列存储的结果，可直接读取原始类型的列
+         */
+        public final ColumnarResultStore store;
         public final Instant testStartTime;
         public final Instant testEndTime;
         public final int threadCount;
@@ -558,44 +1776,102 @@ public class MCHighConcurrencyTests {
         public final long medianResponseTime;
         public final long p95ResponseTime;
         public final long p99ResponseTime;
+        /**
+         * 纳秒精度的延迟直方图，可查询任意百分位或与其他结果合并
+         */
+        public final LatencyHistogram histogram;
+        /**
+         * 亚毫秒精度的延迟统计
+         */
+        public final LatencySummary latency;
+        /**
+         * 最慢请求与失败请求样本（保留完整响应信息，不受响应体采样策略影响）
+         */
+        public final Exemplars exemplars;
+        /**
+         * 分阶段耗时（DNS、连接、TLS、首字节、传输）直方图，未记录时为 null
+         */
+        public final TimingBreakdown timings;
 
         public DetailedConcurrencyResult(List<RequestUnitTestsResult> results,
                                          Instant testStartTime,
                                          Instant testEndTime,
                                          int threadCount) {
-            this.results = results;
+            this(ColumnarResultStore.of(results), testStartTime, testEndTime, threadCount,
+                    exemplarsOf(results), timingsOf(results));
+        }
+
+        public DetailedConcurrencyResult(ColumnarResultStore store,
+                                         Instant testStartTime,
+                                         Instant testEndTime,
+                                         int threadCount) {
+            this(store, testStartTime, testEndTime, threadCount, exemplarsOf(store.asList()));
+        }
+
+        public DetailedConcurrencyResult(ColumnarResultStore store,
+                                         Instant testStartTime,
+                                         Instant testEndTime,
+                                         int threadCount,
+                                         Exemplars exemplars) {
+            this(store, testStartTime, testEndTime, threadCount, exemplars, null);
+        }
+
+        public DetailedConcurrencyResult(ColumnarResultStore store,
+                                         Instant testStartTime,
+                                         Instant testEndTime,
+                                         int threadCount,
+                                         Exemplars exemplars,
+                                         TimingBreakdown timings) {
+            this.store = store;
+            this.exemplars = exemplars;
+            this.timings = timings;
+            this.results = store.asList();
             this.testStartTime = testStartTime;
             this.testEndTime = testEndTime;
             this.threadCount = threadCount;
 
-            this.successCount = (int) results.stream().filter(r -> r.isSuccess).count();
-            this.failCount = results.size() - successCount;
+            this.successCount = store.successCount();
+            this.failCount = store.size() - successCount;
+
+            // 纳秒级对数直方图：固定内存，亚毫秒请求不再被截断为 0
+            this.histogram = new LatencyHistogram();
+            for (long durationNanos : store.durationsNanos()) {
+                histogram.recordValue(durationNanos);
+            }
+            this.latency = histogram.toSummary();
+
+            this.minResponseTime = TimeUnit.NANOSECONDS.toMillis(histogram.getMinValue());
+            this.maxResponseTime = TimeUnit.NANOSECONDS.toMillis(histogram.getMaxValue());
+            this.avgResponseTime = TimeUnit.NANOSECONDS.toMillis((long) histogram.getMean());
+            this.medianResponseTime = TimeUnit.NANOSECONDS.toMillis(histogram.getValueAtPercentile(50));
+            this.p95ResponseTime = TimeUnit.NANOSECONDS.toMillis(histogram.getValueAtPercentile(95));
+            this.p99ResponseTime = TimeUnit.NANOSECONDS.toMillis(histogram.getValueAtPercentile(99));
+        }
 
-            List<Long> responseTimes = results.stream()
-                    .map(r -> r.durationMillis)
-                    .sorted()
-                    .collect(Collectors.toList());
+        private static Exemplars exemplarsOf(List<RequestUnitTestsResult> results) {
+            ExemplarReservoir reservoir = new ExemplarReservoir();
+            for (RequestUnitTestsResult result : results) {
+                reservoir.offer(0, result.durationNanos, result.isSuccess, result);
+            }
+            return reservoir.snapshot();
+        }
 
-            this.minResponseTime = responseTimes.isEmpty() ? 0 : responseTimes.get(0);
-            this.maxResponseTime = responseTimes.isEmpty() ? 0 : responseTimes.get(responseTimes.size() - 1);
-            this.avgResponseTime = responseTimes.isEmpty() ? 0 :
-                    (long) responseTimes.stream().mapToLong(Long::longValue).average().orElse(0);
-            this.medianResponseTime = responseTimes.isEmpty() ? 0 :
-                    responseTimes.get(responseTimes.size() / 2);
-            this.p95ResponseTime = responseTimes.isEmpty() ? 0 :
-                    responseTimes.get((int) (responseTimes.size() * 0.95));
-            this.p99ResponseTime = responseTimes.isEmpty() ? 0 :
-                    responseTimes.get((int) (responseTimes.size() * 0.99));
+        private static TimingBreakdown timingsOf(List<RequestUnitTestsResult> results) {
+            PhaseTimingRecorder recorder = new PhaseTimingRecorder();
+            for (RequestUnitTestsResult result : results) {
+                recorder.record(result.timings);
+            }
+            return recorder.snapshot();
         }
 
         @Override
         public String toString() {
             return String.format(
                     "DetailedConcurrencyResult{threads=%d, success=%d, fail=%d, " +
-                            "min=%dms, max=%dms, avg=%dms, median=%dms, p95=%dms, p99=%dms}",
+                            "min=%.3fms, max=%.3fms, avg=%.3fms, median=%.3fms, p95=%.3fms, p99=%.3fms, p999=%.3fms}",
                     threadCount, successCount, failCount,
-                    minResponseTime, maxResponseTime, avgResponseTime,
-                    medianResponseTime, p95ResponseTime, p99ResponseTime
+                    latency.minMillis, latency.maxMillis, latency.meanMillis,
+                    latency.p50Millis, latency.p95Millis, latency.p99Millis, latency.p999Millis
             );
         }
     }
@@ -613,6 +1889,18 @@ public class MCHighConcurrencyTests {
         public final double actualQPS;
         public final long avgResponseTime;
         public final double successRate;
+        /**
+         * 延迟统计（亚毫秒精度），未提供时由 responseTimes 计算
+         */
+        public final LatencySummary latency;
+        /**
+         * 可合并的延迟草图，仅在使用草图统计时不为 null
+         */
+        public final QuantileSketch sketch;
+        /**
+         * 最慢请求与失败请求样本
+         */
+        public final Exemplars exemplars;
 
         public SustainedLoadResult(int successCount,
                                    int failCount,
@@ -620,17 +1908,38 @@ public class MCHighConcurrencyTests {
                                    Instant startTime,
                                    Instant endTime,
                                    int targetQPS) {
+            this(successCount, failCount, responseTimes, startTime, endTime, targetQPS, null, null, Exemplars.empty());
+        }
+
+        public SustainedLoadResult(int successCount,
+                                   int failCount,
+                                   List<Long> responseTimes,
+                                   Instant startTime,
+                                   Instant endTime,
+                                   int targetQPS,
+                                   LatencySummary latency,
+                                   QuantileSketch sketch,
+                                   Exemplars exemplars) {
             this.successCount = successCount;
+            this.exemplars = exemplars;
             this.failCount = failCount;
             this.responseTimes = responseTimes;
             this.startTime = startTime;
             this.endTime = endTime;
             this.targetQPS = targetQPS;
+            if (latency == null) {
+                long[] samples = new long[responseTimes.size()];
+                for (int i = 0; i < samples.length; i++) {
+                    samples[i] = TimeUnit.MILLISECONDS.toNanos(responseTimes.get(i));
+                }
+                latency = LatencySummary.fromNanos(samples, samples.length);
+            }
+            this.latency = latency;
+            this.sketch = sketch;
 
-            long durationSeconds = Duration.between(startTime, endTime).getSeconds();
-            this.actualQPS = durationSeconds > 0 ? (double) (successCount + failCount) / durationSeconds : 0;
-            this.avgResponseTime = responseTimes.isEmpty() ? 0 :
-                    (long) responseTimes.stream().mapToLong(Long::longValue).average().orElse(0);
+            double durationSeconds = Duration.between(startTime, endTime).toMillis() / 1000.0;
+            this.actualQPS = durationSeconds > 0 ? (successCount + failCount) / durationSeconds : 0;
+            this.avgResponseTime = (long) latency.meanMillis;
             this.successRate = (successCount + failCount) > 0 ?
                     (double) successCount / (successCount + failCount) : 0;
         }
@@ -639,8 +1948,9 @@ public class MCHighConcurrencyTests {
         public String toString() {
             return String.format(
                     "SustainedLoadResult{success=%d, fail=%d, targetQPS=%d, actualQPS=%.2f, " +
-                            "avgResponse=%dms, successRate=%.2f%%}",
-                    successCount, failCount, targetQPS, actualQPS, avgResponseTime, successRate * 100
+                            "avgResponse=%dms, p50=%.3fms, p99=%.3fms, p999=%.3fms, successRate=%.2f%%}",
+                    successCount, failCount, targetQPS, actualQPS, avgResponseTime,
+                    latency.p50Millis, latency.p99Millis, latency.p999Millis, successRate * 100
             );
         }
     }
@@ -652,13 +1962,32 @@ public class MCHighConcurrencyTests {
         public final HighConcurrencyResult normalLoad;
         public final HighConcurrencyResult peakLoad;
         public final HighConcurrencyResult recoveryLoad;
+        /**
+         * 各阶段的详细统计（延迟分布、吞吐量）
+         */
+        public final List<PhaseStats> stages;
 
         public PeakLoadResult(HighConcurrencyResult normalLoad,
                               HighConcurrencyResult peakLoad,
                               HighConcurrencyResult recoveryLoad) {
+            this(normalLoad, peakLoad, recoveryLoad, Collections.emptyList());
+        }
+
+        public PeakLoadResult(HighConcurrencyResult normalLoad,
+                              HighConcurrencyResult peakLoad,
+                              HighConcurrencyResult recoveryLoad,
+                              List<PhaseStats> stages) {
             this.normalLoad = normalLoad;
             this.peakLoad = peakLoad;
             this.recoveryLoad = recoveryLoad;
+            this.stages = stages;
+        }
+
+        /**
+         * 三个阶段合并后的最慢请求与失败请求样本
+         */
+        public Exemplars exemplars() {
+            return Exemplars.merge(Arrays.asList(normalLoad.exemplars, peakLoad.exemplars, recoveryLoad.exemplars));
         }
 
         public boolean isSystemResilient() {
@@ -686,12 +2015,26 @@ public class MCHighConcurrencyTests {
         public final int failCount;
         public final long avgResponseTime;
         public final double throughput;
+        /**
+         * 该并发数下的最慢请求与失败请求样本
+         */
+        public final Exemplars exemplars;
 
         public CapacityDataPoint(int threadCount,
                                  int successCount,
                                  int failCount,
                                  long avgResponseTime,
                                  double throughput) {
+            this(threadCount, successCount, failCount, avgResponseTime, throughput, Exemplars.empty());
+        }
+
+        public CapacityDataPoint(int threadCount,
+                                 int successCount,
+                                 int failCount,
+                                 long avgResponseTime,
+                                 double throughput,
+                                 Exemplars exemplars) {
+            this.exemplars = exemplars;
             this.threadCount = threadCount;
             this.successCount = successCount;
             this.failCount = failCount;
@@ -724,6 +2067,32 @@ public class MCHighConcurrencyTests {
             this.maxThroughput = maxThroughput;
         }
 
+        /**
+         * 所有数据点合并后的最慢请求与失败请求样本
+         */
+        public Exemplars exemplars() {
+            List<Exemplars> parts = new ArrayList<>(dataPoints.size());
+            for (CapacityDataPoint dataPoint : dataPoints) {
+                parts.add(dataPoint.exemplars);
+            }
+            return Exemplars.merge(parts);
+        }
+
+        /**
+         * 用通用可扩展性定律（USL）拟合数据点，预测测试范围之外的吞吐量峰值及其并发数
+         * @return 拟合结果（σ 竞争系数、κ 一致性系数、λ、R²、峰值并发数与峰值吞吐量）
+         * @throws IllegalArgumentException 吞吐量为正的数据点少于 3 个时
+         */
+        public ScalabilityFit fitScalabilityModel() {
+            double[] concurrency = new double[dataPoints.size()];
+            double[] throughput = new double[dataPoints.size()];
+            for (int i = 0; i < dataPoints.size(); i++) {
+                concurrency[i] = dataPoints.get(i).threadCount;
+                throughput[i] = dataPoints.get(i).throughput;
+            }
+            return UniversalScalabilityLaw.fit(concurrency, throughput);
+        }
+
         @Override
         public String toString() {
             return String.format(
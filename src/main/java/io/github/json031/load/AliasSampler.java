@@ -0,0 +1,91 @@
+package io.github.json031.load;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * This class samples an index from a fixed discrete distribution in O(1) with Vose's alias method:
+ * the table is built once, and each draw costs one random column plus one biased coin flip, no
+ * matter how many outcomes there are. It is immutable and thread-safe.
+ */
+public final class AliasSampler {
+
+    private final double[] probability;
+    private final int[] alias;
+
+    /**
+     * @param weights 各结果的权重（非负，总和大于 0，不要求归一化）
+     */
+    public AliasSampler(double[] weights) {
+        int n = weights.length;
+        if (n == 0) {
+            throw new IllegalArgumentException("weights must not be empty");
+        }
+        double sum = 0;
+        for (double weight : weights) {
+            if (weight < 0 || Double.isNaN(weight) || Double.isInfinite(weight)) {
+                throw new IllegalArgumentException("weights must be finite and non-negative");
+            }
+            sum += weight;
+        }
+        if (sum <= 0) {
+            throw new IllegalArgumentException("weights must not all be zero");
+        }
+
+        this.probability = new double[n];
+        this.alias = new int[n];
+        double[] scaled = new double[n];
+        int[] small = new int[n];
+        int[] large = new int[n];
+        int smallSize = 0;
+        int largeSize = 0;
+        for (int i = 0; i < n; i++) {
+            scaled[i] = weights[i] * n / sum;
+            if (scaled[i] < 1) {
+                small[smallSize++] = i;
+            } else {
+                large[largeSize++] = i;
+            }
+        }
+        // 每一列由一个概率不足的结果与一个概率富余的结果组成
+        while (smallSize > 0 && largeSize > 0) {
+            int less = small[--smallSize];
+            int more = large[--largeSize];
+            probability[less] = scaled[less];
+            alias[less] = more;
+            scaled[more] = scaled[more] + scaled[less] - 1;
+            if (scaled[more] < 1) {
+                small[smallSize++] = more;
+            } else {
+                large[largeSize++] = more;
+            }
+        }
+        // 剩余列的概率受浮点误差影响只会接近 1，直接取 1
+        while (largeSize > 0) {
+            int index = large[--largeSize];
+            probability[index] = 1;
+            alias[index] = index;
+        }
+        while (smallSize > 0) {
+            int index = small[--smallSize];
+            probability[index] = 1;
+            alias[index] = index;
+        }
+    }
+
+    /**
+     * 结果数量
+     */
+    public int size() {
+        return probability.length;
+    }
+
+    /**
+     * 按权重抽取一个结果
+     * @return 结果下标
+     */
+    public int next() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int column = random.nextInt(probability.length);
+        return random.nextDouble() < probability[column] ? column : alias[column];
+    }
+}
@@ -0,0 +1,194 @@
+package io.github.json031.load;
+
+import io.github.json031.JavaBean.ArrivalRateResult;
+import io.github.json031.JavaBean.RequestUnitTestsResult;
+import io.github.json031.stats.ExemplarReservoir;
+import io.github.json031.stats.LatencyRecorder;
+import io.github.json031.stats.LatencyStatistics;
+import io.github.json031.stats.PhaseTimingRecorder;
+import io.github.json031.stats.SketchRecorder;
+import io.github.json031.stats.StatisticsBackend;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * This class is an open-model load engine: requests arrive at a constant rate
+ * regardless of how fast the system under test responds.
+ */
+public class ArrivalRateEngine {
+
+    /**
+     * 距离计划时间小于该值时改为自旋等待，保证纳秒级调度精度
+     */
+    private static final long SPIN_THRESHOLD_NANOS = 50_000;
+
+    /**
+     * 调度结束后等待在途请求完成的最长时间（秒）
+     */
+    private static final long DRAIN_TIMEOUT_SECONDS = 60;
+
+    private final double ratePerSecond;
+    private final long durationNanos;
+    private final int maxConcurrency;
+    private final ExecutionMode executionMode;
+    private LoadGeneratorRuntime runtime;
+    private CompletionListener completionListener;
+    private StatisticsBackend statisticsBackend = StatisticsBackend.SAMPLES;
+    private int slowestExemplars = ExemplarReservoir.DEFAULT_SLOWEST;
+    private int failureExemplars = ExemplarReservoir.DEFAULT_FAILURES;
+
+    /**
+     * @param ratePerSecond  目标到达率（请求/秒），支持小数与超过 1000 的速率
+     * @param durationNanos  调度持续时间（纳秒）
+     * @param maxConcurrency 最大并发执行数，超出的请求排队且排队时间计入延迟
+     * @param executionMode  执行模式
+     */
+    public ArrivalRateEngine(double ratePerSecond, long durationNanos, int maxConcurrency, ExecutionMode executionMode) {
+        if (ratePerSecond <= 0) {
+            throw new IllegalArgumentException("ratePerSecond must be positive");
+        }
+        this.ratePerSecond = ratePerSecond;
+        this.durationNanos = durationNanos;
+        this.maxConcurrency = maxConcurrency;
+        this.executionMode = executionMode;
+    }
+
+    /**
+     * 设置请求完成回调，回调收到的延迟从计划开始时间算起
+     * @param completionListener 请求完成回调
+     * @return this
+     */
+    public ArrivalRateEngine onCompletion(CompletionListener completionListener) {
+        this.completionListener = completionListener;
+        return this;
+    }
+
+    /**
+     * 设置共享的负载生成运行时，设置后复用其中已启动的工作线程（执行模式以运行时为准）
+     * @param runtime 负载生成运行时
+     * @return this
+     */
+    public ArrivalRateEngine runtime(LoadGeneratorRuntime runtime) {
+        this.runtime = runtime;
+        return this;
+    }
+
+    /**
+     * 延迟统计方式，默认保留全部样本；长时间运行时使用 SKETCH 保持内存固定
+     * @param statisticsBackend 统计方式
+     * @return this
+     */
+    public ArrivalRateEngine statisticsBackend(StatisticsBackend statisticsBackend) {
+        this.statisticsBackend = statisticsBackend;
+        return this;
+    }
+
+    /**
+     * 保留完整信息的最慢请求数与失败请求样本数
+     * @param slowest  最慢请求数
+     * @param failures 失败请求样本数
+     * @return this
+     */
+    public ArrivalRateEngine exemplars(int slowest, int failures) {
+        this.slowestExemplars = slowest;
+        this.failureExemplars = failures;
+        return this;
+    }
+
+    /**
+     * 按计划到达时间发送请求，延迟从计划开始时间算起（修正协调遗漏）
+     * @param task 请求任务
+     * @return 开放模型测试结果
+     */
+    public ArrivalRateResult run(RequestTask task) {
+        long plannedCount = (long) Math.ceil(ratePerSecond * durationNanos / 1_000_000_000.0);
+        if (plannedCount > Integer.MAX_VALUE - 8) {
+            throw new IllegalArgumentException("Too many planned requests: " + plannedCount);
+        }
+        int scheduled = (int) plannedCount;
+        double periodNanos = 1_000_000_000.0 / ratePerSecond;
+
+        LatencyStatistics latencies = statisticsBackend.newStatistics();
+        LatencyStatistics serviceTimes = statisticsBackend.newStatistics();
+        ExemplarReservoir exemplars = new ExemplarReservoir(slowestExemplars, failureExemplars,
+                ExemplarReservoir.DEFAULT_BODY_EXCERPT_CHARS);
+        PhaseTimingRecorder timings = new PhaseTimingRecorder();
+        CompletionListener listener = this.completionListener;
+
+        WorkerGroup workers = LoadExecutors.newWorkerGroup(runtime, executionMode, maxConcurrency);
+        long startNanos = System.nanoTime();
+        long maxDispatchLag = 0;
+        int dispatched = 0;
+
+        for (int i = 0; i < scheduled; i++) {
+            long intendedStart = startNanos + (long) (i * periodNanos);
+            sleepUntil(intendedStart);
+            maxDispatchLag = Math.max(maxDispatchLag, System.nanoTime() - intendedStart);
+            long sequence = i;
+            workers.execute(() -> {
+                long actualStart = System.nanoTime();
+                RequestUnitTestsResult result = null;
+                try {
+                    result = task.execute(0, sequence);
+                } catch (Exception ignore) {
+                }
+                long end = System.nanoTime();
+                boolean success = result != null && result.isSuccess;
+                latencies.record(end - intendedStart, success);
+                serviceTimes.record(end - actualStart, success);
+                exemplars.offer(0, end - intendedStart, success, result);
+                if (result != null) {
+                    timings.record(result.timings);
+                }
+                if (listener != null) {
+                    listener.onCompletion(0, end - intendedStart, result);
+                }
+            });
+            dispatched++;
+            if (Thread.currentThread().isInterrupted()) {
+                break;
+            }
+        }
+        long dispatchEndNanos = System.nanoTime();
+
+        workers.drain(DRAIN_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+        long endNanos = System.nanoTime();
+
+        // 原始样本或草图随结果返回，调用方无需再通过回调重复记录延迟
+        long[] latencySamples = latencies instanceof LatencyRecorder ? ((LatencyRecorder) latencies).toArray() : null;
+        int completedCount = (int) latencies.count();
+        double dispatchSeconds = Math.max(durationNanos, dispatchEndNanos - startNanos) / 1_000_000_000.0;
+        double totalSeconds = Math.max(durationNanos, endNanos - startNanos) / 1_000_000_000.0;
+        return new ArrivalRateResult(
+                ratePerSecond,
+                dispatched / dispatchSeconds,
+                completedCount / totalSeconds,
+                scheduled,
+                completedCount,
+                latencies.successCount(),
+                latencies.failCount(),
+                maxDispatchLag / 1_000_000.0,
+                latencies.summary(),
+                serviceTimes.summary(),
+                exemplars.snapshot(),
+                timings.snapshot(),
+                latencySamples,
+                latencies instanceof SketchRecorder ? ((SketchRecorder) latencies).snapshot() : null
+        );
+    }
+
+    /**
+     * 等待到指定的 System.nanoTime() 时刻：较远时 park，临近时自旋
+     */
+    static void sleepUntil(long deadlineNanos) {
+        long remaining;
+        while ((remaining = deadlineNanos - System.nanoTime()) > 0) {
+            if (remaining > SPIN_THRESHOLD_NANOS) {
+                LockSupport.parkNanos(remaining - SPIN_THRESHOLD_NANOS);
+            } else {
+                Thread.yield();
+            }
+        }
+    }
+}
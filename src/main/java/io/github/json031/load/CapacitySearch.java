@@ -0,0 +1,210 @@
+package io.github.json031.load;
+
+import io.github.json031.JavaBean.CapacityProbe;
+import io.github.json031.JavaBean.PhaseStats;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.IntFunction;
+
+/**
+ * This class searches the concurrency that maximizes throughput under a latency SLO:
+ * exponential probing brackets the knee, bisection then narrows the bracket down to
+ * the smallest concurrency that already reaches peak throughput.
+ */
+public class CapacitySearch {
+
+    private final int minConcurrency;
+    private final int maxConcurrency;
+    private double sloP99Millis = Double.MAX_VALUE;
+    private double maxFailRate = 0.01;
+    private double minThroughputGain = 0.05;
+    private int resolution = 1;
+    private int maxProbes = 20;
+
+    /**
+     * @param minConcurrency 起始并发数
+     * @param maxConcurrency 最大并发数
+     */
+    public CapacitySearch(int minConcurrency, int maxConcurrency) {
+        if (minConcurrency <= 0 || maxConcurrency < minConcurrency) {
+            throw new IllegalArgumentException("Invalid concurrency range: " + minConcurrency + "-" + maxConcurrency);
+        }
+        this.minConcurrency = minConcurrency;
+        this.maxConcurrency = maxConcurrency;
+    }
+
+    /**
+     * p99 延迟上限（毫秒），超过则视为不满足 SLO
+     */
+    public CapacitySearch sloP99Millis(double sloP99Millis) {
+        this.sloP99Millis = sloP99Millis;
+        return this;
+    }
+
+    /**
+     * 可接受的失败率（0.0-1.0）
+     */
+    public CapacitySearch maxFailRate(double maxFailRate) {
+        this.maxFailRate = maxFailRate;
+        return this;
+    }
+
+    /**
+     * 吞吐量容差：并发翻倍后增幅低于该值认为已饱和，与峰值差距在该值内视为达到峰值
+     */
+    public CapacitySearch minThroughputGain(double minThroughputGain) {
+        this.minThroughputGain = minThroughputGain;
+        return this;
+    }
+
+    /**
+     * 二分查找的精度（并发数），区间小于该值时停止
+     */
+    public CapacitySearch resolution(int resolution) {
+        this.resolution = Math.max(1, resolution);
+        return this;
+    }
+
+    /**
+     * 最多探测次数
+     */
+    public CapacitySearch maxProbes(int maxProbes) {
+        this.maxProbes = maxProbes;
+        return this;
+    }
+
+    /**
+     * 执行搜索
+     * @param probe 以指定并发数施加负载并返回统计
+     * @return 按探测顺序排列的测量结果
+     */
+    public List<CapacityProbe> search(IntFunction<PhaseStats> probe) {
+        Map<Integer, CapacityProbe> measured = new HashMap<>();
+        List<CapacityProbe> probes = new ArrayList<>();
+
+        // 指数探测：并发翻倍直到违反 SLO、吞吐量不再增长或到达上限
+        double previousThroughput = 0;
+        for (int concurrency = minConcurrency; probes.size() < maxProbes; ) {
+            CapacityProbe current = measure(concurrency, probe, measured, probes);
+            if (!current.withinSlo
+                    || current.stats.throughput < previousThroughput * (1 + minThroughputGain)
+                    || concurrency == maxConcurrency) {
+                break;
+            }
+            previousThroughput = current.stats.throughput;
+            concurrency = (int) Math.min((long) concurrency * 2, maxConcurrency);
+        }
+
+        // 二分查找 SLO 边界：lo 满足 SLO，hi 违反 SLO
+        while (probes.size() < maxProbes) {
+            int lo = 0;
+            for (CapacityProbe p : probes) {
+                if (p.withinSlo) {
+                    lo = Math.max(lo, p.concurrency);
+                }
+            }
+            int hi = Integer.MAX_VALUE;
+            for (CapacityProbe p : probes) {
+                if (p.concurrency > lo && !p.withinSlo) {
+                    hi = Math.min(hi, p.concurrency);
+                }
+            }
+            int mid = lo + (hi - lo) / 2;
+            // 中点已测量过却不属于任何一侧（测量噪声），区间无法继续缩小
+            if (lo == 0 || hi == Integer.MAX_VALUE || hi - lo <= resolution || measured.containsKey(mid)) {
+                break;
+            }
+            measure(mid, probe, measured, probes);
+        }
+
+        // 二分查找吞吐量拐点：lo 满足 SLO 且吞吐量未饱和，hi 吞吐量已达到峰值
+        while (probes.size() < maxProbes) {
+            double plateau = maxThroughput(probes);
+            int lo = 0;
+            for (CapacityProbe p : probes) {
+                if (p.withinSlo && !saturated(p, plateau)) {
+                    lo = Math.max(lo, p.concurrency);
+                }
+            }
+            int hi = Integer.MAX_VALUE;
+            for (CapacityProbe p : probes) {
+                if (p.concurrency > lo && p.withinSlo && saturated(p, plateau)) {
+                    hi = Math.min(hi, p.concurrency);
+                }
+            }
+            int mid = lo + (hi - lo) / 2;
+            // 中点已测量过却不属于任何一侧（测量噪声），区间无法继续缩小
+            if (lo == 0 || hi == Integer.MAX_VALUE || hi - lo <= resolution || measured.containsKey(mid)) {
+                break;
+            }
+            measure(mid, probe, measured, probes);
+        }
+        return probes;
+    }
+
+    /**
+     * 最佳测量：满足 SLO 且吞吐量达到峰值（容差内）的最小并发数，即吞吐量拐点
+     * @param probes 测量结果
+     * @return 最佳测量，全部不满足 SLO 时返回 null
+     */
+    public CapacityProbe optimal(List<CapacityProbe> probes) {
+        double plateau = maxThroughput(probes);
+        CapacityProbe best = null;
+        for (CapacityProbe probe : probes) {
+            if (probe.withinSlo && saturated(probe, plateau)
+                    && (best == null || probe.concurrency < best.concurrency)) {
+                best = probe;
+            }
+        }
+        return best;
+    }
+
+    /**
+     * 满足 SLO 的测量中的最高吞吐量
+     * @param probes 测量结果
+     * @return 最高吞吐量（请求/秒）
+     */
+    public static double maxThroughput(List<CapacityProbe> probes) {
+        double max = 0;
+        for (CapacityProbe probe : probes) {
+            if (probe.withinSlo) {
+                max = Math.max(max, probe.stats.throughput);
+            }
+        }
+        return max;
+    }
+
+    /**
+     * 按并发数排序的测量结果
+     */
+    public static List<CapacityProbe> sortedByConcurrency(List<CapacityProbe> probes) {
+        List<CapacityProbe> sorted = new ArrayList<>(probes);
+        Collections.sort(sorted, (a, b) -> Integer.compare(a.concurrency, b.concurrency));
+        return sorted;
+    }
+
+    private boolean saturated(CapacityProbe probe, double plateau) {
+        return probe.stats.throughput >= plateau * (1 - minThroughputGain);
+    }
+
+    private CapacityProbe measure(int concurrency,
+                                  IntFunction<PhaseStats> probe,
+                                  Map<Integer, CapacityProbe> measured,
+                                  List<CapacityProbe> probes) {
+        CapacityProbe existing = measured.get(concurrency);
+        if (existing != null) {
+            return existing;
+        }
+        PhaseStats stats = probe.apply(concurrency);
+        double failRate = stats.requests > 0 ? (double) stats.failed / stats.requests : 1;
+        CapacityProbe result = new CapacityProbe(concurrency, stats,
+                stats.requests > 0 && failRate <= maxFailRate && stats.latency.p99Millis <= sloP99Millis);
+        measured.put(concurrency, result);
+        probes.add(result);
+        return result;
+    }
+}
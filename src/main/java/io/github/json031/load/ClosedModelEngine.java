@@ -0,0 +1,246 @@
+package io.github.json031.load;
+
+import io.github.json031.JavaBean.ClosedModelResult;
+import io.github.json031.JavaBean.PhaseStats;
+import io.github.json031.JavaBean.RequestUnitTestsResult;
+import io.github.json031.stats.ExemplarReservoir;
+import io.github.json031.stats.LatencyStatistics;
+import io.github.json031.stats.PhaseTimingRecorder;
+import io.github.json031.stats.QuantileSketch;
+import io.github.json031.stats.SketchRecorder;
+import io.github.json031.stats.StatisticsBackend;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * This class is a closed-model load engine: N virtual users loop against the endpoint,
+ * each waiting for its response and a think time before the next request.
+ */
+public class ClosedModelEngine {
+
+    /**
+     * 运行结束后等待虚拟用户退出的最长时间（秒）
+     */
+    private static final long DRAIN_TIMEOUT_SECONDS = 60;
+
+    private final int users;
+    private long rampUpNanos = 0;
+    private long durationNanos = -1;
+    private long iterations = -1;
+    private ThinkTime thinkTime = ThinkTime.none();
+    private ExecutionMode executionMode = ExecutionMode.PLATFORM_THREADS;
+    private LoadGeneratorRuntime runtime;
+    private CompletionListener completionListener;
+    private StatisticsBackend statisticsBackend = StatisticsBackend.SAMPLES;
+    private int slowestExemplars = ExemplarReservoir.DEFAULT_SLOWEST;
+    private int failureExemplars = ExemplarReservoir.DEFAULT_FAILURES;
+
+    /**
+     * @param users 虚拟用户数
+     */
+    public ClosedModelEngine(int users) {
+        if (users <= 0) {
+            throw new IllegalArgumentException("users must be positive");
+        }
+        this.users = users;
+    }
+
+    /**
+     * 爬坡时间：虚拟用户在该时间内均匀启动，期间的请求单独统计
+     */
+    public ClosedModelEngine rampUp(long amount, TimeUnit unit) {
+        this.rampUpNanos = unit.toNanos(amount);
+        return this;
+    }
+
+    /**
+     * 爬坡结束后的稳态持续时间
+     */
+    public ClosedModelEngine duration(long amount, TimeUnit unit) {
+        this.durationNanos = unit.toNanos(amount);
+        return this;
+    }
+
+    /**
+     * 每个虚拟用户的请求次数（与持续时间同时设置时，先到者结束）
+     */
+    public ClosedModelEngine iterations(long iterationsPerUser) {
+        this.iterations = iterationsPerUser;
+        return this;
+    }
+
+    /**
+     * 两次请求之间的思考时间
+     */
+    public ClosedModelEngine thinkTime(ThinkTime thinkTime) {
+        this.thinkTime = thinkTime;
+        return this;
+    }
+
+    /**
+     * 执行模式（平台线程 / 虚拟线程）
+     */
+    public ClosedModelEngine executionMode(ExecutionMode executionMode) {
+        this.executionMode = executionMode;
+        return this;
+    }
+
+    /**
+     * 共享的负载生成运行时，设置后复用其中已启动的工作线程（执行模式以运行时为准）
+     */
+    public ClosedModelEngine runtime(LoadGeneratorRuntime runtime) {
+        this.runtime = runtime;
+        return this;
+    }
+
+    /**
+     * 请求完成回调
+     */
+    public ClosedModelEngine onCompletion(CompletionListener completionListener) {
+        this.completionListener = completionListener;
+        return this;
+    }
+
+    /**
+     * 延迟统计方式，默认保留全部样本；长时间运行时使用 SKETCH 保持内存固定
+     */
+    public ClosedModelEngine statisticsBackend(StatisticsBackend statisticsBackend) {
+        this.statisticsBackend = statisticsBackend;
+        return this;
+    }
+
+    /**
+     * 每个阶段保留完整信息的最慢请求数与失败请求样本数
+     */
+    public ClosedModelEngine exemplars(int slowest, int failures) {
+        this.slowestExemplars = slowest;
+        this.failureExemplars = failures;
+        return this;
+    }
+
+    /**
+     * 运行闭环模型测试
+     * @param task 请求任务
+     * @return 爬坡阶段与稳态阶段分别统计的结果
+     */
+    public ClosedModelResult run(RequestTask task) {
+        if (durationNanos < 0 && iterations < 0) {
+            throw new IllegalStateException("Either duration or iterations must be set");
+        }
+        PhaseSamples rampUpSamples = new PhaseSamples(statisticsBackend.newStatistics(), slowestExemplars, failureExemplars);
+        PhaseSamples steadySamples = new PhaseSamples(statisticsBackend.newStatistics(), slowestExemplars, failureExemplars);
+        long[] lastEndNanos = new long[users];
+        WorkerGroup workers = LoadExecutors.newWorkerGroup(runtime, executionMode, users);
+        long startNanos = System.nanoTime();
+        long rampEndNanos = startNanos + rampUpNanos;
+        long endNanos = durationNanos >= 0 ? rampEndNanos + durationNanos : Long.MAX_VALUE;
+
+        for (int i = 0; i < users; i++) {
+            int userId = i;
+            long userStartNanos = startNanos + rampUpNanos * i / users;
+            workers.execute(() -> lastEndNanos[userId] = runUser(task, userId, rampUpSamples, steadySamples,
+                    userStartNanos, rampEndNanos, endNanos));
+        }
+
+        workers.drain(remainingSeconds(endNanos) + DRAIN_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+
+        long lastEnd = startNanos;
+        for (long userLastEnd : lastEndNanos) {
+            if (userLastEnd != 0) {
+                lastEnd = Math.max(lastEnd, userLastEnd);
+            }
+        }
+        double rampSeconds = Math.max(0, Math.min(rampEndNanos, lastEnd) - startNanos) / 1_000_000_000.0;
+        double steadySeconds = Math.max(0, lastEnd - rampEndNanos) / 1_000_000_000.0;
+        return new ClosedModelResult(
+                users,
+                rampUpSamples.toPhaseStats("ramp-up", rampSeconds),
+                steadySamples.toPhaseStats("steady-state", steadySeconds)
+        );
+    }
+
+    /**
+     * 单个虚拟用户的循环
+     * @return 最后一次请求完成的时间，没有发出请求时返回 0
+     */
+    private long runUser(RequestTask task,
+                         int userId,
+                         PhaseSamples rampUpSamples,
+                         PhaseSamples steadySamples,
+                         long userStartNanos,
+                         long rampEndNanos,
+                         long endNanos) {
+        long lastEndNanos = 0;
+        ArrivalRateEngine.sleepUntil(userStartNanos);
+        CompletionListener listener = this.completionListener;
+        for (long iteration = 0; iterations < 0 || iteration < iterations; iteration++) {
+            long requestStart = System.nanoTime();
+            if (requestStart >= endNanos || Thread.currentThread().isInterrupted()) {
+                break;
+            }
+            RequestUnitTestsResult result = null;
+            try {
+                result = task.execute(userId, iteration);
+            } catch (Exception ignore) {
+            }
+            long requestEnd = System.nanoTime();
+            PhaseSamples samples = requestStart < rampEndNanos ? rampUpSamples : steadySamples;
+            samples.record(userId, requestEnd - requestStart, result);
+            lastEndNanos = requestEnd;
+            if (listener != null) {
+                listener.onCompletion(userId, requestEnd - requestStart, result);
+            }
+
+            if (iterations >= 0 && iteration + 1 >= iterations) {
+                // 最后一次请求之后不再思考
+                break;
+            }
+            long think = thinkTime.nextNanos();
+            if (think > 0) {
+                ArrivalRateEngine.sleepUntil(Math.min(requestEnd + think, endNanos));
+            }
+        }
+        return lastEndNanos;
+    }
+
+    private static long remainingSeconds(long endNanos) {
+        if (endNanos == Long.MAX_VALUE) {
+            return TimeUnit.HOURS.toSeconds(24);
+        }
+        return Math.max(0, TimeUnit.NANOSECONDS.toSeconds(endNanos - System.nanoTime()));
+    }
+
+    /**
+     * 单个阶段的延迟样本与请求样本
+     */
+    private static class PhaseSamples {
+        private final LatencyStatistics recorder;
+        private final ExemplarReservoir exemplars;
+        private final PhaseTimingRecorder timings = new PhaseTimingRecorder();
+
+        PhaseSamples(LatencyStatistics recorder, int slowestExemplars, int failureExemplars) {
+            this.recorder = recorder;
+            this.exemplars = new ExemplarReservoir(slowestExemplars, failureExemplars,
+                    ExemplarReservoir.DEFAULT_BODY_EXCERPT_CHARS);
+        }
+
+        void record(int userId, long latencyNanos, RequestUnitTestsResult result) {
+            boolean success = result != null && result.isSuccess;
+            recorder.record(latencyNanos, success);
+            exemplars.offer(userId, latencyNanos, success, result);
+            if (result != null) {
+                timings.record(result.timings);
+            }
+        }
+
+        PhaseStats toPhaseStats(String name, double durationSeconds) {
+            if (recorder instanceof SketchRecorder) {
+                QuantileSketch sketch = ((SketchRecorder) recorder).snapshot();
+                return new PhaseStats(name, recorder.count(), recorder.successCount(), recorder.failCount(),
+                        durationSeconds, sketch.toSummary(), sketch, exemplars.snapshot(), timings.snapshot());
+            }
+            return new PhaseStats(name, recorder.count(), recorder.successCount(), recorder.failCount(),
+                    durationSeconds, recorder.summary(), null, exemplars.snapshot(), timings.snapshot());
+        }
+    }
+}
@@ -0,0 +1,18 @@
+package io.github.json031.load;
+
+import io.github.json031.JavaBean.RequestUnitTestsResult;
+
+/**
+ * Callback invoked by load engines on the worker thread after each request completes.
+ */
+@FunctionalInterface
+public interface CompletionListener {
+
+    /**
+     * 请求完成回调
+     * @param userId       虚拟用户编号
+     * @param latencyNanos 请求延迟（纳秒）
+     * @param result       请求结果，可能为 null
+     */
+    void onCompletion(int userId, long latencyNanos, RequestUnitTestsResult result);
+}
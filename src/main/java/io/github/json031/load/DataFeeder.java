@@ -0,0 +1,416 @@
+package io.github.json031.load;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.github.json031.transport.RequestVariables;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * This class is a data feeder that streams per-request variables from a CSV (with a header line) or
+ * JSONL file. The file is memory-mapped and scanned once to index where each record starts; only the
+ * offsets stay on the heap (12 bytes per record), and a record is decoded when a request asks for it.
+ * It is a {@link RequestVariables}, so it plugs into any engine through
+ * {@link io.github.json031.transport.PreparedRequest#withVariables}. Instances are thread-safe.
+ */
+public final class DataFeeder implements RequestVariables {
+
+    /**
+     * 单个映射区域的大小，超过该大小的文件分多个区域映射
+     */
+    static final long REGION_SIZE = 1L << 30;
+
+    /**
+     * 单条记录的最大字节数，相邻映射区域重叠该长度以保证记录不跨区域
+     */
+    static final int MAX_RECORD_BYTES = 1 << 20;
+
+    private static final ObjectMapper objectMapper = new ObjectMapper();
+
+    private static final ThreadLocal<byte[]> SCRATCH = ThreadLocal.withInitial(() -> new byte[4096]);
+
+    private enum Format {
+        CSV,
+        JSONL
+    }
+
+    private final Path path;
+    private final Format format;
+    private final char delimiter;
+    private final MappedByteBuffer[] regions;
+    private final long[] starts;
+    private final int[] lengths;
+    private final int firstRecord;
+    private final List<String> columns;
+    private final Map<String, Integer> columnIndex;
+    private final AtomicLong cursor = new AtomicLong();
+    private FeederStrategy strategy = FeederStrategy.SEQUENTIAL;
+
+    private DataFeeder(Path path, Format format, char delimiter) throws IOException {
+        this.path = path;
+        this.format = format;
+        this.delimiter = delimiter;
+        // 映射在通道关闭后依然有效，直到映射缓冲区被回收
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long size = channel.size();
+            int regionCount = (int) Math.max(1, (size + REGION_SIZE - 1) / REGION_SIZE);
+            this.regions = new MappedByteBuffer[regionCount];
+            for (int i = 0; i < regionCount; i++) {
+                long position = i * REGION_SIZE;
+                long length = Math.min(REGION_SIZE + MAX_RECORD_BYTES, size - position);
+                regions[i] = channel.map(FileChannel.MapMode.READ_ONLY, position, Math.max(0, length));
+            }
+
+            RecordIndex index = new RecordIndex();
+            indexRecords(size, format == Format.CSV, index);
+            this.starts = Arrays.copyOf(index.starts, index.count);
+            this.lengths = Arrays.copyOf(index.lengths, index.count);
+        }
+
+        List<String> names = new ArrayList<>();
+        if (format == Format.CSV) {
+            if (starts.length == 0) {
+                throw new IllegalArgumentException("CSV file has no header line: " + path);
+            }
+            names.addAll(Arrays.asList(parseCsv(decode(0), delimiter)));
+            this.firstRecord = 1;
+        } else {
+            this.firstRecord = 0;
+            if (starts.length > 0) {
+                names.addAll(parseJson(0).keySet());
+            }
+        }
+        this.columns = Collections.unmodifiableList(names);
+        this.columnIndex = new HashMap<>();
+        for (int i = 0; i < names.size(); i++) {
+            columnIndex.put(names.get(i), i);
+        }
+    }
+
+    /**
+     * 读取逗号分隔的 CSV 文件，第一行为列名
+     * @param path 文件路径
+     */
+    public static DataFeeder csv(Path path) throws IOException {
+        return new DataFeeder(path, Format.CSV, ',');
+    }
+
+    /**
+     * 读取 CSV 文件，第一行为列名
+     * @param path      文件路径
+     * @param delimiter 分隔符
+     */
+    public static DataFeeder csv(Path path, char delimiter) throws IOException {
+        return new DataFeeder(path, Format.CSV, delimiter);
+    }
+
+    /**
+     * 读取 JSONL 文件，每行一个 JSON 对象，嵌套的对象与数组以 JSON 文本作为变量值
+     * @param path 文件路径
+     */
+    public static DataFeeder jsonl(Path path) throws IOException {
+        return new DataFeeder(path, Format.JSONL, ',');
+    }
+
+    /**
+     * 记录选取策略，默认 SEQUENTIAL
+     */
+    public DataFeeder strategy(FeederStrategy strategy) {
+        this.strategy = strategy;
+        return this;
+    }
+
+    public FeederStrategy getStrategy() {
+        return strategy;
+    }
+
+    public Path getPath() {
+        return path;
+    }
+
+    /**
+     * 记录数（不含 CSV 列名行）
+     */
+    public int size() {
+        return starts.length - firstRecord;
+    }
+
+    /**
+     * 列名；JSONL 文件取第一条记录的字段名
+     */
+    public List<String> columns() {
+        return columns;
+    }
+
+    /**
+     * 每一列对应一个同名占位符的参数模板，例如 {id=${id}}，
+     * 可作为 PreparedRequest.of 的 params，使每次请求发送不同记录的全部列
+     */
+    public Map<String, Object> placeholders() {
+        Map<String, Object> template = new LinkedHashMap<>();
+        for (String column : columns) {
+            template.put(column, "${" + column + "}");
+        }
+        return template;
+    }
+
+    /**
+     * 读取第 index 条记录
+     * @param index 记录序号（从 0 开始）
+     * @return 列名到值的只读映射
+     */
+    public Map<String, String> record(int index) {
+        if (index < 0 || index >= size()) {
+            throw new IndexOutOfBoundsException("Record " + index + " of " + size());
+        }
+        int position = index + firstRecord;
+        if (format == Format.CSV) {
+            return new CsvRecord(columns, columnIndex, parseCsv(decode(position), delimiter));
+        }
+        return parseJson(position);
+    }
+
+    @Override
+    public Map<String, String> variables(int userId, long iteration) {
+        int size = size();
+        if (size == 0) {
+            return Collections.emptyMap();
+        }
+        int index;
+        switch (strategy) {
+            case RANDOM:
+                index = ThreadLocalRandom.current().nextInt(size);
+                break;
+            case UNIQUE_PER_USER:
+                index = Math.floorMod(userId, size);
+                break;
+            default:
+                index = (int) Math.floorMod(cursor.getAndIncrement(), (long) size);
+                break;
+        }
+        return record(index);
+    }
+
+    /**
+     * 将顺序游标重置到第一条记录
+     */
+    public void rewind() {
+        cursor.set(0);
+    }
+
+    @Override
+    public String toString() {
+        return "DataFeeder{path=" + path + ", format=" + format + ", records=" + size()
+                + ", columns=" + columns + ", strategy=" + strategy + "}";
+    }
+
+    /**
+     * 扫描一遍映射区域，记录每条非空记录的起始位置与长度；CSV 引号内的换行不作为记录分隔
+     */
+    private void indexRecords(long size, boolean quoteAware, RecordIndex index) {
+        long recordStart = 0;
+        // 跳过 UTF-8 BOM
+        if (size >= 3 && byteAt(0) == (byte) 0xEF && byteAt(1) == (byte) 0xBB && byteAt(2) == (byte) 0xBF) {
+            recordStart = 3;
+        }
+        boolean inQuotes = false;
+        for (long position = recordStart; position < size; position++) {
+            byte b = byteAt(position);
+            if (quoteAware && b == '"') {
+                inQuotes = !inQuotes;
+            } else if (b == '\n' && !inQuotes) {
+                index.add(recordStart, position, this);
+                recordStart = position + 1;
+            }
+        }
+        if (recordStart < size) {
+            index.add(recordStart, size, this);
+        }
+    }
+
+    private byte byteAt(long position) {
+        return regions[(int) (position / REGION_SIZE)].get((int) (position % REGION_SIZE));
+    }
+
+    /**
+     * 将记录复制到线程本地缓冲区
+     */
+    private byte[] copy(int position) {
+        int length = lengths[position];
+        byte[] scratch = SCRATCH.get();
+        if (scratch.length < length) {
+            scratch = new byte[Math.max(length, scratch.length * 2)];
+            SCRATCH.set(scratch);
+        }
+        long start = starts[position];
+        MappedByteBuffer region = regions[(int) (start / REGION_SIZE)];
+        int offset = (int) (start % REGION_SIZE);
+        for (int i = 0; i < length; i++) {
+            scratch[i] = region.get(offset + i);
+        }
+        return scratch;
+    }
+
+    private String decode(int position) {
+        return new String(copy(position), 0, lengths[position], StandardCharsets.UTF_8);
+    }
+
+    private Map<String, String> parseJson(int position) {
+        JsonNode node;
+        try {
+            node = objectMapper.readTree(copy(position), 0, lengths[position]);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Invalid JSON record " + (position + 1) + " in " + path, e);
+        }
+        Map<String, String> values = new LinkedHashMap<>();
+        Iterator<Map.Entry<String, JsonNode>> fields = node.fields();
+        while (fields.hasNext()) {
+            Map.Entry<String, JsonNode> field = fields.next();
+            JsonNode value = field.getValue();
+            values.put(field.getKey(), value.isNull() ? "" : value.isValueNode() ? value.asText() : value.toString());
+        }
+        return Collections.unmodifiableMap(values);
+    }
+
+    /**
+     * 解析一行 CSV（RFC 4180：引号包裹的字段可包含分隔符、换行，"" 表示一个引号）
+     */
+    static String[] parseCsv(String line, char delimiter) {
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean inQuotes = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (inQuotes) {
+                if (c == '"') {
+                    if (i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                        field.append('"');
+                        i++;
+                    } else {
+                        inQuotes = false;
+                    }
+                } else {
+                    field.append(c);
+                }
+            } else if (c == '"') {
+                inQuotes = true;
+            } else if (c == delimiter) {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else {
+                field.append(c);
+            }
+        }
+        fields.add(field.toString());
+        return fields.toArray(new String[0]);
+    }
+
+    /**
+     * Growable record offsets built while scanning.
+     */
+    private static final class RecordIndex {
+        long[] starts = new long[1024];
+        int[] lengths = new int[1024];
+        int count;
+
+        void add(long start, long end, DataFeeder feeder) {
+            // 去掉 \r\n 中的 \r，跳过空行
+            if (end > start && feeder.byteAt(end - 1) == '\r') {
+                end--;
+            }
+            long length = end - start;
+            if (length == 0) {
+                return;
+            }
+            if (length > MAX_RECORD_BYTES) {
+                throw new IllegalArgumentException("Record at offset " + start + " exceeds " + MAX_RECORD_BYTES + " bytes");
+            }
+            if (count == starts.length) {
+                starts = Arrays.copyOf(starts, count * 2);
+                lengths = Arrays.copyOf(lengths, count * 2);
+            }
+            starts[count] = start;
+            lengths[count] = (int) length;
+            count++;
+        }
+    }
+
+    /**
+     * Read-only view of one CSV record keyed by the shared header.
+     */
+    private static final class CsvRecord extends AbstractMap<String, String> {
+        private final List<String> columns;
+        private final Map<String, Integer> columnIndex;
+        private final String[] values;
+
+        CsvRecord(List<String> columns, Map<String, Integer> columnIndex, String[] values) {
+            this.columns = columns;
+            this.columnIndex = columnIndex;
+            this.values = values;
+        }
+
+        @Override
+        public String get(Object key) {
+            Integer index = columnIndex.get(key);
+            return index != null && index < values.length ? values[index] : null;
+        }
+
+        @Override
+        public boolean containsKey(Object key) {
+            Integer index = columnIndex.get(key);
+            return index != null && index < values.length;
+        }
+
+        @Override
+        public Set<Entry<String, String>> entrySet() {
+            int size = Math.min(columns.size(), values.length);
+            return new AbstractSet<Entry<String, String>>() {
+                @Override
+                public Iterator<Entry<String, String>> iterator() {
+                    return new Iterator<Entry<String, String>>() {
+                        private int next;
+
+                        @Override
+                        public boolean hasNext() {
+                            return next < size;
+                        }
+
+                        @Override
+                        public Entry<String, String> next() {
+                            if (next >= size) {
+                                throw new NoSuchElementException();
+                            }
+                            int i = next++;
+                            return new SimpleImmutableEntry<>(columns.get(i), values[i]);
+                        }
+                    };
+                }
+
+                @Override
+                public int size() {
+                    return size;
+                }
+            };
+        }
+    }
+}
@@ -0,0 +1,15 @@
+package io.github.json031.load;
+
+/**
+ * Execution mode of simulated users.
+ */
+public enum ExecutionMode {
+    /**
+     * 每个模拟用户占用一个平台线程（固定大小线程池）
+     */
+    PLATFORM_THREADS,
+    /**
+     * 每个模拟用户运行在虚拟线程上（Java 21+），低版本 JVM 自动回退为平台线程
+     */
+    VIRTUAL_THREADS
+}
@@ -0,0 +1,20 @@
+package io.github.json031.load;
+
+/**
+ * How a data feeder picks the record for a request.
+ */
+public enum FeederStrategy {
+    /**
+     * 所有用户共享一个游标按顺序读取，读到末尾后从头开始
+     */
+    SEQUENTIAL,
+    /**
+     * 每次请求随机选取一条记录
+     */
+    RANDOM,
+    /**
+     * 每个虚拟用户固定使用第 userId 条记录（用户数超过记录数时循环），适合每个用户一个账号的场景；
+     * 开放模型中 userId 恒为 0
+     */
+    UNIQUE_PER_USER
+}
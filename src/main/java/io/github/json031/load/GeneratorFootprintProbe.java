@@ -0,0 +1,99 @@
+package io.github.json031.load;
+
+import io.github.json031.JavaBean.GeneratorFootprint;
+import io.github.json031.JavaBean.HighConcurrencyResult;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.lang.management.ThreadMXBean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * This class samples load generator memory, thread count and scheduling lag during a test.
+ */
+public class GeneratorFootprintProbe {
+
+    /**
+     * 采样间隔（毫秒）
+     */
+    private static final long SAMPLE_INTERVAL_MILLIS = 5;
+
+    private final MemoryMXBean memoryMXBean = ManagementFactory.getMemoryMXBean();
+    private final ThreadMXBean threadMXBean = ManagementFactory.getThreadMXBean();
+
+    private final LongAdder totalLagNanos = new LongAdder();
+    private final LongAdder lagSamples = new LongAdder();
+    private final AtomicLong maxLagNanos = new AtomicLong();
+    private final AtomicLong peakHeapUsed = new AtomicLong();
+    private final AtomicLong peakThreads = new AtomicLong();
+
+    private long baselineHeapUsed;
+    private volatile boolean running;
+    private Thread sampler;
+
+    /**
+     * 开始采样
+     */
+    public void start() {
+        baselineHeapUsed = memoryMXBean.getHeapMemoryUsage().getUsed();
+        peakHeapUsed.set(baselineHeapUsed);
+        peakThreads.set(threadMXBean.getThreadCount());
+        running = true;
+        sampler = new Thread(() -> {
+            while (running) {
+                sample();
+                try {
+                    Thread.sleep(SAMPLE_INTERVAL_MILLIS);
+                } catch (InterruptedException e) {
+                    return;
+                }
+            }
+        }, "mcunittests-footprint-probe");
+        sampler.setDaemon(true);
+        sampler.start();
+    }
+
+    /**
+     * 记录一次调度延迟（任务提交到开始执行的耗时）
+     * @param lagNanos 调度延迟（纳秒）
+     */
+    public void recordSchedulingLag(long lagNanos) {
+        totalLagNanos.add(lagNanos);
+        lagSamples.increment();
+        long max;
+        while (lagNanos > (max = maxLagNanos.get())) {
+            if (maxLagNanos.compareAndSet(max, lagNanos)) {
+                break;
+            }
+        }
+    }
+
+    /**
+     * 停止采样并生成报告
+     * @param mode   实际执行模式
+     * @param result 测试结果
+     * @return 负载生成端资源占用
+     */
+    public GeneratorFootprint stop(ExecutionMode mode, HighConcurrencyResult result) {
+        running = false;
+        if (sampler != null) {
+            sampler.interrupt();
+        }
+        sample();
+        long samples = lagSamples.sum();
+        return new GeneratorFootprint(
+                mode.name(),
+                result,
+                (int) peakThreads.get(),
+                Math.max(0, peakHeapUsed.get() - baselineHeapUsed),
+                samples > 0 ? totalLagNanos.sum() / samples / 1000 : 0,
+                maxLagNanos.get() / 1000
+        );
+    }
+
+    private void sample() {
+        peakHeapUsed.accumulateAndGet(memoryMXBean.getHeapMemoryUsage().getUsed(), Math::max);
+        peakThreads.accumulateAndGet(threadMXBean.getThreadCount(), Math::max);
+    }
+}
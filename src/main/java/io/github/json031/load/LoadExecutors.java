@@ -0,0 +1,52 @@
+package io.github.json031.load;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * This class creates worker pools for simulated users.
+ */
+public final class LoadExecutors {
+
+    private LoadExecutors() {
+    }
+
+    /**
+     * 根据执行模式创建工作线程池
+     * @param mode        执行模式
+     * @param threadCount 并发用户数
+     * @return 线程池
+     */
+    public static ExecutorService newWorkerPool(ExecutionMode mode, int threadCount) {
+        if (resolve(mode) == ExecutionMode.VIRTUAL_THREADS) {
+            return VirtualThreads.newVirtualThreadPerTaskExecutor();
+        }
+        return Executors.newFixedThreadPool(threadCount);
+    }
+
+    /**
+     * 创建一次负载运行的工作组：设置了共享运行时则复用其中已启动的线程，否则创建独立线程池（drain 时关闭）
+     * @param runtime        共享运行时，可为 null
+     * @param mode           未设置运行时时的执行模式
+     * @param maxConcurrency 最大并发执行数
+     * @return 工作组
+     */
+    public static WorkerGroup newWorkerGroup(LoadGeneratorRuntime runtime, ExecutionMode mode, int maxConcurrency) {
+        if (runtime != null) {
+            return runtime.workers(maxConcurrency);
+        }
+        return WorkerGroup.dedicated(mode, maxConcurrency);
+    }
+
+    /**
+     * 实际生效的执行模式：不支持虚拟线程时回退为平台线程
+     * @param mode 期望的执行模式
+     * @return 实际执行模式
+     */
+    public static ExecutionMode resolve(ExecutionMode mode) {
+        if (mode == ExecutionMode.VIRTUAL_THREADS && VirtualThreads.isSupported()) {
+            return ExecutionMode.VIRTUAL_THREADS;
+        }
+        return ExecutionMode.PLATFORM_THREADS;
+    }
+}
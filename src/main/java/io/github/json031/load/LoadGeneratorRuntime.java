@@ -0,0 +1,133 @@
+package io.github.json031.load;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * This class is a load generator runtime that owns the worker threads of the simulated users and
+ * keeps them alive across load runs, so consecutive steps and tests (stress steps, capacity probes,
+ * soak windows) reuse warm threads instead of paying thread start-up and JIT warm-up again.
+ * Platform worker threads are started before a run begins and are never counted in its latency.
+ * Requests share the pooled HTTP transport of the process, whose keep-alive connections are reused
+ * across runs the same way; {@link #warmUp(RequestTask, int)} opens them before measuring.
+ * Close the runtime when the tests are done.
+ */
+public final class LoadGeneratorRuntime implements AutoCloseable {
+
+    /**
+     * 关闭时等待工作线程退出的最长时间（秒）
+     */
+    private static final long CLOSE_TIMEOUT_SECONDS = 10;
+
+    private static final AtomicInteger RUNTIME_IDS = new AtomicInteger();
+
+    private final ExecutionMode executionMode;
+    private final ExecutorService pool;
+    private final ThreadPoolExecutor platformPool;
+    private final AtomicInteger threadsCreated = new AtomicInteger();
+
+    /**
+     * @param executionMode 执行模式（平台线程 / 虚拟线程），不支持虚拟线程时回退为平台线程
+     */
+    public LoadGeneratorRuntime(ExecutionMode executionMode) {
+        this.executionMode = LoadExecutors.resolve(executionMode);
+        if (this.executionMode == ExecutionMode.VIRTUAL_THREADS) {
+            this.platformPool = null;
+            this.pool = VirtualThreads.newVirtualThreadPerTaskExecutor();
+        } else {
+            int runtimeId = RUNTIME_IDS.incrementAndGet();
+            ThreadFactory factory = task -> {
+                Thread thread = new Thread(task, "mc-load-" + runtimeId + "-" + threadsCreated.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            };
+            // 核心线程数随最大并发数增长，核心线程不回收
+            this.platformPool = new ThreadPoolExecutor(0, Integer.MAX_VALUE, 60, TimeUnit.SECONDS,
+                    new LinkedBlockingQueue<>(), factory);
+            this.pool = platformPool;
+        }
+    }
+
+    /**
+     * 实际生效的执行模式
+     */
+    public ExecutionMode executionMode() {
+        return executionMode;
+    }
+
+    /**
+     * 预先启动工作线程，使平台线程池中至少有指定数量的线程（虚拟线程模式无需预启动）
+     * @param threads 线程数
+     * @return this
+     */
+    public synchronized LoadGeneratorRuntime prestart(int threads) {
+        if (platformPool != null && threads > platformPool.getCorePoolSize()) {
+            platformPool.setCorePoolSize(threads);
+            platformPool.prestartAllCoreThreads();
+        }
+        return this;
+    }
+
+    /**
+     * 为一次负载运行分配工作组，返回前工作线程已全部启动
+     * @param maxConcurrency 最大并发执行数
+     * @return 工作组，运行结束时调用 drain 等待任务完成（线程保留在运行时中）
+     */
+    public WorkerGroup workers(int maxConcurrency) {
+        if (pool.isShutdown()) {
+            throw new IllegalStateException("LoadGeneratorRuntime is closed");
+        }
+        prestart(maxConcurrency);
+        return new WorkerGroup(pool, maxConcurrency, false);
+    }
+
+    /**
+     * 预热：以指定并发执行若干次请求并丢弃结果，使请求代码完成 JIT 编译、连接池建立好保活连接
+     * @param task        请求任务
+     * @param concurrency 并发数（建议与随后的测试一致，使连接池中有足够的连接）
+     * @return this
+     */
+    public LoadGeneratorRuntime warmUp(RequestTask task, int concurrency) {
+        WorkerGroup group = workers(concurrency);
+        for (int i = 0; i < concurrency; i++) {
+            int userId = i;
+            group.execute(() -> task.execute(userId, -1));
+        }
+        group.drain(60, TimeUnit.SECONDS);
+        return this;
+    }
+
+    /**
+     * 运行时创建的平台线程总数（虚拟线程模式为 0），可用于确认线程被复用
+     */
+    public int threadsCreated() {
+        return threadsCreated.get();
+    }
+
+    public boolean isClosed() {
+        return pool.isShutdown();
+    }
+
+    /**
+     * 关闭运行时，中断仍在执行的任务并等待工作线程退出
+     */
+    @Override
+    public void close() {
+        pool.shutdownNow();
+        try {
+            pool.awaitTermination(CLOSE_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "LoadGeneratorRuntime{mode=" + executionMode + ", threads=" + threadsCreated() +
+                (isClosed() ? ", closed" : "") + "}";
+    }
+}
@@ -0,0 +1,346 @@
+package io.github.json031.load;
+
+import io.github.json031.JavaBean.LoadShapeResult;
+import io.github.json031.JavaBean.PhaseStats;
+import io.github.json031.JavaBean.RequestUnitTestsResult;
+import io.github.json031.stats.ExemplarReservoir;
+import io.github.json031.stats.LatencyStatistics;
+import io.github.json031.stats.PhaseTimingRecorder;
+import io.github.json031.stats.QuantileSketch;
+import io.github.json031.stats.SketchRecorder;
+import io.github.json031.stats.StatisticsBackend;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.function.Predicate;
+
+/**
+ * This class drives continuous traffic through a sequence of load stages
+ * (ramp, hold, spike, step-down) and reports statistics per stage.
+ */
+public class LoadShapeScheduler {
+
+    /**
+     * 并发模式下空闲虚拟用户重新检查目标值的间隔
+     */
+    private static final long IDLE_CHECK_NANOS = TimeUnit.MILLISECONDS.toNanos(5);
+
+    /**
+     * 调度结束后等待在途请求完成的最长时间（秒）
+     */
+    private static final long DRAIN_TIMEOUT_SECONDS = 60;
+
+    private final List<LoadStage> stages;
+    private final LoadTarget target;
+    private final long[] stageEndOffsets;
+    private int maxConcurrency = 0;
+    private ExecutionMode executionMode = ExecutionMode.PLATFORM_THREADS;
+    private LoadGeneratorRuntime runtime;
+    private StatisticsBackend statisticsBackend = StatisticsBackend.SAMPLES;
+    private int slowestExemplars = ExemplarReservoir.DEFAULT_SLOWEST;
+    private int failureExemplars = ExemplarReservoir.DEFAULT_FAILURES;
+    private Predicate<RequestUnitTestsResult> successCriteria = result -> result != null && result.isSuccess;
+    private Predicate<PhaseStats> stopCondition = stats -> false;
+    private CompletionListener completionListener;
+
+    /**
+     * 运行结束时间（System.nanoTime），提前停止时被调低
+     */
+    private volatile long endNanos;
+
+    /**
+     * @param stages 负载阶段（按顺序执行）
+     * @param target 阶段目标值的含义：并发数或到达率
+     */
+    public LoadShapeScheduler(List<LoadStage> stages, LoadTarget target) {
+        if (stages == null || stages.isEmpty()) {
+            throw new IllegalArgumentException("At least one stage is required");
+        }
+        this.stages = new ArrayList<>(stages);
+        this.target = target;
+        this.stageEndOffsets = new long[stages.size()];
+        long offset = 0;
+        for (int i = 0; i < stages.size(); i++) {
+            offset += stages.get(i).durationNanos;
+            stageEndOffsets[i] = offset;
+        }
+    }
+
+    /**
+     * 到达率模式下的最大并发执行数，默认取最大目标速率
+     */
+    public LoadShapeScheduler maxConcurrency(int maxConcurrency) {
+        this.maxConcurrency = maxConcurrency;
+        return this;
+    }
+
+    /**
+     * 执行模式（平台线程 / 虚拟线程）
+     */
+    public LoadShapeScheduler executionMode(ExecutionMode executionMode) {
+        this.executionMode = executionMode;
+        return this;
+    }
+
+    /**
+     * 共享的负载生成运行时，设置后复用其中已启动的工作线程（执行模式以运行时为准）
+     */
+    public LoadShapeScheduler runtime(LoadGeneratorRuntime runtime) {
+        this.runtime = runtime;
+        return this;
+    }
+
+    /**
+     * 延迟统计方式，默认保留全部样本；长时间运行时使用 SKETCH 保持内存固定
+     */
+    public LoadShapeScheduler statisticsBackend(StatisticsBackend statisticsBackend) {
+        this.statisticsBackend = statisticsBackend;
+        return this;
+    }
+
+    /**
+     * 每个阶段保留完整信息的最慢请求数与失败请求样本数
+     */
+    public LoadShapeScheduler exemplars(int slowest, int failures) {
+        this.slowestExemplars = slowest;
+        this.failureExemplars = failures;
+        return this;
+    }
+
+    /**
+     * 判定请求成功的条件，默认为 isSuccess
+     */
+    public LoadShapeScheduler successCriteria(Predicate<RequestUnitTestsResult> successCriteria) {
+        this.successCriteria = successCriteria;
+        return this;
+    }
+
+    /**
+     * 每个阶段结束时检查，返回 true 则不再执行后续阶段
+     */
+    public LoadShapeScheduler stopWhen(Predicate<PhaseStats> stopCondition) {
+        this.stopCondition = stopCondition;
+        return this;
+    }
+
+    /**
+     * 请求完成回调
+     */
+    public LoadShapeScheduler onCompletion(CompletionListener completionListener) {
+        this.completionListener = completionListener;
+        return this;
+    }
+
+    /**
+     * 按阶段持续施加负载
+     * @param task 请求任务
+     * @return 每个阶段的统计结果
+     */
+    public LoadShapeResult run(RequestTask task) {
+        StageSamples[] samples = new StageSamples[stages.size()];
+        for (int i = 0; i < samples.length; i++) {
+            samples[i] = new StageSamples(statisticsBackend.newStatistics(),
+                    new ExemplarReservoir(slowestExemplars, failureExemplars, ExemplarReservoir.DEFAULT_BODY_EXCERPT_CHARS));
+        }
+        // 工作线程在计时开始前启动，线程创建不计入任何阶段
+        WorkerGroup workers = LoadExecutors.newWorkerGroup(runtime, executionMode, workerCount());
+        long startNanos = System.nanoTime();
+        this.endNanos = startNanos + stageEndOffsets[stageEndOffsets.length - 1];
+
+        int executedStages = target == LoadTarget.CONCURRENCY
+                ? runConcurrency(task, workers, samples, startNanos)
+                : runArrivalRate(task, workers, samples, startNanos);
+        boolean stoppedEarly = executedStages < stages.size();
+
+        List<PhaseStats> stageStats = new ArrayList<>(executedStages);
+        long stopOffset = this.endNanos - startNanos;
+        for (int i = 0; i < executedStages; i++) {
+            long stageStart = i == 0 ? 0 : stageEndOffsets[i - 1];
+            long stageEnd = Math.min(stageEndOffsets[i], stopOffset);
+            // 阶段内发出的请求可能在阶段结束后才完成，吞吐量按最后一次完成时间计算
+            if (!samples[i].isEmpty()) {
+                stageEnd = Math.max(stageEnd, samples[i].lastEndNanos.get() - startNanos);
+            }
+            stageStats.add(samples[i].toPhaseStats(stages.get(i).name, (stageEnd - stageStart) / 1_000_000_000.0));
+        }
+        return new LoadShapeResult(target.name(), stageStats, stoppedEarly);
+    }
+
+    /**
+     * 并发模式：按最大目标值创建虚拟用户，编号小于当前目标值的用户循环发送请求
+     * @return 实际执行的阶段数
+     */
+    private int runConcurrency(RequestTask task, WorkerGroup workers, StageSamples[] samples, long startNanos) {
+        int users = maxStageTarget();
+        for (int i = 0; i < users; i++) {
+            int userId = i;
+            workers.execute(() -> {
+                long iteration = 0;
+                long now;
+                while ((now = System.nanoTime()) < this.endNanos && !Thread.currentThread().isInterrupted()) {
+                    long elapsed = now - startNanos;
+                    int stageIndex = stageIndex(elapsed);
+                    if (userId >= Math.round(targetAt(stageIndex, elapsed))) {
+                        ArrivalRateEngine.sleepUntil(Math.min(now + IDLE_CHECK_NANOS, this.endNanos));
+                        continue;
+                    }
+                    execute(task, userId, iteration++, now, samples[stageIndex]);
+                }
+            });
+        }
+
+        int executed = awaitStages(samples, startNanos);
+        drain(workers);
+        return executed;
+    }
+
+    /**
+     * 到达率模式：第 k 次到达安排在目标速率的累计积分达到 k 的时刻，延迟从计划开始时间算起。
+     * 计划时间按整条负载曲线的绝对时间表计算，阶段切换时保留未走完的到达间隔
+     * @return 实际执行的阶段数
+     */
+    private int runArrivalRate(RequestTask task, WorkerGroup workers, StageSamples[] samples, long startNanos) {
+        long sequence = 0;
+        // 之前各阶段的累计到达数与下一次到达对应的累计到达数
+        double arrivalsBefore = 0;
+        double nextArrival = stages.get(0).targetAt(0) > 0 ? 0 : 1;
+
+        for (int i = 0; i < stages.size(); i++) {
+            LoadStage stage = stages.get(i);
+            long stageStart = startNanos + (i == 0 ? 0 : stageEndOffsets[i - 1]);
+            StageSamples stageSamples = samples[i];
+            double elapsed;
+            while ((elapsed = stage.nanosUntilArrivals(0, nextArrival - arrivalsBefore)) >= 0
+                    && !Thread.currentThread().isInterrupted()) {
+                long intendedStart = stageStart + (long) elapsed;
+                ArrivalRateEngine.sleepUntil(intendedStart);
+                long iteration = sequence++;
+                workers.execute(() -> execute(task, 0, iteration, intendedStart, stageSamples));
+                nextArrival++;
+            }
+            arrivalsBefore += stage.arrivals();
+            ArrivalRateEngine.sleepUntil(startNanos + stageEndOffsets[i]);
+            if (Thread.currentThread().isInterrupted()) {
+                this.endNanos = System.nanoTime();
+                drain(workers);
+                return i + 1;
+            }
+            if (i < stages.size() - 1
+                    && stopCondition.test(stageSamples.toPhaseStats(stage.name, stage.durationNanos / 1_000_000_000.0))) {
+                this.endNanos = startNanos + stageEndOffsets[i];
+                drain(workers);
+                return i + 1;
+            }
+        }
+        drain(workers);
+        return stages.size();
+    }
+
+    /**
+     * 并发模式下由调用线程等待每个阶段结束并检查停止条件
+     */
+    private int awaitStages(StageSamples[] samples, long startNanos) {
+        for (int i = 0; i < stages.size(); i++) {
+            ArrivalRateEngine.sleepUntil(startNanos + stageEndOffsets[i]);
+            if (Thread.currentThread().isInterrupted()) {
+                this.endNanos = System.nanoTime();
+                return i + 1;
+            }
+            if (i < stages.size() - 1
+                    && stopCondition.test(samples[i].toPhaseStats(stages.get(i).name, stages.get(i).durationNanos / 1_000_000_000.0))) {
+                this.endNanos = startNanos + stageEndOffsets[i];
+                return i + 1;
+            }
+        }
+        return stages.size();
+    }
+
+    private void execute(RequestTask task, int userId, long iteration, long intendedStart, StageSamples stageSamples) {
+        RequestUnitTestsResult result = null;
+        try {
+            result = task.execute(userId, iteration);
+        } catch (Exception ignore) {
+        }
+        long endNanos = System.nanoTime();
+        long latencyNanos = endNanos - intendedStart;
+        stageSamples.record(userId, endNanos, latencyNanos, successCriteria.test(result), result);
+        CompletionListener listener = this.completionListener;
+        if (listener != null) {
+            listener.onCompletion(userId, latencyNanos, result);
+        }
+    }
+
+    private static void drain(WorkerGroup workers) {
+        workers.drain(DRAIN_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+    }
+
+    /**
+     * 工作线程数：并发模式为最大目标并发数，到达率模式为最大并发执行数（默认取最大目标速率）
+     */
+    private int workerCount() {
+        int workers = target == LoadTarget.ARRIVAL_RATE && maxConcurrency > 0 ? maxConcurrency : maxStageTarget();
+        return Math.max(1, workers);
+    }
+
+    private int maxStageTarget() {
+        int max = 0;
+        for (LoadStage stage : stages) {
+            max = Math.max(max, (int) Math.ceil(stage.maxTarget()));
+        }
+        return max;
+    }
+
+    private int stageIndex(long elapsedNanos) {
+        for (int i = 0; i < stageEndOffsets.length; i++) {
+            if (elapsedNanos < stageEndOffsets[i]) {
+                return i;
+            }
+        }
+        return stageEndOffsets.length - 1;
+    }
+
+    private double targetAt(int stageIndex, long elapsedNanos) {
+        long stageStart = stageIndex == 0 ? 0 : stageEndOffsets[stageIndex - 1];
+        return stages.get(stageIndex).targetAt(elapsedNanos - stageStart);
+    }
+
+    /**
+     * 单个阶段的延迟样本与最后一次完成时间
+     */
+    private static class StageSamples {
+        private final LatencyStatistics recorder;
+        private final ExemplarReservoir exemplars;
+        private final PhaseTimingRecorder timings = new PhaseTimingRecorder();
+        private final LongAccumulator lastEndNanos = new LongAccumulator(Math::max, Long.MIN_VALUE);
+
+        StageSamples(LatencyStatistics recorder, ExemplarReservoir exemplars) {
+            this.recorder = recorder;
+            this.exemplars = exemplars;
+        }
+
+        void record(int userId, long endNanos, long latencyNanos, boolean isSuccess, RequestUnitTestsResult result) {
+            recorder.record(latencyNanos, isSuccess);
+            exemplars.offer(userId, latencyNanos, isSuccess, result);
+            if (result != null) {
+                timings.record(result.timings);
+            }
+            lastEndNanos.accumulate(endNanos);
+        }
+
+        boolean isEmpty() {
+            return recorder.count() == 0;
+        }
+
+        PhaseStats toPhaseStats(String name, double durationSeconds) {
+            if (recorder instanceof SketchRecorder) {
+                QuantileSketch sketch = ((SketchRecorder) recorder).snapshot();
+                return new PhaseStats(name, recorder.count(), recorder.successCount(), recorder.failCount(),
+                        durationSeconds, sketch.toSummary(), sketch, exemplars.snapshot(), timings.snapshot());
+            }
+            return new PhaseStats(name, recorder.count(), recorder.successCount(), recorder.failCount(),
+                    durationSeconds, recorder.summary(), null, exemplars.snapshot(), timings.snapshot());
+        }
+    }
+}
@@ -0,0 +1,166 @@
+package io.github.json031.load;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * This class is one stage of a load shape: the target (concurrency or rate)
+ * moves linearly from a start value to an end value over the stage duration.
+ */
+public final class LoadStage {
+
+    /**
+     * 阶段名称
+     */
+    public final String name;
+
+    /**
+     * 阶段持续时间（纳秒）
+     */
+    public final long durationNanos;
+
+    /**
+     * 阶段开始时的目标值
+     */
+    public final double startTarget;
+
+    /**
+     * 阶段结束时的目标值
+     */
+    public final double endTarget;
+
+    private LoadStage(String name, long durationNanos, double startTarget, double endTarget) {
+        if (durationNanos <= 0) {
+            throw new IllegalArgumentException("Stage duration must be positive");
+        }
+        if (startTarget < 0 || endTarget < 0) {
+            throw new IllegalArgumentException("Stage target must not be negative");
+        }
+        this.name = name;
+        this.durationNanos = durationNanos;
+        this.startTarget = startTarget;
+        this.endTarget = endTarget;
+    }
+
+    /**
+     * 爬坡阶段：目标值从 from 线性变化到 to
+     * @param name     阶段名称
+     * @param from     起始目标值
+     * @param to       结束目标值
+     * @param duration 持续时间
+     * @param unit     时间单位
+     */
+    public static LoadStage ramp(String name, double from, double to, long duration, TimeUnit unit) {
+        return new LoadStage(name, unit.toNanos(duration), from, to);
+    }
+
+    /**
+     * 保持阶段：目标值恒定
+     * @param name     阶段名称
+     * @param target   目标值
+     * @param duration 持续时间
+     * @param unit     时间单位
+     */
+    public static LoadStage hold(String name, double target, long duration, TimeUnit unit) {
+        return new LoadStage(name, unit.toNanos(duration), target, target);
+    }
+
+    /**
+     * 突刺阶段：目标值立即跳到峰值并保持
+     * @param name     阶段名称
+     * @param target   峰值目标值
+     * @param duration 持续时间
+     * @param unit     时间单位
+     */
+    public static LoadStage spike(String name, double target, long duration, TimeUnit unit) {
+        return hold(name, target, duration, unit);
+    }
+
+    /**
+     * 回落阶段：目标值立即降到较低水平并保持
+     * @param name     阶段名称
+     * @param target   回落后的目标值
+     * @param duration 持续时间
+     * @param unit     时间单位
+     */
+    public static LoadStage stepDown(String name, double target, long duration, TimeUnit unit) {
+        return hold(name, target, duration, unit);
+    }
+
+    /**
+     * 阶段内某一时刻的目标值
+     * @param elapsedNanos 距阶段开始的时间（纳秒）
+     */
+    public double targetAt(long elapsedNanos) {
+        if (elapsedNanos <= 0) {
+            return startTarget;
+        }
+        if (elapsedNanos >= durationNanos) {
+            return endTarget;
+        }
+        return startTarget + (endTarget - startTarget) * elapsedNanos / durationNanos;
+    }
+
+    /**
+     * 到达率模式下，从阶段内某一时刻起累计到下一次到达所需的时间（按线性目标速率积分）
+     * @param elapsedNanos 距阶段开始的时间（纳秒）
+     * @return 距下一次到达的时间（纳秒），阶段内不再有到达时返回 -1
+     */
+    public double nanosUntilNextArrival(long elapsedNanos) {
+        return nanosUntilArrivals(elapsedNanos, 1);
+    }
+
+    /**
+     * 到达率模式下，从阶段内某一时刻起累计到给定到达数所需的时间（按线性目标速率积分）
+     * @param elapsedNanos 距阶段开始的时间（纳秒）
+     * @param arrivals     需要累计的到达数，可以是小数（上一阶段未走完的到达间隔）
+     * @return 所需时间（纳秒），阶段内达不到时返回 -1
+     */
+    public double nanosUntilArrivals(long elapsedNanos, double arrivals) {
+        if (elapsedNanos >= durationNanos) {
+            return -1;
+        }
+        if (arrivals <= 0) {
+            return 0;
+        }
+        double rate = targetAt(elapsedNanos);
+        double slope = (endTarget - startTarget) / durationNanos;
+        double delta;
+        if (slope == 0) {
+            if (rate <= 0) {
+                return -1;
+            }
+            delta = arrivals * 1_000_000_000.0 / rate;
+        } else {
+            // 求解 rate * dt + slope * dt^2 / 2 = arrivals * 1e9
+            double discriminant = rate * rate + 2 * slope * arrivals * 1_000_000_000.0;
+            if (discriminant < 0) {
+                return -1;
+            }
+            delta = (Math.sqrt(discriminant) - rate) / slope;
+        }
+        if (delta <= 0 || elapsedNanos + delta >= durationNanos) {
+            return -1;
+        }
+        return delta;
+    }
+
+    /**
+     * 到达率模式下整个阶段的期望到达数（目标速率对时间的积分）
+     */
+    public double arrivals() {
+        return (startTarget + endTarget) / 2 * durationNanos / 1_000_000_000.0;
+    }
+
+    /**
+     * 阶段内的最大目标值
+     */
+    public double maxTarget() {
+        return Math.max(startTarget, endTarget);
+    }
+
+    @Override
+    public String toString() {
+        return String.format("LoadStage{name=%s, duration=%dms, target=%.2f->%.2f}",
+                name, TimeUnit.NANOSECONDS.toMillis(durationNanos), startTarget, endTarget);
+    }
+}
@@ -0,0 +1,15 @@
+package io.github.json031.load;
+
+/**
+ * What the target value of a load stage controls.
+ */
+public enum LoadTarget {
+    /**
+     * 目标值为并发虚拟用户数（闭环模型）
+     */
+    CONCURRENCY,
+    /**
+     * 目标值为到达率，请求/秒（开放模型）
+     */
+    ARRIVAL_RATE
+}
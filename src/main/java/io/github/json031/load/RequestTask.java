@@ -0,0 +1,18 @@
+package io.github.json031.load;
+
+import io.github.json031.JavaBean.RequestUnitTestsResult;
+
+/**
+ * One request issued by a load engine.
+ */
+@FunctionalInterface
+public interface RequestTask {
+
+    /**
+     * 执行一次请求
+     * @param userId    虚拟用户编号（开放模型中为 0）
+     * @param iteration 该用户的第几次请求（开放模型中为全局序号）
+     * @return 请求结果，URL 非法时为 null
+     */
+    RequestUnitTestsResult execute(int userId, long iteration);
+}
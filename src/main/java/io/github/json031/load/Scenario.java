@@ -0,0 +1,166 @@
+package io.github.json031.load;
+
+import io.github.json031.transport.PreparedRequest;
+import io.github.json031.transport.RequestVariables;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * This class is a multi-step user flow (for example log in, browse, order, log out) that a virtual user
+ * runs as one transaction. Values extracted from a step's response (JSON fields, headers) become
+ * ${name} variables of the following steps; the JSON body of a step is parsed once for all of its
+ * extractions. A failed step, or a missing extracted value, ends the transaction as failed.
+ * Instances are immutable and thread-safe; the per-transaction variables live in the runner.
+ */
+public final class Scenario {
+
+    public final String name;
+    public final List<Step> steps;
+    /**
+     * initial variables of each transaction (for example a data feeder), merged before the first step.
+     */
+    public final RequestVariables variables;
+
+    private Scenario(String name, List<Step> steps, RequestVariables variables) {
+        this.name = name;
+        this.steps = Collections.unmodifiableList(steps);
+        this.variables = variables;
+    }
+
+    /**
+     * 创建构建器
+     * @param name 场景名称
+     */
+    public static Builder builder(String name) {
+        return new Builder(name);
+    }
+
+    /**
+     * 步骤名称，下标即步骤序号
+     */
+    public List<String> stepNames() {
+        List<String> names = new ArrayList<>(steps.size());
+        for (Step step : steps) {
+            names.add(step.name);
+        }
+        return names;
+    }
+
+    @Override
+    public String toString() {
+        return "Scenario{name=" + name + ", steps=" + stepNames() + "}";
+    }
+
+    /**
+     * One request of a scenario and the values it extracts.
+     */
+    public static final class Step {
+        public final String name;
+        public final PreparedRequest request;
+        /**
+         * variable name to JSON field path (dot separated, array elements by index).
+         */
+        public final Map<String, String> jsonExtractions;
+        /**
+         * variable name to response header name.
+         */
+        public final Map<String, String> headerExtractions;
+
+        Step(String name, PreparedRequest request, Map<String, String> jsonExtractions, Map<String, String> headerExtractions) {
+            this.name = name;
+            this.request = request;
+            this.jsonExtractions = Collections.unmodifiableMap(jsonExtractions);
+            this.headerExtractions = Collections.unmodifiableMap(headerExtractions);
+        }
+
+        /**
+         * 是否需要读取响应体或响应头
+         */
+        public boolean hasExtractions() {
+            return !jsonExtractions.isEmpty() || !headerExtractions.isEmpty();
+        }
+    }
+
+    /**
+     * 场景构建器
+     */
+    public static class Builder {
+        private final String name;
+        private final List<String> stepNames = new ArrayList<>();
+        private final List<PreparedRequest> requests = new ArrayList<>();
+        private final List<Map<String, String>> jsonExtractions = new ArrayList<>();
+        private final List<Map<String, String>> headerExtractions = new ArrayList<>();
+        private RequestVariables variables = RequestVariables.none();
+
+        private Builder(String name) {
+            this.name = name;
+        }
+
+        /**
+         * 添加一个步骤，请求中可使用前面步骤提取的变量
+         * @param name    步骤名称（用于分步骤统计，不能重复）
+         * @param request 预编译请求
+         */
+        public Builder step(String name, PreparedRequest request) {
+            if (stepNames.contains(name)) {
+                throw new IllegalArgumentException("Duplicate step name: " + name);
+            }
+            stepNames.add(name);
+            requests.add(request);
+            jsonExtractions.add(new LinkedHashMap<>());
+            headerExtractions.add(new LinkedHashMap<>());
+            return this;
+        }
+
+        /**
+         * 从上一个添加的步骤的 JSON 响应体中提取变量
+         * @param variable  变量名
+         * @param fieldPath 字段路径，例如 data.token、items.0.id
+         */
+        public Builder extract(String variable, String fieldPath) {
+            lastStep(jsonExtractions).put(variable, fieldPath);
+            return this;
+        }
+
+        /**
+         * 从上一个添加的步骤的响应头中提取变量
+         * @param variable   变量名
+         * @param headerName 响应头名称
+         */
+        public Builder extractHeader(String variable, String headerName) {
+            lastStep(headerExtractions).put(variable, headerName);
+            return this;
+        }
+
+        /**
+         * 每次事务开始时的初始变量来源
+         */
+        public Builder variables(RequestVariables variables) {
+            this.variables = variables != null ? variables : RequestVariables.none();
+            return this;
+        }
+
+        public Scenario build() {
+            if (stepNames.isEmpty()) {
+                throw new IllegalArgumentException("Scenario " + name + " has no steps");
+            }
+            List<Step> steps = new ArrayList<>(stepNames.size());
+            for (int i = 0; i < stepNames.size(); i++) {
+                steps.add(new Step(stepNames.get(i), requests.get(i),
+                        new LinkedHashMap<>(jsonExtractions.get(i)), new LinkedHashMap<>(headerExtractions.get(i))));
+            }
+            return new Scenario(name, steps, variables);
+        }
+
+        private Map<String, String> lastStep(List<Map<String, String>> extractions) {
+            if (extractions.isEmpty()) {
+                throw new IllegalStateException("Add a step before its extractions");
+            }
+            return extractions.get(extractions.size() - 1);
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package io.github.json031.load;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Think time between two requests of one virtual user.
+ */
+@FunctionalInterface
+public interface ThinkTime {
+
+    /**
+     * 下一次思考时间（纳秒）
+     */
+    long nextNanos();
+
+    /**
+     * 无思考时间
+     */
+    static ThinkTime none() {
+        return () -> 0;
+    }
+
+    /**
+     * 固定思考时间
+     * @param millis 思考时间（毫秒）
+     */
+    static ThinkTime constant(long millis) {
+        long nanos = TimeUnit.MILLISECONDS.toNanos(millis);
+        return () -> nanos;
+    }
+
+    /**
+     * 均匀分布思考时间
+     * @param minMillis 最小值（毫秒）
+     * @param maxMillis 最大值（毫秒）
+     */
+    static ThinkTime uniform(long minMillis, long maxMillis) {
+        long minNanos = TimeUnit.MILLISECONDS.toNanos(minMillis);
+        long maxNanos = TimeUnit.MILLISECONDS.toNanos(maxMillis);
+        return () -> minNanos >= maxNanos ? minNanos : ThreadLocalRandom.current().nextLong(minNanos, maxNanos + 1);
+    }
+
+    /**
+     * 指数分布思考时间（泊松到达的用户行为）
+     * @param meanMillis 平均值（毫秒）
+     */
+    static ThinkTime exponential(long meanMillis) {
+        double meanNanos = TimeUnit.MILLISECONDS.toNanos(meanMillis);
+        return () -> (long) (-meanNanos * Math.log(1.0 - ThreadLocalRandom.current().nextDouble()));
+    }
+
+    /**
+     * 正态分布思考时间（小于 0 时取 0）
+     * @param meanMillis   平均值（毫秒）
+     * @param stdDevMillis 标准差（毫秒）
+     */
+    static ThinkTime gaussian(long meanMillis, long stdDevMillis) {
+        double meanNanos = TimeUnit.MILLISECONDS.toNanos(meanMillis);
+        double stdDevNanos = TimeUnit.MILLISECONDS.toNanos(stdDevMillis);
+        return () -> Math.max(0, (long) (meanNanos + stdDevNanos * ThreadLocalRandom.current().nextGaussian()));
+    }
+}
@@ -0,0 +1,30 @@
+package io.github.json031.load;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Virtual thread support, Java 8 base version.
+ * The Java 21 version is packaged under META-INF/versions/21 of the multi-release jar;
+ * this version is used on older runtimes (and when the classes are not loaded from the jar)
+ * and falls back to platform threads.
+ */
+public final class VirtualThreads {
+
+    private VirtualThreads() {
+    }
+
+    /**
+     * 当前 JVM 是否支持虚拟线程
+     */
+    public static boolean isSupported() {
+        return false;
+    }
+
+    /**
+     * 创建每个任务一个虚拟线程的执行器，不支持虚拟线程时回退为按需创建平台线程的线程池
+     */
+    public static ExecutorService newVirtualThreadPerTaskExecutor() {
+        return Executors.newCachedThreadPool();
+    }
+}
@@ -0,0 +1,157 @@
+package io.github.json031.load;
+
+import java.util.HashSet;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * This class is the set of workers one load run executes on: at most {@code maxConcurrency} of its
+ * tasks run at the same time, the rest wait in the group's queue. The threads come either from a
+ * shared {@link LoadGeneratorRuntime} (and stay alive after the run) or from a dedicated pool that
+ * is shut down when the group is drained.
+ */
+public final class WorkerGroup {
+
+    private final ExecutorService pool;
+    private final boolean dedicated;
+    private final int maxConcurrency;
+    private final Queue<Runnable> queue = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger active = new AtomicInteger();
+    private final AtomicInteger pending = new AtomicInteger();
+    private final Set<Thread> running = new HashSet<>();
+    private final Object idle = new Object();
+    private volatile boolean cancelled;
+
+    WorkerGroup(ExecutorService pool, int maxConcurrency, boolean dedicated) {
+        this.pool = pool;
+        this.maxConcurrency = Math.max(1, maxConcurrency);
+        this.dedicated = dedicated;
+    }
+
+    /**
+     * 创建使用独立线程池的工作组，drain 后线程池关闭
+     * @param mode           执行模式
+     * @param maxConcurrency 最大并发执行数
+     */
+    public static WorkerGroup dedicated(ExecutionMode mode, int maxConcurrency) {
+        return new WorkerGroup(LoadExecutors.newWorkerPool(mode, Math.max(1, maxConcurrency)), maxConcurrency, true);
+    }
+
+    /**
+     * 提交任务，超过最大并发执行数时排队
+     * @param task 任务
+     */
+    public void execute(Runnable task) {
+        if (cancelled) {
+            return;
+        }
+        pending.incrementAndGet();
+        queue.offer(task);
+        spawn();
+    }
+
+    /**
+     * 等待本组任务全部完成，超时后中断仍在执行的任务并丢弃排队的任务
+     * @param timeout 最长等待时间
+     * @param unit    时间单位
+     * @return 是否在超时前全部完成
+     */
+    public boolean drain(long timeout, TimeUnit unit) {
+        boolean completed = false;
+        try {
+            long deadline = System.nanoTime() + unit.toNanos(timeout);
+            synchronized (idle) {
+                long remaining;
+                while (pending.get() > 0 && (remaining = deadline - System.nanoTime()) > 0) {
+                    TimeUnit.NANOSECONDS.timedWait(idle, remaining);
+                }
+                completed = pending.get() == 0;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (!completed) {
+            cancel();
+        }
+        if (dedicated) {
+            if (completed) {
+                pool.shutdown();
+            } else {
+                pool.shutdownNow();
+            }
+        }
+        return completed;
+    }
+
+    /**
+     * 最大并发执行数
+     */
+    public int maxConcurrency() {
+        return maxConcurrency;
+    }
+
+    private void cancel() {
+        cancelled = true;
+        while (queue.poll() != null) {
+            complete();
+        }
+        synchronized (running) {
+            for (Thread thread : running) {
+                thread.interrupt();
+            }
+        }
+    }
+
+    /**
+     * 执行中的任务数未达上限且有排队任务时，占用一个线程循环执行排队任务
+     */
+    private void spawn() {
+        while (true) {
+            int current = active.get();
+            if (current >= maxConcurrency || queue.isEmpty()) {
+                return;
+            }
+            if (active.compareAndSet(current, current + 1)) {
+                pool.execute(this::runQueued);
+                return;
+            }
+        }
+    }
+
+    private void runQueued() {
+        Thread thread = Thread.currentThread();
+        synchronized (running) {
+            running.add(thread);
+        }
+        try {
+            Runnable task;
+            while (!cancelled && (task = queue.poll()) != null) {
+                try {
+                    task.run();
+                } catch (RuntimeException ignore) {
+                } finally {
+                    complete();
+                }
+            }
+        } finally {
+            synchronized (running) {
+                running.remove(thread);
+            }
+            active.decrementAndGet();
+        }
+        // 退出前有新任务入队时，由本线程负责补充执行者
+        spawn();
+    }
+
+    private void complete() {
+        if (pending.decrementAndGet() == 0) {
+            synchronized (idle) {
+                idle.notifyAll();
+            }
+        }
+    }
+}
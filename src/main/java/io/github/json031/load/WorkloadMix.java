@@ -0,0 +1,123 @@
+package io.github.json031.load;
+
+import io.github.json031.transport.PreparedRequest;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * This class is a weighted set of named request definitions (for example 70% catalog GET, 20% search,
+ * 10% checkout POST). Each request picks its endpoint with an {@link AliasSampler}, so the hot path
+ * costs O(1) regardless of the number of endpoints. Instances are immutable and thread-safe.
+ */
+public final class WorkloadMix {
+
+    private final List<Endpoint> endpoints;
+    private final AliasSampler sampler;
+
+    private WorkloadMix(List<Endpoint> endpoints) {
+        this.endpoints = Collections.unmodifiableList(endpoints);
+        double[] weights = new double[endpoints.size()];
+        for (int i = 0; i < weights.length; i++) {
+            weights[i] = endpoints.get(i).weight;
+        }
+        this.sampler = new AliasSampler(weights);
+    }
+
+    /**
+     * 创建构建器
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    public List<Endpoint> endpoints() {
+        return endpoints;
+    }
+
+    public int size() {
+        return endpoints.size();
+    }
+
+    public Endpoint endpoint(int index) {
+        return endpoints.get(index);
+    }
+
+    /**
+     * 按权重抽取下一次请求的接口
+     * @return 接口下标
+     */
+    public int pick() {
+        return sampler.next();
+    }
+
+    /**
+     * 接口在流量中的目标占比（0-1）
+     * @param index 接口下标
+     */
+    public double share(int index) {
+        double total = 0;
+        for (Endpoint endpoint : endpoints) {
+            total += endpoint.weight;
+        }
+        return endpoints.get(index).weight / total;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder("WorkloadMix{");
+        for (int i = 0; i < endpoints.size(); i++) {
+            if (i > 0) {
+                sb.append(", ");
+            }
+            sb.append(endpoints.get(i).name).append('=').append(String.format("%.1f%%", share(i) * 100));
+        }
+        return sb.append('}').toString();
+    }
+
+    /**
+     * One named request definition of a mix.
+     */
+    public static final class Endpoint {
+        public final String name;
+        public final double weight;
+        public final PreparedRequest request;
+
+        Endpoint(String name, double weight, PreparedRequest request) {
+            this.name = name;
+            this.weight = weight;
+            this.request = request;
+        }
+    }
+
+    /**
+     * 负载组合构建器
+     */
+    public static class Builder {
+        private final List<Endpoint> endpoints = new ArrayList<>();
+
+        private Builder() {
+        }
+
+        /**
+         * 添加一个接口
+         * @param name    接口名称（用于分接口统计，不能重复）
+         * @param weight  权重（非负，不要求总和为 100）
+         * @param request 预编译请求
+         */
+        public Builder endpoint(String name, double weight, PreparedRequest request) {
+            for (Endpoint endpoint : endpoints) {
+                if (endpoint.name.equals(name)) {
+                    throw new IllegalArgumentException("Duplicate endpoint name: " + name);
+                }
+            }
+            endpoints.add(new Endpoint(name, weight, request));
+            return this;
+        }
+
+        public WorkloadMix build() {
+            return new WorkloadMix(new ArrayList<>(endpoints));
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package io.github.json031.stats;
+
+import io.github.json031.JavaBean.RequestUnitTestsResult;
+
+/**
+ * Decides which response bodies a {@link ColumnarResultStore} keeps.
+ */
+@FunctionalInterface
+public interface BodySamplingPolicy {
+
+    /**
+     * 是否保留该请求的响应体
+     * @param index  请求在结果存储中的序号（从 0 开始）
+     * @param result 请求结果
+     * @return 是否保留
+     */
+    boolean retain(int index, RequestUnitTestsResult result);
+
+    /**
+     * 任一策略保留即保留
+     */
+    default BodySamplingPolicy or(BodySamplingPolicy other) {
+        return (index, result) -> retain(index, result) || other.retain(index, result);
+    }
+
+    /**
+     * 不保留任何响应体
+     */
+    static BodySamplingPolicy none() {
+        return (index, result) -> false;
+    }
+
+    /**
+     * 保留全部响应体
+     */
+    static BodySamplingPolicy all() {
+        return (index, result) -> true;
+    }
+
+    /**
+     * 只保留失败请求的响应体
+     */
+    static BodySamplingPolicy failures() {
+        return (index, result) -> !result.isSuccess;
+    }
+
+    /**
+     * 保留前 n 个请求的响应体
+     */
+    static BodySamplingPolicy firstN(int n) {
+        return (index, result) -> index < n;
+    }
+
+    /**
+     * 每 n 个请求保留一个响应体
+     */
+    static BodySamplingPolicy everyNth(int n) {
+        if (n <= 0) {
+            throw new IllegalArgumentException("n must be positive");
+        }
+        return (index, result) -> index % n == 0;
+    }
+}
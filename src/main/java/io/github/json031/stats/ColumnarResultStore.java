@@ -0,0 +1,470 @@
+package io.github.json031.stats;
+
+import io.github.json031.JavaBean.RequestTimings;
+import io.github.json031.JavaBean.RequestUnitTestsResult;
+import org.springframework.http.ResponseEntity;
+
+import java.time.Instant;
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * This class stores per-request results column by column: start offset, duration, status code,
+ * size, thread id and the per-phase timings live in primitive arrays, URL and method are interned
+ * into small tables, and response bodies, checksums and error messages are kept sparsely (bodies
+ * only when the sampling policy asks for them). Writers append to per-thread chunks without a store-wide lock; the chunks are
+ * merged in arrival order when the store is read. {@link #asList()} rebuilds
+ * {@link RequestUnitTestsResult} objects on demand.
+ */
+public final class ColumnarResultStore {
+
+    private static final int INITIAL_CAPACITY = 64;
+
+    private final Instant baseTime;
+    private final BodySamplingPolicy samplingPolicy;
+    private final AtomicInteger arrivals = new AtomicInteger();
+    private final Striped<Columns> chunks;
+
+    /**
+     * 各分段按到达顺序合并后的快照，写入后首次读取时重建
+     */
+    private Columns merged = new Columns(1);
+
+    /**
+     * @param baseTime       起始时间，请求开始时间以相对该时间的纳秒偏移保存
+     * @param samplingPolicy 响应体保留策略
+     */
+    public ColumnarResultStore(Instant baseTime, BodySamplingPolicy samplingPolicy) {
+        this(baseTime, samplingPolicy, INITIAL_CAPACITY);
+    }
+
+    /**
+     * @param baseTime         起始时间
+     * @param samplingPolicy   响应体保留策略
+     * @param expectedRequests 预计请求数，用于预分配容量
+     */
+    public ColumnarResultStore(Instant baseTime, BodySamplingPolicy samplingPolicy, int expectedRequests) {
+        this.baseTime = baseTime;
+        this.samplingPolicy = samplingPolicy;
+        int stripes = Math.min(Striped.MAX_STRIPES, Runtime.getRuntime().availableProcessors() * 2);
+        int chunkCapacity = Math.max(1, expectedRequests / stripes + 1);
+        this.chunks = new Striped<>(stripes, () -> new Columns(chunkCapacity));
+    }
+
+    /**
+     * 由已有结果列表构建（保留全部响应体）
+     * @param results 请求结果
+     */
+    public static ColumnarResultStore of(List<RequestUnitTestsResult> results) {
+        Instant base = null;
+        for (RequestUnitTestsResult result : results) {
+            if (result.startTime != null && (base == null || result.startTime.isBefore(base))) {
+                base = result.startTime;
+            }
+        }
+        ColumnarResultStore store = new ColumnarResultStore(base != null ? base : Instant.now(),
+                BodySamplingPolicy.all(), results.size());
+        for (RequestUnitTestsResult result : results) {
+            store.add(result);
+        }
+        return store;
+    }
+
+    /**
+     * 追加一个结果，多线程安全；写入当前线程对应的分段，不与其他写线程竞争同一把锁
+     * @param result 请求结果
+     */
+    public void add(RequestUnitTestsResult result) {
+        long startOffset = result.startTime != null
+                ? TimeUnit.SECONDS.toNanos(result.startTime.getEpochSecond() - baseTime.getEpochSecond())
+                + (result.startTime.getNano() - baseTime.getNano())
+                : 0;
+        Striped.Stripe<Columns> stripe = chunks.lockCurrent();
+        try {
+            int arrival = arrivals.getAndIncrement();
+            boolean retainBody = result.response != null && samplingPolicy.retain(arrival, result);
+            stripe.payload.add(arrival, result, startOffset, retainBody);
+        } finally {
+            stripe.unlock();
+        }
+    }
+
+    /**
+     * 结果数
+     */
+    public int size() {
+        return merged().size;
+    }
+
+    public long durationNanos(int index) {
+        Columns columns = merged();
+        columns.checkIndex(index);
+        return columns.durationNanos[index];
+    }
+
+    public long startOffsetNanos(int index) {
+        Columns columns = merged();
+        columns.checkIndex(index);
+        return columns.startOffsetNanos[index];
+    }
+
+    public int statusCode(int index) {
+        Columns columns = merged();
+        columns.checkIndex(index);
+        return columns.statusCodes[index];
+    }
+
+    public int responseSizeBytes(int index) {
+        Columns columns = merged();
+        columns.checkIndex(index);
+        return columns.responseSizes[index];
+    }
+
+    public long threadId(int index) {
+        Columns columns = merged();
+        columns.checkIndex(index);
+        return columns.threadIds[index];
+    }
+
+    public boolean isSuccess(int index) {
+        Columns columns = merged();
+        columns.checkIndex(index);
+        return columns.successes[index];
+    }
+
+    /**
+     * 成功请求数
+     */
+    public int successCount() {
+        Columns columns = merged();
+        int count = 0;
+        for (int i = 0; i < columns.size; i++) {
+            if (columns.successes[i]) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * 耗时列的副本（纳秒）
+     */
+    public long[] durationsNanos() {
+        Columns columns = merged();
+        return Arrays.copyOf(columns.durationNanos, columns.size);
+    }
+
+    /**
+     * 保留了响应体的请求数
+     */
+    public int retainedBodyCount() {
+        return merged().bodies.size();
+    }
+
+    /**
+     * 按列估算的内存占用（字节），不含保留的响应体与合并快照
+     */
+    public long estimatedColumnBytes() {
+        // 8 * 9 个 long 列 + 4 * 5 个 int 列 + 2 个 boolean 列
+        return chunks.sum(Columns::capacity) * (8 * 9 + 4 * 5 + 2);
+    }
+
+    /**
+     * 还原单个请求结果；未保留响应体时 response 只包含状态码，未收到响应时为 null
+     * @param index 到达序号
+     */
+    public RequestUnitTestsResult get(int index) {
+        Columns columns = merged();
+        columns.checkIndex(index);
+        Instant startTime = baseTime.plusNanos(columns.startOffsetNanos[index]);
+        ResponseEntity<String> response = columns.bodies.get(index);
+        if (response == null && columns.statusCodes[index] > 0) {
+            response = ResponseEntity.status(columns.statusCodes[index]).build();
+        }
+        return new RequestUnitTestsResult(
+                TimeUnit.NANOSECONDS.toMillis(columns.durationNanos[index]),
+                response,
+                columns.statusCodes[index],
+                columns.successes[index],
+                columns.errorMessages.get(index),
+                columns.strings.get(columns.urlIds[index]),
+                columns.strings.get(columns.methodIds[index]),
+                columns.responseSizes[index],
+                startTime,
+                startTime.plusNanos(columns.durationNanos[index]),
+                columns.threadIds[index],
+                columns.durationNanos[index],
+                new RequestTimings(
+                        columns.leaseNanos[index],
+                        columns.dnsNanos[index],
+                        columns.connectNanos[index],
+                        columns.tlsNanos[index],
+                        columns.ttfbNanos[index],
+                        columns.transferNanos[index],
+                        columns.connectionReused[index]),
+                columns.checksums.get(index)
+        );
+    }
+
+    /**
+     * 只读列表视图，元素在访问时按需还原
+     */
+    public List<RequestUnitTestsResult> asList() {
+        return new AbstractList<RequestUnitTestsResult>() {
+            @Override
+            public RequestUnitTestsResult get(int index) {
+                return ColumnarResultStore.this.get(index);
+            }
+
+            @Override
+            public int size() {
+                return ColumnarResultStore.this.size();
+            }
+        };
+    }
+
+    /**
+     * 返回合并快照，自上次合并后有新写入时按到达序号重新合并各分段
+     */
+    private synchronized Columns merged() {
+        if (chunks.sum(chunk -> chunk.size) != merged.size) {
+            merged = merge();
+        }
+        return merged;
+    }
+
+    private Columns merge() {
+        List<Columns> parts = new ArrayList<>();
+        chunks.forEach(chunk -> parts.add(chunk.snapshot()));
+        int total = 0;
+        int maxArrival = -1;
+        for (Columns part : parts) {
+            total += part.size;
+            for (int row = 0; row < part.size; row++) {
+                maxArrival = Math.max(maxArrival, part.arrivals[row]);
+            }
+        }
+        // 到达序号 -> (分段, 行)；合并期间仍有写入时序号可能有空洞，跳过即可
+        int[] partOf = new int[maxArrival + 1];
+        int[] rowOf = new int[maxArrival + 1];
+        Arrays.fill(partOf, -1);
+        for (int p = 0; p < parts.size(); p++) {
+            Columns part = parts.get(p);
+            for (int row = 0; row < part.size; row++) {
+                partOf[part.arrivals[row]] = p;
+                rowOf[part.arrivals[row]] = row;
+            }
+        }
+        Columns result = new Columns(Math.max(1, total));
+        for (int arrival = 0; arrival <= maxArrival; arrival++) {
+            if (partOf[arrival] >= 0) {
+                result.copyRow(parts.get(partOf[arrival]), rowOf[arrival]);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * 一组列：写入分段或合并后的快照，只在持有分段锁或存储锁时访问
+     */
+    private static final class Columns {
+        int size;
+        int[] arrivals;
+        long[] startOffsetNanos;
+        long[] durationNanos;
+        int[] statusCodes;
+        int[] responseSizes;
+        long[] threadIds;
+        boolean[] successes;
+        int[] urlIds;
+        int[] methodIds;
+        long[] leaseNanos;
+        long[] dnsNanos;
+        long[] connectNanos;
+        long[] tlsNanos;
+        long[] ttfbNanos;
+        long[] transferNanos;
+        boolean[] connectionReused;
+
+        final List<String> strings;
+        final Map<String, Integer> stringIds;
+        final Map<Integer, String> errorMessages;
+        final Map<Integer, ResponseEntity<String>> bodies;
+        final Map<Integer, String> checksums;
+
+        Columns(int capacity) {
+            this.strings = new ArrayList<>();
+            this.stringIds = new HashMap<>();
+            this.errorMessages = new HashMap<>();
+            this.bodies = new HashMap<>();
+            this.checksums = new HashMap<>();
+            arrivals = new int[capacity];
+            startOffsetNanos = new long[capacity];
+            durationNanos = new long[capacity];
+            statusCodes = new int[capacity];
+            responseSizes = new int[capacity];
+            threadIds = new long[capacity];
+            successes = new boolean[capacity];
+            urlIds = new int[capacity];
+            methodIds = new int[capacity];
+            leaseNanos = new long[capacity];
+            dnsNanos = new long[capacity];
+            connectNanos = new long[capacity];
+            tlsNanos = new long[capacity];
+            ttfbNanos = new long[capacity];
+            transferNanos = new long[capacity];
+            connectionReused = new boolean[capacity];
+        }
+
+        /**
+         * 只读副本：列数组共享（已写入的行不会再被修改，扩容时换成新数组），稀疏表与字符串表复制
+         */
+        private Columns(Columns source) {
+            this.size = source.size;
+            this.arrivals = source.arrivals;
+            this.startOffsetNanos = source.startOffsetNanos;
+            this.durationNanos = source.durationNanos;
+            this.statusCodes = source.statusCodes;
+            this.responseSizes = source.responseSizes;
+            this.threadIds = source.threadIds;
+            this.successes = source.successes;
+            this.urlIds = source.urlIds;
+            this.methodIds = source.methodIds;
+            this.leaseNanos = source.leaseNanos;
+            this.dnsNanos = source.dnsNanos;
+            this.connectNanos = source.connectNanos;
+            this.tlsNanos = source.tlsNanos;
+            this.ttfbNanos = source.ttfbNanos;
+            this.transferNanos = source.transferNanos;
+            this.connectionReused = source.connectionReused;
+            this.strings = new ArrayList<>(source.strings);
+            this.stringIds = null;
+            this.errorMessages = new HashMap<>(source.errorMessages);
+            this.bodies = new HashMap<>(source.bodies);
+            this.checksums = new HashMap<>(source.checksums);
+        }
+
+        Columns snapshot() {
+            return new Columns(this);
+        }
+
+        long capacity() {
+            return durationNanos.length;
+        }
+
+        void add(int arrival, RequestUnitTestsResult result, long startOffset, boolean retainBody) {
+            if (size == durationNanos.length) {
+                grow();
+            }
+            int i = size;
+            arrivals[i] = arrival;
+            startOffsetNanos[i] = startOffset;
+            durationNanos[i] = result.durationNanos;
+            statusCodes[i] = result.statusCode;
+            responseSizes[i] = result.responseSizeBytes;
+            threadIds[i] = result.threadId;
+            successes[i] = result.isSuccess;
+            urlIds[i] = intern(result.requestUrl);
+            methodIds[i] = intern(result.method);
+            RequestTimings timings = result.timings;
+            leaseNanos[i] = timings.leaseNanos;
+            dnsNanos[i] = timings.dnsNanos;
+            connectNanos[i] = timings.connectNanos;
+            tlsNanos[i] = timings.tlsNanos;
+            ttfbNanos[i] = timings.ttfbNanos;
+            transferNanos[i] = timings.transferNanos;
+            connectionReused[i] = timings.connectionReused;
+            if (result.responseChecksum != null) {
+                checksums.put(i, result.responseChecksum);
+            }
+            if (result.errorMessage != null && !result.errorMessage.isEmpty()) {
+                errorMessages.put(i, result.errorMessage);
+            }
+            if (retainBody) {
+                bodies.put(i, result.response);
+            }
+            size = i + 1;
+        }
+
+        void copyRow(Columns source, int row) {
+            if (size == durationNanos.length) {
+                grow();
+            }
+            int i = size;
+            arrivals[i] = source.arrivals[row];
+            startOffsetNanos[i] = source.startOffsetNanos[row];
+            durationNanos[i] = source.durationNanos[row];
+            statusCodes[i] = source.statusCodes[row];
+            responseSizes[i] = source.responseSizes[row];
+            threadIds[i] = source.threadIds[row];
+            successes[i] = source.successes[row];
+            urlIds[i] = intern(source.strings.get(source.urlIds[row]));
+            methodIds[i] = intern(source.strings.get(source.methodIds[row]));
+            leaseNanos[i] = source.leaseNanos[row];
+            dnsNanos[i] = source.dnsNanos[row];
+            connectNanos[i] = source.connectNanos[row];
+            tlsNanos[i] = source.tlsNanos[row];
+            ttfbNanos[i] = source.ttfbNanos[row];
+            transferNanos[i] = source.transferNanos[row];
+            connectionReused[i] = source.connectionReused[row];
+            String checksum = source.checksums.get(row);
+            if (checksum != null) {
+                checksums.put(i, checksum);
+            }
+            String errorMessage = source.errorMessages.get(row);
+            if (errorMessage != null) {
+                errorMessages.put(i, errorMessage);
+            }
+            ResponseEntity<String> body = source.bodies.get(row);
+            if (body != null) {
+                bodies.put(i, body);
+            }
+            size = i + 1;
+        }
+
+        void checkIndex(int index) {
+            if (index < 0 || index >= size) {
+                throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+            }
+        }
+
+        private int intern(String value) {
+            if (value == null) {
+                value = "";
+            }
+            Integer id = stringIds.get(value);
+            if (id == null) {
+                id = strings.size();
+                strings.add(value);
+                stringIds.put(value, id);
+            }
+            return id;
+        }
+
+        private void grow() {
+            int capacity = durationNanos.length * 2;
+            arrivals = Arrays.copyOf(arrivals, capacity);
+            startOffsetNanos = Arrays.copyOf(startOffsetNanos, capacity);
+            durationNanos = Arrays.copyOf(durationNanos, capacity);
+            statusCodes = Arrays.copyOf(statusCodes, capacity);
+            responseSizes = Arrays.copyOf(responseSizes, capacity);
+            threadIds = Arrays.copyOf(threadIds, capacity);
+            successes = Arrays.copyOf(successes, capacity);
+            urlIds = Arrays.copyOf(urlIds, capacity);
+            methodIds = Arrays.copyOf(methodIds, capacity);
+            leaseNanos = Arrays.copyOf(leaseNanos, capacity);
+            dnsNanos = Arrays.copyOf(dnsNanos, capacity);
+            connectNanos = Arrays.copyOf(connectNanos, capacity);
+            tlsNanos = Arrays.copyOf(tlsNanos, capacity);
+            ttfbNanos = Arrays.copyOf(ttfbNanos, capacity);
+            transferNanos = Arrays.copyOf(transferNanos, capacity);
+            connectionReused = Arrays.copyOf(connectionReused, capacity);
+        }
+    }
+}
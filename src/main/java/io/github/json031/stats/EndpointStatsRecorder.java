@@ -0,0 +1,71 @@
+package io.github.json031.stats;
+
+import io.github.json031.JavaBean.PhaseStats;
+import io.github.json031.JavaBean.RequestUnitTestsResult;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * This class keeps separate latency statistics, exemplars and phase timings for each endpoint of a
+ * multi-endpoint load test. Recording is thread-safe; endpoints are addressed by index.
+ */
+public final class EndpointStatsRecorder {
+
+    private final List<String> names;
+    private final LatencyStatistics[] latencies;
+    private final ExemplarReservoir[] exemplars;
+    private final PhaseTimingRecorder[] timings;
+
+    /**
+     * @param names   接口名称，下标即接口编号
+     * @param backend 延迟统计方式
+     */
+    public EndpointStatsRecorder(List<String> names, StatisticsBackend backend) {
+        this.names = new ArrayList<>(names);
+        this.latencies = new LatencyStatistics[names.size()];
+        this.exemplars = new ExemplarReservoir[names.size()];
+        this.timings = new PhaseTimingRecorder[names.size()];
+        for (int i = 0; i < names.size(); i++) {
+            latencies[i] = backend.newStatistics();
+            exemplars[i] = new ExemplarReservoir();
+            timings[i] = new PhaseTimingRecorder();
+        }
+    }
+
+    /**
+     * 记录一次请求
+     * @param endpoint     接口编号
+     * @param userId       虚拟用户编号
+     * @param latencyNanos 延迟（纳秒）
+     * @param success      是否成功
+     * @param result       请求结果，可为 null
+     */
+    public void record(int endpoint, int userId, long latencyNanos, boolean success, RequestUnitTestsResult result) {
+        latencies[endpoint].record(latencyNanos, success);
+        exemplars[endpoint].offer(userId, latencyNanos, success, result);
+        if (result != null) {
+            timings[endpoint].record(result.timings);
+        }
+    }
+
+    /**
+     * 每个接口的统计，顺序与名称一致
+     * @param durationSeconds 运行时长（秒），用于计算各接口吞吐量
+     */
+    public List<PhaseStats> snapshot(double durationSeconds) {
+        List<PhaseStats> stats = new ArrayList<>(names.size());
+        for (int i = 0; i < names.size(); i++) {
+            LatencyStatistics latency = latencies[i];
+            if (latency instanceof SketchRecorder) {
+                QuantileSketch sketch = ((SketchRecorder) latency).snapshot();
+                stats.add(new PhaseStats(names.get(i), latency.count(), latency.successCount(), latency.failCount(),
+                        durationSeconds, sketch.toSummary(), sketch, exemplars[i].snapshot(), timings[i].snapshot()));
+            } else {
+                stats.add(new PhaseStats(names.get(i), latency.count(), latency.successCount(), latency.failCount(),
+                        durationSeconds, latency.summary(), null, exemplars[i].snapshot(), timings[i].snapshot()));
+            }
+        }
+        return stats;
+    }
+}
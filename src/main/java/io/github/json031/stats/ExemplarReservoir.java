@@ -0,0 +1,118 @@
+package io.github.json031.stats;
+
+import io.github.json031.JavaBean.Exemplar;
+import io.github.json031.JavaBean.Exemplars;
+import io.github.json031.JavaBean.RequestUnitTestsResult;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * This class keeps full request details for only the slowest N requests (a bounded min-heap
+ * keyed by latency) and a uniform reservoir sample of failures. Requests that are neither slow
+ * enough nor failed are rejected by a single volatile read, without locking or allocation.
+ */
+public final class ExemplarReservoir {
+
+    /**
+     * 默认保留的最慢请求数
+     */
+    public static final int DEFAULT_SLOWEST = 10;
+
+    /**
+     * 默认保留的失败请求样本数
+     */
+    public static final int DEFAULT_FAILURES = 10;
+
+    /**
+     * 默认保留的响应体字符数
+     */
+    public static final int DEFAULT_BODY_EXCERPT_CHARS = 512;
+
+    private final int slowestCapacity;
+    private final int failureCapacity;
+    private final int bodyExcerptChars;
+    private final PriorityQueue<Exemplar> slowest;
+    private final List<Exemplar> failures = new ArrayList<>();
+    private long failuresSeen;
+
+    /**
+     * 堆满时堆顶（最慢 N 个中最快的）延迟，未满时为 Long.MIN_VALUE
+     */
+    private volatile long threshold = Long.MIN_VALUE;
+
+    public ExemplarReservoir() {
+        this(DEFAULT_SLOWEST, DEFAULT_FAILURES, DEFAULT_BODY_EXCERPT_CHARS);
+    }
+
+    /**
+     * @param slowestCapacity  保留的最慢请求数
+     * @param failureCapacity  保留的失败请求样本数
+     * @param bodyExcerptChars 保留的响应体字符数
+     */
+    public ExemplarReservoir(int slowestCapacity, int failureCapacity, int bodyExcerptChars) {
+        this.slowestCapacity = Math.max(0, slowestCapacity);
+        this.failureCapacity = Math.max(0, failureCapacity);
+        this.bodyExcerptChars = Math.max(0, bodyExcerptChars);
+        this.slowest = new PriorityQueue<>(Math.max(1, this.slowestCapacity),
+                (a, b) -> Long.compare(a.latencyNanos, b.latencyNanos));
+        if (this.slowestCapacity == 0) {
+            threshold = Long.MAX_VALUE;
+        }
+    }
+
+    /**
+     * 是否可能保留该请求，调用方可据此避免构造结果对象
+     * @param latencyNanos 延迟（纳秒）
+     * @param success      是否成功
+     */
+    public boolean wouldRetain(long latencyNanos, boolean success) {
+        return latencyNanos > threshold || (!success && failureCapacity > 0);
+    }
+
+    /**
+     * 提交一个请求
+     * @param userId       虚拟用户编号
+     * @param latencyNanos 延迟（纳秒）
+     * @param success      是否成功
+     * @param result       请求结果，可能为 null
+     */
+    public void offer(int userId, long latencyNanos, boolean success, RequestUnitTestsResult result) {
+        if (!wouldRetain(latencyNanos, success)) {
+            return;
+        }
+        Exemplar exemplar = Exemplar.of(userId, latencyNanos, success, result, bodyExcerptChars);
+        synchronized (this) {
+            if (latencyNanos > threshold) {
+                if (slowest.size() == slowestCapacity) {
+                    slowest.poll();
+                }
+                slowest.add(exemplar);
+                threshold = slowest.size() == slowestCapacity ? slowest.peek().latencyNanos : Long.MIN_VALUE;
+            }
+            if (!success && failureCapacity > 0) {
+                // 蓄水池抽样：每个失败请求被保留的概率相同
+                failuresSeen++;
+                if (failures.size() < failureCapacity) {
+                    failures.add(exemplar);
+                } else {
+                    long slot = ThreadLocalRandom.current().nextLong(failuresSeen);
+                    if (slot < failureCapacity) {
+                        failures.set((int) slot, exemplar);
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * 当前样本的快照，最慢的请求在前
+     */
+    public synchronized Exemplars snapshot() {
+        List<Exemplar> sorted = new ArrayList<>(slowest);
+        sorted.sort((a, b) -> Long.compare(b.latencyNanos, a.latencyNanos));
+        return new Exemplars(sorted, new ArrayList<>(failures), failuresSeen);
+    }
+}
@@ -0,0 +1,77 @@
+package io.github.json031.stats;
+
+/**
+ * This class records latencies from many threads into striped {@link LatencyHistogram}s.
+ * Memory stays constant no matter how many requests are recorded; the stripes are merged
+ * into a single histogram only when a snapshot is taken.
+ */
+public final class HistogramRecorder {
+
+    private final Striped<LatencyHistogram> stripes;
+    private final long highestTrackableValue;
+    private final int significantDigits;
+
+    public HistogramRecorder() {
+        this(LatencyHistogram.DEFAULT_HIGHEST_TRACKABLE_NANOS, LatencyHistogram.DEFAULT_SIGNIFICANT_DIGITS);
+    }
+
+    /**
+     * @param highestTrackableValue 可记录的最大值（纳秒）
+     * @param significantDigits     有效数字位数（1-5）
+     */
+    public HistogramRecorder(long highestTrackableValue, int significantDigits) {
+        this(highestTrackableValue, significantDigits, Runtime.getRuntime().availableProcessors() * 2);
+    }
+
+    /**
+     * @param highestTrackableValue 可记录的最大值（纳秒）
+     * @param significantDigits     有效数字位数（1-5）
+     * @param stripeCount           分段数，会被调整为不超过 64 的 2 的幂
+     */
+    public HistogramRecorder(long highestTrackableValue, int significantDigits, int stripeCount) {
+        this.stripes = new Striped<>(stripeCount, () -> new LatencyHistogram(highestTrackableValue, significantDigits));
+        this.highestTrackableValue = highestTrackableValue;
+        this.significantDigits = significantDigits;
+    }
+
+    /**
+     * 记录一次请求的延迟
+     * @param latencyNanos 延迟（纳秒）
+     */
+    public void record(long latencyNanos) {
+        Striped.Stripe<LatencyHistogram> stripe = stripes.lockCurrent();
+        try {
+            stripe.payload.recordValue(latencyNanos);
+        } finally {
+            stripe.unlock();
+        }
+    }
+
+    /**
+     * 合并所有分段，返回独立的直方图副本（不影响后续记录）
+     */
+    public LatencyHistogram snapshot() {
+        LatencyHistogram merged = new LatencyHistogram(highestTrackableValue, significantDigits);
+        stripes.forEach(merged::add);
+        return merged;
+    }
+
+    /**
+     * 合并所有分段并清空，用于按时间窗口输出区间直方图
+     */
+    public LatencyHistogram snapshotAndReset() {
+        LatencyHistogram merged = new LatencyHistogram(highestTrackableValue, significantDigits);
+        stripes.forEach(histogram -> {
+            merged.add(histogram);
+            histogram.reset();
+        });
+        return merged;
+    }
+
+    /**
+     * 清空所有分段
+     */
+    public void reset() {
+        stripes.forEach(LatencyHistogram::reset);
+    }
+}
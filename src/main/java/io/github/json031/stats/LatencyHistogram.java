@@ -0,0 +1,316 @@
+package io.github.json031.stats;
+
+import io.github.json031.JavaBean.LatencySummary;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * This class is a fixed-memory log-linear histogram (HdrHistogram layout) of nanosecond latencies.
+ * Values are grouped into power-of-two buckets, each split into linear sub-buckets sized so that
+ * every recorded value keeps the configured number of significant decimal digits.
+ * It is not thread-safe: record per thread (or through {@link HistogramRecorder}) and merge with {@link #add}.
+ */
+public class LatencyHistogram {
+
+    /**
+     * 默认可记录的最大值：1 小时（纳秒）
+     */
+    public static final long DEFAULT_HIGHEST_TRACKABLE_NANOS = TimeUnit.HOURS.toNanos(1);
+
+    /**
+     * 默认有效数字位数
+     */
+    public static final int DEFAULT_SIGNIFICANT_DIGITS = 3;
+
+    private final long highestTrackableValue;
+    private final int significantDigits;
+    private final int subBucketHalfCountMagnitude;
+    private final int subBucketHalfCount;
+    private final int subBucketCount;
+    private final long subBucketMask;
+    private final int leadingZeroCountBase;
+    private final long[] counts;
+
+    private long totalCount;
+    private long minValue = Long.MAX_VALUE;
+    private long maxValue = 0;
+    private long clampedCount;
+
+    /**
+     * 默认配置：1ns - 1h，3 位有效数字（约 0.1% 相对误差）
+     */
+    public LatencyHistogram() {
+        this(DEFAULT_HIGHEST_TRACKABLE_NANOS, DEFAULT_SIGNIFICANT_DIGITS);
+    }
+
+    /**
+     * @param highestTrackableValue 可记录的最大值（纳秒），超过的值按最大值记录
+     * @param significantDigits     有效数字位数（1-5）
+     */
+    public LatencyHistogram(long highestTrackableValue, int significantDigits) {
+        if (significantDigits < 1 || significantDigits > 5) {
+            throw new IllegalArgumentException("significantDigits must be between 1 and 5");
+        }
+        if (highestTrackableValue < 2) {
+            throw new IllegalArgumentException("highestTrackableValue must be at least 2");
+        }
+        this.highestTrackableValue = highestTrackableValue;
+        this.significantDigits = significantDigits;
+
+        long largestValueWithSingleUnitResolution = 2 * (long) Math.pow(10, significantDigits);
+        int subBucketCountMagnitude = (int) Math.ceil(Math.log(largestValueWithSingleUnitResolution) / Math.log(2));
+        this.subBucketHalfCountMagnitude = Math.max(subBucketCountMagnitude, 1) - 1;
+        this.subBucketCount = 1 << (subBucketHalfCountMagnitude + 1);
+        this.subBucketHalfCount = subBucketCount / 2;
+        this.subBucketMask = subBucketCount - 1;
+        this.leadingZeroCountBase = 64 - subBucketHalfCountMagnitude - 1;
+
+        // 找到能覆盖最大值的桶数
+        long smallestUntrackableValue = subBucketCount;
+        int bucketCount = 1;
+        while (smallestUntrackableValue <= highestTrackableValue) {
+            if (smallestUntrackableValue > Long.MAX_VALUE / 2) {
+                bucketCount++;
+                break;
+            }
+            smallestUntrackableValue <<= 1;
+            bucketCount++;
+        }
+        this.counts = new long[(bucketCount + 1) * subBucketHalfCount];
+    }
+
+    /**
+     * 记录一个值
+     * @param valueNanos 纳秒值，负数按 0 记录
+     */
+    public void recordValue(long valueNanos) {
+        recordValue(valueNanos, 1);
+    }
+
+    /**
+     * 记录一个值出现多次
+     * @param valueNanos 纳秒值
+     * @param count      次数
+     */
+    public void recordValue(long valueNanos, long count) {
+        long value = Math.max(0, valueNanos);
+        if (value > highestTrackableValue) {
+            value = highestTrackableValue;
+            clampedCount += count;
+        }
+        counts[countsIndex(value)] += count;
+        totalCount += count;
+        minValue = Math.min(minValue, value);
+        maxValue = Math.max(maxValue, value);
+    }
+
+    /**
+     * 合并另一个直方图（配置必须相同）
+     * @param other 另一个直方图
+     */
+    public void add(LatencyHistogram other) {
+        if (other.counts.length != counts.length || other.subBucketCount != subBucketCount) {
+            throw new IllegalArgumentException("Cannot merge histograms with different configurations");
+        }
+        for (int i = 0; i < counts.length; i++) {
+            counts[i] += other.counts[i];
+        }
+        totalCount += other.totalCount;
+        clampedCount += other.clampedCount;
+        if (other.totalCount > 0) {
+            minValue = Math.min(minValue, other.minValue);
+            maxValue = Math.max(maxValue, other.maxValue);
+        }
+    }
+
+    /**
+     * 复制一个相同配置的直方图
+     */
+    public LatencyHistogram copy() {
+        LatencyHistogram copy = new LatencyHistogram(highestTrackableValue, significantDigits);
+        copy.add(this);
+        return copy;
+    }
+
+    /**
+     * 清空
+     */
+    public void reset() {
+        Arrays.fill(counts, 0);
+        totalCount = 0;
+        clampedCount = 0;
+        minValue = Long.MAX_VALUE;
+        maxValue = 0;
+    }
+
+    /**
+     * 样本数
+     */
+    public long getTotalCount() {
+        return totalCount;
+    }
+
+    /**
+     * 超过最大可记录值而被截断的样本数
+     */
+    public long getClampedCount() {
+        return clampedCount;
+    }
+
+    /**
+     * 最小值（纳秒，精确值）
+     */
+    public long getMinValue() {
+        return totalCount > 0 ? minValue : 0;
+    }
+
+    /**
+     * 最大值（纳秒，精确值）
+     */
+    public long getMaxValue() {
+        return maxValue;
+    }
+
+    /**
+     * 有效数字位数
+     */
+    public int getSignificantDigits() {
+        return significantDigits;
+    }
+
+    /**
+     * 计数数组占用的内存（字节），与样本数无关
+     */
+    public long getEstimatedFootprintBytes() {
+        return counts.length * 8L;
+    }
+
+    /**
+     * 任意百分位的值（纳秒）
+     * @param percentile 百分位（0-100）
+     * @return 该百分位所在桶的最大等价值，不超过实际最大值
+     */
+    public long getValueAtPercentile(double percentile) {
+        if (totalCount == 0) {
+            return 0;
+        }
+        double requested = Math.min(Math.max(percentile, 0), 100);
+        long countAtPercentile = Math.max(1, (long) Math.ceil(requested / 100.0 * totalCount));
+        long cumulative = 0;
+        for (int i = 0; i < counts.length; i++) {
+            cumulative += counts[i];
+            if (cumulative >= countAtPercentile) {
+                return Math.max(getMinValue(), Math.min(maxValue, highestEquivalentValue(valueFromIndex(i))));
+            }
+        }
+        return maxValue;
+    }
+
+    /**
+     * 平均值（纳秒），每个桶取中间等价值
+     */
+    public double getMean() {
+        if (totalCount == 0) {
+            return 0;
+        }
+        double total = 0;
+        for (int i = 0; i < counts.length; i++) {
+            if (counts[i] != 0) {
+                total += medianEquivalentValue(valueFromIndex(i)) * (double) counts[i];
+            }
+        }
+        return total / totalCount;
+    }
+
+    /**
+     * 标准差（纳秒）
+     */
+    public double getStdDeviation() {
+        if (totalCount == 0) {
+            return 0;
+        }
+        double mean = getMean();
+        double geometricDeviationTotal = 0;
+        for (int i = 0; i < counts.length; i++) {
+            if (counts[i] != 0) {
+                double deviation = medianEquivalentValue(valueFromIndex(i)) - mean;
+                geometricDeviationTotal += deviation * deviation * counts[i];
+            }
+        }
+        return Math.sqrt(geometricDeviationTotal / totalCount);
+    }
+
+    /**
+     * 转换为毫秒延迟统计
+     */
+    public LatencySummary toSummary() {
+        if (totalCount == 0) {
+            return new LatencySummary(0, 0, 0, 0, 0, 0, 0, 0, 0);
+        }
+        return new LatencySummary(
+                totalCount,
+                getMinValue() / 1_000_000.0,
+                getMaxValue() / 1_000_000.0,
+                getMean() / 1_000_000.0,
+                getValueAtPercentile(50) / 1_000_000.0,
+                getValueAtPercentile(90) / 1_000_000.0,
+                getValueAtPercentile(95) / 1_000_000.0,
+                getValueAtPercentile(99) / 1_000_000.0,
+                getValueAtPercentile(99.9) / 1_000_000.0
+        );
+    }
+
+    /**
+     * 两个值是否落在同一个桶内（精度范围内视为相等）
+     */
+    public boolean valuesAreEquivalent(long value1, long value2) {
+        return lowestEquivalentValue(value1) == lowestEquivalentValue(value2);
+    }
+
+    private int countsIndex(long value) {
+        int bucketIndex = leadingZeroCountBase - Long.numberOfLeadingZeros(value | subBucketMask);
+        int subBucketIndex = (int) (value >>> bucketIndex);
+        return ((bucketIndex + 1) << subBucketHalfCountMagnitude) + (subBucketIndex - subBucketHalfCount);
+    }
+
+    private long valueFromIndex(int index) {
+        int bucketIndex = (index >> subBucketHalfCountMagnitude) - 1;
+        int subBucketIndex = (index & (subBucketHalfCount - 1)) + subBucketHalfCount;
+        if (bucketIndex < 0) {
+            subBucketIndex -= subBucketHalfCount;
+            bucketIndex = 0;
+        }
+        return ((long) subBucketIndex) << bucketIndex;
+    }
+
+    private long sizeOfEquivalentValueRange(long value) {
+        int bucketIndex = leadingZeroCountBase - Long.numberOfLeadingZeros(value | subBucketMask);
+        int subBucketIndex = (int) (value >>> bucketIndex);
+        int adjustedBucket = subBucketIndex >= subBucketCount ? bucketIndex + 1 : bucketIndex;
+        return 1L << adjustedBucket;
+    }
+
+    private long lowestEquivalentValue(long value) {
+        int bucketIndex = leadingZeroCountBase - Long.numberOfLeadingZeros(value | subBucketMask);
+        int subBucketIndex = (int) (value >>> bucketIndex);
+        return ((long) subBucketIndex) << bucketIndex;
+    }
+
+    private long highestEquivalentValue(long value) {
+        return lowestEquivalentValue(value) + sizeOfEquivalentValueRange(value) - 1;
+    }
+
+    private long medianEquivalentValue(long value) {
+        return lowestEquivalentValue(value) + (sizeOfEquivalentValueRange(value) >> 1);
+    }
+
+    @Override
+    public String toString() {
+        return String.format(
+                "LatencyHistogram{count=%d, min=%dns, max=%dns, mean=%.1fns, stddev=%.1fns, p50=%dns, p99=%dns, p999=%dns}",
+                totalCount, getMinValue(), getMaxValue(), getMean(), getStdDeviation(),
+                getValueAtPercentile(50), getValueAtPercentile(99), getValueAtPercentile(99.9)
+        );
+    }
+}
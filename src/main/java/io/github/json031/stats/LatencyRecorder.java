@@ -0,0 +1,186 @@
+package io.github.json031.stats;
+
+import io.github.json031.JavaBean.LatencySummary;
+
+import java.util.Arrays;
+import java.util.function.LongConsumer;
+
+/**
+ * This class records latencies into striped primitive buckets: each thread is hashed onto
+ * its own stripe, so the hot path is one uncontended CAS and an array store, with no boxing
+ * and no copying. Stripes are merged only when the samples are read.
+ */
+public final class LatencyRecorder implements LatencyStatistics {
+
+    /**
+     * 每个分段中单个数据块的长度
+     */
+    private static final int CHUNK_SIZE = 1024;
+
+    private final Striped<Samples> stripes;
+
+    public LatencyRecorder() {
+        this(Runtime.getRuntime().availableProcessors() * 2);
+    }
+
+    /**
+     * @param stripeCount 分段数，会被调整为不超过 64 的 2 的幂
+     */
+    public LatencyRecorder(int stripeCount) {
+        this.stripes = new Striped<>(stripeCount, Samples::new);
+    }
+
+    /**
+     * 记录一次成功请求的延迟
+     * @param latencyNanos 延迟（纳秒）
+     */
+    public void record(long latencyNanos) {
+        record(latencyNanos, true);
+    }
+
+    /**
+     * 记录一次请求的延迟与结果
+     * @param latencyNanos 延迟（纳秒）
+     * @param success      是否成功
+     */
+    public void record(long latencyNanos, boolean success) {
+        Striped.Stripe<Samples> stripe = stripes.lockCurrent();
+        try {
+            stripe.payload.add(latencyNanos, success);
+        } finally {
+            stripe.unlock();
+        }
+    }
+
+    /**
+     * 样本数
+     */
+    public long count() {
+        return stripes.sum(samples -> samples.count);
+    }
+
+    /**
+     * 成功请求数
+     */
+    public long successCount() {
+        return stripes.sum(samples -> samples.success);
+    }
+
+    /**
+     * 失败请求数
+     */
+    public long failCount() {
+        return stripes.sum(samples -> samples.count - samples.success);
+    }
+
+    /**
+     * 平均延迟（纳秒），无样本时返回 0
+     */
+    public double meanNanos() {
+        long[] count = new long[1];
+        double[] sum = new double[1];
+        stripes.forEach(samples -> {
+            count[0] += samples.count;
+            sum[0] += samples.sum;
+        });
+        return count[0] > 0 ? sum[0] / count[0] : 0;
+    }
+
+    /**
+     * 合并所有分段的样本（读取时复制，不影响记录）
+     * @return 纳秒延迟数组，顺序不保证
+     */
+    public long[] toArray() {
+        Merged merged = new Merged();
+        stripes.forEach(merged::append);
+        return merged.toArray();
+    }
+
+    /**
+     * 遍历所有样本
+     * @param consumer 纳秒延迟消费者
+     */
+    public void forEach(LongConsumer consumer) {
+        for (long value : toArray()) {
+            consumer.accept(value);
+        }
+    }
+
+    /**
+     * 延迟统计（排序一次）
+     */
+    public LatencySummary summary() {
+        long[] samples = toArray();
+        return LatencySummary.fromNanos(samples, samples.length);
+    }
+
+    /**
+     * 清空所有样本
+     */
+    public void reset() {
+        stripes.forEach(Samples::clear);
+    }
+
+    /**
+     * 单个分段的样本：分块的 long 数组，增长时只追加新块不复制旧数据
+     */
+    private static final class Samples {
+        private long[][] chunks = new long[1][];
+        private int count;
+        private long success;
+        private double sum;
+
+        void add(long value, boolean isSuccess) {
+            int chunk = count / CHUNK_SIZE;
+            if (chunk == chunks.length) {
+                chunks = Arrays.copyOf(chunks, chunks.length * 2);
+            }
+            if (chunks[chunk] == null) {
+                chunks[chunk] = new long[CHUNK_SIZE];
+            }
+            chunks[chunk][count % CHUNK_SIZE] = value;
+            count++;
+            sum += value;
+            if (isSuccess) {
+                success++;
+            }
+        }
+
+        int copyTo(long[] target, int offset) {
+            int remaining = count;
+            for (int i = 0; remaining > 0; i++) {
+                int length = Math.min(CHUNK_SIZE, remaining);
+                System.arraycopy(chunks[i], 0, target, offset, length);
+                offset += length;
+                remaining -= length;
+            }
+            return offset;
+        }
+
+        void clear() {
+            chunks = new long[1][];
+            count = 0;
+            success = 0;
+            sum = 0;
+        }
+    }
+
+    /**
+     * 读取时合并各分段样本的缓冲区
+     */
+    private static final class Merged {
+        private long[] values = new long[16];
+        private int size;
+
+        void append(Samples samples) {
+            if (size + samples.count > values.length) {
+                values = Arrays.copyOf(values, Math.max(values.length * 2, size + samples.count));
+            }
+            size = samples.copyTo(values, size);
+        }
+
+        long[] toArray() {
+            return size == values.length ? values : Arrays.copyOf(values, size);
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package io.github.json031.stats;
+
+import io.github.json031.JavaBean.LatencySummary;
+
+/**
+ * Thread-safe destination for request latencies. Implementations decide how samples are kept:
+ * {@link LatencyRecorder} keeps every raw sample (exact percentiles), {@link SketchRecorder}
+ * keeps a bounded quantile sketch suitable for unbounded soak runs.
+ */
+public interface LatencyStatistics {
+
+    /**
+     * 记录一次请求的延迟与结果
+     * @param latencyNanos 延迟（纳秒）
+     * @param success      是否成功
+     */
+    void record(long latencyNanos, boolean success);
+
+    /**
+     * 样本数
+     */
+    long count();
+
+    /**
+     * 成功请求数
+     */
+    long successCount();
+
+    /**
+     * 失败请求数
+     */
+    long failCount();
+
+    /**
+     * 延迟统计
+     */
+    LatencySummary summary();
+}
@@ -0,0 +1,88 @@
+package io.github.json031.stats;
+
+import io.github.json031.JavaBean.RequestTimings;
+import io.github.json031.JavaBean.TimingBreakdown;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * This class aggregates the per-phase timings of many requests, one {@link HistogramRecorder} per phase.
+ * Requests without measured timings (mocked tasks, non-pooled transports) are ignored.
+ */
+public final class PhaseTimingRecorder {
+
+    /**
+     * 单个阶段可记录的最大值，超过的值按最大值记录
+     */
+    static final long HIGHEST_TRACKABLE_NANOS = TimeUnit.MINUTES.toNanos(1);
+
+    /**
+     * 分阶段耗时只用于定位瓶颈，2 位有效数字（约 1% 相对误差）足够
+     */
+    static final int SIGNIFICANT_DIGITS = 2;
+
+    private static final int STRIPES = 2;
+
+    private final HistogramRecorder lease = newRecorder();
+    private final HistogramRecorder dns = newRecorder();
+    private final HistogramRecorder connect = newRecorder();
+    private final HistogramRecorder tls = newRecorder();
+    private final HistogramRecorder ttfb = newRecorder();
+    private final HistogramRecorder transfer = newRecorder();
+    private final LongAdder newConnections = new LongAdder();
+    private final LongAdder reusedConnections = new LongAdder();
+
+    /**
+     * 记录一次请求的分阶段耗时
+     * @param timings 分阶段耗时，可为 null
+     */
+    public void record(RequestTimings timings) {
+        if (timings == null || !timings.isMeasured()) {
+            return;
+        }
+        recordPhase(lease, timings.leaseNanos);
+        recordPhase(dns, timings.dnsNanos);
+        recordPhase(connect, timings.connectNanos);
+        recordPhase(tls, timings.tlsNanos);
+        recordPhase(ttfb, timings.ttfbNanos);
+        recordPhase(transfer, timings.transferNanos);
+        if (timings.connectionReused) {
+            reusedConnections.increment();
+        } else {
+            newConnections.increment();
+        }
+    }
+
+    /**
+     * 合并所有分段，返回各阶段直方图的副本
+     */
+    public TimingBreakdown snapshot() {
+        return new TimingBreakdown(lease.snapshot(), dns.snapshot(), connect.snapshot(), tls.snapshot(), ttfb.snapshot(),
+                transfer.snapshot(), newConnections.sum(), reusedConnections.sum());
+    }
+
+    /**
+     * 清空
+     */
+    public void reset() {
+        lease.reset();
+        dns.reset();
+        connect.reset();
+        tls.reset();
+        ttfb.reset();
+        transfer.reset();
+        newConnections.reset();
+        reusedConnections.reset();
+    }
+
+    private static void recordPhase(HistogramRecorder recorder, long nanos) {
+        if (nanos != RequestTimings.NOT_MEASURED) {
+            recorder.record(nanos);
+        }
+    }
+
+    private static HistogramRecorder newRecorder() {
+        return new HistogramRecorder(HIGHEST_TRACKABLE_NANOS, SIGNIFICANT_DIGITS, STRIPES);
+    }
+}
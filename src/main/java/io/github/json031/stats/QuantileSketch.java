@@ -0,0 +1,263 @@
+package io.github.json031.stats;
+
+import io.github.json031.JavaBean.LatencySummary;
+
+/**
+ * This class is a mergeable streaming quantile sketch (DDSketch) of nanosecond latencies.
+ * Values are mapped to logarithmic bins of ratio γ = (1 + α) / (1 - α), so every reported
+ * quantile is within relative error α of the exact value; the state is a few KB no matter
+ * how long the run is. Sketches with the same accuracy can be merged exactly.
+ * It is not thread-safe: record per thread (or through {@link SketchRecorder}) and merge with {@link #merge}.
+ */
+public class QuantileSketch {
+
+    /**
+     * 默认相对误差 1%
+     */
+    public static final double DEFAULT_RELATIVE_ACCURACY = 0.01;
+
+    /**
+     * 默认最多保留的桶数，超出时合并最低的桶（只影响最低的分位数）
+     */
+    public static final int DEFAULT_MAX_BINS = 2048;
+
+    private final double relativeAccuracy;
+    private final double logGamma;
+    private final int maxBins;
+
+    private long[] bins = new long[0];
+    private int minIndex;
+    private long zeroCount;
+    private long count;
+    private double sum;
+    private long minValue = Long.MAX_VALUE;
+    private long maxValue = 0;
+
+    public QuantileSketch() {
+        this(DEFAULT_RELATIVE_ACCURACY, DEFAULT_MAX_BINS);
+    }
+
+    /**
+     * @param relativeAccuracy 相对误差（0-1，不含边界）
+     * @param maxBins          最多保留的桶数
+     */
+    public QuantileSketch(double relativeAccuracy, int maxBins) {
+        if (relativeAccuracy <= 0 || relativeAccuracy >= 1) {
+            throw new IllegalArgumentException("relativeAccuracy must be between 0 and 1");
+        }
+        if (maxBins < 16) {
+            throw new IllegalArgumentException("maxBins must be at least 16");
+        }
+        this.relativeAccuracy = relativeAccuracy;
+        this.logGamma = Math.log((1 + relativeAccuracy) / (1 - relativeAccuracy));
+        this.maxBins = maxBins;
+    }
+
+    /**
+     * 记录一个值
+     * @param valueNanos 纳秒值，小于 1 的值单独计数
+     */
+    public void add(long valueNanos) {
+        add(valueNanos, 1);
+    }
+
+    /**
+     * 记录一个值出现多次
+     * @param valueNanos 纳秒值
+     * @param occurrences 次数
+     */
+    public void add(long valueNanos, long occurrences) {
+        long value = Math.max(0, valueNanos);
+        if (value < 1) {
+            zeroCount += occurrences;
+        } else {
+            int index = (int) Math.ceil(Math.log(value) / logGamma);
+            ensureCapacity(index, index);
+            bins[Math.max(index, minIndex) - minIndex] += occurrences;
+        }
+        count += occurrences;
+        sum += (double) value * occurrences;
+        minValue = Math.min(minValue, value);
+        maxValue = Math.max(maxValue, value);
+    }
+
+    /**
+     * 合并另一个草图（相对误差必须相同）
+     * @param other 另一个草图
+     */
+    public void merge(QuantileSketch other) {
+        if (Double.compare(other.relativeAccuracy, relativeAccuracy) != 0) {
+            throw new IllegalArgumentException("Cannot merge sketches with different relative accuracy");
+        }
+        if (other.count == 0) {
+            return;
+        }
+        if (other.bins.length > 0) {
+            int otherMax = other.minIndex + other.bins.length - 1;
+            ensureCapacity(other.minIndex, otherMax);
+            for (int i = 0; i < other.bins.length; i++) {
+                if (other.bins[i] != 0) {
+                    bins[Math.max(other.minIndex + i, minIndex) - minIndex] += other.bins[i];
+                }
+            }
+        }
+        zeroCount += other.zeroCount;
+        count += other.count;
+        sum += other.sum;
+        minValue = Math.min(minValue, other.minValue);
+        maxValue = Math.max(maxValue, other.maxValue);
+    }
+
+    /**
+     * 复制一个相同配置的草图
+     */
+    public QuantileSketch copy() {
+        QuantileSketch copy = new QuantileSketch(relativeAccuracy, maxBins);
+        copy.merge(this);
+        return copy;
+    }
+
+    /**
+     * 清空
+     */
+    public void reset() {
+        bins = new long[0];
+        minIndex = 0;
+        zeroCount = 0;
+        count = 0;
+        sum = 0;
+        minValue = Long.MAX_VALUE;
+        maxValue = 0;
+    }
+
+    /**
+     * 样本数
+     */
+    public long getCount() {
+        return count;
+    }
+
+    /**
+     * 最小值（纳秒，精确值）
+     */
+    public long getMinValue() {
+        return count > 0 ? minValue : 0;
+    }
+
+    /**
+     * 最大值（纳秒，精确值）
+     */
+    public long getMaxValue() {
+        return maxValue;
+    }
+
+    /**
+     * 平均值（纳秒，精确值）
+     */
+    public double getMean() {
+        return count > 0 ? sum / count : 0;
+    }
+
+    /**
+     * 相对误差
+     */
+    public double getRelativeAccuracy() {
+        return relativeAccuracy;
+    }
+
+    /**
+     * 桶数组占用的内存（字节）
+     */
+    public long getEstimatedFootprintBytes() {
+        return bins.length * 8L;
+    }
+
+    /**
+     * 任意百分位的值（纳秒），相对误差不超过 α
+     * @param percentile 百分位（0-100）
+     */
+    public long getValueAtPercentile(double percentile) {
+        if (count == 0) {
+            return 0;
+        }
+        double requested = Math.min(Math.max(percentile, 0), 100);
+        long rank = Math.max(1, (long) Math.ceil(requested / 100.0 * count));
+        if (rank <= zeroCount) {
+            return 0;
+        }
+        long cumulative = zeroCount;
+        for (int i = 0; i < bins.length; i++) {
+            cumulative += bins[i];
+            if (cumulative >= rank) {
+                long value = Math.round(binValue(minIndex + i));
+                return Math.max(getMinValue(), Math.min(maxValue, value));
+            }
+        }
+        return maxValue;
+    }
+
+    /**
+     * 转换为毫秒延迟统计
+     */
+    public LatencySummary toSummary() {
+        if (count == 0) {
+            return new LatencySummary(0, 0, 0, 0, 0, 0, 0, 0, 0);
+        }
+        return new LatencySummary(
+                count,
+                getMinValue() / 1_000_000.0,
+                getMaxValue() / 1_000_000.0,
+                getMean() / 1_000_000.0,
+                getValueAtPercentile(50) / 1_000_000.0,
+                getValueAtPercentile(90) / 1_000_000.0,
+                getValueAtPercentile(95) / 1_000_000.0,
+                getValueAtPercentile(99) / 1_000_000.0,
+                getValueAtPercentile(99.9) / 1_000_000.0
+        );
+    }
+
+    /**
+     * 桶 (γ^(i-1), γ^i] 的代表值，与区间内任意值的相对误差不超过 α
+     */
+    private double binValue(int index) {
+        return 2 * Math.exp(index * logGamma) / (1 + Math.exp(logGamma));
+    }
+
+    /**
+     * 扩展桶数组以覆盖 [low, high]，超过上限时把最低的桶合并到保留范围的第一个桶
+     */
+    private void ensureCapacity(int low, int high) {
+        if (bins.length == 0) {
+            int length = Math.min(maxBins, high - low + 1);
+            bins = new long[Math.max(length, 1)];
+            minIndex = high - bins.length + 1;
+            return;
+        }
+        int currentMax = minIndex + bins.length - 1;
+        if (low >= minIndex && high <= currentMax) {
+            return;
+        }
+        int newMin = Math.min(low, minIndex);
+        int newMax = Math.max(high, currentMax);
+        if (newMax - newMin + 1 > maxBins) {
+            newMin = newMax - maxBins + 1;
+        }
+        long[] resized = new long[newMax - newMin + 1];
+        for (int i = 0; i < bins.length; i++) {
+            int target = Math.max(minIndex + i, newMin) - newMin;
+            resized[target] += bins[i];
+        }
+        bins = resized;
+        minIndex = newMin;
+    }
+
+    @Override
+    public String toString() {
+        return String.format(
+                "QuantileSketch{count=%d, relativeAccuracy=%.4f, bins=%d, min=%dns, max=%dns, mean=%.1fns, " +
+                        "p50=%dns, p99=%dns, p999=%dns}",
+                count, relativeAccuracy, bins.length, getMinValue(), getMaxValue(), getMean(),
+                getValueAtPercentile(50), getValueAtPercentile(99), getValueAtPercentile(99.9)
+        );
+    }
+}
@@ -0,0 +1,160 @@
+package io.github.json031.stats;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * This class summarizes a set of primitive long samples: it copies and sorts them once,
+ * computes mean and variance in the same pass with Welford's algorithm, and then answers
+ * any number of percentile queries by direct index.
+ */
+public final class SampleStatistics {
+
+    /**
+     * 排序后的样本，只有前 count 个有效
+     */
+    private final long[] sorted;
+    public final int count;
+    public final long min;
+    public final long max;
+    public final double mean;
+    /**
+     * 总体方差
+     */
+    public final double variance;
+    /**
+     * 总体标准差
+     */
+    public final double standardDeviation;
+
+    private SampleStatistics(long[] sorted, int count, double mean, double variance) {
+        this.sorted = sorted;
+        this.count = count;
+        this.min = count > 0 ? sorted[0] : 0;
+        this.max = count > 0 ? sorted[count - 1] : 0;
+        this.mean = mean;
+        this.variance = variance;
+        this.standardDeviation = Math.sqrt(variance);
+    }
+
+    /**
+     * 统计 long 数组（复制后排序，不修改入参）
+     * @param samples 样本
+     */
+    public static SampleStatistics of(long[] samples) {
+        if (samples == null) {
+            return of(new long[0], 0);
+        }
+        return of(Arrays.copyOf(samples, samples.length), samples.length);
+    }
+
+    /**
+     * 统计装箱列表，只拆箱一次
+     * @param samples 样本
+     */
+    public static SampleStatistics of(List<Long> samples) {
+        if (samples == null) {
+            return of(new long[0], 0);
+        }
+        long[] values = new long[samples.size()];
+        int i = 0;
+        for (Long value : samples) {
+            values[i++] = value;
+        }
+        return of(values, values.length);
+    }
+
+    /**
+     * 就地统计：数组前 count 个元素会被排序，调用方不再需要原始顺序时使用以避免复制
+     * @param samples 样本，会被原地排序
+     * @param count   有效样本数
+     */
+    public static SampleStatistics ofInPlace(long[] samples, int count) {
+        return of(samples, count);
+    }
+
+    private static SampleStatistics of(long[] values, int count) {
+        // Welford 在线均值与方差，避免大数相减的精度损失
+        double mean = 0;
+        double m2 = 0;
+        for (int i = 0; i < count; i++) {
+            double delta = values[i] - mean;
+            mean += delta / (i + 1);
+            m2 += delta * (values[i] - mean);
+        }
+        Arrays.sort(values, 0, count);
+        return new SampleStatistics(values, count, mean, count > 0 ? m2 / count : 0);
+    }
+
+    /**
+     * 百分位（最近秩法）
+     * @param percentile 百分位（0-100，例如 95 表示 P95）
+     * @return 百分位值，无样本时为 0
+     */
+    public long percentile(double percentile) {
+        if (count == 0) {
+            return 0;
+        }
+        int index = (int) Math.ceil(percentile / 100.0 * count) - 1;
+        return sorted[Math.max(0, Math.min(index, count - 1))];
+    }
+
+    /**
+     * 一次计算多个百分位
+     * @param percentiles 百分位（0-100）
+     * @return 与入参顺序对应的百分位值
+     */
+    public long[] percentiles(double... percentiles) {
+        long[] values = new long[percentiles.length];
+        for (int i = 0; i < percentiles.length; i++) {
+            values[i] = percentile(percentiles[i]);
+        }
+        return values;
+    }
+
+    /**
+     * 离平均值最远的样本（最小值或最大值）
+     */
+    public long farthestFromMean() {
+        return max - mean >= mean - min ? max : min;
+    }
+
+    /**
+     * 样本相对平均值的最大偏差比例，只需比较最小值与最大值
+     * @return 最大偏差比例；平均值为 0 时，全部为 0 返回 0，否则返回正无穷
+     */
+    public double maxRelativeDeviation() {
+        if (count == 0) {
+            return 0;
+        }
+        double deviation = Math.max(max - mean, mean - min);
+        if (mean == 0) {
+            return deviation == 0 ? 0 : Double.POSITIVE_INFINITY;
+        }
+        return deviation / Math.abs(mean);
+    }
+
+    /**
+     * 所有样本相对平均值的偏差是否都不超过给定比例
+     * @param maxDeviation 最大允许偏差比例（例如0.2表示20%）
+     */
+    public boolean isStable(double maxDeviation) {
+        return count < 2 || maxRelativeDeviation() <= maxDeviation;
+    }
+
+    /**
+     * 排序后的样本副本
+     */
+    public long[] toSortedArray() {
+        return Arrays.copyOf(sorted, count);
+    }
+
+    @Override
+    public String toString() {
+        return String.format(
+                "SampleStatistics{count=%d, min=%d, max=%d, mean=%.2f, stddev=%.2f, p50=%d, p90=%d, p95=%d, p99=%d}",
+                count, min, max, mean, standardDeviation,
+                percentile(50), percentile(90), percentile(95), percentile(99)
+        );
+    }
+}
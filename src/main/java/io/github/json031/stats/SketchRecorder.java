@@ -0,0 +1,103 @@
+package io.github.json031.stats;
+
+import io.github.json031.JavaBean.LatencySummary;
+
+/**
+ * This class records latencies from many threads into striped {@link QuantileSketch}es.
+ * State stays at a few KB per stripe however long the run is; the stripes are merged
+ * into a single sketch only when statistics are read.
+ */
+public final class SketchRecorder implements LatencyStatistics {
+
+    private final Striped<StripeSketch> stripes;
+    private final double relativeAccuracy;
+    private final int maxBins;
+
+    public SketchRecorder() {
+        this(QuantileSketch.DEFAULT_RELATIVE_ACCURACY, QuantileSketch.DEFAULT_MAX_BINS,
+                Runtime.getRuntime().availableProcessors() * 2);
+    }
+
+    /**
+     * @param relativeAccuracy 相对误差（0-1）
+     * @param maxBins          每个草图最多保留的桶数
+     * @param stripeCount      分段数，会被调整为不超过 64 的 2 的幂
+     */
+    public SketchRecorder(double relativeAccuracy, int maxBins, int stripeCount) {
+        this.stripes = new Striped<>(stripeCount, () -> new StripeSketch(new QuantileSketch(relativeAccuracy, maxBins)));
+        this.relativeAccuracy = relativeAccuracy;
+        this.maxBins = maxBins;
+    }
+
+    /**
+     * 记录一次成功请求的延迟
+     * @param latencyNanos 延迟（纳秒）
+     */
+    public void record(long latencyNanos) {
+        record(latencyNanos, true);
+    }
+
+    @Override
+    public void record(long latencyNanos, boolean success) {
+        Striped.Stripe<StripeSketch> stripe = stripes.lockCurrent();
+        try {
+            stripe.payload.sketch.add(latencyNanos);
+            if (success) {
+                stripe.payload.success++;
+            }
+        } finally {
+            stripe.unlock();
+        }
+    }
+
+    @Override
+    public long count() {
+        return stripes.sum(stripe -> stripe.sketch.getCount());
+    }
+
+    @Override
+    public long successCount() {
+        return stripes.sum(stripe -> stripe.success);
+    }
+
+    @Override
+    public long failCount() {
+        return stripes.sum(stripe -> stripe.sketch.getCount() - stripe.success);
+    }
+
+    @Override
+    public LatencySummary summary() {
+        return snapshot().toSummary();
+    }
+
+    /**
+     * 合并所有分段，返回独立的草图副本（不影响后续记录）
+     */
+    public QuantileSketch snapshot() {
+        QuantileSketch merged = new QuantileSketch(relativeAccuracy, maxBins);
+        stripes.forEach(stripe -> merged.merge(stripe.sketch));
+        return merged;
+    }
+
+    /**
+     * 清空所有分段
+     */
+    public void reset() {
+        stripes.forEach(stripe -> {
+            stripe.sketch.reset();
+            stripe.success = 0;
+        });
+    }
+
+    /**
+     * 单个分段的草图与成功请求数
+     */
+    private static final class StripeSketch {
+        private final QuantileSketch sketch;
+        private long success;
+
+        StripeSketch(QuantileSketch sketch) {
+            this.sketch = sketch;
+        }
+    }
+}
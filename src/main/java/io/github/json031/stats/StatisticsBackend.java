@@ -0,0 +1,22 @@
+package io.github.json031.stats;
+
+/**
+ * How a load test keeps its latency samples.
+ */
+public enum StatisticsBackend {
+    /**
+     * 保留全部原始样本，百分位为精确值，内存随请求数线性增长
+     */
+    SAMPLES,
+    /**
+     * 流式分位数草图（DDSketch），百分位相对误差 1%，内存固定为几 KB，适合长时间浸泡测试
+     */
+    SKETCH;
+
+    /**
+     * 创建对应的延迟统计
+     */
+    public LatencyStatistics newStatistics() {
+        return this == SKETCH ? new SketchRecorder() : new LatencyRecorder();
+    }
+}
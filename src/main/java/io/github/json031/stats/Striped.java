@@ -0,0 +1,120 @@
+package io.github.json031.stats;
+
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+import java.util.function.ToLongFunction;
+
+/**
+ * This class spreads a recorder's state over lock-striped payloads: each thread is hashed onto
+ * its own stripe, so writers take one uncontended CAS and never block; readers lock the stripes
+ * one by one and merge them.
+ * @param <T> per-stripe payload, only accessed while its stripe is locked
+ */
+final class Striped<T> {
+
+    /**
+     * 分段数上限
+     */
+    static final int MAX_STRIPES = 64;
+
+    private final Stripe<T>[] stripes;
+    private final int mask;
+
+    /**
+     * @param stripeCount 分段数，会被调整为不超过 64 的 2 的幂
+     * @param payload     每个分段的数据
+     */
+    @SuppressWarnings("unchecked")
+    Striped(int stripeCount, Supplier<T> payload) {
+        int size = 1;
+        while (size < stripeCount && size < MAX_STRIPES) {
+            size <<= 1;
+        }
+        this.stripes = new Stripe[size];
+        for (int i = 0; i < size; i++) {
+            stripes[i] = new Stripe<>(payload.get());
+        }
+        this.mask = size - 1;
+    }
+
+    /**
+     * 锁定当前线程对应的分段，分段被其他线程占用时探测下一个分段，不阻塞
+     * @return 已锁定的分段，写入后必须调用 {@link Stripe#unlock()}
+     */
+    Stripe<T> lockCurrent() {
+        int index = hash(Thread.currentThread().getId());
+        while (true) {
+            Stripe<T> stripe = stripes[index & mask];
+            if (stripe.tryLock()) {
+                return stripe;
+            }
+            index++;
+        }
+    }
+
+    /**
+     * 依次锁定每个分段并访问其数据
+     */
+    void forEach(Consumer<? super T> action) {
+        for (Stripe<T> stripe : stripes) {
+            stripe.lock();
+            try {
+                action.accept(stripe.payload);
+            } finally {
+                stripe.unlock();
+            }
+        }
+    }
+
+    /**
+     * 各分段取值之和
+     */
+    long sum(ToLongFunction<? super T> value) {
+        long sum = 0;
+        for (Stripe<T> stripe : stripes) {
+            stripe.lock();
+            try {
+                sum += value.applyAsLong(stripe.payload);
+            } finally {
+                stripe.unlock();
+            }
+        }
+        return sum;
+    }
+
+    private static int hash(long threadId) {
+        long h = threadId * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32));
+    }
+
+    /**
+     * 单个分段：自旋锁与受其保护的数据
+     */
+    static final class Stripe<T> {
+        @SuppressWarnings("rawtypes")
+        private static final AtomicIntegerFieldUpdater<Stripe> LOCK =
+                AtomicIntegerFieldUpdater.newUpdater(Stripe.class, "locked");
+
+        private volatile int locked;
+        final T payload;
+
+        Stripe(T payload) {
+            this.payload = payload;
+        }
+
+        boolean tryLock() {
+            return locked == 0 && LOCK.compareAndSet(this, 0, 1);
+        }
+
+        void lock() {
+            while (!tryLock()) {
+                Thread.yield();
+            }
+        }
+
+        void unlock() {
+            LOCK.lazySet(this, 0);
+        }
+    }
+}
@@ -0,0 +1,187 @@
+package io.github.json031.stats;
+
+import io.github.json031.JavaBean.ScalabilityFit;
+
+/**
+ * This class fits the Universal Scalability Law X(N) = λN / (1 + σ(N - 1) + κN(N - 1))
+ * to measured (concurrency, throughput) points.
+ */
+public final class UniversalScalabilityLaw {
+
+    /**
+     * λ 黄金分割搜索的迭代次数
+     */
+    private static final int LAMBDA_ITERATIONS = 100;
+
+    /**
+     * 扩展 λ 搜索区间时上限每次增长的倍数
+     */
+    private static final double BRACKET_GROWTH = 2.0;
+
+    /**
+     * λ 搜索区间的最大扩展次数（上限最多为下限的 2^60 倍）
+     */
+    private static final int MAX_BRACKET_EXPANSIONS = 60;
+
+    private static final double GOLDEN_RATIO = (Math.sqrt(5) - 1) / 2;
+
+    private UniversalScalabilityLaw() {
+    }
+
+    /**
+     * 拟合 USL 模型：对每个候选 λ 用线性最小二乘求 σ、κ（约束为非负），
+     * 再以吞吐量残差平方和为目标对 λ 做黄金分割搜索
+     * @param concurrency 并发数
+     * @param throughput  对应的吞吐量（请求/秒）
+     * @return 拟合结果
+     */
+    public static ScalabilityFit fit(double[] concurrency, double[] throughput) {
+        if (concurrency.length != throughput.length) {
+            throw new IllegalArgumentException("concurrency and throughput must have the same length");
+        }
+        int count = 0;
+        double lambdaFloor = 0;
+        for (int i = 0; i < concurrency.length; i++) {
+            if (concurrency[i] > 0 && throughput[i] > 0) {
+                count++;
+                lambdaFloor = Math.max(lambdaFloor, throughput[i] / concurrency[i]);
+            }
+        }
+        if (count < 3) {
+            throw new IllegalArgumentException("At least 3 data points with positive throughput are required, got " + count);
+        }
+        double[] n = new double[count];
+        double[] x = new double[count];
+        for (int i = 0, j = 0; i < concurrency.length; i++) {
+            if (concurrency[i] > 0 && throughput[i] > 0) {
+                n[j] = concurrency[i];
+                x[j] = throughput[i];
+                j++;
+            }
+        }
+
+        // λ 不小于最大的 X/N；上限不断加倍，直到区间上端的残差开始增大，确保最小值落在区间内
+        double lo = lambdaFloor;
+        double mid = lambdaFloor * BRACKET_GROWTH;
+        double hi = mid * BRACKET_GROWTH;
+        double fMid = residual(n, x, mid);
+        double fHi = residual(n, x, hi);
+        for (int i = 0; i < MAX_BRACKET_EXPANSIONS && fHi <= fMid; i++) {
+            lo = mid;
+            mid = hi;
+            fMid = fHi;
+            hi = mid * BRACKET_GROWTH;
+            fHi = residual(n, x, hi);
+        }
+        double c = hi - GOLDEN_RATIO * (hi - lo);
+        double d = lo + GOLDEN_RATIO * (hi - lo);
+        double fc = residual(n, x, c);
+        double fd = residual(n, x, d);
+        for (int i = 0; i < LAMBDA_ITERATIONS; i++) {
+            if (fc < fd) {
+                hi = d;
+                d = c;
+                fd = fc;
+                c = hi - GOLDEN_RATIO * (hi - lo);
+                fc = residual(n, x, c);
+            } else {
+                lo = c;
+                c = d;
+                fc = fd;
+                d = lo + GOLDEN_RATIO * (hi - lo);
+                fd = residual(n, x, d);
+            }
+        }
+        double lambda = (lo + hi) / 2;
+        double[] coefficients = coefficients(n, x, lambda);
+        double sigma = coefficients[0];
+        double kappa = coefficients[1];
+
+        double mean = 0;
+        for (double value : x) {
+            mean += value;
+        }
+        mean /= count;
+        double totalSquares = 0;
+        for (double value : x) {
+            totalSquares += (value - mean) * (value - mean);
+        }
+        double residualSquares = residual(n, x, lambda);
+        double rSquared = totalSquares > 0 ? 1 - residualSquares / totalSquares : 1;
+
+        double peakConcurrency;
+        double peakThroughput;
+        if (kappa > 0) {
+            peakConcurrency = Math.max(1, Math.sqrt(Math.max(0, 1 - sigma) / kappa));
+            peakThroughput = predict(lambda, sigma, kappa, peakConcurrency);
+        } else {
+            peakConcurrency = Double.POSITIVE_INFINITY;
+            peakThroughput = sigma > 0 ? lambda / sigma : Double.POSITIVE_INFINITY;
+        }
+        return new ScalabilityFit(sigma, kappa, lambda, rSquared, peakConcurrency, peakThroughput, count);
+    }
+
+    /**
+     * 模型预测吞吐量
+     */
+    private static double predict(double lambda, double sigma, double kappa, double n) {
+        return lambda * n / (1 + sigma * (n - 1) + kappa * n * (n - 1));
+    }
+
+    /**
+     * 给定 λ 时吞吐量残差平方和
+     */
+    private static double residual(double[] n, double[] x, double lambda) {
+        double[] coefficients = coefficients(n, x, lambda);
+        double sum = 0;
+        for (int i = 0; i < n.length; i++) {
+            double error = x[i] - predict(lambda, coefficients[0], coefficients[1], n[i]);
+            sum += error * error;
+        }
+        return sum;
+    }
+
+    /**
+     * 给定 λ 时，λN/X - 1 = σ(N - 1) + κN(N - 1) 是关于 σ、κ 的线性模型（无截距），
+     * 求解正规方程，系数为负时退化为单变量拟合
+     * @return {σ, κ}
+     */
+    private static double[] coefficients(double[] n, double[] x, double lambda) {
+        double s11 = 0;
+        double s12 = 0;
+        double s22 = 0;
+        double s1y = 0;
+        double s2y = 0;
+        for (int i = 0; i < n.length; i++) {
+            double x1 = n[i] - 1;
+            double x2 = n[i] * (n[i] - 1);
+            double y = lambda * n[i] / x[i] - 1;
+            s11 += x1 * x1;
+            s12 += x1 * x2;
+            s22 += x2 * x2;
+            s1y += x1 * y;
+            s2y += x2 * y;
+        }
+        double determinant = s11 * s22 - s12 * s12;
+        if (determinant != 0) {
+            double sigma = (s1y * s22 - s2y * s12) / determinant;
+            double kappa = (s2y * s11 - s1y * s12) / determinant;
+            if (sigma >= 0 && kappa >= 0) {
+                return new double[]{sigma, kappa};
+            }
+        }
+        // 约束 σ、κ 非负：分别尝试只保留一个系数，取残差较小者
+        double sigmaOnly = s11 > 0 ? Math.max(0, s1y / s11) : 0;
+        double kappaOnly = s22 > 0 ? Math.max(0, s2y / s22) : 0;
+        double sigmaOnlyError = 0;
+        double kappaOnlyError = 0;
+        for (int i = 0; i < n.length; i++) {
+            double y = lambda * n[i] / x[i] - 1;
+            double e1 = y - sigmaOnly * (n[i] - 1);
+            double e2 = y - kappaOnly * n[i] * (n[i] - 1);
+            sigmaOnlyError += e1 * e1;
+            kappaOnlyError += e2 * e2;
+        }
+        return sigmaOnlyError <= kappaOnlyError ? new double[]{sigmaOnly, 0} : new double[]{0, kappaOnly};
+    }
+}
@@ -0,0 +1,364 @@
+package io.github.json031.transport;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.github.json031.JavaBean.RequestUnitTestsResult;
+import org.apache.http.Header;
+import org.apache.http.HttpEntity;
+import org.apache.http.HttpResponse;
+import org.apache.http.client.config.RequestConfig;
+import org.apache.http.client.methods.HttpUriRequest;
+import org.apache.http.client.methods.RequestBuilder;
+import org.apache.http.concurrent.FutureCallback;
+import org.apache.http.entity.ByteArrayEntity;
+import org.apache.http.entity.ContentType;
+import org.apache.http.impl.nio.client.CloseableHttpAsyncClient;
+import org.apache.http.impl.nio.client.HttpAsyncClients;
+import org.apache.http.impl.nio.conn.PoolingNHttpClientConnectionManager;
+import org.apache.http.impl.nio.reactor.DefaultConnectingIOReactor;
+import org.apache.http.impl.nio.reactor.IOReactorConfig;
+import org.apache.http.nio.reactor.IOReactorException;
+import org.apache.http.util.EntityUtils;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * This class is a non-blocking HTTP engine, a handful of selector threads keep all requests in flight.
+ */
+public class AsyncHttpEngine implements Closeable {
+
+    private static final ObjectMapper objectMapper = new ObjectMapper();
+
+    /**
+     * 异步引擎配置
+     */
+    private final AsyncConfig config;
+
+    /**
+     * 非阻塞连接池
+     */
+    private final PoolingNHttpClientConnectionManager connectionManager;
+
+    /**
+     * 非阻塞 HttpClient（基于 NIO selector）
+     */
+    private final CloseableHttpAsyncClient httpClient;
+
+    /**
+     * 当前在途请求数
+     */
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    public AsyncHttpEngine(AsyncConfig config) {
+        this.config = config;
+        IOReactorConfig reactorConfig = IOReactorConfig.custom()
+                .setIoThreadCount(config.ioThreads)
+                .setConnectTimeout(config.connectTimeoutMillis)
+                .setSoTimeout(config.readTimeoutMillis)
+                .setSoKeepAlive(true)
+                .setTcpNoDelay(true)
+                .build();
+        try {
+            DefaultConnectingIOReactor ioReactor = new DefaultConnectingIOReactor(reactorConfig, daemonThreadFactory());
+            this.connectionManager = new PoolingNHttpClientConnectionManager(ioReactor);
+        } catch (IOReactorException e) {
+            throw new IllegalStateException("Failed to start async I/O reactor", e);
+        }
+        this.connectionManager.setMaxTotal(config.maxTotal);
+        this.connectionManager.setDefaultMaxPerRoute(config.maxPerRoute);
+
+        this.httpClient = HttpAsyncClients.custom()
+                .setConnectionManager(this.connectionManager)
+                .setDefaultRequestConfig(RequestConfig.custom()
+                        .setConnectTimeout(config.connectTimeoutMillis)
+                        .setSocketTimeout(config.readTimeoutMillis)
+                        .setConnectionRequestTimeout(config.connectionRequestTimeoutMillis)
+                        .build())
+                .setThreadFactory(daemonThreadFactory())
+                .disableCookieManagement()
+                .build();
+        this.httpClient.start();
+    }
+
+    /**
+     * 获取异步引擎配置
+     */
+    public AsyncConfig getConfig() {
+        return config;
+    }
+
+    /**
+     * 当前在途请求数
+     */
+    public int getInFlight() {
+        return inFlight.get();
+    }
+
+    /**
+     * 非阻塞发送请求，调用线程不会等待 I/O
+     *
+     * @param url     完整的 API 地址（包括 http/https）
+     * @param method  请求方式
+     * @param params  请求参数（POST body 或 GET 查询参数）
+     * @param headers 请求头（可选）
+     * @param verbose 是否打印响应
+     * @return CompletableFuture包装的响应数据
+     */
+    public CompletableFuture<RequestUnitTestsResult> execute(String url,
+                                                             HttpMethod method,
+                                                             Map<String, Object> params,
+                                                             Map<String, String> headers,
+                                                             boolean verbose) {
+        CompletableFuture<RequestUnitTestsResult> future = new CompletableFuture<>();
+        String finalUrl = url;
+        HttpUriRequest request;
+        try {
+            RequestBuilder builder;
+            if (method == HttpMethod.GET) {
+                finalUrl = QueryStrings.appendQueryParams(url, params);
+                builder = RequestBuilder.get(finalUrl);
+            } else {
+                builder = RequestBuilder.create(method.name()).setUri(url);
+                if (params != null) {
+                    builder.setEntity(new ByteArrayEntity(objectMapper.writeValueAsBytes(params), ContentType.APPLICATION_JSON));
+                }
+            }
+            if (headers != null) {
+                headers.forEach(builder::setHeader);
+            }
+            request = builder.build();
+        } catch (Exception e) {
+            Instant now = Instant.now();
+            future.complete(failedResult(url, method, e.getMessage(), Thread.currentThread().getId(), now, now));
+            return future;
+        }
+
+        return submit(request, finalUrl, method.name(), verbose);
+    }
+
+    /**
+     * 非阻塞发送渲染后的预编译请求，请求头与请求体字节直接复用
+     *
+     * @param rendered 渲染后的预编译请求
+     * @param verbose  是否打印响应
+     * @return CompletableFuture包装的响应数据
+     */
+    public CompletableFuture<RequestUnitTestsResult> execute(PreparedRequest.Rendered rendered, boolean verbose) {
+        RequestBuilder builder = RequestBuilder.create(rendered.method.name()).setUri(rendered.uri);
+        rendered.headers.forEach((name, values) -> values.forEach(value -> builder.addHeader(name, value)));
+        if (rendered.body != null) {
+            builder.setEntity(new ByteArrayEntity(rendered.body));
+        }
+        return submit(builder.build(), rendered.url, rendered.method.name(), verbose);
+    }
+
+    /**
+     * 提交请求，响应或失败时在 I/O 线程上完成 future
+     */
+    private CompletableFuture<RequestUnitTestsResult> submit(HttpUriRequest request,
+                                                             String requestUrl,
+                                                             String methodStr,
+                                                             boolean verbose) {
+        CompletableFuture<RequestUnitTestsResult> future = new CompletableFuture<>();
+        long threadId = Thread.currentThread().getId();
+        Instant startTime = Instant.now();
+        long startNano = System.nanoTime();
+        inFlight.incrementAndGet();
+
+        httpClient.execute(request, new FutureCallback<HttpResponse>() {
+            @Override
+            public void completed(HttpResponse httpResponse) {
+                inFlight.decrementAndGet();
+                future.complete(toResult(httpResponse, requestUrl, methodStr, startTime, startNano, threadId, verbose));
+            }
+
+            @Override
+            public void failed(Exception e) {
+                inFlight.decrementAndGet();
+                if (verbose) {
+                    System.out.println("API call failed for: " + requestUrl + " with error: " + e.getMessage());
+                }
+                long durationNanos = System.nanoTime() - startNano;
+                future.complete(new RequestUnitTestsResult(
+                        durationNanos / 1_000_000,
+                        null, 0, false, e.getMessage(), requestUrl, methodStr, 0,
+                        startTime, Instant.now(), threadId, durationNanos));
+            }
+
+            @Override
+            public void cancelled() {
+                failed(new IOException("Request cancelled"));
+            }
+        });
+        return future;
+    }
+
+    @Override
+    public void close() throws IOException {
+        httpClient.close();
+    }
+
+    /**
+     * 将 HttpClient 响应转换为与同步请求一致的结果：2xx 保留响应体，否则仅记录状态码与错误信息
+     */
+    private static RequestUnitTestsResult toResult(HttpResponse httpResponse,
+                                                   String url,
+                                                   String methodStr,
+                                                   Instant startTime,
+                                                   long startNano,
+                                                   long threadId,
+                                                   boolean verbose) {
+        int statusCode = httpResponse.getStatusLine().getStatusCode();
+        String body = null;
+        int responseSizeBytes = 0;
+        String errorMessage = null;
+        try {
+            HttpEntity entity = httpResponse.getEntity();
+            if (entity != null) {
+                byte[] bytes = EntityUtils.toByteArray(entity);
+                responseSizeBytes = bytes.length;
+                ContentType contentType = ContentType.get(entity);
+                body = new String(bytes, contentType != null && contentType.getCharset() != null
+                        ? contentType.getCharset() : StandardCharsets.UTF_8);
+            }
+        } catch (Exception e) {
+            errorMessage = e.getMessage();
+        }
+        long durationNanos = System.nanoTime() - startNano;
+        long durationMillis = durationNanos / 1_000_000;
+        Instant endTime = Instant.now();
+
+        boolean isSuccess = errorMessage == null && statusCode >= 200 && statusCode < 300;
+        ResponseEntity<String> response = null;
+        if (isSuccess) {
+            HttpHeaders responseHeaders = new HttpHeaders();
+            for (Header header : httpResponse.getAllHeaders()) {
+                responseHeaders.add(header.getName(), header.getValue());
+            }
+            response = new ResponseEntity<>(body, responseHeaders, HttpStatus.valueOf(statusCode));
+            if (verbose) {
+                System.out.println("API Response [" + statusCode + "]: " + body);
+            }
+        } else {
+            if (errorMessage == null) {
+                errorMessage = statusCode + " " + httpResponse.getStatusLine().getReasonPhrase();
+            }
+            if (verbose) {
+                System.out.println("API call failed for: " + url + " with error: " + errorMessage);
+            }
+        }
+
+        return new RequestUnitTestsResult(
+                durationMillis,
+                response,
+                statusCode,
+                isSuccess,
+                errorMessage,
+                url,
+                methodStr,
+                responseSizeBytes,
+                startTime,
+                endTime,
+                threadId,
+                durationNanos
+        );
+    }
+
+    private static RequestUnitTestsResult failedResult(String url,
+                                                       HttpMethod method,
+                                                       String errorMessage,
+                                                       long threadId,
+                                                       Instant startTime,
+                                                       Instant endTime) {
+        return new RequestUnitTestsResult(0, null, 0, false, errorMessage, url, method.name(), 0,
+                startTime, endTime, threadId);
+    }
+
+    /**
+     * I/O 线程设置为守护线程，避免阻止 JVM 退出
+     */
+    private static ThreadFactory daemonThreadFactory() {
+        AtomicInteger counter = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, "mcunittests-async-io-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    /**
+     * 异步引擎配置
+     */
+    public static class AsyncConfig {
+        private int ioThreads = Math.max(1, Runtime.getRuntime().availableProcessors());
+        private int maxTotal = 20000;
+        private int maxPerRoute = 10000;
+        private int connectTimeoutMillis = 30000;
+        private int readTimeoutMillis = 30000;
+        private int connectionRequestTimeoutMillis = 0;
+
+        /**
+         * 默认配置
+         */
+        public static AsyncConfig defaults() {
+            return new AsyncConfig();
+        }
+
+        /**
+         * selector（I/O）线程数
+         */
+        public AsyncConfig ioThreads(int ioThreads) {
+            this.ioThreads = ioThreads;
+            return this;
+        }
+
+        /**
+         * 最大连接数（即最大并行在途请求数）
+         */
+        public AsyncConfig maxTotal(int maxTotal) {
+            this.maxTotal = maxTotal;
+            return this;
+        }
+
+        /**
+         * 每个路由（host:port）的最大连接数
+         */
+        public AsyncConfig maxPerRoute(int maxPerRoute) {
+            this.maxPerRoute = maxPerRoute;
+            return this;
+        }
+
+        /**
+         * 连接与读取超时（毫秒），0 表示不限制
+         */
+        public AsyncConfig timeouts(int connectTimeoutMillis, int readTimeoutMillis) {
+            this.connectTimeoutMillis = connectTimeoutMillis;
+            this.readTimeoutMillis = readTimeoutMillis;
+            return this;
+        }
+
+        /**
+         * 等待空闲连接的超时时间（毫秒），0 表示一直等待
+         */
+        public AsyncConfig connectionRequestTimeoutMillis(int connectionRequestTimeoutMillis) {
+            this.connectionRequestTimeoutMillis = connectionRequestTimeoutMillis;
+            return this;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("AsyncConfig{ioThreads=%d, maxTotal=%d, maxPerRoute=%d}",
+                    ioThreads, maxTotal, maxPerRoute);
+        }
+    }
+}
@@ -0,0 +1,158 @@
+package io.github.json031.transport;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.zip.CRC32;
+
+/**
+ * This class is a body sink that counts the bytes of a streamed body and optionally checksums them.
+ * Streams are drained through a reusable per-thread buffer, so nothing proportional to the body is allocated.
+ */
+public final class BodySink {
+
+    /**
+     * 每个线程复用的读取缓冲区大小
+     */
+    public static final int BUFFER_SIZE = 16 * 1024;
+
+    private static final ThreadLocal<byte[]> BUFFER = ThreadLocal.withInitial(() -> new byte[BUFFER_SIZE]);
+
+    private static final char[] HEX = "0123456789abcdef".toCharArray();
+
+    private final CRC32 crc32;
+    private final MessageDigest digest;
+    private long bytes;
+
+    private BodySink(CRC32 crc32, MessageDigest digest) {
+        this.crc32 = crc32;
+        this.digest = digest;
+    }
+
+    /**
+     * 只统计字节数
+     */
+    public static BodySink counting() {
+        return new BodySink(null, null);
+    }
+
+    /**
+     * 统计字节数并计算 CRC32
+     */
+    public static BodySink crc32() {
+        return new BodySink(new CRC32(), null);
+    }
+
+    /**
+     * 统计字节数并计算摘要
+     * @param algorithm 摘要算法（如 SHA-256、MD5）
+     */
+    public static BodySink digest(String algorithm) {
+        try {
+            return new BodySink(null, MessageDigest.getInstance(algorithm));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalArgumentException("Unsupported digest algorithm: " + algorithm, e);
+        }
+    }
+
+    /**
+     * 按算法名称创建
+     * @param algorithm null 只统计字节数，CRC32 计算 CRC32，其他值按摘要算法（如 SHA-256、MD5）处理
+     */
+    public static BodySink of(String algorithm) {
+        if (algorithm == null) {
+            return counting();
+        }
+        return "CRC32".equalsIgnoreCase(algorithm) ? crc32() : digest(algorithm);
+    }
+
+    /**
+     * 按响应体处理模式创建
+     * @param mode 响应体处理模式
+     */
+    public static BodySink forMode(ResponseBodyMode mode) {
+        return mode == ResponseBodyMode.CHECKSUM ? crc32() : counting();
+    }
+
+    /**
+     * 读完输入流
+     * @param in 输入流，可为 null（无响应体）
+     * @return 本次读取的字节数
+     */
+    public long drain(InputStream in) throws IOException {
+        if (in == null) {
+            return 0;
+        }
+        byte[] buffer = BUFFER.get();
+        long total = 0;
+        int read;
+        while ((read = in.read(buffer)) != -1) {
+            update(buffer, 0, read);
+            total += read;
+        }
+        return total;
+    }
+
+    /**
+     * 写入一段字节
+     */
+    public void update(byte[] buffer, int offset, int length) {
+        if (crc32 != null) {
+            crc32.update(buffer, offset, length);
+        }
+        if (digest != null) {
+            digest.update(buffer, offset, length);
+        }
+        bytes += length;
+    }
+
+    /**
+     * 写入缓冲区中 position 到 limit 之间的字节，position 会移动到 limit
+     */
+    public void update(ByteBuffer buffer) {
+        int length = buffer.remaining();
+        if (crc32 != null) {
+            crc32.update(buffer.duplicate());
+        }
+        if (digest != null) {
+            digest.update(buffer.duplicate());
+        }
+        buffer.position(buffer.limit());
+        bytes += length;
+    }
+
+    /**
+     * 已写入的字节数
+     */
+    public long getBytes() {
+        return bytes;
+    }
+
+    /**
+     * 是否计算校验和
+     */
+    public boolean hasChecksum() {
+        return crc32 != null || digest != null;
+    }
+
+    /**
+     * 十六进制校验和，不计算校验和时返回 null；摘要算法只能调用一次
+     */
+    public String checksumHex() {
+        if (crc32 != null) {
+            return String.format("%08x", crc32.getValue());
+        }
+        if (digest != null) {
+            byte[] hash = digest.digest();
+            char[] chars = new char[hash.length * 2];
+            for (int i = 0; i < hash.length; i++) {
+                chars[i * 2] = HEX[(hash[i] >> 4) & 0xF];
+                chars[i * 2 + 1] = HEX[hash[i] & 0xF];
+            }
+            return new String(chars);
+        }
+        return null;
+    }
+}
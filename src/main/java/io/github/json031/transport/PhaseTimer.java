@@ -0,0 +1,92 @@
+package io.github.json031.transport;
+
+import io.github.json031.JavaBean.RequestTimings;
+
+/**
+ * This class collects the phase timings of the request running on the current thread.
+ * The blocking client resolves, connects and exchanges on the calling thread, so the
+ * hooks of {@link PooledHttpTransport} find the timer through a thread local.
+ */
+public final class PhaseTimer {
+
+    private static final ThreadLocal<PhaseTimer> CURRENT = new ThreadLocal<>();
+
+    private long leaseNanos = RequestTimings.NOT_MEASURED;
+    private long dnsNanos = RequestTimings.NOT_MEASURED;
+    private long connectNanos = RequestTimings.NOT_MEASURED;
+    private long tlsNanos = RequestTimings.NOT_MEASURED;
+    private long ttfbNanos = RequestTimings.NOT_MEASURED;
+    private long sendStartNanos;
+    private long headersReceivedNanos;
+    private boolean connectionReused;
+
+    private PhaseTimer() {
+    }
+
+    /**
+     * 开始记录当前线程上的请求
+     * @return 计时器，请求结束后必须调用 {@link #finish(long)}
+     */
+    public static PhaseTimer start() {
+        PhaseTimer timer = new PhaseTimer();
+        CURRENT.set(timer);
+        return timer;
+    }
+
+    /**
+     * 结束记录并解除与当前线程的绑定
+     * @param endNanos 读取完响应体的 System.nanoTime()
+     * @return 分阶段耗时，传输层没有上报任何阶段时返回 {@link RequestTimings#unknown()}
+     */
+    public RequestTimings finish(long endNanos) {
+        if (CURRENT.get() == this) {
+            CURRENT.remove();
+        }
+        if (ttfbNanos == RequestTimings.NOT_MEASURED) {
+            return RequestTimings.unknown();
+        }
+        return new RequestTimings(leaseNanos, dnsNanos, connectNanos, tlsNanos, ttfbNanos,
+                Math.max(0, endNanos - headersReceivedNanos), connectionReused);
+    }
+
+    static PhaseTimer current() {
+        return CURRENT.get();
+    }
+
+    void connectionLeased(long nanos) {
+        leaseNanos = accumulate(leaseNanos, nanos);
+    }
+
+    void dnsResolved(long nanos) {
+        dnsNanos = accumulate(dnsNanos, nanos);
+    }
+
+    void tlsHandshaken(long nanos) {
+        tlsNanos = accumulate(tlsNanos, nanos);
+    }
+
+    /**
+     * 建立连接的总耗时（包含 TLS 握手），TCP 连接耗时为总耗时减去握手耗时
+     */
+    void connected(long totalNanos) {
+        long tcpNanos = tlsNanos == RequestTimings.NOT_MEASURED ? totalNanos : totalNanos - tlsNanos;
+        connectNanos = accumulate(connectNanos, Math.max(0, tcpNanos));
+    }
+
+    void requestSending(long nowNanos, boolean reused) {
+        sendStartNanos = nowNanos;
+        connectionReused = reused;
+    }
+
+    void headersReceived(long nowNanos) {
+        headersReceivedNanos = nowNanos;
+        ttfbNanos = nowNanos - sendStartNanos;
+    }
+
+    /**
+     * 重试或重定向时同一阶段可能发生多次，累加耗时
+     */
+    private static long accumulate(long current, long nanos) {
+        return current == RequestTimings.NOT_MEASURED ? nanos : current + nanos;
+    }
+}
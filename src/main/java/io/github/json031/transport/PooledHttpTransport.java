@@ -0,0 +1,575 @@
+package io.github.json031.transport;
+
+import io.github.json031.JavaBean.ConnectionPoolStats;
+import org.apache.http.HttpClientConnection;
+import org.apache.http.HttpException;
+import org.apache.http.HttpRequest;
+import org.apache.http.HttpHost;
+import org.apache.http.HttpResponse;
+import org.apache.http.NoHttpResponseException;
+import org.apache.http.client.HttpRequestRetryHandler;
+import org.apache.http.client.protocol.HttpClientContext;
+import org.apache.http.config.Registry;
+import org.apache.http.config.RegistryBuilder;
+import org.apache.http.conn.ConnectionKeepAliveStrategy;
+import org.apache.http.conn.ConnectionPoolTimeoutException;
+import org.apache.http.conn.ConnectionRequest;
+import org.apache.http.conn.DnsResolver;
+import org.apache.http.conn.socket.ConnectionSocketFactory;
+import org.apache.http.conn.socket.PlainConnectionSocketFactory;
+import org.apache.http.conn.routing.HttpRoute;
+import org.apache.http.conn.ssl.SSLConnectionSocketFactory;
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.apache.http.impl.client.DefaultConnectionKeepAliveStrategy;
+import org.apache.http.impl.client.HttpClientBuilder;
+import org.apache.http.impl.client.HttpClients;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
+import org.apache.http.impl.conn.SystemDefaultDnsResolver;
+import org.apache.http.pool.PoolStats;
+import org.apache.http.protocol.HttpContext;
+import org.apache.http.protocol.HttpRequestExecutor;
+import org.apache.http.ssl.SSLContexts;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.web.client.RestTemplate;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.net.SocketException;
+import java.net.UnknownHostException;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * This class is a pooled keep-alive HTTP transport for RestTemplate.
+ * Pool lease, DNS, connect, TLS and time-to-first-byte are reported to the {@link PhaseTimer} of the calling thread.
+ * The client sends requests as they are: no implicit {@code Accept-Encoding} and no automatic retries,
+ * except re-sending an idempotent (or not yet sent) request once when its keep-alive connection turns out
+ * to have been closed by the server (see {@link PoolConfig#retryStaleConnections(boolean)}).
+ */
+public class PooledHttpTransport implements Closeable {
+
+    /**
+     * 请求上下文属性：本次发送失败于一个已被服务端关闭的复用连接
+     */
+    private static final String STALE_CONNECTION = PooledHttpTransport.class.getName() + ".staleConnection";
+
+    /**
+     * 失效连接上的请求最多重发的次数
+     */
+    private static final int MAX_STALE_RETRIES = 1;
+
+    /**
+     * 重复执行不会改变服务端状态的请求方式，请求已发出时也可以重发
+     */
+    private static final Set<String> IDEMPOTENT_METHODS = new HashSet<>(
+            Arrays.asList("GET", "HEAD", "PUT", "DELETE", "OPTIONS", "TRACE"));
+
+    /**
+     * 连接池配置
+     */
+    private final PoolConfig config;
+
+    /**
+     * 连接池管理器
+     */
+    private final PoolingHttpClientConnectionManager connectionManager;
+
+    /**
+     * 共享的 HttpClient 实例
+     */
+    private final CloseableHttpClient httpClient;
+
+    /**
+     * 新建连接数
+     */
+    private final AtomicLong newConnections = new AtomicLong();
+
+    /**
+     * 复用连接数
+     */
+    private final AtomicLong reusedConnections = new AtomicLong();
+
+    /**
+     * 因复用的连接已被服务端关闭而重新发送的请求数
+     */
+    private final AtomicLong staleConnectionRetries = new AtomicLong();
+
+    /**
+     * 当前被请求占用的连接数
+     */
+    private final AtomicInteger leasedConnections = new AtomicInteger();
+
+    /**
+     * 已被替换，最后一个占用的连接归还后关闭
+     */
+    private volatile boolean retired;
+
+    private final AtomicBoolean closed = new AtomicBoolean();
+
+    public PooledHttpTransport(PoolConfig config) {
+        this.config = config;
+        this.connectionManager = new TimedConnectionManager(config.timeToLiveMillis);
+        this.connectionManager.setMaxTotal(config.maxTotal);
+        this.connectionManager.setDefaultMaxPerRoute(config.maxPerRoute);
+        this.connectionManager.setValidateAfterInactivity(config.validateAfterInactivityMillis);
+
+        HttpClientBuilder builder = HttpClients.custom()
+                .setConnectionManager(this.connectionManager)
+                .setKeepAliveStrategy(keepAliveStrategy(config.keepAliveMillis))
+                .setRequestExecutor(new CountingRequestExecutor())
+                .evictExpiredConnections()
+                .evictIdleConnections(config.idleEvictMillis, TimeUnit.MILLISECONDS)
+                .disableCookieManagement();
+        if (!config.contentCompression) {
+            builder.disableContentCompression();
+        }
+        if (config.retryStaleConnections) {
+            // 替换默认重试策略，只重发失效连接上的请求
+            builder.setRetryHandler(new StaleConnectionRetryHandler());
+        } else {
+            builder.disableAutomaticRetries();
+        }
+        this.httpClient = builder.build();
+    }
+
+    /**
+     * 获取连接池配置
+     */
+    public PoolConfig getConfig() {
+        return config;
+    }
+
+    /**
+     * 获取底层 HttpClient
+     */
+    public CloseableHttpClient getHttpClient() {
+        return httpClient;
+    }
+
+    /**
+     * 创建使用连接池默认超时时间的请求工厂
+     */
+    public HttpComponentsClientHttpRequestFactory createRequestFactory() {
+        return createRequestFactory(config.connectTimeoutMillis, config.readTimeoutMillis);
+    }
+
+    /**
+     * 创建共享连接池、使用自定义超时时间的请求工厂
+     * @param connectTimeout 连接超时（毫秒）
+     * @param readTimeout    读取超时（毫秒）
+     */
+    public HttpComponentsClientHttpRequestFactory createRequestFactory(int connectTimeout, int readTimeout) {
+        HttpComponentsClientHttpRequestFactory factory = new HttpComponentsClientHttpRequestFactory(httpClient);
+        factory.setConnectTimeout(connectTimeout);
+        factory.setReadTimeout(readTimeout);
+        factory.setConnectionRequestTimeout(config.connectionRequestTimeoutMillis);
+        return factory;
+    }
+
+    /**
+     * 创建使用连接池的 RestTemplate
+     */
+    public RestTemplate createRestTemplate() {
+        return new RestTemplate(createRequestFactory());
+    }
+
+    /**
+     * 创建共享连接池、使用自定义超时时间的 RestTemplate
+     * @param connectTimeout 连接超时（毫秒）
+     * @param readTimeout    读取超时（毫秒）
+     */
+    public RestTemplate createRestTemplate(int connectTimeout, int readTimeout) {
+        return new RestTemplate(createRequestFactory(connectTimeout, readTimeout));
+    }
+
+    /**
+     * 创建共享连接池、不缓冲请求体的 RestTemplate，请求体直接写入连接（用于大文件与分块上传）
+     * @param connectTimeout 连接超时（毫秒）
+     * @param readTimeout    读取超时（毫秒）
+     */
+    public RestTemplate createStreamingRestTemplate(int connectTimeout, int readTimeout) {
+        HttpComponentsClientHttpRequestFactory factory = createRequestFactory(connectTimeout, readTimeout);
+        factory.setBufferRequestBody(false);
+        return new RestTemplate(factory);
+    }
+
+    /**
+     * 获取连接复用统计
+     */
+    public ConnectionPoolStats getStats() {
+        PoolStats poolStats = connectionManager.getTotalStats();
+        return new ConnectionPoolStats(
+                newConnections.get(),
+                reusedConnections.get(),
+                staleConnectionRetries.get(),
+                poolStats.getLeased(),
+                poolStats.getAvailable(),
+                poolStats.getPending(),
+                poolStats.getMax()
+        );
+    }
+
+    /**
+     * 重置连接复用统计
+     */
+    public void resetStats() {
+        newConnections.set(0);
+        reusedConnections.set(0);
+        staleConnectionRetries.set(0);
+    }
+
+    /**
+     * 停止使用该连接池：没有请求占用连接时立即关闭，否则在最后一个连接归还后关闭，
+     * 正在执行的请求不会因连接池关闭而失败
+     */
+    public void closeWhenIdle() throws IOException {
+        retired = true;
+        if (leasedConnections.get() == 0) {
+            close();
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (closed.compareAndSet(false, true)) {
+            httpClient.close();
+        }
+    }
+
+    /**
+     * 优先使用服务端 Keep-Alive 头，否则使用配置的保活时间
+     */
+    private static ConnectionKeepAliveStrategy keepAliveStrategy(long keepAliveMillis) {
+        return (response, context) -> {
+            long serverKeepAlive = DefaultConnectionKeepAliveStrategy.INSTANCE.getKeepAliveDuration(response, context);
+            return serverKeepAlive > 0 ? serverKeepAlive : keepAliveMillis;
+        };
+    }
+
+    /**
+     * 与 HttpClient 默认配置相同的 http/https 套接字工厂，附加连接与握手计时
+     */
+    private static Registry<ConnectionSocketFactory> timedSocketFactoryRegistry() {
+        return RegistryBuilder.<ConnectionSocketFactory>create()
+                .register("http", new TimedPlainSocketFactory())
+                .register("https", new TimedSslSocketFactory())
+                .build();
+    }
+
+    /**
+     * 记录从连接池获取连接的等待时间，并统计被占用的连接数
+     */
+    private class TimedConnectionManager extends PoolingHttpClientConnectionManager {
+        TimedConnectionManager(long timeToLiveMillis) {
+            super(timedSocketFactoryRegistry(), null, null, new TimedDnsResolver(),
+                    timeToLiveMillis, TimeUnit.MILLISECONDS);
+        }
+
+        @Override
+        public ConnectionRequest requestConnection(HttpRoute route, Object state) {
+            ConnectionRequest request = super.requestConnection(route, state);
+            return new ConnectionRequest() {
+                @Override
+                public HttpClientConnection get(long timeout, TimeUnit timeUnit)
+                        throws InterruptedException, ExecutionException, ConnectionPoolTimeoutException {
+                    long start = System.nanoTime();
+                    try {
+                        HttpClientConnection conn = request.get(timeout, timeUnit);
+                        leasedConnections.incrementAndGet();
+                        return conn;
+                    } finally {
+                        PhaseTimer timer = PhaseTimer.current();
+                        if (timer != null) {
+                            timer.connectionLeased(System.nanoTime() - start);
+                        }
+                    }
+                }
+
+                @Override
+                public boolean cancel() {
+                    return request.cancel();
+                }
+            };
+        }
+
+        @Override
+        public void releaseConnection(HttpClientConnection managedConn,
+                                      Object state,
+                                      long keepalive,
+                                      TimeUnit timeUnit) {
+            super.releaseConnection(managedConn, state, keepalive, timeUnit);
+            if (leasedConnections.decrementAndGet() == 0 && retired) {
+                try {
+                    PooledHttpTransport.this.close();
+                } catch (IOException e) {
+                    // 连接已全部归还，关闭失败不影响请求结果
+                }
+            }
+        }
+    }
+
+    /**
+     * 只重发失效连接上的请求：复用的连接在收到响应头之前就被断开（无响应或连接被重置），
+     * 说明服务端在保活期内关闭了空闲连接。失效连接会被丢弃，重发使用池中的下一个连接，最多重发一次；
+     * POST、PATCH 等非幂等请求只在请求未完整发出时重发，避免服务端已处理的写操作被重复执行。
+     * 新建连接上的失败与超时不重发
+     */
+    private class StaleConnectionRetryHandler implements HttpRequestRetryHandler {
+        @Override
+        public boolean retryRequest(IOException exception, int executionCount, HttpContext context) {
+            if (executionCount > MAX_STALE_RETRIES || !Boolean.TRUE.equals(context.getAttribute(STALE_CONNECTION))) {
+                return false;
+            }
+            HttpClientContext clientContext = HttpClientContext.adapt(context);
+            HttpRequest request = clientContext.getRequest();
+            String method = request != null ? request.getRequestLine().getMethod().toUpperCase(Locale.ROOT) : "";
+            if (!IDEMPOTENT_METHODS.contains(method) && clientContext.isRequestSent()) {
+                return false;
+            }
+            staleConnectionRetries.incrementAndGet();
+            return true;
+        }
+    }
+
+    /**
+     * 在连接上发送请求前，根据连接已发送的请求数区分新建连接与复用连接，并记录首字节时间；
+     * 复用的连接在收到响应头前断开时标记为失效连接
+     */
+    private class CountingRequestExecutor extends HttpRequestExecutor {
+        @Override
+        public HttpResponse execute(HttpRequest request,
+                                    HttpClientConnection conn,
+                                    HttpContext context) throws IOException, HttpException {
+            boolean reused = conn.getMetrics().getRequestCount() > 0;
+            context.setAttribute(STALE_CONNECTION, false);
+            if (reused) {
+                reusedConnections.incrementAndGet();
+            } else {
+                newConnections.incrementAndGet();
+            }
+            PhaseTimer timer = PhaseTimer.current();
+            if (timer != null) {
+                timer.requestSending(System.nanoTime(), reused);
+            }
+            HttpResponse response;
+            try {
+                response = super.execute(request, conn, context);
+            } catch (NoHttpResponseException | SocketException e) {
+                context.setAttribute(STALE_CONNECTION, reused);
+                throw e;
+            }
+            if (timer != null) {
+                timer.headersReceived(System.nanoTime());
+            }
+            return response;
+        }
+    }
+
+    /**
+     * 记录域名解析耗时
+     */
+    private static class TimedDnsResolver implements DnsResolver {
+        @Override
+        public InetAddress[] resolve(String host) throws UnknownHostException {
+            long start = System.nanoTime();
+            try {
+                return SystemDefaultDnsResolver.INSTANCE.resolve(host);
+            } finally {
+                PhaseTimer timer = PhaseTimer.current();
+                if (timer != null) {
+                    timer.dnsResolved(System.nanoTime() - start);
+                }
+            }
+        }
+    }
+
+    /**
+     * 记录 TCP 连接耗时
+     */
+    private static class TimedPlainSocketFactory extends PlainConnectionSocketFactory {
+        @Override
+        public Socket connectSocket(int connectTimeout,
+                                    Socket socket,
+                                    HttpHost host,
+                                    InetSocketAddress remoteAddress,
+                                    InetSocketAddress localAddress,
+                                    HttpContext context) throws IOException {
+            long start = System.nanoTime();
+            try {
+                return super.connectSocket(connectTimeout, socket, host, remoteAddress, localAddress, context);
+            } finally {
+                PhaseTimer timer = PhaseTimer.current();
+                if (timer != null) {
+                    timer.connected(System.nanoTime() - start);
+                }
+            }
+        }
+    }
+
+    /**
+     * 分别记录 TCP 连接与 TLS 握手耗时
+     */
+    private static class TimedSslSocketFactory extends SSLConnectionSocketFactory {
+        TimedSslSocketFactory() {
+            super(SSLContexts.createDefault(), getDefaultHostnameVerifier());
+        }
+
+        @Override
+        public Socket connectSocket(int connectTimeout,
+                                    Socket socket,
+                                    HttpHost host,
+                                    InetSocketAddress remoteAddress,
+                                    InetSocketAddress localAddress,
+                                    HttpContext context) throws IOException {
+            long start = System.nanoTime();
+            try {
+                return super.connectSocket(connectTimeout, socket, host, remoteAddress, localAddress, context);
+            } finally {
+                PhaseTimer timer = PhaseTimer.current();
+                if (timer != null) {
+                    timer.connected(System.nanoTime() - start);
+                }
+            }
+        }
+
+        @Override
+        public Socket createLayeredSocket(Socket socket,
+                                          String target,
+                                          int port,
+                                          HttpContext context) throws IOException {
+            long start = System.nanoTime();
+            try {
+                return super.createLayeredSocket(socket, target, port, context);
+            } finally {
+                PhaseTimer timer = PhaseTimer.current();
+                if (timer != null) {
+                    timer.tlsHandshaken(System.nanoTime() - start);
+                }
+            }
+        }
+    }
+
+    /**
+     * 连接池配置
+     */
+    public static class PoolConfig {
+        private int maxTotal = 2000;
+        private int maxPerRoute = 500;
+        private long idleEvictMillis = 30000;
+        private long keepAliveMillis = 60000;
+        private long timeToLiveMillis = -1;
+        private int validateAfterInactivityMillis = 2000;
+        private int connectTimeoutMillis = 0;
+        private int readTimeoutMillis = 0;
+        private int connectionRequestTimeoutMillis = 0;
+        private boolean contentCompression = false;
+        private boolean retryStaleConnections = true;
+
+        /**
+         * 默认配置
+         */
+        public static PoolConfig defaults() {
+            return new PoolConfig();
+        }
+
+        /**
+         * 连接池最大连接数
+         */
+        public PoolConfig maxTotal(int maxTotal) {
+            this.maxTotal = maxTotal;
+            return this;
+        }
+
+        /**
+         * 每个路由（host:port）的最大连接数
+         */
+        public PoolConfig maxPerRoute(int maxPerRoute) {
+            this.maxPerRoute = maxPerRoute;
+            return this;
+        }
+
+        /**
+         * 空闲连接超过该时间后被回收（毫秒）
+         */
+        public PoolConfig idleEvictMillis(long idleEvictMillis) {
+            this.idleEvictMillis = idleEvictMillis;
+            return this;
+        }
+
+        /**
+         * 服务端未返回 Keep-Alive 头时的保活时间（毫秒）
+         */
+        public PoolConfig keepAliveMillis(long keepAliveMillis) {
+            this.keepAliveMillis = keepAliveMillis;
+            return this;
+        }
+
+        /**
+         * 连接最大存活时间（毫秒），-1 表示不限制
+         */
+        public PoolConfig timeToLiveMillis(long timeToLiveMillis) {
+            this.timeToLiveMillis = timeToLiveMillis;
+            return this;
+        }
+
+        /**
+         * 连接空闲超过该时间后，复用前先校验是否可用（毫秒）
+         */
+        public PoolConfig validateAfterInactivityMillis(int validateAfterInactivityMillis) {
+            this.validateAfterInactivityMillis = validateAfterInactivityMillis;
+            return this;
+        }
+
+        /**
+         * 连接与读取超时（毫秒），0 表示不限制
+         */
+        public PoolConfig timeouts(int connectTimeoutMillis, int readTimeoutMillis) {
+            this.connectTimeoutMillis = connectTimeoutMillis;
+            this.readTimeoutMillis = readTimeoutMillis;
+            return this;
+        }
+
+        /**
+         * 从连接池获取连接的超时时间（毫秒），0 表示一直等待
+         */
+        public PoolConfig connectionRequestTimeoutMillis(int connectionRequestTimeoutMillis) {
+            this.connectionRequestTimeoutMillis = connectionRequestTimeoutMillis;
+            return this;
+        }
+
+        /**
+         * 是否发送 Accept-Encoding: gzip 并透明解压响应，默认关闭，使测得的传输字节数与耗时对应原始响应
+         */
+        public PoolConfig contentCompression(boolean contentCompression) {
+            this.contentCompression = contentCompression;
+            return this;
+        }
+
+        /**
+         * 复用的保活连接已被服务端关闭（未收到任何响应）时是否换一个连接重发一次，默认开启；
+         * 非幂等请求（POST、PATCH）已完整发出时不重发。关闭后请求直接失败。其他失败从不重试
+         */
+        public PoolConfig retryStaleConnections(boolean retryStaleConnections) {
+            this.retryStaleConnections = retryStaleConnections;
+            return this;
+        }
+
+        @Override
+        public String toString() {
+            return String.format(
+                    "PoolConfig{maxTotal=%d, maxPerRoute=%d, idleEvict=%dms, keepAlive=%dms, compression=%s, retryStale=%s}",
+                    maxTotal, maxPerRoute, idleEvictMillis, keepAliveMillis, contentCompression, retryStaleConnections
+            );
+        }
+    }
+}
@@ -0,0 +1,549 @@
+package io.github.json031.transport;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
+import org.springframework.web.util.DefaultUriBuilderFactory;
+import org.springframework.web.util.UriUtils;
+
+import java.net.URI;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.function.UnaryOperator;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * This class is a request compiled once and sent many times: the URL is validated and encoded
+ * (including an URL-encoded query string), the headers are built and the body is serialized to bytes
+ * when the request is built. ${name} placeholders in the URL, header values and body are split out at
+ * build time, so each request only concatenates the precompiled segments with its variable values
+ * (URL-encoded in the URL, JSON-escaped in a JSON body). ${userId} and ${iteration} are always available.
+ * A request without placeholders renders to the same shared instance every time. Instances are immutable
+ * and thread-safe.
+ */
+public final class PreparedRequest {
+
+    private static final ObjectMapper objectMapper = new ObjectMapper();
+
+    /**
+     * 占位符 ${name}
+     */
+    private static final Pattern PLACEHOLDER = Pattern.compile("\\$\\{([A-Za-z0-9_.\\-]+)}");
+
+    /**
+     * URL 编码前替换占位符用的标记，只含非保留字符，编码后保持不变
+     */
+    private static final Pattern URL_TOKEN = Pattern.compile("__mcvar(\\d+)__");
+
+    /**
+     * 内置变量：虚拟用户编号
+     */
+    public static final String USER_ID = "userId";
+
+    /**
+     * 内置变量：迭代序号
+     */
+    public static final String ITERATION = "iteration";
+
+    private final HttpMethod method;
+    private final String urlTemplate;
+    private final String invalidReason;
+    private final Template url;
+    private final HttpHeaders fixedHeaders;
+    private final Map<String, Template> headerTemplates;
+    private final Template body;
+    private final UnaryOperator<String> bodyEscaper;
+    private final RequestVariables variables;
+    /**
+     * 没有任何占位符时共享的渲染结果
+     */
+    private final Rendered constant;
+
+    private PreparedRequest(HttpMethod method,
+                            String urlTemplate,
+                            String invalidReason,
+                            Template url,
+                            HttpHeaders fixedHeaders,
+                            Map<String, Template> headerTemplates,
+                            Template body,
+                            UnaryOperator<String> bodyEscaper,
+                            RequestVariables variables) {
+        this.method = method;
+        this.urlTemplate = urlTemplate;
+        this.invalidReason = invalidReason;
+        this.url = url;
+        this.fixedHeaders = fixedHeaders;
+        this.headerTemplates = headerTemplates;
+        this.body = body;
+        this.bodyEscaper = bodyEscaper;
+        this.variables = variables;
+        this.constant = invalidReason == null && !hasPlaceholders()
+                ? render(Collections.emptyMap(), 0, 0)
+                : null;
+    }
+
+    /**
+     * 创建构建器
+     * @param method 请求方式
+     * @param url    完整的 API 地址（包括 http/https），可包含 ${name} 占位符
+     */
+    public static Builder builder(HttpMethod method, String url) {
+        return new Builder(method, url);
+    }
+
+    /**
+     * 按 requestWitRestTemplate 的参数约定预编译请求：GET 参数编码为查询字符串，其他请求方式序列化为 JSON 请求体
+     *
+     * @param url     完整的 API 地址（包括 http/https）
+     * @param method  请求方式
+     * @param params  请求参数（POST body 或 GET 查询参数）
+     * @param headers 请求头（可选）
+     * @return 预编译请求，URL 非法时 {@link #isValid()} 为 false
+     */
+    public static PreparedRequest of(String url,
+                                     HttpMethod method,
+                                     Map<String, Object> params,
+                                     Map<String, String> headers) {
+        Builder builder = builder(method, url).headers(headers);
+        if (method == HttpMethod.GET) {
+            builder.queryParams(params);
+        } else if (params != null) {
+            builder.jsonBody(params);
+        }
+        return builder.build();
+    }
+
+    /**
+     * 返回绑定了变量来源的副本，预编译的内容共享
+     * @param variables 每次请求的变量来源
+     */
+    public PreparedRequest withVariables(RequestVariables variables) {
+        return new PreparedRequest(method, urlTemplate, invalidReason, url, fixedHeaders, headerTemplates,
+                body, bodyEscaper, variables != null ? variables : RequestVariables.none());
+    }
+
+    public HttpMethod getMethod() {
+        return method;
+    }
+
+    /**
+     * 构建时传入的 URL 模板
+     */
+    public String getUrlTemplate() {
+        return urlTemplate;
+    }
+
+    /**
+     * URL 是否合法（只有 http / https）
+     */
+    public boolean isValid() {
+        return invalidReason == null;
+    }
+
+    /**
+     * URL 非法的原因，合法时为 null
+     */
+    public String getInvalidReason() {
+        return invalidReason;
+    }
+
+    /**
+     * 是否包含需要按请求替换的占位符
+     */
+    public boolean hasPlaceholders() {
+        return !url.isConstant() || !headerTemplates.isEmpty() || (body != null && !body.isConstant());
+    }
+
+    /**
+     * 按绑定的变量来源渲染一次请求
+     * @param userId    虚拟用户编号
+     * @param iteration 该用户的第几次请求
+     * @return 渲染结果，URL 非法时为 null
+     */
+    public Rendered render(int userId, long iteration) {
+        if (constant != null || invalidReason != null) {
+            return constant;
+        }
+        return render(variables.variables(userId, iteration), userId, iteration);
+    }
+
+    /**
+     * 使用指定变量渲染一次请求（${userId} 与 ${iteration} 为 0）
+     * @param values 变量值，可为 null
+     * @return 渲染结果，URL 非法时为 null
+     */
+    public Rendered render(Map<String, String> values) {
+        if (constant != null || invalidReason != null) {
+            return constant;
+        }
+        return render(values, 0, 0);
+    }
+
+    private Rendered render(Map<String, String> values, int userId, long iteration) {
+        Function<String, String> lookup = name -> {
+            String value = values != null ? values.get(name) : null;
+            if (value != null) {
+                return value;
+            }
+            if (USER_ID.equals(name)) {
+                return String.valueOf(userId);
+            }
+            if (ITERATION.equals(name)) {
+                return String.valueOf(iteration);
+            }
+            // 未提供的变量原样保留，便于在请求中发现
+            return "${" + name + "}";
+        };
+
+        String renderedUrl = url.render(lookup, PreparedRequest::encodeUrlValue);
+        HttpHeaders headers = fixedHeaders;
+        if (!headerTemplates.isEmpty()) {
+            headers = new HttpHeaders();
+            headers.addAll(fixedHeaders);
+            for (Map.Entry<String, Template> header : headerTemplates.entrySet()) {
+                headers.set(header.getKey(), header.getValue().render(lookup, UnaryOperator.identity()));
+            }
+        }
+        byte[] renderedBody = body != null ? body.renderBytes(lookup, bodyEscaper) : null;
+        return new Rendered(method, renderedUrl, URI.create(renderedUrl), headers, renderedBody);
+    }
+
+    private static String encodeUrlValue(String value) {
+        return UriUtils.encode(value, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * JSON 字符串转义（变量值位于 JSON 字符串内部）
+     */
+    static String escapeJson(String value) {
+        StringBuilder sb = null;
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            String replacement = null;
+            if (c == '"') {
+                replacement = "\\\"";
+            } else if (c == '\\') {
+                replacement = "\\\\";
+            } else if (c == '\n') {
+                replacement = "\\n";
+            } else if (c == '\r') {
+                replacement = "\\r";
+            } else if (c == '\t') {
+                replacement = "\\t";
+            } else if (c < 0x20) {
+                replacement = String.format("\\u%04x", (int) c);
+            }
+            if (replacement != null) {
+                if (sb == null) {
+                    sb = new StringBuilder(value.length() + 16).append(value, 0, i);
+                }
+                sb.append(replacement);
+            } else if (sb != null) {
+                sb.append(c);
+            }
+        }
+        return sb != null ? sb.toString() : value;
+    }
+
+    @Override
+    public String toString() {
+        return "PreparedRequest{" + method + " " + urlTemplate
+                + (invalidReason != null ? ", invalid=" + invalidReason : "")
+                + ", placeholders=" + hasPlaceholders() + "}";
+    }
+
+    /**
+     * One rendered request, ready to send.
+     */
+    public static final class Rendered {
+        public final HttpMethod method;
+        /**
+         * encoded request URL.
+         */
+        public final String url;
+        public final URI uri;
+        /**
+         * request headers, read-only when shared between requests.
+         */
+        public final HttpHeaders headers;
+        /**
+         * serialized request body, null when the request has no body.
+         */
+        public final byte[] body;
+
+        Rendered(HttpMethod method, String url, URI uri, HttpHeaders headers, byte[] body) {
+            this.method = method;
+            this.url = url;
+            this.uri = uri;
+            this.headers = headers;
+            this.body = body;
+        }
+    }
+
+    /**
+     * 预编译请求构建器
+     */
+    public static class Builder {
+        private final HttpMethod method;
+        private final String url;
+        private final Map<String, Object> queryParams = new LinkedHashMap<>();
+        private final Map<String, String> headers = new LinkedHashMap<>();
+        private byte[] rawBody;
+        private String textBody;
+        private boolean jsonBody;
+        private MediaType contentType;
+        private RequestVariables variables = RequestVariables.none();
+
+        private Builder(HttpMethod method, String url) {
+            this.method = method;
+            this.url = url;
+        }
+
+        /**
+         * 添加查询参数，键和值会被 URL 编码
+         */
+        public Builder queryParam(String name, Object value) {
+            this.queryParams.put(name, value);
+            return this;
+        }
+
+        /**
+         * 添加查询参数，键和值会被 URL 编码
+         */
+        public Builder queryParams(Map<String, ?> params) {
+            if (params != null) {
+                this.queryParams.putAll(params);
+            }
+            return this;
+        }
+
+        public Builder header(String name, String value) {
+            this.headers.put(name, value);
+            return this;
+        }
+
+        public Builder headers(Map<String, String> headers) {
+            if (headers != null) {
+                this.headers.putAll(headers);
+            }
+            return this;
+        }
+
+        /**
+         * 请求体序列化为 JSON（只序列化一次），字符串中的占位符替换时做 JSON 转义
+         * @param body 请求体对象
+         */
+        public Builder jsonBody(Object body) {
+            try {
+                this.textBody = objectMapper.writeValueAsString(body);
+            } catch (JsonProcessingException e) {
+                throw new IllegalArgumentException("Cannot serialize request body: " + e.getOriginalMessage(), e);
+            }
+            this.rawBody = null;
+            this.jsonBody = true;
+            if (this.contentType == null) {
+                this.contentType = MediaType.APPLICATION_JSON;
+            }
+            return this;
+        }
+
+        /**
+         * 文本请求体，占位符原样替换
+         * @param body        请求体
+         * @param contentType 内容类型（可选）
+         */
+        public Builder body(String body, MediaType contentType) {
+            this.textBody = body;
+            this.rawBody = null;
+            this.jsonBody = false;
+            this.contentType = contentType;
+            return this;
+        }
+
+        /**
+         * 二进制请求体，不做占位符替换
+         * @param body        请求体
+         * @param contentType 内容类型（可选）
+         */
+        public Builder body(byte[] body, MediaType contentType) {
+            this.rawBody = body;
+            this.textBody = null;
+            this.jsonBody = false;
+            this.contentType = contentType;
+            return this;
+        }
+
+        /**
+         * 每次请求的变量来源
+         */
+        public Builder variables(RequestVariables variables) {
+            this.variables = variables != null ? variables : RequestVariables.none();
+            return this;
+        }
+
+        /**
+         * 编译请求：校验并编码 URL、构建请求头、准备请求体字节
+         */
+        public PreparedRequest build() {
+            List<String> names = new ArrayList<>();
+            String invalidReason = null;
+            Template urlTemplate;
+            try {
+                String encoded = new DefaultUriBuilderFactory().expand(tokenize(url, names)).toString();
+                StringBuilder sb = new StringBuilder(encoded);
+                if (!queryParams.isEmpty()) {
+                    sb.append(encoded.contains("?") ? '&' : '?');
+                    for (Map.Entry<String, Object> param : queryParams.entrySet()) {
+                        sb.append(UriUtils.encodeQueryParam(tokenize(param.getKey(), names), StandardCharsets.UTF_8))
+                                .append('=')
+                                .append(UriUtils.encodeQueryParam(tokenize(String.valueOf(param.getValue()), names),
+                                        StandardCharsets.UTF_8))
+                                .append('&');
+                    }
+                    sb.setLength(sb.length() - 1);
+                }
+                String compiled = sb.toString();
+                String protocol = new URL(compiled).getProtocol();
+                if (!protocol.equals("http") && !protocol.equals("https")) {
+                    invalidReason = "Unsupported protocol: " + protocol;
+                }
+                URI.create(compiled);
+                urlTemplate = Template.parse(compiled, URL_TOKEN, m -> names.get(Integer.parseInt(m.group(1))));
+            } catch (Exception e) {
+                invalidReason = "Invalid URL: " + url + " (" + e.getMessage() + ")";
+                urlTemplate = Template.parse(String.valueOf(url), PLACEHOLDER, m -> m.group(1));
+            }
+
+            HttpHeaders fixedHeaders = new HttpHeaders();
+            if (contentType != null) {
+                fixedHeaders.setContentType(contentType);
+            }
+            Map<String, Template> headerTemplates = new LinkedHashMap<>();
+            for (Map.Entry<String, String> header : headers.entrySet()) {
+                Template value = Template.parse(header.getValue(), PLACEHOLDER, m -> m.group(1));
+                if (value.isConstant()) {
+                    fixedHeaders.set(header.getKey(), header.getValue());
+                } else {
+                    fixedHeaders.remove(header.getKey());
+                    headerTemplates.put(header.getKey(), value);
+                }
+            }
+
+            Template body = null;
+            if (rawBody != null) {
+                body = Template.constant(rawBody);
+            } else if (textBody != null) {
+                body = Template.parse(textBody, PLACEHOLDER, m -> m.group(1));
+            }
+
+            return new PreparedRequest(method, url, invalidReason, urlTemplate,
+                    HttpHeaders.readOnlyHttpHeaders(fixedHeaders),
+                    Collections.unmodifiableMap(headerTemplates),
+                    body,
+                    jsonBody ? PreparedRequest::escapeJson : UnaryOperator.identity(),
+                    variables);
+        }
+
+        /**
+         * 将占位符替换为编码后不变的标记
+         */
+        private static String tokenize(String text, List<String> names) {
+            Matcher matcher = PLACEHOLDER.matcher(text);
+            StringBuffer sb = new StringBuffer();
+            while (matcher.find()) {
+                names.add(matcher.group(1));
+                matcher.appendReplacement(sb, "__mcvar" + (names.size() - 1) + "__");
+            }
+            matcher.appendTail(sb);
+            return sb.toString();
+        }
+    }
+
+    /**
+     * Precompiled text: literal segments interleaved with variable names.
+     */
+    private static final class Template {
+        private final String[] literals;
+        private final byte[][] literalBytes;
+        private final String[] names;
+
+        private Template(String[] literals, String[] names) {
+            this.literals = literals;
+            this.names = names;
+            this.literalBytes = new byte[literals.length][];
+            for (int i = 0; i < literals.length; i++) {
+                literalBytes[i] = literals[i].getBytes(StandardCharsets.UTF_8);
+            }
+        }
+
+        private Template(byte[] bytes) {
+            this.literals = new String[]{null};
+            this.literalBytes = new byte[][]{bytes};
+            this.names = new String[0];
+        }
+
+        static Template constant(byte[] bytes) {
+            return new Template(bytes);
+        }
+
+        static Template parse(String text, Pattern pattern, Function<Matcher, String> nameOf) {
+            List<String> literals = new ArrayList<>();
+            List<String> names = new ArrayList<>();
+            Matcher matcher = pattern.matcher(text);
+            int last = 0;
+            while (matcher.find()) {
+                literals.add(text.substring(last, matcher.start()));
+                names.add(nameOf.apply(matcher));
+                last = matcher.end();
+            }
+            literals.add(text.substring(last));
+            return new Template(literals.toArray(new String[0]), names.toArray(new String[0]));
+        }
+
+        boolean isConstant() {
+            return names.length == 0;
+        }
+
+        String render(Function<String, String> lookup, UnaryOperator<String> escaper) {
+            if (names.length == 0) {
+                return literals[0];
+            }
+            StringBuilder sb = new StringBuilder(literals[0]);
+            for (int i = 0; i < names.length; i++) {
+                sb.append(escaper.apply(lookup.apply(names[i]))).append(literals[i + 1]);
+            }
+            return sb.toString();
+        }
+
+        byte[] renderBytes(Function<String, String> lookup, UnaryOperator<String> escaper) {
+            if (names.length == 0) {
+                return literalBytes[0];
+            }
+            byte[][] values = new byte[names.length][];
+            int length = literalBytes[0].length;
+            for (int i = 0; i < names.length; i++) {
+                values[i] = escaper.apply(lookup.apply(names[i])).getBytes(StandardCharsets.UTF_8);
+                length += values[i].length + literalBytes[i + 1].length;
+            }
+            byte[] out = new byte[length];
+            int position = 0;
+            for (int i = 0; i < names.length; i++) {
+                System.arraycopy(literalBytes[i], 0, out, position, literalBytes[i].length);
+                position += literalBytes[i].length;
+                System.arraycopy(values[i], 0, out, position, values[i].length);
+                position += values[i].length;
+            }
+            System.arraycopy(literalBytes[names.length], 0, out, position, literalBytes[names.length].length);
+            return out;
+        }
+    }
+}
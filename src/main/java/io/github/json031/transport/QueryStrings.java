@@ -0,0 +1,28 @@
+package io.github.json031.transport;
+
+import java.util.Map;
+
+/**
+ * This class is used for building request query strings.
+ */
+public final class QueryStrings {
+
+    private QueryStrings() {
+    }
+
+    /**
+     * 拼接 GET 查询参数
+     * @param url    请求地址
+     * @param params 查询参数
+     * @return 拼接后的请求地址
+     */
+    public static String appendQueryParams(String url, Map<String, Object> params) {
+        if (params == null || params.isEmpty()) {
+            return url;
+        }
+        StringBuilder queryBuilder = new StringBuilder(url);
+        queryBuilder.append(url.contains("?") ? "&" : "?");
+        params.forEach((key, value) -> queryBuilder.append(key).append("=").append(value).append("&"));
+        return queryBuilder.substring(0, queryBuilder.length() - 1); // 去掉最后一个 &
+    }
+}
@@ -0,0 +1,26 @@
+package io.github.json031.transport;
+
+import java.util.Collections;
+import java.util.Map;
+
+/**
+ * Per-request values for the ${name} placeholders of a {@link PreparedRequest}.
+ */
+@FunctionalInterface
+public interface RequestVariables {
+
+    /**
+     * 获取一次请求的变量值
+     * @param userId    虚拟用户编号（开放模型中为 0）
+     * @param iteration 该用户的第几次请求（开放模型中为全局序号）
+     * @return 变量名到变量值的映射，可为 null
+     */
+    Map<String, String> variables(int userId, long iteration);
+
+    /**
+     * 不提供任何变量（只使用内置的 ${userId} 与 ${iteration}）
+     */
+    static RequestVariables none() {
+        return (userId, iteration) -> Collections.emptyMap();
+    }
+}
@@ -0,0 +1,19 @@
+package io.github.json031.transport;
+
+/**
+ * How a load test handles response bodies.
+ */
+public enum ResponseBodyMode {
+    /**
+     * 将响应体读取为字符串（默认），可用于断言与打印
+     */
+    BUFFER,
+    /**
+     * 以流方式读取并丢弃响应体，只统计字节数，不解码、不保留
+     */
+    DISCARD,
+    /**
+     * 以流方式读取并丢弃响应体，统计字节数并计算 CRC32 校验和
+     */
+    CHECKSUM
+}
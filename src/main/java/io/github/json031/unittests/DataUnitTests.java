@@ -4,6 +4,7 @@ import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import io.github.json031.JavaBean.RequestUnitTestsResult;
 import io.github.json031.MCUnitTests;
+import io.github.json031.stats.SampleStatistics;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
@@ -634,23 +635,15 @@ public class DataUnitTests {
             return true;
         }
 
-        // 计算平均值
-        double avg = responseTimes.stream()
-                .mapToLong(Long::longValue)
-                .average()
-                .orElse(0.0);
-
-        // 检查每个值是否在允许范围内
-        for (Long time : responseTimes) {
-            double deviation = Math.abs(time - avg) / avg;
-            if (deviation > maxDeviation) {
-                if (MCUnitTests.getInstance().verbose) {
-                    System.out.println("Response time " + time + "ms deviates " +
-                            String.format("%.2f%%", deviation * 100) +
-                            " from average " + String.format("%.2f", avg) + "ms");
-                }
-                return false;
+        // 偏差最大的一定是最小值或最大值，排序一次即可判断
+        SampleStatistics statistics = SampleStatistics.of(responseTimes);
+        if (!statistics.isStable(maxDeviation)) {
+            if (MCUnitTests.getInstance().verbose) {
+                System.out.println("Response time " + statistics.farthestFromMean() + "ms deviates " +
+                        String.format("%.2f%%", statistics.maxRelativeDeviation() * 100) +
+                        " from average " + String.format("%.2f", statistics.mean) + "ms");
             }
+            return false;
         }
 
         return true;
@@ -665,22 +658,11 @@ public class DataUnitTests {
         if (responseTimes == null || responseTimes.isEmpty()) {
             return 0.0;
         }
-
-        double avg = responseTimes.stream()
-                .mapToLong(Long::longValue)
-                .average()
-                .orElse(0.0);
-
-        double variance = responseTimes.stream()
-                .mapToDouble(time -> Math.pow(time - avg, 2))
-                .average()
-                .orElse(0.0);
-
-        return Math.sqrt(variance);
+        return SampleStatistics.of(responseTimes).standardDeviation;
     }
 
     /**
-     * 获取响应时间的百分位数
+     * 获取响应时间的百分位数；需要多个百分位时使用 {@link #responseTimeStatistics(List)} 只排序一次
      * @param responseTimes 响应时间列表
      * @param percentile    百分位（例如95表示P95）
      * @return 百分位值
@@ -689,14 +671,16 @@ public class DataUnitTests {
         if (responseTimes == null || responseTimes.isEmpty()) {
             return 0;
         }
+        return SampleStatistics.of(responseTimes).percentile(percentile);
+    }
 
-        List<Long> sorted = new ArrayList<>(responseTimes);
-        Collections.sort(sorted);
-
-        int index = (int) Math.ceil(percentile / 100.0 * sorted.size()) - 1;
-        index = Math.max(0, Math.min(index, sorted.size() - 1));
-
-        return sorted.get(index);
+    /**
+     * 响应时间统计：排序一次，可查询任意多个百分位、均值与标准差
+     * @param responseTimes 响应时间列表
+     * @return 统计结果
+     */
+    public static SampleStatistics responseTimeStatistics(List<Long> responseTimes) {
+        return SampleStatistics.of(responseTimes);
     }
 
     /**
@@ -772,24 +756,59 @@ public class DataUnitTests {
             String json = (String) response.getBody();
             JsonNode rootNode = objectMapper.readTree(json);
 
-            String[] pathParts = fieldPath.split("\\.");
-            JsonNode currentNode = rootNode;
+            JsonNode currentNode = findPath(rootNode, fieldPath);
+            return currentNode != null ? currentNode.asText() : null;
+        } catch (Exception e) {
+            if (MCUnitTests.getInstance().verbose) {
+                System.out.println("Error extracting field " + fieldPath + ": " + e.getMessage());
+            }
+            return null;
+        }
+    }
 
-            for (String part : pathParts) {
-                if (currentNode.has(part)) {
-                    currentNode = currentNode.get(part);
-                } else {
-                    return null;
+    /**
+     * 一次解析响应体，提取多个JSON字段的值（多步骤场景中每一步只解析一次响应体）
+     * @param response   api请求结果
+     * @param fieldPaths 变量名到字段路径的映射，路径以 . 分隔，数组元素使用下标，例如 data.items.0.id
+     * @return 变量名到字段值的映射，响应体不是JSON或字段不存在时不包含该变量
+     */
+    public static <T> Map<String, String> extractJsonFieldValues(ResponseEntity<T> response, Map<String, String> fieldPaths) {
+        Map<String, String> values = new HashMap<>();
+        if (response == null || response.getBody() == null || fieldPaths.isEmpty()) {
+            return values;
+        }
+        try {
+            JsonNode rootNode = objectMapper.readTree(String.valueOf(response.getBody()));
+            for (Map.Entry<String, String> field : fieldPaths.entrySet()) {
+                JsonNode node = findPath(rootNode, field.getValue());
+                if (node != null && !node.isNull()) {
+                    values.put(field.getKey(), node.isValueNode() ? node.asText() : node.toString());
                 }
             }
-
-            return currentNode.asText();
         } catch (Exception e) {
             if (MCUnitTests.getInstance().verbose) {
-                System.out.println("Error extracting field " + fieldPath + ": " + e.getMessage());
+                System.out.println("Error extracting fields " + fieldPaths.values() + ": " + e.getMessage());
             }
-            return null;
         }
+        return values;
+    }
+
+    /**
+     * 按 . 分隔的路径查找节点，数组节点按下标查找
+     */
+    private static JsonNode findPath(JsonNode rootNode, String fieldPath) {
+        JsonNode currentNode = rootNode;
+        for (String part : fieldPath.split("\\.")) {
+            JsonNode next = currentNode.get(part);
+            if (next == null && currentNode.isArray() && part.matches("\\d+")) {
+                next = currentNode.get(Integer.parseInt(part));
+            }
+            if (next == null) {
+                return null;
+            }
+            currentNode = next;
+        }
+        return currentNode;
     }
 
     /**
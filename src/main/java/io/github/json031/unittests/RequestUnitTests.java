@@ -1,21 +1,42 @@
 package io.github.json031.unittests;
 
+import io.github.json031.JavaBean.ConnectionPoolStats;
+import io.github.json031.JavaBean.DownloadResult;
+import io.github.json031.JavaBean.DownloadSegment;
+import io.github.json031.JavaBean.RequestTimings;
 import io.github.json031.JavaBean.RequestUnitTestsResult;
+import io.github.json031.JavaBean.SegmentedDownloadResult;
+import io.github.json031.JavaBean.UploadResult;
+import io.github.json031.transport.AsyncHttpEngine;
+import io.github.json031.transport.BodySink;
+import io.github.json031.transport.PhaseTimer;
+import io.github.json031.transport.PooledHttpTransport;
+import io.github.json031.transport.PreparedRequest;
+import io.github.json031.transport.QueryStrings;
+import io.github.json031.transport.ResponseBodyMode;
 import org.springframework.http.*;
-import org.springframework.http.client.ClientHttpRequestFactory;
-import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
-import org.springframework.http.client.SimpleClientHttpRequestFactory;
+import org.springframework.util.StreamUtils;
 import org.springframework.web.client.RestClientException;
 import org.springframework.web.client.RestTemplate;
 
 import java.io.File;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.RandomAccessFile;
 import java.net.URI;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
 import java.time.Instant;
 import java.util.*;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.concurrent.TimeUnit;
 
 /**
@@ -29,25 +50,52 @@ public class RequestUnitTests {
     private static final RequestUnitTests INSTANCE = new RequestUnitTests();
 
     /**
-     * 私有 RestTemplate 实例（默认配置）
+     * 连接池传输层（所有默认请求共享）
      */
-    private final RestTemplate restTemplate;
+    private volatile PooledHttpTransport transport;
+
+    /**
+     * 私有 RestTemplate 实例（默认配置，基于连接池）
+     */
+    private volatile RestTemplate restTemplate;
+
+    /**
+     * 不缓冲请求体的 RestTemplate（流式上传，基于连接池）
+     */
+    private volatile RestTemplate streamingRestTemplate;
 
     /**
      * 可配置的 RestTemplate 实例
      */
     private RestTemplate configurableRestTemplate;
 
+    /**
+     * 非阻塞异步引擎（首次异步请求时创建）
+     */
+    private volatile AsyncHttpEngine asyncEngine;
+
     /**
      * 默认超时时间（毫秒）
      */
     private static final int DEFAULT_TIMEOUT = 30000; // 30秒
 
+    /**
+     * 下载文件时的读写缓冲区大小（字节）
+     */
+    private static final int DOWNLOAD_BUFFER_SIZE = 64 * 1024;
+
+    /**
+     * 流式上传的默认缓冲区大小（字节）
+     */
+    public static final int DEFAULT_UPLOAD_BUFFER_SIZE = 64 * 1024;
+
     /**
      * 私有构造函数
      */
     private RequestUnitTests() {
-        this.restTemplate = new RestTemplate();
+        this.transport = new PooledHttpTransport(PooledHttpTransport.PoolConfig.defaults());
+        this.restTemplate = this.transport.createRestTemplate();
+        this.streamingRestTemplate = this.transport.createStreamingRestTemplate(DEFAULT_TIMEOUT, 0);
         this.configurableRestTemplate = createDefaultRestTemplate();
     }
 
@@ -61,11 +109,8 @@ public class RequestUnitTests {
     /**
      * 创建默认配置的 RestTemplate
      */
-    private static RestTemplate createDefaultRestTemplate() {
-        SimpleClientHttpRequestFactory factory = new SimpleClientHttpRequestFactory();
-        factory.setConnectTimeout(DEFAULT_TIMEOUT);
-        factory.setReadTimeout(DEFAULT_TIMEOUT);
-        return new RestTemplate(factory);
+    private RestTemplate createDefaultRestTemplate() {
+        return this.transport.createRestTemplate(DEFAULT_TIMEOUT, DEFAULT_TIMEOUT);
     }
 
     /**
@@ -74,10 +119,79 @@ public class RequestUnitTests {
      * @param readTimeout    读取超时（毫秒）
      */
     public void configureTimeout(int connectTimeout, int readTimeout) {
-        SimpleClientHttpRequestFactory factory = new SimpleClientHttpRequestFactory();
-        factory.setConnectTimeout(connectTimeout);
-        factory.setReadTimeout(readTimeout);
-        this.configurableRestTemplate = new RestTemplate(factory);
+        this.configurableRestTemplate = this.transport.createRestTemplate(connectTimeout, readTimeout);
+    }
+
+    /**
+     * 配置连接池（最大连接数、每路由最大连接数、空闲回收、保活时间），
+     * 旧连接池在仍在执行的请求归还连接后关闭
+     * @param poolConfig 连接池配置
+     */
+    public synchronized void configureConnectionPool(PooledHttpTransport.PoolConfig poolConfig) {
+        PooledHttpTransport oldTransport = this.transport;
+        this.transport = new PooledHttpTransport(poolConfig);
+        this.restTemplate = this.transport.createRestTemplate();
+        this.streamingRestTemplate = this.transport.createStreamingRestTemplate(DEFAULT_TIMEOUT, 0);
+        this.configurableRestTemplate = createDefaultRestTemplate();
+        try {
+            oldTransport.closeWhenIdle();
+        } catch (IOException e) {
+            // 旧连接池关闭失败不影响新连接池
+        }
+    }
+
+    /**
+     * 获取连接池传输层
+     */
+    public PooledHttpTransport getTransport() {
+        return this.transport;
+    }
+
+    /**
+     * 获取连接复用统计（新建连接数、复用连接数）
+     */
+    public ConnectionPoolStats getConnectionPoolStats() {
+        return this.transport.getStats();
+    }
+
+    /**
+     * 重置连接复用统计
+     */
+    public void resetConnectionPoolStats() {
+        this.transport.resetStats();
+    }
+
+    /**
+     * 配置非阻塞异步引擎（selector 线程数、最大在途连接数），旧引擎将被关闭
+     * @param asyncConfig 异步引擎配置
+     */
+    public synchronized void configureAsyncEngine(AsyncHttpEngine.AsyncConfig asyncConfig) {
+        AsyncHttpEngine oldEngine = this.asyncEngine;
+        this.asyncEngine = new AsyncHttpEngine(asyncConfig);
+        if (oldEngine != null) {
+            try {
+                oldEngine.close();
+            } catch (IOException e) {
+                // 旧引擎关闭失败不影响新引擎
+            }
+        }
+    }
+
+    /**
+     * 获取非阻塞异步引擎
+     */
+    public AsyncHttpEngine getAsyncEngine() {
+        AsyncHttpEngine engine = this.asyncEngine;
+        if (engine == null) {
+            synchronized (this) {
+                engine = this.asyncEngine;
+                if (engine == null) {
+                    engine = new AsyncHttpEngine(AsyncHttpEngine.AsyncConfig.defaults());
+                    this.asyncEngine = engine;
+                }
+            }
+        }
+        return engine;
     }
 
     /**
@@ -113,6 +227,74 @@ public class RequestUnitTests {
         return executeRequest(INSTANCE.restTemplate, url, method, params, headers, verbose, null);
     }
 
+    /**
+     * 请求 API（使用默认 RestTemplate），按指定模式处理响应体
+     *
+     * @param url           完整的 API 地址（包括 http/https）
+     * @param method        请求方式（GET / POST）
+     * @param params        请求参数（POST body 或 GET 查询参数）
+     * @param headers       请求头（可选）
+     * @param verbose       是否打印响应
+     * @param bodyMode      响应体处理模式，DISCARD / CHECKSUM 时不保留响应体，只统计字节数
+     * @return 响应数据
+     */
+    public static RequestUnitTestsResult requestWitRestTemplate(String url,
+                                                                HttpMethod method,
+                                                                Map<String, Object> params,
+                                                                Map<String, String> headers,
+                                                                boolean verbose,
+                                                                ResponseBodyMode bodyMode) {
+        return executeRequest(INSTANCE.restTemplate, url, method, params, headers, verbose, null, bodyMode);
+    }
+
+    /**
+     * 发送预编译请求（使用默认 RestTemplate），URL、请求头与请求体只在构建时编译一次
+     *
+     * @param request       预编译请求
+     * @param variables     占位符变量值（可选）
+     * @param verbose       是否打印响应
+     * @return 响应数据，URL 非法时为 null
+     */
+    public static RequestUnitTestsResult execute(PreparedRequest request,
+                                                 Map<String, String> variables,
+                                                 boolean verbose) {
+        return execute(request, variables, verbose, ResponseBodyMode.BUFFER);
+    }
+
+    /**
+     * 发送预编译请求（使用默认 RestTemplate），按指定模式处理响应体
+     *
+     * @param request       预编译请求
+     * @param variables     占位符变量值（可选）
+     * @param verbose       是否打印响应
+     * @param bodyMode      响应体处理模式
+     * @return 响应数据，URL 非法时为 null
+     */
+    public static RequestUnitTestsResult execute(PreparedRequest request,
+                                                 Map<String, String> variables,
+                                                 boolean verbose,
+                                                 ResponseBodyMode bodyMode) {
+        return executePrepared(INSTANCE.restTemplate, request.render(variables), verbose, bodyMode);
+    }
+
+    /**
+     * 发送预编译请求（使用默认 RestTemplate），变量取自请求绑定的变量来源
+     *
+     * @param request       预编译请求
+     * @param userId        虚拟用户编号
+     * @param iteration     该用户的第几次请求
+     * @param verbose       是否打印响应
+     * @param bodyMode      响应体处理模式
+     * @return 响应数据，URL 非法时为 null
+     */
+    public static RequestUnitTestsResult execute(PreparedRequest request,
+                                                 int userId,
+                                                 long iteration,
+                                                 boolean verbose,
+                                                 ResponseBodyMode bodyMode) {
+        return executePrepared(INSTANCE.restTemplate, request.render(userId, iteration), verbose, bodyMode);
+    }
+
     /**
      * 请求 API（使用可配置的 RestTemplate）
      *
@@ -309,7 +491,173 @@ public class RequestUnitTests {
     }
 
     /**
-     * 下载文件
+     * 流式上传文件：文件内容作为原始请求体，经固定大小的缓冲区从 FileChannel 直接写入连接，内存占用与文件大小无关
+     *
+     * @param url        请求地址
+     * @param file       文件
+     * @param method     请求方式（POST / PUT）
+     * @param headers    请求头，未指定 Content-Type 时使用 application/octet-stream
+     * @param chunked    是否使用分块传输编码（不发送 Content-Length）
+     * @param bufferSize 读写缓冲区大小（字节）
+     * @param verbose    是否打印响应
+     * @return 上传结果，URL 不合法时返回 null
+     */
+    public static UploadResult uploadFileStreaming(String url,
+                                                   File file,
+                                                   HttpMethod method,
+                                                   Map<String, String> headers,
+                                                   boolean chunked,
+                                                   int bufferSize,
+                                                   boolean verbose) {
+        return uploadFileStreaming(url, file, method, headers, chunked, bufferSize, verbose, ResponseBodyMode.BUFFER);
+    }
+
+    /**
+     * 流式上传文件，按指定模式处理响应体
+     *
+     * @param url        请求地址
+     * @param file       文件
+     * @param method     请求方式（POST / PUT）
+     * @param headers    请求头，未指定 Content-Type 时使用 application/octet-stream
+     * @param chunked    是否使用分块传输编码（不发送 Content-Length）
+     * @param bufferSize 读写缓冲区大小（字节）
+     * @param verbose    是否打印响应
+     * @param bodyMode   响应体处理模式，DISCARD / CHECKSUM 时不保留响应体，只统计字节数
+     * @return 上传结果，URL 不合法时返回 null
+     */
+    public static UploadResult uploadFileStreaming(String url,
+                                                   File file,
+                                                   HttpMethod method,
+                                                   Map<String, String> headers,
+                                                   boolean chunked,
+                                                   int bufferSize,
+                                                   boolean verbose,
+                                                   ResponseBodyMode bodyMode) {
+        if (!DataUnitTests.isValidUrl(url)) {
+            return null;
+        }
+        if (bufferSize <= 0) {
+            throw new IllegalArgumentException("bufferSize must be positive");
+        }
+
+        RestTemplate template = INSTANCE.streamingRestTemplate;
+        long fileLength = file.length();
+
+        Instant startTime = Instant.now();
+        long startNano = System.nanoTime();
+        long[] written = {0};
+        long[] bodySentNano = {0};
+
+        ResponseEntity<String> response = null;
+        String errorMessage = null;
+        int statusCode = 0;
+        boolean isSuccess = false;
+        int responseSizeBytes = 0;
+        String responseChecksum = null;
+        long threadId = Thread.currentThread().getId();
+        BodySink sink = BodySink.forMode(bodyMode);
+
+        PhaseTimer phaseTimer = PhaseTimer.start();
+        try {
+            response = template.execute(url, method, request -> {
+                HttpHeaders requestHeaders = request.getHeaders();
+                requestHeaders.setContentType(MediaType.APPLICATION_OCTET_STREAM);
+                if (headers != null) {
+                    headers.forEach(requestHeaders::set);
+                }
+                if (!chunked) {
+                    requestHeaders.setContentLength(fileLength);
+                }
+                if (request instanceof StreamingHttpOutputMessage) {
+                    ((StreamingHttpOutputMessage) request).setBody(out -> {
+                        written[0] = copyFile(file, out, bufferSize);
+                        bodySentNano[0] = System.nanoTime();
+                    });
+                } else {
+                    written[0] = copyFile(file, request.getBody(), bufferSize);
+                    bodySentNano[0] = System.nanoTime();
+                }
+            }, clientResponse -> {
+                // 响应体字节数在读取时统计，BUFFER 模式才解码为字符串
+                String responseBody = null;
+                if (bodyMode == ResponseBodyMode.BUFFER) {
+                    byte[] bytes = StreamUtils.copyToByteArray(clientResponse.getBody());
+                    sink.update(bytes, 0, bytes.length);
+                    responseBody = new String(bytes, StandardCharsets.UTF_8);
+                } else {
+                    sink.drain(clientResponse.getBody());
+                }
+                return ResponseEntity.status(clientResponse.getRawStatusCode())
+                        .headers(clientResponse.getHeaders())
+                        .body(responseBody);
+            });
+
+            if (response != null) {
+                statusCode = response.getStatusCodeValue();
+                isSuccess = response.getStatusCode().is2xxSuccessful();
+                responseSizeBytes = (int) Math.min(Integer.MAX_VALUE, sink.getBytes());
+                responseChecksum = sink.checksumHex();
+            }
+            if (verbose && response != null) {
+                System.out.println("Upload Response [" + statusCode + "]: " + (bodyMode != ResponseBodyMode.BUFFER
+                        ? "<" + responseSizeBytes + " bytes discarded>"
+                        : response.getBody()));
+            }
+        } catch (Exception e) {
+            errorMessage = e.getMessage();
+            if (e instanceof org.springframework.web.client.HttpStatusCodeException) {
+                statusCode = ((org.springframework.web.client.HttpStatusCodeException) e).getRawStatusCode();
+            }
+            if (verbose) {
+                System.out.println("Upload failed: " + errorMessage);
+            }
+        }
+
+        long endNano = System.nanoTime();
+        RequestTimings timings = phaseTimer.finish(endNano);
+        long durationNanos = endNano - startNano;
+
+        RequestUnitTestsResult result = new RequestUnitTestsResult(
+                durationNanos / 1_000_000,
+                response,
+                statusCode,
+                isSuccess,
+                errorMessage,
+                url,
+                method.name(),
+                responseSizeBytes,
+                startTime,
+                Instant.now(),
+                threadId,
+                durationNanos,
+                timings,
+                responseChecksum
+        );
+        long bodySentNanos = bodySentNano[0] > 0 ? bodySentNano[0] - startNano : 0;
+        return new UploadResult(result, written[0], chunked, bodySentNanos, durationNanos);
+    }
+
+    /**
+     * 将文件经固定大小的缓冲区按位置从 FileChannel 读出并写入输出流
+     */
+    private static long copyFile(File file, OutputStream out, int bufferSize) throws IOException {
+        byte[] buffer = new byte[bufferSize];
+        ByteBuffer view = ByteBuffer.wrap(buffer);
+        long position = 0;
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+            int read;
+            while ((read = channel.read(view, position)) != -1) {
+                out.write(buffer, 0, read);
+                position += read;
+                view.clear();
+            }
+        }
+        out.flush();
+        return position;
+    }
+
+    /**
+     * 下载文件（以流方式写入文件，内存占用与文件大小无关）
      *
      * @param url        请求地址
      * @param savePath   保存路径
@@ -321,6 +669,25 @@ public class RequestUnitTests {
                                                       String savePath,
                                                       Map<String, String> headers,
                                                       boolean verbose) {
+        DownloadResult download = download(url, savePath, headers, null, verbose);
+        return download != null ? download.result : null;
+    }
+
+    /**
+     * 以流方式下载文件：响应体经固定大小的缓冲区直接写入 FileChannel，并统计吞吐量、首字节时间与校验和
+     *
+     * @param url               请求地址
+     * @param savePath          保存路径
+     * @param headers           请求头
+     * @param checksumAlgorithm 校验和算法（CRC32、SHA-256、MD5 等），null 表示不计算
+     * @param verbose           是否打印响应
+     * @return 下载结果，URL 不合法时返回 null
+     */
+    public static DownloadResult download(String url,
+                                          String savePath,
+                                          Map<String, String> headers,
+                                          String checksumAlgorithm,
+                                          boolean verbose) {
         if (!DataUnitTests.isValidUrl(url)) {
             return null;
         }
@@ -329,72 +696,293 @@ public class RequestUnitTests {
         if (headers != null) {
             headers.forEach(httpHeaders::set);
         }
-
         HttpEntity<String> entity = new HttpEntity<>(httpHeaders);
+        RestTemplate template = INSTANCE.restTemplate;
+        BodySink sink = BodySink.of(checksumAlgorithm);
+        Path target = new File(savePath).toPath();
 
         Instant startTime = Instant.now();
         long startNano = System.nanoTime();
+        long[] headersNano = {0};
 
-        ResponseEntity<byte[]> response = null;
+        ResponseEntity<String> response = null;
         String errorMessage = null;
         int statusCode = 0;
         boolean isSuccess = false;
-        int responseSizeBytes = 0;
         long threadId = Thread.currentThread().getId();
 
+        PhaseTimer phaseTimer = PhaseTimer.start();
         try {
-            response = INSTANCE.restTemplate.exchange(url, HttpMethod.GET, entity, byte[].class);
+            response = template.execute(url, HttpMethod.GET, template.httpEntityCallback(entity, byte[].class),
+                    clientResponse -> {
+                        headersNano[0] = System.nanoTime();
+                        try (FileChannel channel = FileChannel.open(target, StandardOpenOption.CREATE,
+                                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+                            writeToChannel(clientResponse.getBody(), channel, 0, sink);
+                        }
+                        return ResponseEntity.status(clientResponse.getRawStatusCode())
+                                .headers(clientResponse.getHeaders())
+                                .body("Binary file downloaded (" + sink.getBytes() + " bytes)");
+                    });
 
-            if (response != null && response.getBody() != null) {
+            if (response != null) {
                 statusCode = response.getStatusCodeValue();
                 isSuccess = response.getStatusCode().is2xxSuccessful();
-                responseSizeBytes = response.getBody().length;
-
-                // 保存文件
-                Files.write(new File(savePath).toPath(), response.getBody());
-
                 if (verbose) {
                     System.out.println("File downloaded successfully to: " + savePath);
                 }
             }
         } catch (Exception e) {
             errorMessage = e.getMessage();
+            if (e instanceof org.springframework.web.client.HttpStatusCodeException) {
+                statusCode = ((org.springframework.web.client.HttpStatusCodeException) e).getRawStatusCode();
+            }
+            if (headersNano[0] > 0) {
+                // 传输中断时不保留不完整的文件
+                deleteQuietly(target);
+            }
             if (verbose) {
                 System.out.println("Download failed: " + errorMessage);
             }
         }
 
         long endNano = System.nanoTime();
-        long durationMillis = (endNano - startNano) / 1_000_000;
-        Instant endTime = Instant.now();
-
-        // 将byte[]响应转换为String类型（用于兼容）
-        ResponseEntity<String> stringResponse = null;
-        if (response != null) {
-            stringResponse = new ResponseEntity<>(
-                    "Binary file downloaded (" + responseSizeBytes + " bytes)",
-                    response.getHeaders(),
-                    response.getStatusCode()
-            );
-        }
+        RequestTimings timings = phaseTimer.finish(endNano);
+        long durationNanos = endNano - startNano;
+        String checksum = isSuccess ? sink.checksumHex() : null;
 
-        return new RequestUnitTestsResult(
-                durationMillis,
-                stringResponse,
+        RequestUnitTestsResult result = new RequestUnitTestsResult(
+                durationNanos / 1_000_000,
+                response,
                 statusCode,
                 isSuccess,
                 errorMessage,
                 url,
                 HttpMethod.GET.name(),
-                responseSizeBytes,
+                (int) Math.min(Integer.MAX_VALUE, sink.getBytes()),
                 startTime,
-                endTime,
-                threadId
+                Instant.now(),
+                threadId,
+                durationNanos,
+                timings,
+                checksum
         );
+        long ttfbNanos = headersNano[0] > 0 ? headersNano[0] - startNano : RequestTimings.NOT_MEASURED;
+        return new DownloadResult(result, savePath, sink.getBytes(), ttfbNanos, durationNanos,
+                checksum != null ? checksumAlgorithm : null, checksum);
+    }
+
+    /**
+     * 分段并行下载：按 HTTP Range 将文件拆分为多个分段，经并行连接写入预分配文件的对应位置。
+     * 服务端未声明 Accept-Ranges 或文件大小未知时退化为单连接流式下载
+     *
+     * @param url               请求地址
+     * @param savePath          保存路径
+     * @param segmentCount      分段数（并行连接数）
+     * @param headers           请求头
+     * @param checksumAlgorithm 整个文件的校验和算法（CRC32、SHA-256、MD5 等），null 表示不计算
+     * @param verbose           是否打印响应
+     * @return 分段下载结果，URL 不合法时返回 null
+     */
+    public static SegmentedDownloadResult downloadFileSegmented(String url,
+                                                                String savePath,
+                                                                int segmentCount,
+                                                                Map<String, String> headers,
+                                                                String checksumAlgorithm,
+                                                                boolean verbose) {
+        if (!DataUnitTests.isValidUrl(url)) {
+            return null;
+        }
+        if (segmentCount < 1) {
+            throw new IllegalArgumentException("segmentCount must be at least 1");
+        }
+
+        HttpHeaders httpHeaders = new HttpHeaders();
+        if (headers != null) {
+            headers.forEach(httpHeaders::set);
+        }
+        RestTemplate template = INSTANCE.restTemplate;
+        long startNano = System.nanoTime();
+
+        // 先用 HEAD 请求探测文件大小与是否支持 Range
+        long contentLength = -1;
+        boolean rangeSupported = false;
+        try {
+            HttpHeaders probe = template.exchange(url, HttpMethod.HEAD, new HttpEntity<>(httpHeaders), Void.class)
+                    .getHeaders();
+            contentLength = probe.getContentLength();
+            rangeSupported = contentLength > 0 && "bytes".equalsIgnoreCase(probe.getFirst(HttpHeaders.ACCEPT_RANGES));
+        } catch (Exception e) {
+            if (verbose) {
+                System.out.println("Range probe failed, falling back to a single stream: " + e.getMessage());
+            }
+        }
+
+        if (!rangeSupported) {
+            DownloadResult single = download(url, savePath, headers, checksumAlgorithm, verbose);
+            DownloadSegment segment = new DownloadSegment(0, 0, single.bytes, single.bytes,
+                    single.result.statusCode, single.result.isSuccess, single.result.errorMessage,
+                    single.ttfbNanos, single.durationNanos);
+            return new SegmentedDownloadResult(url, savePath, contentLength, false,
+                    Collections.singletonList(segment), System.nanoTime() - startNano,
+                    single.checksumAlgorithm, single.checksum);
+        }
+
+        int count = (int) Math.min(segmentCount, contentLength);
+        Path target = new File(savePath).toPath();
+        List<DownloadSegment> segments = new ArrayList<>(count);
+        String errorMessage = null;
+        try (RandomAccessFile file = new RandomAccessFile(target.toFile(), "rw")) {
+            // 预分配文件，各分段按位置并发写入同一个 FileChannel
+            file.setLength(contentLength);
+            FileChannel channel = file.getChannel();
+            ExecutorService workers = Executors.newFixedThreadPool(count);
+            try {
+                List<Future<DownloadSegment>> futures = new ArrayList<>(count);
+                for (int i = 0; i < count; i++) {
+                    int index = i;
+                    long offset = contentLength * i / count;
+                    long length = contentLength * (i + 1) / count - offset;
+                    futures.add(workers.submit(() ->
+                            downloadSegment(template, url, httpHeaders, channel, index, offset, length)));
+                }
+                for (Future<DownloadSegment> future : futures) {
+                    segments.add(future.get());
+                }
+            } finally {
+                workers.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            errorMessage = "Interrupted";
+        } catch (Exception e) {
+            // 文件无法创建或写入等整体失败，segments 只保留已完成的 Range 请求
+            errorMessage = e.getMessage() != null ? e.getMessage() : e.getClass().getName();
+        }
+        long durationNanos = System.nanoTime() - startNano;
+
+        SegmentedDownloadResult result = new SegmentedDownloadResult(url, savePath, contentLength, true,
+                segments, durationNanos, null, null, errorMessage);
+        if (!result.isSuccess()) {
+            deleteQuietly(target);
+            if (verbose) {
+                System.out.println("Segmented download failed: " + result);
+            }
+            return result;
+        }
+
+        String checksum = null;
+        if (checksumAlgorithm != null) {
+            // 分段乱序到达，校验和在文件写完后顺序读取计算
+            try {
+                checksum = checksumOf(target, checksumAlgorithm);
+            } catch (IOException e) {
+                if (verbose) {
+                    System.out.println("Checksum failed: " + e.getMessage());
+                }
+            }
+        }
+        if (verbose) {
+            System.out.println("File downloaded successfully to: " + savePath);
+        }
+        return new SegmentedDownloadResult(url, savePath, contentLength, true, segments, durationNanos,
+                checksum != null ? checksumAlgorithm : null, checksum);
+    }
+
+    /**
+     * 下载一个 Range 分段并写入文件的对应位置
+     */
+    private static DownloadSegment downloadSegment(RestTemplate template,
+                                                   String url,
+                                                   HttpHeaders baseHeaders,
+                                                   FileChannel channel,
+                                                   int index,
+                                                   long offset,
+                                                   long length) {
+        HttpHeaders rangeHeaders = new HttpHeaders();
+        rangeHeaders.putAll(baseHeaders);
+        rangeHeaders.set(HttpHeaders.RANGE, "bytes=" + offset + "-" + (offset + length - 1));
+
+        long startNano = System.nanoTime();
+        long[] headersNano = {0};
+        long[] written = {0};
+        int[] statusCode = {0};
+        String errorMessage = null;
+        try {
+            template.execute(url, HttpMethod.GET,
+                    template.httpEntityCallback(new HttpEntity<>(rangeHeaders), byte[].class),
+                    clientResponse -> {
+                        headersNano[0] = System.nanoTime();
+                        statusCode[0] = clientResponse.getRawStatusCode();
+                        if (statusCode[0] != HttpStatus.PARTIAL_CONTENT.value()) {
+                            throw new IOException("Server ignored the Range request, status " + statusCode[0]);
+                        }
+                        written[0] = writeToChannel(clientResponse.getBody(), channel, offset, BodySink.counting());
+                        return null;
+                    });
+        } catch (org.springframework.web.client.HttpStatusCodeException e) {
+            statusCode[0] = e.getRawStatusCode();
+            errorMessage = e.getMessage();
+        } catch (Exception e) {
+            errorMessage = e.getMessage();
+        }
+        long endNano = System.nanoTime();
+
+        boolean isSuccess = errorMessage == null && written[0] == length;
+        if (errorMessage == null && !isSuccess) {
+            errorMessage = "Expected " + length + " bytes but received " + written[0];
+        }
+        long ttfbNanos = headersNano[0] > 0 ? headersNano[0] - startNano : RequestTimings.NOT_MEASURED;
+        return new DownloadSegment(index, offset, length, written[0], statusCode[0], isSuccess, errorMessage,
+                ttfbNanos, endNano - startNano);
+    }
+
+    /**
+     * 顺序读取文件计算校验和
+     */
+    private static String checksumOf(Path path, String algorithm) throws IOException {
+        BodySink sink = BodySink.of(algorithm);
+        try (InputStream in = Files.newInputStream(path)) {
+            sink.drain(in);
+        }
+        return sink.checksumHex();
+    }
+
+    private static void deleteQuietly(Path path) {
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException ignore) {
+        }
+    }
+
+    /**
+     * 将输入流经固定大小的缓冲区写入文件通道的指定位置（按位置写入，不依赖通道当前位置）
+     * @param in       输入流
+     * @param channel  文件通道
+     * @param position 起始写入位置
+     * @param sink     字节计数与校验
+     * @return 写入的字节数
+     */
+    static long writeToChannel(InputStream in, FileChannel channel, long position, BodySink sink) throws IOException {
+        if (in == null) {
+            return 0;
+        }
+        byte[] buffer = new byte[DOWNLOAD_BUFFER_SIZE];
+        ByteBuffer view = ByteBuffer.wrap(buffer);
+        long written = 0;
+        int read;
+        while ((read = in.read(buffer)) != -1) {
+            sink.update(buffer, 0, read);
+            view.clear().limit(read);
+            while (view.hasRemaining()) {
+                written += channel.write(view, position + written);
+            }
+        }
+        return written;
     }
 
     /**
-     * 异步请求
+     * 异步请求（非阻塞 I/O，不占用调用线程或公共线程池）
      *
      * @param url     请求地址
      * @param method  请求方式
@@ -408,9 +996,31 @@ public class RequestUnitTests {
                                                                          Map<String, Object> params,
                                                                          Map<String, String> headers,
                                                                          boolean verbose) {
-        return CompletableFuture.supplyAsync(() ->
-                requestWitRestTemplate(url, method, params, headers, verbose)
-        );
+        //校验 URL 是否合法
+        if (!DataUnitTests.isValidUrl(url)) {
+            return CompletableFuture.completedFuture(null);
+        }
+        return INSTANCE.getAsyncEngine().execute(url, method, params, headers, verbose);
+    }
+
+    /**
+     * 异步发送预编译请求（非阻塞 I/O）
+     *
+     * @param request   预编译请求
+     * @param userId    虚拟用户编号
+     * @param iteration 该用户的第几次请求
+     * @param verbose   是否打印响应
+     * @return CompletableFuture包装的响应数据，URL 非法时为 null
+     */
+    public static CompletableFuture<RequestUnitTestsResult> requestAsync(PreparedRequest request,
+                                                                         int userId,
+                                                                         long iteration,
+                                                                         boolean verbose) {
+        PreparedRequest.Rendered rendered = request.render(userId, iteration);
+        if (rendered == null) {
+            return CompletableFuture.completedFuture(null);
+        }
+        return INSTANCE.getAsyncEngine().execute(rendered, verbose);
     }
 
     /**
@@ -598,11 +1208,8 @@ public class RequestUnitTests {
                                                             Map<String, String> headers,
                                                             long timeoutMs,
                                                             boolean verbose) {
-        // 创建临时的 RestTemplate 配置
-        SimpleClientHttpRequestFactory factory = new SimpleClientHttpRequestFactory();
-        factory.setConnectTimeout((int) timeoutMs);
-        factory.setReadTimeout((int) timeoutMs);
-        RestTemplate tempRestTemplate = new RestTemplate(factory);
+        // 创建临时的 RestTemplate 配置（共享连接池）
+        RestTemplate tempRestTemplate = INSTANCE.transport.createRestTemplate((int) timeoutMs, (int) timeoutMs);
 
         return executeRequest(tempRestTemplate, url, method, params, headers, verbose, null);
     }
@@ -663,6 +1270,20 @@ public class RequestUnitTests {
                                                          Map<String, String> headers,
                                                          boolean verbose,
                                                          MediaType contentType) {
+        return executeRequest(template, url, method, params, headers, verbose, contentType, ResponseBodyMode.BUFFER);
+    }
+
+    /**
+     * 核心执行方法 - 执行HTTP请求，按指定模式处理响应体
+     */
+    private static RequestUnitTestsResult executeRequest(RestTemplate template,
+                                                         String url,
+                                                         HttpMethod method,
+                                                         Map<String, Object> params,
+                                                         Map<String, String> headers,
+                                                         boolean verbose,
+                                                         MediaType contentType,
+                                                         ResponseBodyMode bodyMode) {
         //校验 URL 是否合法
         if (!DataUnitTests.isValidUrl(url)) {
             return null;
@@ -683,17 +1304,14 @@ public class RequestUnitTests {
 
         if (method == HttpMethod.GET && params != null && !params.isEmpty()) {
             // 拼接 GET 参数
-            StringBuilder queryBuilder = new StringBuilder(url);
-            queryBuilder.append(url.contains("?") ? "&" : "?");
-            params.forEach((key, value) -> queryBuilder.append(key).append("=").append(value).append("&"));
-            finalUrl = queryBuilder.substring(0, queryBuilder.length() - 1); // 去掉最后一个 &
+            finalUrl = QueryStrings.appendQueryParams(url, params);
             entity = new HttpEntity<>(httpHeaders);
         } else {
             // POST/PUT/PATCH 请求体（可为 null）
             entity = new HttpEntity<>(params, httpHeaders);
         }
 
-        return executeRequestWithEntity(template, finalUrl, method, entity, verbose);
+        return executeRequestWithEntity(template, finalUrl, method, entity, verbose, bodyMode);
     }
 
     /**
@@ -722,6 +1340,22 @@ public class RequestUnitTests {
         return executeRequestWithEntity(template, url, method, entity, verbose);
     }
 
+    /**
+     * 发送渲染后的预编译请求，地址已编码，请求体为字节数组
+     */
+    private static RequestUnitTestsResult executePrepared(RestTemplate template,
+                                                          PreparedRequest.Rendered rendered,
+                                                          boolean verbose,
+                                                          ResponseBodyMode bodyMode) {
+        if (rendered == null) {
+            return null;
+        }
+        HttpEntity<?> entity = rendered.body != null
+                ? new HttpEntity<>(rendered.body, rendered.headers)
+                : new HttpEntity<>(rendered.headers);
+        return executeRequestWithEntity(template, rendered.url, rendered.uri, rendered.method, entity, verbose, bodyMode);
+    }
+
     /**
      * 使用HttpEntity执行请求
      */
@@ -730,6 +1364,31 @@ public class RequestUnitTests {
                                                                    HttpMethod method,
                                                                    HttpEntity<?> entity,
                                                                    boolean verbose) {
+        return executeRequestWithEntity(template, url, method, entity, verbose, ResponseBodyMode.BUFFER);
+    }
+
+    /**
+     * 使用HttpEntity执行请求，DISCARD / CHECKSUM 模式下响应体以流方式读入计数器，不解码为字符串
+     */
+    private static RequestUnitTestsResult executeRequestWithEntity(RestTemplate template,
+                                                                   String url,
+                                                                   HttpMethod method,
+                                                                   HttpEntity<?> entity,
+                                                                   boolean verbose,
+                                                                   ResponseBodyMode bodyMode) {
+        return executeRequestWithEntity(template, url, null, method, entity, verbose, bodyMode);
+    }
+
+    /**
+     * 使用HttpEntity执行请求，uri 不为空时直接使用已编码的地址，否则按 RestTemplate 的规则编码 url
+     */
+    private static RequestUnitTestsResult executeRequestWithEntity(RestTemplate template,
+                                                                   String url,
+                                                                   URI uri,
+                                                                   HttpMethod method,
+                                                                   HttpEntity<?> entity,
+                                                                   boolean verbose,
+                                                                   ResponseBodyMode bodyMode) {
         Instant startTime = Instant.now();
         long startNano = System.nanoTime();
 
@@ -741,26 +1400,56 @@ public class RequestUnitTests {
         String methodStr = method.name();
         long threadId = Thread.currentThread().getId();
 
+        String responseChecksum = null;
+        BodySink sink = bodyMode == ResponseBodyMode.BUFFER ? null : BodySink.forMode(bodyMode);
+
+        PhaseTimer phaseTimer = PhaseTimer.start();
         try {
-            response = template.exchange(url, method, entity, String.class);
+            URI target = uri != null ? uri : template.getUriTemplateHandler().expand(url);
+            if (sink == null) {
+                response = template.exchange(target, method, entity, String.class);
+            } else {
+                response = template.execute(target, method, template.httpEntityCallback(entity), clientResponse -> {
+                    sink.drain(clientResponse.getBody());
+                    return ResponseEntity.status(clientResponse.getRawStatusCode())
+                            .headers(clientResponse.getHeaders())
+                            .build();
+                });
+            }
 
             if (response != null) {
                 statusCode = response.getStatusCodeValue();
                 isSuccess = response.getStatusCode().is2xxSuccessful();
-                if (response.getBody() != null) {
+                if (sink != null) {
+                    responseSizeBytes = (int) Math.min(Integer.MAX_VALUE, sink.getBytes());
+                    responseChecksum = sink.checksumHex();
+                } else if (response.getBody() != null) {
                     responseSizeBytes = response.getBody().getBytes(StandardCharsets.UTF_8).length;
                 }
             }
 
             if (verbose && response != null) {
-                System.out.println("API Response [" + statusCode + "]: " + response.getBody());
+                System.out.println("API Response [" + statusCode + "]: " + (sink != null
+                        ? "<" + responseSizeBytes + " bytes discarded>"
+                        : response.getBody()));
             }
 
         } catch (RestClientException e) {
             errorMessage = e.getMessage();
-            // 尝试从异常中提取状态码
+            // 错误响应保留状态码、响应头与响应体，失败样本据此还原现场
             if (e instanceof org.springframework.web.client.HttpStatusCodeException) {
-                statusCode = ((org.springframework.web.client.HttpStatusCodeException) e).getRawStatusCode();
+                org.springframework.web.client.HttpStatusCodeException statusException =
+                        (org.springframework.web.client.HttpStatusCodeException) e;
+                statusCode = statusException.getRawStatusCode();
+                byte[] errorBody = statusException.getResponseBodyAsByteArray();
+                response = ResponseEntity.status(statusCode)
+                        .headers(statusException.getResponseHeaders())
+                        .body(statusException.getResponseBodyAsString());
+                responseSizeBytes = errorBody.length;
+                if (sink != null) {
+                    sink.update(errorBody, 0, errorBody.length);
+                    responseChecksum = sink.checksumHex();
+                }
             }
             if (verbose) {
                 System.out.println("API call failed for: " + url + " with error: " + errorMessage);
@@ -773,7 +1462,9 @@ public class RequestUnitTests {
         }
 
         long endNano = System.nanoTime();
-        long durationMillis = (endNano - startNano) / 1_000_000;
+        RequestTimings timings = phaseTimer.finish(endNano);
+        long durationNanos = endNano - startNano;
+        long durationMillis = durationNanos / 1_000_000;
         Instant endTime = Instant.now();
 
         return new RequestUnitTestsResult(
@@ -787,7 +1478,10 @@ public class RequestUnitTests {
                 responseSizeBytes,
                 startTime,
                 endTime,
-                threadId
+                threadId,
+                durationNanos,
+                timings,
+                responseChecksum
         );
     }
 
@@ -0,0 +1,27 @@
+package io.github.json031.load;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Virtual thread support, Java 21 version.
+ */
+public final class VirtualThreads {
+
+    private VirtualThreads() {
+    }
+
+    /**
+     * 当前 JVM 是否支持虚拟线程
+     */
+    public static boolean isSupported() {
+        return true;
+    }
+
+    /**
+     * 创建每个任务一个虚拟线程的执行器
+     */
+    public static ExecutorService newVirtualThreadPerTaskExecutor() {
+        return Executors.newVirtualThreadPerTaskExecutor();
+    }
+}
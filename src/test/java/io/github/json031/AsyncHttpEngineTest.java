@@ -0,0 +1,66 @@
+package io.github.json031;
+
+import io.github.json031.JavaBean.HighConcurrencyResult;
+import io.github.json031.JavaBean.RequestUnitTestsResult;
+import io.github.json031.apitests.MCHighConcurrencyTests;
+import io.github.json031.transport.AsyncHttpEngine;
+import io.github.json031.unittests.RequestUnitTests;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpMethod;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class AsyncHttpEngineTest {
+
+    @Test
+    public void testRequestAsyncReturnsSameResultShape() throws Exception {
+        try (LocalHttpServer server = new LocalHttpServer()) {
+            Map<String, Object> params = new HashMap<>();
+            params.put("id", 2);
+            RequestUnitTestsResult result = RequestUnitTests.requestAsync(server.url("/ping"), HttpMethod.GET, params, null, false).get();
+            assertTrue(result.isSuccess);
+            assertEquals(200, result.statusCode);
+            assertEquals("{\"pong\":true}", result.response.getBody());
+            assertEquals(server.url("/ping") + "?id=2", result.requestUrl);
+            assertEquals(13, result.responseSizeBytes);
+
+            RequestUnitTestsResult notFound = RequestUnitTests.requestAsync(server.url("/missing"), HttpMethod.GET, null, null, false).get();
+            assertFalse(notFound.isSuccess);
+            assertEquals(404, notFound.statusCode);
+
+            assertNull(RequestUnitTests.requestAsync("url", HttpMethod.GET, null, null, false).get());
+
+            HighConcurrencyResult invalid = new MCHighConcurrencyTests()
+                    .asyncConcurrencyTest("url", 5, 2, HttpMethod.GET, null, null, 5000, false);
+            assertEquals(0, invalid.success);
+            assertEquals(5, invalid.failed);
+            assertFalse(invalid.exemplars.failures.isEmpty());
+        }
+    }
+
+    @Test
+    public void testManyRequestsInFlightOnFewThreads() throws Exception {
+        try (LocalHttpServer server = new LocalHttpServer();
+             AsyncHttpEngine engine = new AsyncHttpEngine(AsyncHttpEngine.AsyncConfig.defaults().ioThreads(2))) {
+            List<String> urls = new ArrayList<>(Collections.nCopies(200, server.url("/ping")));
+            List<RequestUnitTestsResult> results = RequestUnitTests.batchRequestParallel(urls, HttpMethod.GET, null, false);
+            assertEquals(200, results.size());
+            assertTrue(results.stream().allMatch(r -> r.isSuccess));
+
+            RequestUnitTestsResult posted = engine.execute(server.url("/ping"), HttpMethod.POST, Collections.singletonMap("k", "v"), null, false).get();
+            assertTrue(posted.isSuccess);
+            assertEquals(0, engine.getInFlight());
+
+            HighConcurrencyResult concurrencyResult = new MCHighConcurrencyTests()
+                    .asyncConcurrencyTest(server.url("/ping"), 500, 100, HttpMethod.GET, null, null, 10000, false);
+            assertEquals(500, concurrencyResult.total);
+            assertEquals(500, concurrencyResult.success);
+        }
+    }
+}
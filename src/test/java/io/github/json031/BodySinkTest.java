@@ -0,0 +1,108 @@
+package io.github.json031;
+
+import io.github.json031.JavaBean.RequestUnitTestsResult;
+import io.github.json031.apitests.MCHighConcurrencyTests;
+import io.github.json031.transport.BodySink;
+import io.github.json031.transport.ResponseBodyMode;
+import io.github.json031.unittests.RequestUnitTests;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpMethod;
+
+import java.io.ByteArrayInputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.CRC32;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class BodySinkTest {
+
+    private static final int BODY_SIZE = 1024 * 1024 + 7;
+
+    private LocalHttpServer server;
+    private byte[] body;
+
+    @BeforeEach
+    public void startServer() throws Exception {
+        body = new byte[BODY_SIZE];
+        for (int i = 0; i < body.length; i++) {
+            body[i] = (byte) ('a' + i % 26);
+        }
+        server = new LocalHttpServer().handle("/large", exchange -> {
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream os = exchange.getResponseBody()) {
+                os.write(body);
+            }
+        });
+    }
+
+    @AfterEach
+    public void stopServer() {
+        server.close();
+    }
+
+    @Test
+    public void testCountingAndChecksums() throws Exception {
+        byte[] data = "abc".getBytes(StandardCharsets.UTF_8);
+
+        BodySink counting = BodySink.counting();
+        assertEquals(3, counting.drain(new ByteArrayInputStream(data)));
+        assertFalse(counting.hasChecksum());
+        assertNull(counting.checksumHex());
+
+        BodySink crc = BodySink.crc32();
+        crc.update(ByteBuffer.wrap(data));
+        assertEquals(3, crc.getBytes());
+        assertEquals("352441c2", crc.checksumHex());
+
+        BodySink sha = BodySink.digest("SHA-256");
+        sha.update(data, 0, 1);
+        sha.update(data, 1, 2);
+        assertEquals("ba7816bf8f01cfea414140de5dae2223b00361a396177a9cb410ff61f20015ad", sha.checksumHex());
+
+        assertThrows(IllegalArgumentException.class, () -> BodySink.digest("NO-SUCH-DIGEST"));
+        assertEquals(0, BodySink.counting().drain(null));
+    }
+
+    @Test
+    public void testDiscardModeCountsWithoutKeepingBody() {
+        String url = server.url("/large");
+        RequestUnitTestsResult buffered = RequestUnitTests.requestWitRestTemplate(url, HttpMethod.GET, null, null, false);
+        RequestUnitTestsResult discarded = RequestUnitTests.requestWitRestTemplate(
+                url, HttpMethod.GET, null, null, false, ResponseBodyMode.DISCARD);
+
+        assertTrue(discarded.isSuccess);
+        assertEquals(200, discarded.statusCode);
+        assertEquals(BODY_SIZE, buffered.responseSizeBytes);
+        assertEquals(BODY_SIZE, discarded.responseSizeBytes);
+        assertNull(discarded.response.getBody());
+        assertNull(discarded.responseChecksum);
+        assertEquals(String.valueOf(BODY_SIZE), discarded.response.getHeaders().getFirst("Content-Length"));
+    }
+
+    @Test
+    public void testChecksumModeMatchesBody() {
+        RequestUnitTestsResult result = RequestUnitTests.requestWitRestTemplate(
+                server.url("/large"), HttpMethod.GET, null, null, false, ResponseBodyMode.CHECKSUM);
+        CRC32 expected = new CRC32();
+        expected.update(body);
+        assertEquals(BODY_SIZE, result.responseSizeBytes);
+        assertEquals(String.format("%08x", expected.getValue()), result.responseChecksum);
+    }
+
+    @Test
+    public void testLoadTestBodyModeIsConfigurable() {
+        MCHighConcurrencyTests tests = new MCHighConcurrencyTests();
+        tests.responseBodyMode = ResponseBodyMode.DISCARD;
+        MCHighConcurrencyTests.DetailedConcurrencyResult result = tests.detailedConcurrencyTest(
+                server.url("/large"), 4, HttpMethod.GET, null, null, false);
+        assertEquals(4, result.successCount);
+        for (RequestUnitTestsResult each : result.results) {
+            assertEquals(BODY_SIZE, each.responseSizeBytes);
+        }
+        assertEquals(0, result.failCount);
+    }
+}
@@ -0,0 +1,85 @@
+package io.github.json031;
+
+import io.github.json031.JavaBean.BurstResult;
+import io.github.json031.apitests.MCHighConcurrencyTests;
+import io.github.json031.load.ExecutionMode;
+import io.github.json031.load.LoadGeneratorRuntime;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpMethod;
+
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class BurstConcurrencyTest {
+
+    @Test
+    public void testAllRequestsAreInFlightTogether() throws Exception {
+        AtomicInteger serverActive = new AtomicInteger();
+        AtomicInteger serverPeak = new AtomicInteger();
+        try (LocalHttpServer server = new LocalHttpServer()) {
+            server.handle("/lock", exchange -> {
+                serverPeak.accumulateAndGet(serverActive.incrementAndGet(), Math::max);
+                try {
+                    Thread.sleep(500);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                serverActive.decrementAndGet();
+                byte[] body = "{\"ok\":true}".getBytes(StandardCharsets.UTF_8);
+                exchange.getResponseHeaders().add("Content-Type", "application/json");
+                exchange.sendResponseHeaders(200, body.length);
+                try (OutputStream os = exchange.getResponseBody()) {
+                    os.write(body);
+                }
+            });
+
+            BurstResult result = new MCHighConcurrencyTests().burstConcurrencyTest(
+                    server.url("/lock"), 20, HttpMethod.GET, null, null, 5000, false);
+
+            assertEquals(20, result.success, result.toString());
+            assertEquals(0, result.failed);
+            assertEquals(20, result.peakInFlight, result.toString());
+            assertEquals(1.0, result.achievedConcurrency(), 1e-9);
+            assertTrue(result.startSpreadMillis < 500, result.toString());
+            assertTrue(serverPeak.get() >= 10, "server peak " + serverPeak.get());
+            assertEquals(20, result.latency.count);
+            assertTrue(result.latency.minMillis >= 500);
+            assertEquals(20, result.toHighConcurrencyResult().success);
+        }
+    }
+
+    @Test
+    public void testBurstOnSharedRuntimeCountsTimeouts() throws Exception {
+        try (LocalHttpServer server = new LocalHttpServer();
+             LoadGeneratorRuntime runtime = new LoadGeneratorRuntime(ExecutionMode.PLATFORM_THREADS)) {
+            server.handle("/slow", exchange -> {
+                try {
+                    Thread.sleep(500);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                byte[] body = "{}".getBytes(StandardCharsets.UTF_8);
+                exchange.sendResponseHeaders(200, body.length);
+                try (OutputStream os = exchange.getResponseBody()) {
+                    os.write(body);
+                }
+            });
+            MCHighConcurrencyTests tests = new MCHighConcurrencyTests();
+            tests.runtime = runtime;
+
+            BurstResult result = tests.burstConcurrencyTest(
+                    server.url("/slow"), 8, HttpMethod.GET, null, null, 50, false);
+            BurstResult again = tests.burstConcurrencyTest(
+                    server.url("/slow"), 8, HttpMethod.GET, null, null, 50, false);
+
+            assertEquals(8, result.failed, result.toString());
+            assertEquals(8, again.failed);
+            assertEquals(8, again.peakInFlight, again.toString());
+            assertFalse(result.exemplars.failures.isEmpty());
+            assertEquals(8, runtime.threadsCreated());
+        }
+    }
+}
@@ -0,0 +1,165 @@
+package io.github.json031;
+
+import io.github.json031.JavaBean.RequestTimings;
+import io.github.json031.JavaBean.RequestUnitTestsResult;
+import io.github.json031.apitests.MCHighConcurrencyTests;
+import io.github.json031.stats.BodySamplingPolicy;
+import io.github.json031.stats.ColumnarResultStore;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.ResponseEntity;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ColumnarResultStoreTest {
+
+    @Test
+    public void testRoundTripThroughListView() {
+        Instant base = Instant.now();
+        ColumnarResultStore store = new ColumnarResultStore(base, BodySamplingPolicy.all(), 1);
+        for (int i = 0; i < 200; i++) {
+            boolean success = i % 10 != 0;
+            Instant start = base.plusNanos(i * 1_000L);
+            store.add(new RequestUnitTestsResult(i / 10, success ? ResponseEntity.ok("body-" + i) : null,
+                    success ? 200 : 500, success, success ? "" : "boom-" + i, "http://localhost/ping", "GET",
+                    6, start, start.plusNanos(i * 100_000L), 7 + i % 3, i * 100_000L));
+        }
+
+        List<RequestUnitTestsResult> results = store.asList();
+        assertEquals(200, results.size());
+        assertEquals(180, store.successCount());
+
+        RequestUnitTestsResult ok = results.get(15);
+        assertEquals(1_500_000L, ok.durationNanos);
+        assertEquals(1, ok.durationMillis);
+        assertEquals("body-15", ok.response.getBody());
+        assertEquals(base.plusNanos(15_000), ok.startTime);
+        assertEquals(7 + 15 % 3, ok.threadId);
+        assertEquals("GET", ok.method);
+
+        RequestUnitTestsResult failed = results.get(20);
+        assertFalse(failed.isSuccess);
+        assertEquals(500, failed.statusCode);
+        assertEquals("boom-20", failed.errorMessage);
+        assertEquals(500, failed.response.getStatusCodeValue());
+        assertNull(failed.response.getBody());
+        assertFalse(failed.timings.isMeasured());
+        assertNull(failed.responseChecksum);
+
+        int iterated = 0;
+        for (RequestUnitTestsResult result : results) {
+            assertEquals("http://localhost/ping", result.requestUrl);
+            iterated++;
+        }
+        assertEquals(200, iterated);
+        assertThrows(IndexOutOfBoundsException.class, () -> results.get(200));
+        assertThrows(UnsupportedOperationException.class, () -> results.add(ok));
+    }
+
+    @Test
+    public void testBodiesRetainedOnlyBySamplingPolicy() {
+        ColumnarResultStore store = new ColumnarResultStore(Instant.now(),
+                BodySamplingPolicy.failures().or(BodySamplingPolicy.everyNth(50)));
+        for (int i = 0; i < 1_000; i++) {
+            boolean success = i != 7;
+            store.add(new RequestUnitTestsResult(1, ResponseEntity.status(success ? 200 : 503).body("x"),
+                    success ? 200 : 503, success, null, "http://localhost/a", "POST", 1, Instant.now(),
+                    Instant.now(), 1, 1_000_000));
+        }
+        // 20 个采样 + 1 个失败
+        assertEquals(21, store.retainedBodyCount());
+        assertNull(store.get(1).response.getBody());
+        assertEquals(200, store.get(1).response.getStatusCodeValue());
+        assertEquals("x", store.get(50).response.getBody());
+        assertEquals("x", store.get(7).response.getBody());
+        assertEquals(1_000, store.durationsNanos().length);
+    }
+
+    @Test
+    public void testTimingsAndChecksumSurviveRoundTrip() {
+        Instant base = Instant.now();
+        ColumnarResultStore store = new ColumnarResultStore(base, BodySamplingPolicy.none());
+        RequestTimings timings = new RequestTimings(10, 20, 30, 40, 50, 60, true);
+        store.add(new RequestUnitTestsResult(0, ResponseEntity.ok("abc"), 200, true, null, "http://localhost/a",
+                "GET", 3, base, base, 1, 210, timings, "352441c2"));
+        store.add(new RequestUnitTestsResult(0, null, 0, false, "Connection refused", "http://localhost/a",
+                "GET", 0, base, base, 1, 5));
+
+        RequestUnitTestsResult ok = store.get(0);
+        assertEquals(10, ok.timings.leaseNanos);
+        assertEquals(20, ok.timings.dnsNanos);
+        assertEquals(30, ok.timings.connectNanos);
+        assertEquals(40, ok.timings.tlsNanos);
+        assertEquals(50, ok.timings.ttfbNanos);
+        assertEquals(60, ok.timings.transferNanos);
+        assertTrue(ok.timings.connectionReused);
+        assertEquals("352441c2", ok.responseChecksum);
+        assertEquals(200, ok.response.getStatusCodeValue());
+
+        RequestUnitTestsResult refused = store.get(1);
+        assertNull(refused.response);
+        assertFalse(refused.timings.isMeasured());
+        assertNull(refused.responseChecksum);
+    }
+
+    @Test
+    public void testConcurrentWritersAreMergedInArrivalOrder() throws Exception {
+        ColumnarResultStore store = new ColumnarResultStore(Instant.now(), BodySamplingPolicy.firstN(10), 16);
+        int writers = 8;
+        int perWriter = 5_000;
+        Thread[] threads = new Thread[writers];
+        for (int t = 0; t < writers; t++) {
+            int writer = t;
+            threads[t] = new Thread(() -> {
+                for (int i = 0; i < perWriter; i++) {
+                    store.add(new RequestUnitTestsResult(0, ResponseEntity.ok("w" + writer), 200, true, null,
+                            "http://localhost/w" + writer, "GET", 2, Instant.now(), Instant.now(), writer,
+                            writer * 1_000_000L + i));
+                }
+            });
+            threads[t].start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        assertEquals(writers * perWriter, store.size());
+        assertEquals(writers * perWriter, store.successCount());
+        assertEquals(10, store.retainedBodyCount());
+        for (int i = 0; i < 10; i++) {
+            assertNotNull(store.get(i).response.getBody());
+        }
+        assertNull(store.get(10).response.getBody());
+        // 同一写线程的结果在合并后保持写入顺序
+        long[] lastByWriter = new long[writers];
+        Arrays.fill(lastByWriter, -1);
+        for (RequestUnitTestsResult result : store.asList()) {
+            int writer = (int) result.threadId;
+            assertEquals("http://localhost/w" + writer, result.requestUrl);
+            assertTrue(result.durationNanos > lastByWriter[writer]);
+            lastByWriter[writer] = result.durationNanos;
+        }
+        store.add(RequestUnitTestsResult.testSuccessResult(1, null, "http://localhost/late", "GET"));
+        assertEquals(writers * perWriter + 1, store.size());
+    }
+
+    @Test
+    public void testDetailedConcurrencyTestUsesColumnarStore() throws Exception {
+        try (LocalHttpServer server = new LocalHttpServer()) {
+            MCHighConcurrencyTests tests = new MCHighConcurrencyTests();
+            MCHighConcurrencyTests.DetailedConcurrencyResult result = tests.detailedConcurrencyTest(
+                    server.url("/ping"), 20, BodySamplingPolicy.firstN(5), HttpMethod.GET, null, null, false);
+            assertEquals(20, result.results.size());
+            assertEquals(20, result.successCount);
+            assertEquals(5, result.store.retainedBodyCount());
+            List<RequestUnitTestsResult> copy = new ArrayList<>(result.results);
+            assertEquals(result.store.durationNanos(0), copy.get(0).durationNanos);
+            assertTrue(result.latency.maxMillis > 0);
+        }
+    }
+}
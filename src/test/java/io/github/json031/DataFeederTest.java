@@ -0,0 +1,116 @@
+package io.github.json031;
+
+import io.github.json031.JavaBean.ClosedModelResult;
+import io.github.json031.apitests.MCHighConcurrencyTests;
+import io.github.json031.load.DataFeeder;
+import io.github.json031.load.FeederStrategy;
+import io.github.json031.load.ThinkTime;
+import io.github.json031.transport.PreparedRequest;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.http.HttpMethod;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class DataFeederTest {
+
+    @TempDir
+    Path tempDir;
+
+    private Path write(String name, String content) throws Exception {
+        Path path = tempDir.resolve(name);
+        Files.write(path, content.getBytes(StandardCharsets.UTF_8));
+        return path;
+    }
+
+    @Test
+    public void testCsvQuotingAndSequentialWrap() throws Exception {
+        Path csv = write("users.csv", "\uFEFFid,name,note\r\n"
+                + "1,alice,\"likes, commas\"\r\n"
+                + "\r\n"
+                + "2,bob,\"says \"\"hi\"\"\nover two lines\"\r\n"
+                + "3,carol,plain");
+        DataFeeder feeder = DataFeeder.csv(csv);
+        assertEquals(Arrays.asList("id", "name", "note"), feeder.columns());
+        assertEquals(3, feeder.size());
+
+        Map<String, String> first = feeder.variables(0, 0);
+        assertEquals("alice", first.get("name"));
+        assertEquals("likes, commas", first.get("note"));
+        assertEquals("says \"hi\"\nover two lines", feeder.variables(0, 1).get("note"));
+        assertEquals("carol", feeder.variables(0, 2).get("name"));
+        // 读到末尾后从头开始
+        assertEquals("1", feeder.variables(0, 3).get("id"));
+        assertEquals(3, feeder.record(2).size());
+    }
+
+    @Test
+    public void testRandomAndUniquePerUserStrategies() throws Exception {
+        StringBuilder content = new StringBuilder("id\n");
+        for (int i = 0; i < 50; i++) {
+            content.append(i).append('\n');
+        }
+        DataFeeder feeder = DataFeeder.csv(write("ids.csv", content.toString()));
+
+        feeder.strategy(FeederStrategy.UNIQUE_PER_USER);
+        assertEquals("7", feeder.variables(7, 0).get("id"));
+        assertEquals("7", feeder.variables(7, 99).get("id"));
+        assertEquals("2", feeder.variables(52, 0).get("id"));
+
+        feeder.strategy(FeederStrategy.RANDOM);
+        Set<String> seen = new HashSet<>();
+        for (int i = 0; i < 500; i++) {
+            seen.add(feeder.variables(0, i).get("id"));
+        }
+        assertTrue(seen.size() > 10);
+        assertTrue(seen.stream().allMatch(id -> Integer.parseInt(id) >= 0 && Integer.parseInt(id) < 50));
+    }
+
+    @Test
+    public void testJsonlRecords() throws Exception {
+        DataFeeder feeder = DataFeeder.jsonl(write("events.jsonl",
+                "{\"user\":\"u1\",\"count\":3,\"tags\":[\"a\"],\"missing\":null}\n"
+                        + "{\"user\":\"u2\",\"count\":4}\n"));
+        assertEquals(2, feeder.size());
+        assertEquals(Arrays.asList("user", "count", "tags", "missing"), feeder.columns());
+        Map<String, String> record = feeder.record(0);
+        assertEquals("3", record.get("count"));
+        assertEquals("[\"a\"]", record.get("tags"));
+        assertEquals("", record.get("missing"));
+        assertEquals("u2", feeder.record(1).get("user"));
+    }
+
+    @Test
+    public void testFeederDrivesLoadEngine() throws Exception {
+        Path csv = write("accounts.csv", "account,region\nacc-0,eu\nacc-1,us\nacc-2,ap\nacc-3,eu\n");
+        DataFeeder feeder = DataFeeder.csv(csv).strategy(FeederStrategy.UNIQUE_PER_USER);
+        Set<String> queries = ConcurrentHashMap.newKeySet();
+        try (LocalHttpServer server = new LocalHttpServer()) {
+            server.handle("/account", exchange -> {
+                queries.add(exchange.getRequestURI().getRawQuery());
+                // 先关闭请求体，否则 JDK HttpServer 回复无响应体的 204 后会关闭保活连接
+                exchange.getRequestBody().close();
+                exchange.sendResponseHeaders(204, -1);
+                exchange.close();
+            });
+            PreparedRequest request = PreparedRequest
+                    .of(server.url("/account"), HttpMethod.GET, feeder.placeholders(), null)
+                    .withVariables(feeder);
+            ClosedModelResult result = new MCHighConcurrencyTests()
+                    .closedModelIterationsTest(request, 4, 3, 0, ThinkTime.none(), false);
+            assertEquals(12, result.steadyState.success);
+        }
+        assertEquals(new HashSet<>(Arrays.asList(
+                "account=acc-0&region=eu", "account=acc-1&region=us",
+                "account=acc-2&region=ap", "account=acc-3&region=eu")), queries);
+    }
+}
@@ -0,0 +1,177 @@
+package io.github.json031;
+
+import io.github.json031.JavaBean.ClosedModelResult;
+import io.github.json031.JavaBean.Exemplar;
+import io.github.json031.JavaBean.Exemplars;
+import io.github.json031.JavaBean.LoadShapeResult;
+import io.github.json031.JavaBean.RequestUnitTestsResult;
+import io.github.json031.load.ClosedModelEngine;
+import io.github.json031.load.LoadShapeScheduler;
+import io.github.json031.load.LoadStage;
+import io.github.json031.load.LoadTarget;
+import io.github.json031.stats.ExemplarReservoir;
+import io.github.json031.transport.PreparedRequest;
+import io.github.json031.unittests.RequestUnitTests;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.ResponseEntity;
+
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ExemplarReservoirTest {
+
+    @Test
+    public void testKeepsSlowestAcrossThreads() throws Exception {
+        ExemplarReservoir reservoir = new ExemplarReservoir(5, 3, 8);
+        int threads = 8;
+        int perThread = 10_000;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        for (int t = 0; t < threads; t++) {
+            int offset = t;
+            executor.execute(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                for (int i = 0; i < perThread; i++) {
+                    long latency = (long) i * threads + offset;
+                    boolean success = latency % 1000 != 0;
+                    reservoir.offer(offset, latency, success, result(latency, success));
+                }
+            });
+        }
+        start.countDown();
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(30, TimeUnit.SECONDS));
+
+        Exemplars exemplars = reservoir.snapshot();
+        long max = (long) threads * perThread - 1;
+        assertEquals(5, exemplars.slowest.size());
+        for (int i = 0; i < 5; i++) {
+            assertEquals(max - i, exemplars.slowest.get(i).latencyNanos);
+        }
+        assertEquals(max, exemplars.slowestRequest().latencyNanos);
+        assertEquals(3, exemplars.failures.size());
+        assertEquals(80, exemplars.failuresSeen);
+        for (Exemplar failure : exemplars.failures) {
+            assertFalse(failure.isSuccess);
+            assertEquals(0, failure.latencyNanos % 1000);
+        }
+        // 响应体截断、响应头完整保留
+        Exemplar slowest = exemplars.slowest.get(0);
+        assertEquals("body-012", slowest.bodyExcerpt);
+        assertEquals("yes", slowest.responseHeaders.getFirst("X-Trace"));
+        assertFalse(reservoir.wouldRetain(10, true));
+    }
+
+    @Test
+    public void testMergeKeepsOverallSlowest() {
+        ExemplarReservoir first = new ExemplarReservoir(2, 2, 16);
+        ExemplarReservoir second = new ExemplarReservoir(2, 2, 16);
+        first.offer(1, 100, true, result(100, true));
+        first.offer(1, 300, false, result(300, false));
+        second.offer(2, 200, true, result(200, true));
+        second.offer(2, 400, true, result(400, true));
+        Exemplars merged = Exemplars.merge(Arrays.asList(first.snapshot(), second.snapshot()));
+        assertEquals(2, merged.slowest.size());
+        assertEquals(400, merged.slowest.get(0).latencyNanos);
+        assertEquals(300, merged.slowest.get(1).latencyNanos);
+        assertEquals(1, merged.failuresSeen);
+    }
+
+    @Test
+    public void testMergeSamplesFailuresByPhaseWeight() {
+        int laterPhaseWins = 0;
+        for (int trial = 0; trial < 200; trial++) {
+            ExemplarReservoir early = new ExemplarReservoir(0, 2, 16);
+            ExemplarReservoir late = new ExemplarReservoir(0, 2, 16);
+            early.offer(1, 1_000, false, result(1_000, false));
+            early.offer(1, 1_000, false, result(1_000, false));
+            for (int i = 0; i < 1_000; i++) {
+                late.offer(2, 2_000, false, result(2_000, false));
+            }
+            Exemplars merged = Exemplars.merge(Arrays.asList(early.snapshot(), late.snapshot()));
+            assertEquals(2, merged.failures.size());
+            assertEquals(1_002, merged.failuresSeen);
+            for (Exemplar failure : merged.failures) {
+                if (failure.userId == 2) {
+                    laterPhaseWins++;
+                }
+            }
+        }
+        // 后一阶段占失败总数的 99.8%，样本几乎都应来自后一阶段
+        assertTrue(laterPhaseWins > 360, "later phase samples " + laterPhaseWins);
+    }
+
+    @Test
+    public void testFailedResponseKeepsHeadersAndBody() throws Exception {
+        try (LocalHttpServer server = new LocalHttpServer()) {
+            server.handle("/busy", exchange -> {
+                byte[] body = "{\"error\":\"overloaded\"}".getBytes(StandardCharsets.UTF_8);
+                exchange.getResponseHeaders().add("Retry-After", "3");
+                exchange.sendResponseHeaders(503, body.length);
+                try (OutputStream os = exchange.getResponseBody()) {
+                    os.write(body);
+                }
+            });
+            RequestUnitTestsResult failed = RequestUnitTests.execute(
+                    PreparedRequest.of(server.url("/busy"), HttpMethod.GET, null, null), null, false);
+            assertFalse(failed.isSuccess);
+            assertEquals(503, failed.statusCode);
+            assertEquals(22, failed.responseSizeBytes);
+            assertEquals("3", failed.response.getHeaders().getFirst("Retry-After"));
+
+            ExemplarReservoir reservoir = new ExemplarReservoir(1, 1, 64);
+            reservoir.offer(0, failed.durationNanos, false, failed);
+            Exemplar exemplar = reservoir.snapshot().failures.get(0);
+            assertEquals("{\"error\":\"overloaded\"}", exemplar.bodyExcerpt);
+            assertEquals("3", exemplar.responseHeaders.getFirst("Retry-After"));
+        }
+    }
+
+    @Test
+    public void testEnginesAttachExemplars() {
+        ClosedModelResult closed = new ClosedModelEngine(2)
+                .iterations(20)
+                .exemplars(3, 2)
+                .run((userId, iteration) -> result(iteration, iteration % 7 != 0));
+        Exemplars exemplars = closed.exemplars();
+        assertEquals(3, exemplars.slowest.size());
+        assertEquals(2, exemplars.failures.size());
+        assertTrue(exemplars.failuresSeen >= 2);
+
+        LoadShapeResult shape = new LoadShapeScheduler(
+                Collections.singletonList(LoadStage.hold("hold", 2, 200, TimeUnit.MILLISECONDS)), LoadTarget.CONCURRENCY)
+                .run((userId, iteration) -> {
+                    try {
+                        Thread.sleep(1);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                    return result(iteration, true);
+                });
+        assertFalse(shape.exemplars().slowest.isEmpty());
+        assertNotNull(shape.stages.get(0).toHighConcurrencyResult().exemplars.slowestRequest().requestUrl);
+    }
+
+    private static RequestUnitTestsResult result(long latency, boolean success) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.add("X-Trace", "yes");
+        return new RequestUnitTestsResult(0, ResponseEntity.ok().headers(headers).body("body-0123456789"),
+                success ? 200 : 500, success, success ? "" : "error", "http://localhost/slow", "GET", 15,
+                Instant.now(), Instant.now(), Thread.currentThread().getId(), latency);
+    }
+}
@@ -0,0 +1,181 @@
+package io.github.json031;
+
+import io.github.json031.JavaBean.DownloadResult;
+import io.github.json031.JavaBean.DownloadSegment;
+import io.github.json031.JavaBean.RequestUnitTestsResult;
+import io.github.json031.JavaBean.SegmentedDownloadResult;
+import io.github.json031.unittests.RequestUnitTests;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.util.Arrays;
+import java.util.zip.CRC32;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class FileDownloadTest {
+
+    private static final int FILE_SIZE = 8 * 1024 * 1024 + 123;
+
+    @TempDir
+    Path tempDir;
+
+    private LocalHttpServer server;
+    private byte[] content;
+
+    @BeforeEach
+    public void startServer() throws Exception {
+        content = new byte[FILE_SIZE];
+        for (int i = 0; i < content.length; i++) {
+            content[i] = (byte) (i * 31 + (i >>> 11));
+        }
+        server = new LocalHttpServer().handle("/file", exchange -> {
+            exchange.getResponseHeaders().add("Content-Type", "application/octet-stream");
+            exchange.sendResponseHeaders(200, content.length);
+            try (OutputStream os = exchange.getResponseBody()) {
+                // 分块写出，模拟大文件流式传输
+                for (int offset = 0; offset < content.length; offset += 100_000) {
+                    os.write(content, offset, Math.min(100_000, content.length - offset));
+                }
+            }
+        }).handle("/ranged", exchange -> {
+            exchange.getResponseHeaders().add("Accept-Ranges", "bytes");
+            exchange.getResponseHeaders().add("Content-Type", "application/octet-stream");
+            if ("HEAD".equals(exchange.getRequestMethod())) {
+                exchange.getResponseHeaders().add("Content-Length", String.valueOf(content.length));
+                exchange.sendResponseHeaders(200, -1);
+                exchange.close();
+                return;
+            }
+            String range = exchange.getRequestHeaders().getFirst("Range");
+            int from = 0;
+            int to = content.length - 1;
+            int status = 200;
+            if (range != null && range.startsWith("bytes=")) {
+                String[] bounds = range.substring("bytes=".length()).split("-");
+                from = Integer.parseInt(bounds[0]);
+                to = Integer.parseInt(bounds[1]);
+                status = 206;
+                exchange.getResponseHeaders().add("Content-Range", "bytes " + from + "-" + to + "/" + content.length);
+            }
+            exchange.sendResponseHeaders(status, to - from + 1);
+            try (OutputStream os = exchange.getResponseBody()) {
+                os.write(content, from, to - from + 1);
+            }
+        });
+    }
+
+    @AfterEach
+    public void stopServer() {
+        server.close();
+    }
+
+    @Test
+    public void testStreamingDownloadWithChecksum() throws Exception {
+        Path target = tempDir.resolve("file.bin");
+        DownloadResult result = RequestUnitTests.download(server.url("/file"), target.toString(), null, "SHA-256", false);
+
+        assertTrue(result.isSuccess(), String.valueOf(result));
+        assertEquals(FILE_SIZE, result.bytes);
+        assertEquals(FILE_SIZE, result.result.responseSizeBytes);
+        assertTrue(Arrays.equals(content, Files.readAllBytes(target)));
+
+        StringBuilder expected = new StringBuilder();
+        for (byte b : MessageDigest.getInstance("SHA-256").digest(content)) {
+            expected.append(String.format("%02x", b));
+        }
+        assertEquals(expected.toString(), result.checksum);
+        assertEquals(expected.toString(), result.result.responseChecksum);
+        assertEquals("SHA-256", result.checksumAlgorithm);
+
+        assertTrue(result.ttfbNanos > 0);
+        assertTrue(result.ttfbNanos < result.durationNanos);
+        assertTrue(result.throughputMBps() > 0);
+        assertTrue(result.transferThroughputMBps() >= result.throughputMBps());
+        assertFalse(result.toString().isEmpty());
+    }
+
+    @Test
+    public void testDownloadFileKeepsLegacyResult() throws Exception {
+        Path target = tempDir.resolve("legacy.bin");
+        RequestUnitTestsResult result = RequestUnitTests.downloadFile(server.url("/file"), target.toString(), null, false);
+        assertTrue(result.isSuccess);
+        assertEquals(200, result.statusCode);
+        assertEquals(FILE_SIZE, result.responseSizeBytes);
+        assertEquals("Binary file downloaded (" + FILE_SIZE + " bytes)", result.response.getBody());
+        assertNull(result.responseChecksum);
+        assertEquals(FILE_SIZE, Files.size(target));
+    }
+
+    @Test
+    public void testFailedDownloadWritesNoFile() {
+        Path target = tempDir.resolve("missing.bin");
+        DownloadResult result = RequestUnitTests.download(server.url("/missing"), target.toString(), null, "CRC32", false);
+        assertFalse(result.isSuccess());
+        assertEquals(404, result.result.statusCode);
+        assertNull(result.checksum);
+        assertFalse(Files.exists(target));
+        assertNull(RequestUnitTests.download("not a url", target.toString(), null, null, false));
+    }
+
+    @Test
+    public void testSegmentedDownloadAssemblesRanges() throws Exception {
+        Path target = tempDir.resolve("segmented.bin");
+        SegmentedDownloadResult result = RequestUnitTests.downloadFileSegmented(
+                server.url("/ranged"), target.toString(), 4, null, "CRC32", false);
+
+        assertTrue(result.isSuccess(), result.toString());
+        assertTrue(result.rangeSupported);
+        assertEquals(FILE_SIZE, result.contentLength);
+        assertEquals(FILE_SIZE, result.totalBytes());
+        assertEquals(4, result.segments.size());
+        long expectedOffset = 0;
+        for (DownloadSegment segment : result.segments) {
+            assertEquals(206, segment.statusCode);
+            assertEquals(expectedOffset, segment.offset);
+            assertEquals(segment.length, segment.bytes);
+            assertTrue(segment.throughputMBps() > 0);
+            expectedOffset += segment.length;
+        }
+        assertTrue(Arrays.equals(content, Files.readAllBytes(target)));
+
+        CRC32 crc = new CRC32();
+        crc.update(content);
+        assertEquals(String.format("%08x", crc.getValue()), result.checksum);
+        assertTrue(result.aggregateThroughputMBps() > 0);
+        assertTrue(result.maxSegmentThroughputMBps() >= result.minSegmentThroughputMBps());
+        assertFalse(result.toString().isEmpty());
+    }
+
+    @Test
+    public void testSegmentedDownloadReportsFileErrorWithoutSyntheticSegment() throws Exception {
+        Path directory = Files.createDirectory(tempDir.resolve("not-a-file"));
+        SegmentedDownloadResult result = RequestUnitTests.downloadFileSegmented(
+                server.url("/ranged"), directory.toString(), 4, null, null, false);
+        assertFalse(result.isSuccess());
+        assertNotNull(result.errorMessage, result.toString());
+        assertTrue(result.segments.isEmpty(), result.toString());
+        assertEquals(0, result.totalBytes());
+        assertNull(result.checksum);
+    }
+
+    @Test
+    public void testSegmentedDownloadFallsBackWithoutRangeSupport() throws Exception {
+        Path target = tempDir.resolve("fallback.bin");
+        SegmentedDownloadResult result = RequestUnitTests.downloadFileSegmented(
+                server.url("/file"), target.toString(), 4, null, null, false);
+        assertTrue(result.isSuccess(), result.toString());
+        assertFalse(result.rangeSupported);
+        assertEquals(1, result.segments.size());
+        assertEquals(FILE_SIZE, result.totalBytes());
+        assertTrue(Arrays.equals(content, Files.readAllBytes(target)));
+        assertThrows(IllegalArgumentException.class, () -> RequestUnitTests.downloadFileSegmented(
+                server.url("/ranged"), target.toString(), 0, null, null, false));
+    }
+}
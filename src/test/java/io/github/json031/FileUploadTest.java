@@ -0,0 +1,140 @@
+package io.github.json031;
+
+import io.github.json031.JavaBean.UploadLoadResult;
+import io.github.json031.JavaBean.UploadResult;
+import io.github.json031.apitests.MCHighConcurrencyTests;
+import io.github.json031.transport.ResponseBodyMode;
+import io.github.json031.unittests.RequestUnitTests;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.http.HttpMethod;
+
+import java.io.File;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.zip.CRC32;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class FileUploadTest {
+
+    private static final int FILE_SIZE = 4 * 1024 * 1024 + 17;
+
+    @TempDir
+    Path tempDir;
+
+    private LocalHttpServer server;
+    private File file;
+    private String expectedCrc;
+
+    @BeforeEach
+    public void startServer() throws Exception {
+        byte[] content = new byte[FILE_SIZE];
+        for (int i = 0; i < content.length; i++) {
+            content[i] = (byte) (i * 7 + (i >>> 9));
+        }
+        file = tempDir.resolve("upload.bin").toFile();
+        Files.write(file.toPath(), content);
+        CRC32 crc = new CRC32();
+        crc.update(content);
+        expectedCrc = String.format("%08x", crc.getValue());
+
+        // 回显收到的字节数、CRC32 与传输方式
+        server = new LocalHttpServer().handle("/upload", exchange -> {
+            CRC32 received = new CRC32();
+            long bytes = 0;
+            byte[] buffer = new byte[8192];
+            try (InputStream in = exchange.getRequestBody()) {
+                int read;
+                while ((read = in.read(buffer)) != -1) {
+                    received.update(buffer, 0, read);
+                    bytes += read;
+                }
+            }
+            String encoding = exchange.getRequestHeaders().getFirst("Transfer-encoding");
+            String json = "{\"bytes\":" + bytes + ",\"crc\":\"" + String.format("%08x", received.getValue()) +
+                    "\",\"chunked\":" + "chunked".equalsIgnoreCase(encoding) + "}";
+            byte[] body = json.getBytes(StandardCharsets.UTF_8);
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream os = exchange.getResponseBody()) {
+                os.write(body);
+            }
+        });
+    }
+
+    @AfterEach
+    public void stopServer() {
+        server.close();
+    }
+
+    @Test
+    public void testStreamingUploadWithContentLength() {
+        UploadResult result = RequestUnitTests.uploadFileStreaming(server.url("/upload"), file, HttpMethod.PUT,
+                null, false, RequestUnitTests.DEFAULT_UPLOAD_BUFFER_SIZE, false);
+        assertTrue(result.isSuccess(), result.toString());
+        assertEquals(FILE_SIZE, result.bytes);
+        assertFalse(result.chunked);
+        String body = result.result.response.getBody();
+        assertTrue(body.contains("\"bytes\":" + FILE_SIZE), body);
+        assertTrue(body.contains(expectedCrc), body);
+        assertTrue(body.contains("\"chunked\":false"), body);
+        assertTrue(result.bodySentNanos > 0 && result.bodySentNanos <= result.durationNanos);
+        assertTrue(result.throughputMBps() > 0);
+    }
+
+    @Test
+    public void testChunkedUploadWithSmallBuffer() {
+        UploadResult result = RequestUnitTests.uploadFileStreaming(server.url("/upload"), file, HttpMethod.POST,
+                null, true, 4096, false);
+        assertTrue(result.isSuccess(), result.toString());
+        assertTrue(result.chunked);
+        String body = result.result.response.getBody();
+        assertTrue(body.contains("\"bytes\":" + FILE_SIZE), body);
+        assertTrue(body.contains(expectedCrc), body);
+        assertTrue(body.contains("\"chunked\":true"), body);
+        assertThrows(IllegalArgumentException.class, () -> RequestUnitTests.uploadFileStreaming(
+                server.url("/upload"), file, HttpMethod.POST, null, true, 0, false));
+    }
+
+    @Test
+    public void testUploadResponseDrainedByBodyMode() {
+        UploadResult buffered = RequestUnitTests.uploadFileStreaming(server.url("/upload"), file, HttpMethod.PUT,
+                null, false, RequestUnitTests.DEFAULT_UPLOAD_BUFFER_SIZE, false);
+        String body = buffered.result.response.getBody();
+        assertEquals(body.getBytes(StandardCharsets.UTF_8).length, buffered.result.responseSizeBytes);
+        assertNull(buffered.result.responseChecksum);
+
+        UploadResult checked = RequestUnitTests.uploadFileStreaming(server.url("/upload"), file, HttpMethod.PUT,
+                null, false, RequestUnitTests.DEFAULT_UPLOAD_BUFFER_SIZE, false, ResponseBodyMode.CHECKSUM);
+        assertTrue(checked.isSuccess(), checked.toString());
+        assertNull(checked.result.response.getBody());
+        assertEquals(buffered.result.responseSizeBytes, checked.result.responseSizeBytes);
+        CRC32 crc = new CRC32();
+        crc.update(body.getBytes(StandardCharsets.UTF_8));
+        assertEquals(String.format("%08x", crc.getValue()), checked.result.responseChecksum);
+
+        UploadResult discarded = RequestUnitTests.uploadFileStreaming(server.url("/upload"), file, HttpMethod.PUT,
+                null, true, 4096, false, ResponseBodyMode.DISCARD);
+        assertTrue(discarded.isSuccess(), discarded.toString());
+        assertNull(discarded.result.response.getBody());
+        assertTrue(discarded.result.responseSizeBytes > 0);
+        assertNull(discarded.result.responseChecksum);
+    }
+
+    @Test
+    public void testConcurrentUploadReportsThroughputAndLatency() {
+        UploadLoadResult result = new MCHighConcurrencyTests().concurrentUploadTest(
+                server.url("/upload"), file, 4, 3, HttpMethod.POST, null, false, false);
+        assertEquals(12, result.stats.requests);
+        assertEquals(12, result.stats.success);
+        assertEquals(12L * FILE_SIZE, result.uploadedBytes());
+        assertTrue(result.throughputMBps() > 0);
+        assertTrue(result.latency().p99Millis >= result.latency().p50Millis);
+        assertFalse(result.toString().isEmpty());
+    }
+}
@@ -0,0 +1,135 @@
+package io.github.json031;
+
+import io.github.json031.JavaBean.LatencySummary;
+import io.github.json031.JavaBean.RequestUnitTestsResult;
+import io.github.json031.apitests.MCHighConcurrencyTests;
+import io.github.json031.stats.HistogramRecorder;
+import io.github.json031.stats.LatencyHistogram;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class LatencyHistogramTest {
+
+    @Test
+    public void testPercentilesStayWithinSignificantDigits() {
+        LatencyHistogram histogram = new LatencyHistogram(TimeUnit.SECONDS.toNanos(60), 3);
+        for (long i = 1; i <= 100_000; i++) {
+            histogram.recordValue(i * 1_000);
+        }
+        assertEquals(100_000, histogram.getTotalCount());
+        assertEquals(1_000, histogram.getMinValue());
+        assertEquals(100_000_000, histogram.getMaxValue());
+        assertRelative(50_000_000, histogram.getValueAtPercentile(50), 0.001);
+        assertRelative(99_000_000, histogram.getValueAtPercentile(99), 0.001);
+        assertRelative(99_900_000, histogram.getValueAtPercentile(99.9), 0.001);
+        assertRelative(50_000_500, histogram.getMean(), 0.001);
+        // 均匀分布 1..N 的标准差约为 N / sqrt(12)
+        assertRelative(100_000_000 / Math.sqrt(12), histogram.getStdDeviation(), 0.001);
+        assertEquals(100_000_000, histogram.getValueAtPercentile(100));
+    }
+
+    @Test
+    public void testMemoryIsIndependentOfSampleCount() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        long footprint = histogram.getEstimatedFootprintBytes();
+        Random random = new Random(7);
+        for (int i = 0; i < 1_000_000; i++) {
+            histogram.recordValue((long) (random.nextDouble() * TimeUnit.SECONDS.toNanos(10)));
+        }
+        assertEquals(footprint, histogram.getEstimatedFootprintBytes());
+        assertTrue(footprint < 512 * 1024, "footprint=" + footprint);
+    }
+
+    @Test
+    public void testValuesAboveHighestTrackableAreClamped() {
+        LatencyHistogram histogram = new LatencyHistogram(1_000_000, 2);
+        histogram.recordValue(500);
+        histogram.recordValue(5_000_000);
+        assertEquals(2, histogram.getTotalCount());
+        assertEquals(1, histogram.getClampedCount());
+        assertEquals(1_000_000, histogram.getMaxValue());
+        assertThrows(IllegalArgumentException.class, () -> new LatencyHistogram(1_000_000, 6));
+    }
+
+    @Test
+    public void testMergeMatchesSingleHistogram() {
+        LatencyHistogram all = new LatencyHistogram();
+        LatencyHistogram first = new LatencyHistogram();
+        LatencyHistogram second = new LatencyHistogram();
+        Random random = new Random(42);
+        for (int i = 0; i < 50_000; i++) {
+            long value = 10_000 + (long) (random.nextGaussian() * 2_000_000 + 5_000_000);
+            all.recordValue(value);
+            (i % 2 == 0 ? first : second).recordValue(value);
+        }
+        LatencyHistogram merged = first.copy();
+        merged.add(second);
+        assertEquals(all.getTotalCount(), merged.getTotalCount());
+        assertEquals(all.getMinValue(), merged.getMinValue());
+        assertEquals(all.getMaxValue(), merged.getMaxValue());
+        for (double p : new double[]{1, 50, 90, 99, 99.99}) {
+            assertEquals(all.getValueAtPercentile(p), merged.getValueAtPercentile(p));
+        }
+        assertThrows(IllegalArgumentException.class, () -> merged.add(new LatencyHistogram(1_000, 1)));
+    }
+
+    @Test
+    public void testConcurrentRecorderMergesStripes() throws Exception {
+        HistogramRecorder recorder = new HistogramRecorder();
+        int threads = 8;
+        int perThread = 20_000;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        for (int t = 0; t < threads; t++) {
+            executor.execute(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                for (int i = 1; i <= perThread; i++) {
+                    recorder.record(i * 1_000L);
+                }
+            });
+        }
+        start.countDown();
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(30, TimeUnit.SECONDS));
+
+        LatencyHistogram snapshot = recorder.snapshotAndReset();
+        assertEquals((long) threads * perThread, snapshot.getTotalCount());
+        assertRelative(10_000_000, snapshot.getValueAtPercentile(50), 0.001);
+        assertEquals(0, recorder.snapshot().getTotalCount());
+    }
+
+    @Test
+    public void testSubMillisecondLatencyIsNotTruncated() {
+        List<RequestUnitTestsResult> results = new ArrayList<>();
+        for (int i = 1; i <= 100; i++) {
+            long nanos = i * 5_000L;
+            results.add(new RequestUnitTestsResult(nanos / 1_000_000, null, 200, true, "", "http://localhost",
+                    "GET", 0, Instant.now(), Instant.now(), 0, nanos));
+        }
+        MCHighConcurrencyTests.DetailedConcurrencyResult result =
+                new MCHighConcurrencyTests.DetailedConcurrencyResult(results, Instant.now(), Instant.now(), 4);
+        LatencySummary latency = result.latency;
+        assertEquals(0, result.p99ResponseTime);
+        assertEquals(0.495, latency.p99Millis, 0.001);
+        assertEquals(0.2525, latency.meanMillis, 0.001);
+        assertEquals(100, result.histogram.getTotalCount());
+    }
+
+    private static void assertRelative(double expected, double actual, double tolerance) {
+        assertEquals(expected, actual, expected * tolerance, "expected≈" + expected + " actual=" + actual);
+    }
+}
@@ -0,0 +1,77 @@
+package io.github.json031;
+
+import io.github.json031.JavaBean.LatencySummary;
+import io.github.json031.stats.LatencyRecorder;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class LatencyRecorderTest {
+
+    @Test
+    public void testConcurrentRecordingKeepsEverySample() throws Exception {
+        LatencyRecorder recorder = new LatencyRecorder(4);
+        int threads = 8;
+        int perThread = 50_000;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        for (int t = 0; t < threads; t++) {
+            int offset = t * perThread;
+            executor.execute(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                for (int i = 0; i < perThread; i++) {
+                    recorder.record(offset + i + 1, i % 10 != 0);
+                }
+            });
+        }
+        start.countDown();
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(30, TimeUnit.SECONDS));
+
+        long total = (long) threads * perThread;
+        assertEquals(total, recorder.count());
+        assertEquals(total / 10, recorder.failCount());
+        assertEquals(total - total / 10, recorder.successCount());
+
+        long[] samples = recorder.toArray();
+        assertEquals(total, samples.length);
+        Arrays.sort(samples);
+        for (int i = 0; i < samples.length; i++) {
+            assertEquals(i + 1, samples[i]);
+        }
+        assertEquals((total + 1) / 2.0, recorder.meanNanos(), 0.001);
+    }
+
+    @Test
+    public void testSummaryAndReset() {
+        LatencyRecorder recorder = new LatencyRecorder();
+        for (int i = 1; i <= 100; i++) {
+            recorder.record(i * 1_000_000L);
+        }
+        LatencySummary summary = recorder.summary();
+        assertEquals(100, summary.count);
+        assertEquals(1.0, summary.minMillis, 0.0001);
+        assertEquals(100.0, summary.maxMillis, 0.0001);
+        assertEquals(50.0, summary.p50Millis, 0.0001);
+        assertEquals(99.0, summary.p99Millis, 0.0001);
+
+        long[] sum = new long[1];
+        recorder.forEach(value -> sum[0] += value);
+        assertEquals(5050 * 1_000_000L, sum[0]);
+
+        recorder.reset();
+        assertEquals(0, recorder.count());
+        assertEquals(0, recorder.toArray().length);
+        assertEquals(0, recorder.meanNanos(), 0.0);
+    }
+}
@@ -0,0 +1,333 @@
+package io.github.json031;
+
+import io.github.json031.JavaBean.ArrivalRateResult;
+import io.github.json031.JavaBean.CapacityProbe;
+import io.github.json031.JavaBean.ClosedModelResult;
+import io.github.json031.JavaBean.LatencySummary;
+import io.github.json031.JavaBean.LoadShapeResult;
+import io.github.json031.JavaBean.PhaseStats;
+import io.github.json031.JavaBean.RequestUnitTestsResult;
+import io.github.json031.JavaBean.TimingBreakdown;
+import io.github.json031.apitests.MCHighConcurrencyTests;
+import io.github.json031.load.CapacitySearch;
+import io.github.json031.load.ClosedModelEngine;
+import io.github.json031.load.LoadShapeScheduler;
+import io.github.json031.load.LoadStage;
+import io.github.json031.load.LoadTarget;
+import io.github.json031.load.ThinkTime;
+import io.github.json031.stats.QuantileSketch;
+import io.github.json031.stats.StatisticsBackend;
+import io.github.json031.transport.PreparedRequest;
+import io.github.json031.unittests.RequestUnitTests;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpMethod;
+
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class LoadEnginesTest {
+
+    private LocalHttpServer server;
+    private final MCHighConcurrencyTests tests = new MCHighConcurrencyTests();
+
+    /**
+     * 服务端最多同时处理 4 个请求、每个 20ms：吞吐量在并发 4 左右饱和
+     */
+    private final Semaphore serverSlots = new Semaphore(4, true);
+
+    @BeforeEach
+    public void startServer() throws Exception {
+        server = new LocalHttpServer().handle("/slow", exchange -> {
+            try {
+                Thread.sleep(50);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            byte[] body = "ok".getBytes(StandardCharsets.UTF_8);
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream os = exchange.getResponseBody()) {
+                os.write(body);
+            }
+        }).handle("/limited", exchange -> {
+            serverSlots.acquireUninterruptibly();
+            try {
+                Thread.sleep(20);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } finally {
+                serverSlots.release();
+            }
+            byte[] body = "ok".getBytes(StandardCharsets.UTF_8);
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream os = exchange.getResponseBody()) {
+                os.write(body);
+            }
+        });
+    }
+
+    @AfterEach
+    public void stopServer() {
+        server.close();
+    }
+
+    @Test
+    public void testConstantArrivalRateAboveOneThousandPerSecond() {
+        ArrivalRateResult result = tests.constantArrivalRateTest(
+                server.url("/ping"), 1500, 1, 50, HttpMethod.GET, null, null, false);
+        assertEquals(1500, result.scheduled);
+        assertEquals(1500, result.completed);
+        assertEquals(1500, result.success);
+        assertEquals(1500, result.targetRate, 0.001);
+        assertTrue(result.dispatchRate > 1000);
+        assertTrue(result.latency.p99Millis >= result.latency.p50Millis);
+        assertEquals(1500, result.latencySamples.length);
+        assertNull(result.latencySketch);
+    }
+
+    @Test
+    public void testCoordinatedOmissionCorrection() {
+        // 单个工作线程、每个请求 50ms，却按 40 次/秒到达：排队时间必须计入延迟
+        RequestUnitTests.requestWitRestTemplate(server.url("/ping"), HttpMethod.GET, null, null, false);
+        ArrivalRateResult result = tests.constantArrivalRateTest(
+                server.url("/slow"), 40, 1, 1, HttpMethod.GET, null, null, false);
+        assertEquals(40, result.completed);
+        assertTrue(result.serviceTime.p50Millis < 500, result.toString());
+        assertTrue(result.latency.maxMillis > 500);
+        assertTrue(result.achievedRate < result.targetRate);
+    }
+
+    @Test
+    public void testClosedModelIterations() {
+        ClosedModelResult result = tests.closedModelIterationsTest(
+                server.url("/ping"), 4, 25, 0, ThinkTime.none(), HttpMethod.GET, null, null, false);
+        assertEquals(4, result.users);
+        assertEquals(100, result.totalRequests());
+        assertEquals(0, result.rampUp.requests);
+        assertEquals(100, result.steadyState.success);
+        assertEquals(1.0, result.steadyState.successRate(), 0.0001);
+    }
+
+    @Test
+    public void testClosedModelRampUpAndThinkTime() {
+        // 2 个用户在 400ms 内爬坡，稳态 600ms，每次请求 50ms + 思考 50ms，每用户约 10 次/秒
+        ClosedModelResult result = new ClosedModelEngine(2)
+                .rampUp(400, TimeUnit.MILLISECONDS)
+                .duration(600, TimeUnit.MILLISECONDS)
+                .thinkTime(ThinkTime.constant(50))
+                .run((userId, iteration) -> {
+                    sleepQuietly(50);
+                    return null;
+                });
+        assertTrue(result.rampUp.requests > 0);
+        assertTrue(result.steadyState.requests > 0);
+        assertEquals(0, result.steadyState.success);
+        assertTrue(result.steadyState.latency.p50Millis >= 50);
+        assertTrue(result.steadyState.throughput < 30, result.toString());
+    }
+
+    @Test
+    public void testClosedModelSketchWithoutTrailingThinkTime() {
+        // 每个用户 2 次请求、思考 500ms：只有两次请求之间思考一次
+        long start = System.nanoTime();
+        ClosedModelResult result = new ClosedModelEngine(2)
+                .iterations(2)
+                .thinkTime(ThinkTime.constant(500))
+                .statisticsBackend(StatisticsBackend.SKETCH)
+                .run((userId, iteration) -> RequestUnitTestsResult.testSuccessResult(1, null, "task", "GET"));
+        long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        assertEquals(4, result.steadyState.success);
+        assertNotNull(result.steadyState.sketch);
+        assertEquals(4, result.steadyState.sketch.getCount());
+        assertTrue(elapsedMillis < 900, "elapsed " + elapsedMillis);
+    }
+
+    @Test
+    public void testClosedModelAggregatesPhaseTimings() {
+        ClosedModelResult result = tests.closedModelIterationsTest(
+                server.url("/ping"), 2, 10, 0, ThinkTime.none(), HttpMethod.GET, null, null, false);
+        TimingBreakdown timings = result.timings();
+        assertEquals(20, timings.measuredRequests());
+        assertEquals(20, timings.ttfb.getTotalCount());
+        assertEquals(20, timings.transfer.getTotalCount());
+        assertEquals(timings.newConnections, timings.connect.getTotalCount());
+        assertEquals(0, timings.tls.getTotalCount());
+        assertTrue(timings.reusedConnections >= 18, timings.toString());
+    }
+
+    @Test
+    public void testThinkTimeDistributions() {
+        assertEquals(0, ThinkTime.none().nextNanos());
+        assertEquals(TimeUnit.MILLISECONDS.toNanos(5), ThinkTime.constant(5).nextNanos());
+        for (int i = 0; i < 100; i++) {
+            long uniform = ThinkTime.uniform(10, 20).nextNanos();
+            assertTrue(uniform >= TimeUnit.MILLISECONDS.toNanos(10) && uniform <= TimeUnit.MILLISECONDS.toNanos(20));
+            assertTrue(ThinkTime.exponential(10).nextNanos() >= 0);
+            assertTrue(ThinkTime.gaussian(1, 10).nextNanos() >= 0);
+        }
+    }
+
+    @Test
+    public void testLoadShapeConcurrencyStages() {
+        LoadShapeResult result = tests.loadShapeTest(server.url("/slow"), Arrays.asList(
+                LoadStage.hold("normal", 1, 500, TimeUnit.MILLISECONDS),
+                LoadStage.spike("peak", 4, 500, TimeUnit.MILLISECONDS),
+                LoadStage.stepDown("recovery", 1, 500, TimeUnit.MILLISECONDS)
+        ), LoadTarget.CONCURRENCY, 0, HttpMethod.GET, null, null, false);
+        assertEquals(3, result.stages.size());
+        assertFalse(result.stoppedEarly);
+        assertTrue(result.stage("normal").requests > 0);
+        assertTrue(result.stage("peak").requests > result.stage("normal").requests * 2, result.toString());
+        assertEquals(result.stage("peak").requests, result.stage("peak").success);
+    }
+
+    @Test
+    public void testLoadShapeArrivalRateRamp() {
+        // 0 -> 200 req/s 线性爬坡 1 秒约 100 次到达，随后 200 req/s 保持 0.5 秒约 100 次
+        LoadShapeResult result = tests.loadShapeTest(server.url("/ping"), Arrays.asList(
+                LoadStage.ramp("ramp", 0, 200, 1, TimeUnit.SECONDS),
+                LoadStage.hold("hold", 200, 500, TimeUnit.MILLISECONDS)
+        ), LoadTarget.ARRIVAL_RATE, 20, HttpMethod.GET, null, null, false);
+        assertEquals(LoadTarget.ARRIVAL_RATE.name(), result.target);
+        assertTrue(Math.abs(result.stage("ramp").requests - 100) <= 2, result.toString());
+        assertEquals(100, result.stage("hold").requests);
+        assertTrue(Math.abs(result.totalRequests() - 200) <= 2);
+    }
+
+    @Test
+    public void testLoadShapeArrivalRateCarriesPhaseAcrossStages() {
+        // 1 -> 2 req/s 爬坡 1.5 秒（2.25 次）、2 req/s 保持 1.25 秒（2.5 次）、2 -> 1 req/s 回落 1.2 秒（1.8 次），
+        // 速率曲线积分 6.55：从 0 时刻起在累计 0..6 次处到达，阶段切换不应重新从 0 开始计时
+        List<LoadStage> stages = Arrays.asList(
+                LoadStage.ramp("up", 1, 2, 1500, TimeUnit.MILLISECONDS),
+                LoadStage.hold("hold", 2, 1250, TimeUnit.MILLISECONDS),
+                LoadStage.ramp("down", 2, 1, 1200, TimeUnit.MILLISECONDS));
+        double integral = 0;
+        for (LoadStage stage : stages) {
+            integral += stage.arrivals();
+        }
+        assertEquals(6.55, integral, 1e-9);
+
+        LoadShapeResult result = new LoadShapeScheduler(stages, LoadTarget.ARRIVAL_RATE)
+                .run((userId, iteration) -> null);
+        assertEquals((long) Math.floor(integral) + 1, result.totalRequests(), result.toString());
+        assertEquals(3, result.stage("up").requests);
+        assertEquals(2, result.stage("hold").requests);
+        assertEquals(2, result.stage("down").requests);
+    }
+
+    @Test
+    public void testLoadShapeStopWhen() {
+        LoadShapeResult result = new LoadShapeScheduler(Arrays.asList(
+                LoadStage.hold("first", 2, 200, TimeUnit.MILLISECONDS),
+                LoadStage.hold("second", 2, 200, TimeUnit.MILLISECONDS)
+        ), LoadTarget.CONCURRENCY)
+                .stopWhen(stage -> stage.failed > 0)
+                .run((userId, iteration) -> {
+                    sleepQuietly(10);
+                    return null;
+                });
+        assertTrue(result.stoppedEarly);
+        assertEquals(1, result.stages.size());
+        assertEquals(0, result.stages.get(0).success);
+    }
+
+    @Test
+    public void testPeakLoadTestAppliesContinuousLoad() {
+        MCHighConcurrencyTests.PeakLoadResult result = tests.peakLoadTest(
+                server.url("/slow"), 1, 3, 1, 1, HttpMethod.GET, null, null, 5000, false);
+        assertEquals(3, result.stages.size());
+        // 每个阶段持续 1 秒、单次请求 50ms：单个用户也应完成多次请求
+        assertTrue(result.normalLoad.total > 5, result.toString());
+        assertTrue(result.peakLoad.total > result.normalLoad.total);
+        assertTrue(result.isSystemResilient());
+    }
+
+    @Test
+    public void testSoakTestMergesWindowSketches() {
+        LoadShapeResult result = tests.soakTest(server.url("/slow"), 2, 2, 1, StatisticsBackend.SKETCH,
+                HttpMethod.GET, null, null, 5000, false);
+        assertEquals(2, result.stages.size());
+        for (PhaseStats window : result.stages) {
+            assertNotNull(window.sketch);
+            assertEquals(window.requests, window.sketch.getCount());
+        }
+        QuantileSketch whole = result.mergedSketch();
+        assertEquals(result.totalRequests(), whole.getCount());
+        assertTrue(whole.toSummary().p50Millis >= 50, whole.toString());
+
+        MCHighConcurrencyTests.SustainedLoadResult sustained = tests.sustainedLoadTest(
+                server.url("/ping"), 1, 50, StatisticsBackend.SKETCH, HttpMethod.GET, null, null, false);
+        assertTrue(sustained.responseTimes.isEmpty());
+        assertEquals(sustained.successCount + sustained.failCount, sustained.sketch.getCount());
+        assertEquals(sustained.sketch.getCount(), sustained.latency.count);
+
+        // 单个在途请求、每个 50ms，按 40 次/秒到达：排队时间计入延迟
+        MCHighConcurrencyTests.SustainedLoadResult queued = tests.sustainedLoadTest(
+                PreparedRequest.of(server.url("/slow"), HttpMethod.GET, null, null), 1, 40, 1,
+                StatisticsBackend.SAMPLES, false);
+        assertEquals(40, queued.responseTimes.size());
+        assertNull(queued.sketch);
+        assertTrue(queued.latency.maxMillis > 500, queued.latency.toString());
+    }
+
+    @Test
+    public void testAdaptiveCapacitySearchFindsKnee() {
+        MCHighConcurrencyTests.CapacityTestResult result = tests.adaptiveCapacityTest(
+                server.url("/limited"), 1, 256, 300, 150, HttpMethod.GET, null, null, 5000, false);
+        // 线性步进需要 256 次探测，自适应搜索只需十余次
+        assertTrue(result.dataPoints.size() <= 14, result.dataPoints.toString());
+        assertTrue(result.optimalThreadCount >= 4 && result.optimalThreadCount <= 32, result.dataPoints.toString());
+        assertTrue(result.maxThroughput > 100, result.toString());
+    }
+
+    @Test
+    public void testCapacitySearchStopsAtKnee() {
+        // 模拟系统：并发 12 之前吞吐量线性增长，之后饱和；延迟始终满足 SLO
+        CapacitySearch search = new CapacitySearch(1, 1000).sloP99Millis(100);
+        List<CapacityProbe> probes = search.search(concurrency -> new PhaseStats("c" + concurrency, 100, 100, 0,
+                100.0 / (Math.min(concurrency, 12) * 10),
+                new LatencySummary(100, 1, 10, 1, 1, 1, 1, 10, 10)));
+        assertEquals(12, search.optimal(probes).concurrency);
+        assertEquals(120, CapacitySearch.maxThroughput(probes), 0.001);
+        assertTrue(probes.size() < 10, probes.toString());
+    }
+
+    @Test
+    public void testCapacitySearchStopsOnNoisyMidpoint() {
+        // 模拟系统：吞吐量在并发 8 饱和；并发 6 偶然违反 SLO，位于拐点区间内部
+        CapacitySearch search = new CapacitySearch(1, 1000).sloP99Millis(100);
+        List<CapacityProbe> probes = search.search(concurrency -> {
+            double p99 = concurrency == 6 || concurrency >= 16 ? 200 : 10;
+            return new PhaseStats("c" + concurrency, 100, 100, 0, 100.0 / (Math.min(concurrency, 8) * 10),
+                    new LatencySummary(100, 1, p99, 1, 1, 1, 1, p99, p99));
+        });
+        assertEquals(8, search.optimal(probes).concurrency);
+        assertTrue(probes.size() < 12, probes.toString());
+    }
+
+    @Test
+    public void testCapacitySearchRespectsSlo() {
+        // 模拟系统：吞吐量随并发线性增长，p99 = 并发数 * 10ms，SLO 为 100ms
+        CapacitySearch search = new CapacitySearch(1, 1000).sloP99Millis(100);
+        List<CapacityProbe> probes = search.search(concurrency -> new PhaseStats("c" + concurrency, 100, 100, 0, 1.0 * 100 / (concurrency * 10),
+                        new LatencySummary(100, 1, concurrency * 10, 1, 1, 1, 1, concurrency * 10, concurrency * 10)));
+        assertEquals(10, search.optimal(probes).concurrency);
+        assertTrue(probes.size() < 12, probes.toString());
+    }
+
+    private static void sleepQuietly(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
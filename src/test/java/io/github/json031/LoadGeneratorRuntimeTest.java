@@ -0,0 +1,106 @@
+package io.github.json031;
+
+import io.github.json031.JavaBean.HighConcurrencyResult;
+import io.github.json031.apitests.MCHighConcurrencyTests;
+import io.github.json031.load.ExecutionMode;
+import io.github.json031.load.LoadGeneratorRuntime;
+import io.github.json031.load.WorkerGroup;
+import io.github.json031.transport.PreparedRequest;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpMethod;
+
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class LoadGeneratorRuntimeTest {
+
+    @Test
+    public void testWorkerGroupLimitsConcurrencyAndDrains() {
+        try (LoadGeneratorRuntime runtime = new LoadGeneratorRuntime(ExecutionMode.PLATFORM_THREADS)) {
+            WorkerGroup group = runtime.workers(3);
+            assertEquals(3, runtime.threadsCreated());
+            AtomicInteger active = new AtomicInteger();
+            AtomicInteger peak = new AtomicInteger();
+            AtomicInteger done = new AtomicInteger();
+            for (int i = 0; i < 30; i++) {
+                group.execute(() -> {
+                    peak.accumulateAndGet(active.incrementAndGet(), Math::max);
+                    try {
+                        Thread.sleep(2);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                    active.decrementAndGet();
+                    done.incrementAndGet();
+                });
+            }
+            assertTrue(group.drain(10, TimeUnit.SECONDS));
+            assertEquals(30, done.get());
+            assertTrue(peak.get() <= 3, "peak " + peak.get());
+
+            // 第二次运行复用已启动的线程
+            WorkerGroup again = runtime.workers(2);
+            again.execute(done::incrementAndGet);
+            assertTrue(again.drain(10, TimeUnit.SECONDS));
+            assertEquals(3, runtime.threadsCreated());
+        }
+    }
+
+    @Test
+    public void testDrainTimeoutInterruptsRunningTasks() throws Exception {
+        LoadGeneratorRuntime runtime = new LoadGeneratorRuntime(ExecutionMode.PLATFORM_THREADS);
+        WorkerGroup group = runtime.workers(1);
+        CountDownLatch interrupted = new CountDownLatch(1);
+        AtomicInteger queuedRuns = new AtomicInteger();
+        group.execute(() -> {
+            try {
+                Thread.sleep(60_000);
+            } catch (InterruptedException e) {
+                interrupted.countDown();
+            }
+        });
+        group.execute(queuedRuns::incrementAndGet);
+
+        assertFalse(group.drain(100, TimeUnit.MILLISECONDS));
+        assertTrue(interrupted.await(5, TimeUnit.SECONDS));
+        assertEquals(0, queuedRuns.get());
+
+        WorkerGroup next = runtime.workers(1);
+        next.execute(queuedRuns::incrementAndGet);
+        assertTrue(next.drain(5, TimeUnit.SECONDS));
+        assertEquals(1, queuedRuns.get());
+
+        runtime.close();
+        assertTrue(runtime.isClosed());
+        assertThrows(IllegalStateException.class, () -> runtime.workers(1));
+    }
+
+    @Test
+    public void testRuntimeIsReusedAcrossTests() throws Exception {
+        try (LocalHttpServer server = new LocalHttpServer();
+             LoadGeneratorRuntime runtime = new LoadGeneratorRuntime(ExecutionMode.PLATFORM_THREADS)) {
+            server.respondJson("/ping", "{\"ok\":true}");
+            PreparedRequest request = PreparedRequest.of(server.url("/ping"), HttpMethod.GET, null, null);
+            MCHighConcurrencyTests tests = new MCHighConcurrencyTests();
+            tests.runtime = runtime;
+            runtime.warmUp((userId, iteration) -> null, 4);
+            assertEquals(4, runtime.threadsCreated());
+
+            List<HighConcurrencyResult> stress = tests.stressTest(request, 2, 4, 2, 1, 0.5, 5000, false);
+            List<HighConcurrencyResult> stability = tests.stabilityTest(request, 3, 1, 1, 5000, false);
+            HighConcurrencyResult burst = tests.highConcurrencyTestWithTimeoutMillis(
+                    server.url("/ping"), 4, HttpMethod.GET, null, null, 5000, false);
+
+            assertEquals(2, stress.size());
+            assertEquals(1, stability.size());
+            assertTrue(stress.get(1).success > 0);
+            assertTrue(stability.get(0).success > 0);
+            assertEquals(4, burst.success);
+            assertEquals(4, runtime.threadsCreated(), runtime.toString());
+        }
+    }
+}
@@ -1,14 +1,18 @@
 package io.github.json031;
 
+import io.github.json031.JavaBean.ExecutionModeComparison;
 import io.github.json031.JavaBean.HighConcurrencyResult;
 import io.github.json031.apitests.MCHighConcurrencyTests;
 import io.github.json031.apitests.MCApiTests;
+import io.github.json031.load.ExecutionMode;
+import io.github.json031.load.VirtualThreads;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mockito;
 import org.springframework.http.HttpMethod;
 
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.ExecutorService;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -86,4 +90,50 @@ public class MCHighConcurrencyTestsTest {
             fail("Exception thrown in highConcurrencyTestWithTimeoutMillis: " + e.getMessage());
         }
     }
+
+    @Test
+    public void testCompareExecutionModes() throws Exception {
+        try (LocalHttpServer server = new LocalHttpServer()) {
+            MCHighConcurrencyTests tests = new MCHighConcurrencyTests();
+            ExecutionModeComparison comparison = tests.compareExecutionModes(
+                    server.url("/ping"), 20, HttpMethod.GET, null, null, 10000, false);
+
+            assertEquals("PLATFORM_THREADS", comparison.platformThreads.executionMode);
+            assertEquals(VirtualThreads.isSupported() ? "VIRTUAL_THREADS" : "PLATFORM_THREADS",
+                    comparison.virtualThreads.executionMode);
+            assertEquals(20, comparison.platformThreads.result.success);
+            assertEquals(20, comparison.virtualThreads.result.success);
+            assertTrue(comparison.platformThreads.peakPlatformThreads >= 20);
+            assertFalse(comparison.toString().isEmpty());
+
+            ExecutorService fallback = VirtualThreads.newVirtualThreadPerTaskExecutor();
+            assertEquals(1, (int) fallback.submit(() -> 1).get());
+            fallback.shutdown();
+
+            tests.executionMode = ExecutionMode.VIRTUAL_THREADS;
+            HighConcurrencyResult result = tests.highConcurrencyTestWithTimeoutMillis(
+                    server.url("/ping"), 10, HttpMethod.GET, null, null, 10000, false);
+            assertEquals(10, result.success);
+        }
+    }
+
+    @Test
+    public void testCapacityAndSafetyTestsRunOnWorkerGroups() throws Exception {
+        try (LocalHttpServer server = new LocalHttpServer()) {
+            MCHighConcurrencyTests tests = new MCHighConcurrencyTests();
+            long start = System.nanoTime();
+            MCHighConcurrencyTests.CapacityTestResult capacity = tests.capacityTest(
+                    server.url("/ping"), 2, 6, 2, HttpMethod.GET, null, null, 0, 10000, false);
+            assertEquals(3, capacity.dataPoints.size());
+            // 默认不在相邻两级之间暂停
+            assertTrue(System.nanoTime() - start < 4_000_000_000L);
+            assertTrue(capacity.maxThroughput > 0);
+
+            assertTrue(tests.concurrencySafetyTest(server.url("/ping"), 4, 5, HttpMethod.GET, null, null,
+                    responses -> responses.size() == 20
+                            && responses.stream().allMatch("{\"pong\":true}"::equals), false));
+            assertFalse(tests.concurrencySafetyTest(server.url("/ping"), 2, 1, HttpMethod.GET, null, null,
+                    responses -> false, false));
+        }
+    }
 }
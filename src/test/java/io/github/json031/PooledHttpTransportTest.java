@@ -0,0 +1,219 @@
+package io.github.json031;
+
+import io.github.json031.JavaBean.ConnectionPoolStats;
+import io.github.json031.JavaBean.RequestTimings;
+import io.github.json031.JavaBean.RequestUnitTestsResult;
+import io.github.json031.transport.PhaseTimer;
+import io.github.json031.transport.PooledHttpTransport;
+import io.github.json031.unittests.RequestUnitTests;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.client.RestTemplate;
+
+import java.io.BufferedReader;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class PooledHttpTransportTest {
+
+    private LocalHttpServer server;
+    private String url;
+
+    @BeforeEach
+    public void startServer() throws Exception {
+        server = new LocalHttpServer();
+        url = server.url("/ping");
+    }
+
+    @AfterEach
+    public void stopServer() {
+        server.close();
+    }
+
+    @Test
+    public void testKeepAliveConnectionsAreReused() throws Exception {
+        try (PooledHttpTransport transport = new PooledHttpTransport(
+                PooledHttpTransport.PoolConfig.defaults().maxPerRoute(4).maxTotal(8))) {
+            RestTemplate template = transport.createRestTemplate(5000, 5000);
+            for (int i = 0; i < 10; i++) {
+                ResponseEntity<String> response = template.getForEntity(url, String.class);
+                assertEquals(200, response.getStatusCodeValue());
+            }
+
+            ConnectionPoolStats stats = transport.getStats();
+            assertEquals(1, stats.newConnections);
+            assertEquals(9, stats.reusedConnections);
+            assertEquals(1, stats.available);
+            assertTrue(stats.reuseRate() > 0.8);
+            assertFalse(stats.toString().isEmpty());
+
+            transport.resetStats();
+            assertEquals(0, transport.getStats().newConnections);
+        }
+    }
+
+    @Test
+    public void testRequestWitRestTemplateUsesPool() {
+        RequestUnitTests.getInstance().resetConnectionPoolStats();
+        for (int i = 0; i < 5; i++) {
+            RequestUnitTestsResult result = RequestUnitTests.requestWitRestTemplate(url, HttpMethod.GET, null, null, false);
+            assertTrue(result.isSuccess);
+        }
+        ConnectionPoolStats stats = RequestUnitTests.getInstance().getConnectionPoolStats();
+        assertEquals(5, stats.newConnections + stats.reusedConnections);
+        assertTrue(stats.reusedConnections >= 4);
+    }
+
+    @Test
+    public void testPhaseTimingsOfNewAndReusedConnections() throws Exception {
+        try (PooledHttpTransport transport = new PooledHttpTransport(PooledHttpTransport.PoolConfig.defaults())) {
+            RestTemplate template = transport.createRestTemplate(5000, 5000);
+
+            PhaseTimer timer = PhaseTimer.start();
+            template.getForEntity(url, String.class);
+            RequestTimings first = timer.finish(System.nanoTime());
+            assertTrue(first.isMeasured());
+            assertFalse(first.connectionReused);
+            assertTrue(first.dnsNanos >= 0);
+            assertTrue(first.connectNanos >= 0);
+            assertEquals(RequestTimings.NOT_MEASURED, first.tlsNanos);
+            assertTrue(first.ttfbNanos > 0);
+            assertTrue(first.transferNanos >= 0);
+
+            timer = PhaseTimer.start();
+            template.getForEntity(url, String.class);
+            RequestTimings second = timer.finish(System.nanoTime());
+            assertTrue(second.connectionReused);
+            assertEquals(RequestTimings.NOT_MEASURED, second.dnsNanos);
+            assertEquals(RequestTimings.NOT_MEASURED, second.connectNanos);
+            assertTrue(second.ttfbNanos > 0);
+            assertFalse(second.toString().isEmpty());
+        }
+    }
+
+    @Test
+    public void testResultCarriesPhaseTimings() {
+        RequestUnitTestsResult result = RequestUnitTests.requestWitRestTemplate(url, HttpMethod.GET, null, null, false);
+        assertTrue(result.timings.isMeasured());
+        assertTrue(result.timings.ttfbNanos <= result.durationNanos);
+        assertTrue(result.timings.ttfbNanos + result.timings.transferNanos <= result.durationNanos);
+
+        RequestUnitTestsResult mocked = RequestUnitTestsResult.testSuccessResult(1, null, url, "GET");
+        assertFalse(mocked.timings.isMeasured());
+    }
+
+    @Test
+    public void testNoImplicitCompressionAndLeaseIsTimed() throws Exception {
+        AtomicReference<String> acceptEncoding = new AtomicReference<>();
+        server.handle("/encoding", exchange -> {
+            acceptEncoding.set(String.valueOf(exchange.getRequestHeaders().getFirst("Accept-Encoding")));
+            exchange.sendResponseHeaders(204, -1);
+            exchange.close();
+        });
+        try (PooledHttpTransport transport = new PooledHttpTransport(PooledHttpTransport.PoolConfig.defaults())) {
+            PhaseTimer timer = PhaseTimer.start();
+            transport.createRestTemplate(5000, 5000).exchange(server.url("/encoding"), HttpMethod.GET, null, String.class);
+            RequestTimings timings = timer.finish(System.nanoTime());
+            assertEquals("null", acceptEncoding.get());
+            assertTrue(timings.leaseNanos >= 0);
+        }
+        try (PooledHttpTransport transport = new PooledHttpTransport(
+                PooledHttpTransport.PoolConfig.defaults().contentCompression(true))) {
+            transport.createRestTemplate(5000, 5000).exchange(server.url("/encoding"), HttpMethod.GET, null, String.class);
+            assertTrue(acceptEncoding.get().contains("gzip"));
+        }
+    }
+
+    @Test
+    public void testOnlyIdempotentRequestOnStaleConnectionIsResentOnce() throws Exception {
+        AtomicInteger accepted = new AtomicInteger();
+        try (ServerSocket oneShot = new ServerSocket(0)) {
+            // 每个连接只响应一个请求后关闭，但响应中不声明 Connection: close
+            Thread acceptor = new Thread(() -> {
+                while (!oneShot.isClosed()) {
+                    try (Socket socket = oneShot.accept()) {
+                        accepted.incrementAndGet();
+                        BufferedReader reader = new BufferedReader(
+                                new InputStreamReader(socket.getInputStream(), StandardCharsets.US_ASCII));
+                        String line;
+                        while ((line = reader.readLine()) != null && !line.isEmpty()) {
+                            // 丢弃请求头
+                        }
+                        OutputStream out = socket.getOutputStream();
+                        out.write("HTTP/1.1 200 OK\r\nContent-Length: 2\r\n\r\nok".getBytes(StandardCharsets.US_ASCII));
+                        out.flush();
+                    } catch (Exception e) {
+                        return;
+                    }
+                }
+            });
+            acceptor.setDaemon(true);
+            acceptor.start();
+            String staleUrl = "http://127.0.0.1:" + oneShot.getLocalPort() + "/";
+
+            try (PooledHttpTransport transport = new PooledHttpTransport(PooledHttpTransport.PoolConfig.defaults())) {
+                RestTemplate template = transport.createRestTemplate(5000, 5000);
+                assertEquals("ok", template.getForObject(staleUrl, String.class));
+                Thread.sleep(100);
+                assertEquals("ok", template.getForObject(staleUrl, String.class));
+                assertEquals(1, transport.getStats().staleConnectionRetries);
+                assertEquals(2, accepted.get());
+
+                // 服务端可能已处理过已发出的 POST，不重发
+                Thread.sleep(100);
+                assertThrows(Exception.class, () -> template.postForObject(staleUrl, null, String.class));
+                assertEquals(1, transport.getStats().staleConnectionRetries);
+                assertEquals(2, accepted.get());
+            }
+
+            try (PooledHttpTransport transport = new PooledHttpTransport(
+                    PooledHttpTransport.PoolConfig.defaults().retryStaleConnections(false))) {
+                RestTemplate template = transport.createRestTemplate(5000, 5000);
+                assertEquals("ok", template.getForObject(staleUrl, String.class));
+                Thread.sleep(100);
+                assertThrows(Exception.class, () -> template.getForObject(staleUrl, String.class));
+                assertEquals(0, transport.getStats().staleConnectionRetries);
+            }
+        }
+    }
+
+    @Test
+    public void testCloseWhenIdleWaitsForInFlightRequests() throws Exception {
+        CountDownLatch entered = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        server.handle("/hold", exchange -> {
+            entered.countDown();
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            exchange.sendResponseHeaders(204, -1);
+            exchange.close();
+        });
+        PooledHttpTransport transport = new PooledHttpTransport(PooledHttpTransport.PoolConfig.defaults());
+        RestTemplate template = transport.createRestTemplate(5000, 5000);
+        CompletableFuture<Integer> inFlight = CompletableFuture.supplyAsync(() ->
+                template.exchange(server.url("/hold"), HttpMethod.GET, null, String.class).getStatusCodeValue());
+        assertTrue(entered.await(5, TimeUnit.SECONDS));
+
+        transport.closeWhenIdle();
+        assertEquals(1, transport.getStats().leased);
+        release.countDown();
+        assertEquals(204, inFlight.get(5, TimeUnit.SECONDS));
+        assertThrows(Exception.class, () -> template.getForEntity(url, String.class));
+    }
+}
@@ -0,0 +1,133 @@
+package io.github.json031;
+
+import io.github.json031.JavaBean.ClosedModelResult;
+import io.github.json031.JavaBean.HighConcurrencyResult;
+import io.github.json031.JavaBean.RequestUnitTestsResult;
+import io.github.json031.apitests.MCHighConcurrencyTests;
+import io.github.json031.load.ThinkTime;
+import io.github.json031.transport.PreparedRequest;
+import io.github.json031.unittests.RequestUnitTests;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpMethod;
+
+import java.io.ByteArrayOutputStream;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class PreparedRequestTest {
+
+    private LocalHttpServer server;
+    private final Set<String> users = ConcurrentHashMap.newKeySet();
+
+    @BeforeEach
+    public void startServer() throws Exception {
+        // 回显原始路径、查询字符串、X-User 请求头与请求体
+        server = new LocalHttpServer().handle("/echo", exchange -> {
+            ByteArrayOutputStream received = new ByteArrayOutputStream();
+            try (InputStream in = exchange.getRequestBody()) {
+                byte[] buffer = new byte[4096];
+                int read;
+                while ((read = in.read(buffer)) != -1) {
+                    received.write(buffer, 0, read);
+                }
+            }
+            String user = exchange.getRequestHeaders().getFirst("X-User");
+            if (user != null) {
+                users.add(user);
+            }
+            String echo = exchange.getRequestURI().getRawPath() + "\n"
+                    + exchange.getRequestURI().getRawQuery() + "\n"
+                    + user + "\n"
+                    + exchange.getRequestHeaders().getFirst("Content-Type") + "\n"
+                    + new String(received.toByteArray(), StandardCharsets.UTF_8);
+            byte[] body = echo.getBytes(StandardCharsets.UTF_8);
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream os = exchange.getResponseBody()) {
+                os.write(body);
+            }
+        });
+    }
+
+    @AfterEach
+    public void stopServer() {
+        server.close();
+    }
+
+    @Test
+    public void testConstantRequestIsCompiledOnce() {
+        Map<String, Object> params = new HashMap<>();
+        params.put("q", "a&b c");
+        PreparedRequest request = PreparedRequest.of(server.url("/echo"), HttpMethod.GET, params, null);
+        assertTrue(request.isValid());
+        assertFalse(request.hasPlaceholders());
+        assertSame(request.render(0, 0), request.render(3, 7));
+
+        RequestUnitTestsResult result = RequestUnitTests.execute(request, null, false);
+        assertTrue(result.isSuccess, String.valueOf(result.errorMessage));
+        String[] echo = result.response.getBody().split("\n", -1);
+        assertEquals("q=a%26b%20c", echo[1]);
+        assertEquals(server.url("/echo") + "?q=a%26b%20c", result.requestUrl);
+    }
+
+    @Test
+    public void testPlaceholdersAreEscapedPerLocation() {
+        PreparedRequest request = PreparedRequest.builder(HttpMethod.POST, server.url("/echo/${id}"))
+                .queryParam("page", "${page}")
+                .header("X-User", "user-${userId}")
+                .jsonBody(Collections.singletonMap("name", "${name}"))
+                .build();
+        assertTrue(request.hasPlaceholders());
+
+        Map<String, String> variables = new HashMap<>();
+        variables.put("id", "a/b");
+        variables.put("page", "1&2");
+        variables.put("name", "x\"y");
+        RequestUnitTestsResult result = RequestUnitTests.execute(request, variables, false);
+        assertTrue(result.isSuccess, String.valueOf(result.errorMessage));
+        String[] echo = result.response.getBody().split("\n", -1);
+        assertEquals("/echo/a%2Fb", echo[0]);
+        assertEquals("page=1%262", echo[1]);
+        assertEquals("user-0", echo[2]);
+        assertEquals("application/json", echo[3]);
+        assertEquals("{\"name\":\"x\\\"y\"}", echo[4]);
+    }
+
+    @Test
+    public void testInvalidUrlIsRejectedAtBuildTime() {
+        PreparedRequest request = PreparedRequest.of("ftp://127.0.0.1/file", HttpMethod.GET, null, null);
+        assertFalse(request.isValid());
+        assertNotNull(request.getInvalidReason());
+        assertNull(request.render(0, 0));
+        assertNull(RequestUnitTests.execute(request, null, false));
+    }
+
+    @Test
+    public void testEnginesSubstituteVariablesPerUser() {
+        PreparedRequest request = PreparedRequest.builder(HttpMethod.GET, server.url("/echo"))
+                .queryParam("n", "${iteration}")
+                .header("X-User", "${tenant}-${userId}")
+                .variables((userId, iteration) -> Collections.singletonMap("tenant", "t" + (userId % 2)))
+                .build();
+        MCHighConcurrencyTests tests = new MCHighConcurrencyTests();
+
+        ClosedModelResult closed = tests.closedModelIterationsTest(request, 3, 4, 0, ThinkTime.none(), false);
+        assertEquals(12, closed.steadyState.requests);
+        assertEquals(12, closed.steadyState.success);
+        assertEquals(new HashSet<>(Arrays.asList("t0-0", "t1-1", "t0-2")), users);
+
+        HighConcurrencyResult async = tests.asyncConcurrencyTest(request, 10, 4, 5000, false);
+        assertEquals(10, async.success);
+    }
+}
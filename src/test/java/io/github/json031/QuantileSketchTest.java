@@ -0,0 +1,109 @@
+package io.github.json031;
+
+import io.github.json031.stats.QuantileSketch;
+import io.github.json031.stats.SketchRecorder;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class QuantileSketchTest {
+
+    @Test
+    public void testQuantilesWithinRelativeAccuracy() {
+        QuantileSketch sketch = new QuantileSketch(0.01, 2048);
+        Random random = new Random(11);
+        int n = 200_000;
+        long[] exact = new long[n];
+        for (int i = 0; i < n; i++) {
+            // 对数正态分布，中位数约 5ms，长尾到秒级
+            long value = (long) Math.exp(Math.log(5_000_000) + random.nextGaussian() * 1.2);
+            exact[i] = value;
+            sketch.add(value);
+        }
+        Arrays.sort(exact);
+        for (double p : new double[]{1, 50, 90, 99, 99.9, 99.99}) {
+            long expected = exact[(int) Math.ceil(p / 100 * n) - 1];
+            long actual = sketch.getValueAtPercentile(p);
+            assertEquals(expected, actual, expected * 0.01 + 1, "p" + p);
+        }
+        assertEquals(exact[0], sketch.getMinValue());
+        assertEquals(exact[n - 1], sketch.getMaxValue());
+        assertEquals(n, sketch.getCount());
+        // 几 KB 的状态即可覆盖 7 个数量级
+        assertTrue(sketch.getEstimatedFootprintBytes() < 16 * 1024, sketch.toString());
+    }
+
+    @Test
+    public void testMergedWindowsMatchWholeRun() {
+        QuantileSketch whole = new QuantileSketch();
+        QuantileSketch[] windows = new QuantileSketch[5];
+        for (int w = 0; w < windows.length; w++) {
+            windows[w] = new QuantileSketch();
+        }
+        Random random = new Random(3);
+        for (int i = 0; i < 100_000; i++) {
+            long value = 1_000_000 + (long) (random.nextDouble() * 50_000_000) * (i % 5 + 1);
+            whole.add(value);
+            windows[i % 5].add(value);
+        }
+        QuantileSketch merged = windows[0].copy();
+        for (int w = 1; w < windows.length; w++) {
+            merged.merge(windows[w]);
+        }
+        assertEquals(whole.getCount(), merged.getCount());
+        assertEquals(whole.getMean(), merged.getMean(), 1e-6 * whole.getMean());
+        for (double p : new double[]{50, 90, 99, 99.9}) {
+            assertEquals(whole.getValueAtPercentile(p), merged.getValueAtPercentile(p));
+        }
+        assertThrows(IllegalArgumentException.class, () -> merged.merge(new QuantileSketch(0.05, 2048)));
+    }
+
+    @Test
+    public void testCollapsesLowestBinsWhenFull() {
+        QuantileSketch sketch = new QuantileSketch(0.01, 64);
+        for (long value = 1; value <= 1_000_000_000L; value *= 10) {
+            sketch.add(value);
+        }
+        sketch.add(0);
+        assertEquals(64 * 8, sketch.getEstimatedFootprintBytes());
+        assertEquals(11, sketch.getCount());
+        assertEquals(0, sketch.getValueAtPercentile(1));
+        // 高分位数不受合并影响
+        assertEquals(1_000_000_000L, sketch.getValueAtPercentile(100), 1_000_000_000L * 0.01);
+    }
+
+    @Test
+    public void testConcurrentRecorderKeepsSuccessCounts() throws Exception {
+        SketchRecorder recorder = new SketchRecorder();
+        int threads = 8;
+        int perThread = 20_000;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        for (int t = 0; t < threads; t++) {
+            executor.execute(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                for (int i = 1; i <= perThread; i++) {
+                    recorder.record(i * 1_000L, i % 4 != 0);
+                }
+            });
+        }
+        start.countDown();
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(30, TimeUnit.SECONDS));
+
+        assertEquals((long) threads * perThread, recorder.count());
+        assertEquals((long) threads * perThread / 4, recorder.failCount());
+        assertEquals(10.0, recorder.summary().p50Millis, 0.1);
+    }
+}
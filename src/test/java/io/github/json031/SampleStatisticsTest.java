@@ -0,0 +1,76 @@
+package io.github.json031;
+
+import io.github.json031.stats.SampleStatistics;
+import io.github.json031.unittests.DataUnitTests;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SampleStatisticsTest {
+
+    @Test
+    public void testPercentilesMatchNearestRank() {
+        List<Long> times = new ArrayList<>();
+        Random random = new Random(5);
+        for (int i = 0; i < 1_001; i++) {
+            times.add((long) random.nextInt(1_000));
+        }
+        List<Long> sorted = new ArrayList<>(times);
+        Collections.sort(sorted);
+
+        SampleStatistics statistics = DataUnitTests.responseTimeStatistics(times);
+        long[] percentiles = statistics.percentiles(50, 90, 95, 99);
+        int[] ranks = {50, 90, 95, 99};
+        for (int i = 0; i < ranks.length; i++) {
+            long expected = sorted.get((int) Math.ceil(ranks[i] / 100.0 * sorted.size()) - 1);
+            assertEquals(expected, percentiles[i]);
+            assertEquals(expected, DataUnitTests.getPercentile(times, ranks[i]));
+        }
+        assertEquals(sorted.get(0).longValue(), statistics.min);
+        assertEquals(sorted.get(sorted.size() - 1).longValue(), statistics.max);
+        // 入参不被修改
+        assertNotEquals(sorted, times);
+    }
+
+    @Test
+    public void testWelfordMeanAndStandardDeviation() {
+        SampleStatistics statistics = SampleStatistics.of(new long[]{2, 4, 4, 4, 5, 5, 7, 9});
+        assertEquals(5.0, statistics.mean, 1e-12);
+        assertEquals(4.0, statistics.variance, 1e-12);
+        assertEquals(2.0, DataUnitTests.calculateStandardDeviation(Arrays.asList(2L, 4L, 4L, 4L, 5L, 5L, 7L, 9L)), 1e-12);
+
+        // 大数值附近的小波动不损失精度
+        long base = 1_000_000_000_000L;
+        SampleStatistics large = SampleStatistics.of(new long[]{base + 1, base + 2, base + 3});
+        assertEquals(2.0 / 3, large.variance, 1e-6);
+        assertEquals(0.0, DataUnitTests.calculateStandardDeviation(Collections.emptyList()));
+    }
+
+    @Test
+    public void testStabilityUsesExtremes() {
+        assertTrue(DataUnitTests.isResponseTimeStable(Arrays.asList(100L, 110L, 90L, 105L), 0.2));
+        assertFalse(DataUnitTests.isResponseTimeStable(Arrays.asList(100L, 110L, 90L, 300L), 0.2));
+        assertTrue(DataUnitTests.isResponseTimeStable(Collections.singletonList(5L), 0.0));
+        assertTrue(DataUnitTests.isResponseTimeStable(Arrays.asList(0L, 0L), 0.1));
+
+        SampleStatistics statistics = SampleStatistics.of(new long[]{100, 110, 90, 300});
+        assertEquals(300, statistics.farthestFromMean());
+        assertEquals(0.0, SampleStatistics.of(new long[0]).maxRelativeDeviation());
+    }
+
+    @Test
+    public void testInPlaceSortsOnlyCountPrefix() {
+        long[] samples = {5, 3, 1, 99, 0};
+        SampleStatistics statistics = SampleStatistics.ofInPlace(samples, 3);
+        assertEquals(3, statistics.count);
+        assertEquals(5, statistics.max);
+        assertArrayEquals(new long[]{1, 3, 5}, statistics.toSortedArray());
+        assertEquals(99, samples[3]);
+    }
+}
@@ -0,0 +1,145 @@
+package io.github.json031;
+
+import com.sun.net.httpserver.HttpExchange;
+import io.github.json031.JavaBean.PhaseStats;
+import io.github.json031.JavaBean.ScenarioResult;
+import io.github.json031.apitests.MCHighConcurrencyTests;
+import io.github.json031.load.Scenario;
+import io.github.json031.load.ThinkTime;
+import io.github.json031.transport.PreparedRequest;
+import io.github.json031.unittests.DataUnitTests;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.ResponseEntity;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ScenarioTest {
+
+    @Test
+    public void testExtractJsonFieldValuesParsesOnce() {
+        ResponseEntity<String> response = ResponseEntity.ok(
+                "{\"data\":{\"token\":\"abc\",\"items\":[{\"id\":7},{\"id\":8}],\"none\":null}}");
+        Map<String, String> paths = new HashMap<>();
+        paths.put("token", "data.token");
+        paths.put("second", "data.items.1.id");
+        paths.put("items", "data.items");
+        paths.put("none", "data.none");
+        paths.put("missing", "data.missing");
+
+        Map<String, String> values = DataUnitTests.extractJsonFieldValues(response, paths);
+        assertEquals("abc", values.get("token"));
+        assertEquals("8", values.get("second"));
+        assertEquals("[{\"id\":7},{\"id\":8}]", values.get("items"));
+        assertFalse(values.containsKey("none"));
+        assertFalse(values.containsKey("missing"));
+        assertTrue(DataUnitTests.extractJsonFieldValues(ResponseEntity.ok("not json"), paths).isEmpty());
+    }
+
+    @Test
+    public void testScenarioPassesExtractedValuesBetweenSteps() throws Exception {
+        AtomicInteger logouts = new AtomicInteger();
+        try (LocalHttpServer server = new LocalHttpServer()) {
+            server.handle("/login", exchange -> {
+                String user = exchange.getRequestURI().getQuery().replace("user=", "");
+                exchange.getResponseHeaders().add("X-Session", "s-" + user);
+                send(exchange, 200, "{\"data\":{\"token\":\"t-" + user + "\"}}");
+            });
+            server.handle("/cart", exchange -> {
+                boolean authorized = exchange.getRequestHeaders().getFirst("Authorization").startsWith("Bearer t-");
+                send(exchange, authorized ? 200 : 401, "{\"cart\":{\"id\":42}}");
+            });
+            server.handle("/cart/42/items", exchange -> send(exchange, 200, "{\"items\":[{\"sku\":\"A-1\"}]}"));
+            server.handle("/order", exchange -> {
+                boolean valid = exchange.getRequestHeaders().getFirst("X-Session").startsWith("s-u")
+                        && exchange.getRequestURI().getQuery().contains("sku=A-1");
+                send(exchange, valid ? 200 : 400, "{\"ok\":true}");
+            });
+            server.handle("/logout", exchange -> {
+                logouts.incrementAndGet();
+                send(exchange, 204, null);
+            });
+
+            Scenario scenario = Scenario.builder("checkout")
+                    .step("login", PreparedRequest.builder(HttpMethod.GET, server.url("/login"))
+                            .queryParam("user", "u${userId}").build())
+                    .extract("token", "data.token")
+                    .extractHeader("session", "X-Session")
+                    .step("cart", PreparedRequest.builder(HttpMethod.GET, server.url("/cart"))
+                            .header("Authorization", "Bearer ${token}").build())
+                    .extract("cartId", "cart.id")
+                    .step("items", PreparedRequest.builder(HttpMethod.GET, server.url("/cart/${cartId}/items")).build())
+                    .extract("sku", "items.0.sku")
+                    .step("order", PreparedRequest.builder(HttpMethod.POST, server.url("/order"))
+                            .queryParam("sku", "${sku}")
+                            .header("X-Session", "${session}").build())
+                    .step("logout", PreparedRequest.builder(HttpMethod.POST, server.url("/logout")).build())
+                    .build();
+            assertThrows(IllegalStateException.class, () -> Scenario.builder("empty").extract("a", "b"));
+            assertThrows(IllegalArgumentException.class, () -> Scenario.builder("empty").build());
+
+            ScenarioResult result = new MCHighConcurrencyTests()
+                    .scenarioIterationsTest(scenario, 3, 4, 0, ThinkTime.none(), false);
+
+            assertEquals(12, result.totalTransactions(), result.toString());
+            assertEquals(0, result.failedTransactions(), result.toString());
+            assertEquals(12, logouts.get());
+            for (String step : scenario.stepNames()) {
+                PhaseStats stats = result.step(step);
+                assertEquals(12, stats.requests, step);
+                assertEquals(0, stats.failed, step);
+            }
+            assertTrue(result.transactions.steadyState.latency.p50Millis
+                    >= result.step("login").latency.p50Millis);
+            assertFalse(result.toString().isEmpty());
+        }
+    }
+
+    @Test
+    public void testMissingExtractionFailsTransaction() throws Exception {
+        AtomicInteger secondSteps = new AtomicInteger();
+        try (LocalHttpServer server = new LocalHttpServer()) {
+            server.respondJson("/login", "{\"data\":{}}");
+            server.handle("/profile", exchange -> {
+                secondSteps.incrementAndGet();
+                send(exchange, 200, "{}");
+            });
+            Scenario scenario = Scenario.builder("broken")
+                    .step("login", PreparedRequest.of(server.url("/login"), HttpMethod.GET, null, null))
+                    .extract("token", "data.token")
+                    .step("profile", PreparedRequest.of(server.url("/profile"), HttpMethod.GET, null, null))
+                    .build();
+
+            ScenarioResult result = new MCHighConcurrencyTests()
+                    .scenarioIterationsTest(scenario, 2, 3, 0, ThinkTime.none(), false);
+
+            assertEquals(6, result.failedTransactions());
+            assertEquals(6, result.step("login").failed);
+            assertEquals(0, result.step("profile").requests);
+            assertEquals(0, secondSteps.get());
+        }
+    }
+
+    private static void send(HttpExchange exchange, int status, String body) throws IOException {
+        if (body == null) {
+            // 先关闭请求体，否则 JDK HttpServer 回复无响应体的 204 后会关闭保活连接
+            exchange.getRequestBody().close();
+            exchange.sendResponseHeaders(status, -1);
+            exchange.close();
+            return;
+        }
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().add("Content-Type", "application/json");
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+}
@@ -0,0 +1,84 @@
+package io.github.json031;
+
+import io.github.json031.JavaBean.ScalabilityFit;
+import io.github.json031.apitests.MCHighConcurrencyTests;
+import io.github.json031.stats.UniversalScalabilityLaw;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class UniversalScalabilityLawTest {
+
+    private static double usl(double lambda, double sigma, double kappa, double n) {
+        return lambda * n / (1 + sigma * (n - 1) + kappa * n * (n - 1));
+    }
+
+    @Test
+    public void testRecoversCoefficientsAndPredictsPeakBeyondTestedRange() {
+        // σ=0.05, κ=0.0005, λ=100：峰值在 N* = sqrt(0.95 / 0.0005) ≈ 43.6，只测到 N=16
+        List<MCHighConcurrencyTests.CapacityDataPoint> points = new ArrayList<>();
+        for (int n : new int[]{1, 2, 4, 8, 12, 16}) {
+            points.add(new MCHighConcurrencyTests.CapacityDataPoint(n, 100, 0, 10, usl(100, 0.05, 0.0005, n)));
+        }
+        MCHighConcurrencyTests.CapacityTestResult result = new MCHighConcurrencyTests.CapacityTestResult(points, 16, usl(100, 0.05, 0.0005, 16));
+
+        ScalabilityFit fit = result.fitScalabilityModel();
+        assertEquals(0.05, fit.sigma, 1e-3);
+        assertEquals(0.0005, fit.kappa, 1e-5);
+        assertEquals(100, fit.lambda, 0.5);
+        assertTrue(fit.rSquared > 0.999);
+        assertEquals(43.6, fit.peakConcurrency, 0.5);
+        assertEquals(usl(100, 0.05, 0.0005, 43.6), fit.peakThroughput, 1);
+        assertTrue(fit.optimalConcurrency() == 43 || fit.optimalConcurrency() == 44);
+        assertEquals(6, fit.points);
+        assertFalse(fit.toString().isEmpty());
+    }
+
+    @Test
+    public void testNoisyMeasurements() {
+        double[] n = {1, 2, 4, 8, 16, 32};
+        double[] x = new double[n.length];
+        double[] noise = {1.02, 0.97, 1.01, 0.99, 1.03, 0.98};
+        for (int i = 0; i < n.length; i++) {
+            x[i] = usl(50, 0.1, 0.001, n[i]) * noise[i];
+        }
+        ScalabilityFit fit = UniversalScalabilityLaw.fit(n, x);
+        assertTrue(fit.rSquared > 0.95, fit.toString());
+        assertEquals(usl(50, 0.1, 0.001, 30), fit.predictThroughput(30), usl(50, 0.1, 0.001, 30) * 0.1);
+        assertTrue(fit.peakConcurrency > 15 && fit.peakConcurrency < 60, fit.toString());
+    }
+
+    @Test
+    public void testFitsLambdaFarAboveMeasuredThroughputPerUser() {
+        // 未测量并发 1，强竞争下 λ 远大于 X/N 的最大值（约 4.5 倍）
+        double[] n = {8, 16, 32, 64};
+        double[] x = new double[n.length];
+        for (int i = 0; i < n.length; i++) {
+            x[i] = usl(1000, 0.5, 0.0001, n[i]);
+        }
+        ScalabilityFit fit = UniversalScalabilityLaw.fit(n, x);
+        assertEquals(1000, fit.lambda, 10, fit.toString());
+        assertEquals(0.5, fit.sigma, 0.01);
+        assertTrue(fit.rSquared > 0.999, fit.toString());
+    }
+
+    @Test
+    public void testLinearScalingHasNoPeak() {
+        ScalabilityFit fit = UniversalScalabilityLaw.fit(new double[]{1, 2, 4, 8}, new double[]{10, 20, 40, 80});
+        assertEquals(0, fit.sigma, 1e-6);
+        assertEquals(0, fit.kappa, 1e-6);
+        assertTrue(Double.isInfinite(fit.peakConcurrency));
+        assertEquals(Integer.MAX_VALUE, fit.optimalConcurrency());
+    }
+
+    @Test
+    public void testRequiresThreePoints() {
+        assertThrows(IllegalArgumentException.class,
+                () -> UniversalScalabilityLaw.fit(new double[]{1, 2}, new double[]{10, 20}));
+        assertThrows(IllegalArgumentException.class,
+                () -> UniversalScalabilityLaw.fit(new double[]{1, 2, 4}, new double[]{10, 0, 0}));
+    }
+}
@@ -0,0 +1,41 @@
+package io.github.json031;
+
+import io.github.json031.load.ExecutionMode;
+import io.github.json031.load.LoadExecutors;
+import io.github.json031.load.VirtualThreads;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * Runs against the packaged multi-release jar (failsafe, JDK 21+ profile), where the
+ * META-INF/versions/21 classes replace the base version.
+ */
+public class VirtualThreadsIT {
+
+    @Test
+    public void testJava21VersionIsLoadedFromMultiReleaseJar() throws Exception {
+        assumeTrue(featureVersion() >= 21, "multi-release classes need Java 21+");
+        String location = VirtualThreads.class.getProtectionDomain().getCodeSource().getLocation().toString();
+        assertTrue(location.endsWith(".jar"), location);
+
+        assertTrue(VirtualThreads.isSupported());
+        assertEquals(ExecutionMode.VIRTUAL_THREADS, LoadExecutors.resolve(ExecutionMode.VIRTUAL_THREADS));
+        ExecutorService executor = VirtualThreads.newVirtualThreadPerTaskExecutor();
+        try {
+            Thread worker = executor.submit(Thread::currentThread).get(5, TimeUnit.SECONDS);
+            assertEquals(Boolean.TRUE, Thread.class.getMethod("isVirtual").invoke(worker));
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    private static int featureVersion() {
+        String version = System.getProperty("java.specification.version");
+        return version.startsWith("1.") ? Integer.parseInt(version.substring(2)) : Integer.parseInt(version);
+    }
+}
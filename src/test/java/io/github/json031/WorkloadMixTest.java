@@ -0,0 +1,77 @@
+package io.github.json031;
+
+import io.github.json031.JavaBean.PhaseStats;
+import io.github.json031.JavaBean.WorkloadMixResult;
+import io.github.json031.apitests.MCHighConcurrencyTests;
+import io.github.json031.load.AliasSampler;
+import io.github.json031.load.LoadStage;
+import io.github.json031.load.LoadTarget;
+import io.github.json031.load.WorkloadMix;
+import io.github.json031.transport.PreparedRequest;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpMethod;
+
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class WorkloadMixTest {
+
+    @Test
+    public void testAliasSamplerMatchesWeights() {
+        double[] weights = {70, 0, 20, 10};
+        AliasSampler sampler = new AliasSampler(weights);
+        int draws = 200_000;
+        int[] counts = new int[weights.length];
+        for (int i = 0; i < draws; i++) {
+            counts[sampler.next()]++;
+        }
+        assertEquals(0, counts[1]);
+        assertEquals(0.70, counts[0] / (double) draws, 0.01);
+        assertEquals(0.20, counts[2] / (double) draws, 0.01);
+        assertEquals(0.10, counts[3] / (double) draws, 0.01);
+
+        assertThrows(IllegalArgumentException.class, () -> new AliasSampler(new double[]{0, 0}));
+        assertThrows(IllegalArgumentException.class, () -> new AliasSampler(new double[]{1, -1}));
+    }
+
+    @Test
+    public void testMixReportsPerEndpointAndAggregateStats() throws Exception {
+        try (LocalHttpServer server = new LocalHttpServer()) {
+            server.respondJson("/catalog", "{\"items\":[]}");
+            server.respondJson("/search", "{\"hits\":0}");
+            server.handle("/checkout", exchange -> {
+                // 先关闭请求体，否则 JDK HttpServer 回复无响应体的错误后会关闭保活连接
+                exchange.getRequestBody().close();
+                exchange.sendResponseHeaders(500, -1);
+                exchange.close();
+            });
+            WorkloadMix mix = WorkloadMix.builder()
+                    .endpoint("catalog", 70, PreparedRequest.of(server.url("/catalog"), HttpMethod.GET, null, null))
+                    .endpoint("search", 20, PreparedRequest.of(server.url("/search"), HttpMethod.GET, null, null))
+                    .endpoint("checkout", 10, PreparedRequest.of(server.url("/checkout"), HttpMethod.POST,
+                            Collections.singletonMap("sku", "A-1"), null))
+                    .build();
+            assertThrows(IllegalArgumentException.class, () -> WorkloadMix.builder()
+                    .endpoint("a", 1, null).endpoint("a", 1, null));
+
+            WorkloadMixResult result = new MCHighConcurrencyTests().workloadMixTest(mix,
+                    Collections.singletonList(LoadStage.hold("steady", 4, 3, TimeUnit.SECONDS)),
+                    LoadTarget.CONCURRENCY, 0, 5000, false);
+
+            PhaseStats catalog = result.endpoint("catalog");
+            PhaseStats checkout = result.endpoint("checkout");
+            assertEquals(result.aggregate.totalRequests(), result.totalRequests());
+            assertTrue(result.totalRequests() > 100, result.toString());
+            assertEquals(0, catalog.failed);
+            assertEquals(0, result.endpoint("search").failed);
+            assertEquals(checkout.requests, checkout.failed);
+            assertEquals(checkout.failed, result.aggregate.stage("steady").failed);
+            assertTrue(result.actualShare("catalog") > result.actualShare("search"));
+            assertTrue(result.actualShare("search") > result.actualShare("checkout"));
+            assertTrue(catalog.latency.p99Millis >= catalog.latency.p50Millis);
+            assertFalse(result.toString().isEmpty());
+        }
+    }
+}